@@ -0,0 +1,342 @@
+package Controle;
+
+import Modelo.GerenciadorMidia;
+import Modelo.Midia;
+import Modelo.ResultadoLote;
+import excecoes.ErroPersistenciaException;
+import excecoes.FormatoNaoSuportadoException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Importa em massa todos os arquivos de mídia de uma árvore de diretórios.
+ * <p>
+ * Cada diretório é percorrido por uma thread virtual própria, de modo que a leitura de
+ * muitas pastas acontece em paralelo. Os arquivos são classificados pela extensão com as
+ * mesmas regras de {@link MidiaController#criarMidiaPorExtensao} (mp4/mkv, mp3, pdf/epub),
+ * têm seus atributos lidos uma única vez (o tamanho real vem dessa leitura) e são
+ * incluídos no catálogo em lotes com {@link GerenciadorMidia#adicionarMidias(List)}.
+ * Caminhos já cadastrados são ignorados antes de entrar no lote.
+ * </p>
+ * <p>
+ * O título de cada mídia é o nome do arquivo sem a extensão; categoria e campo extra
+ * são os informados no construtor. A importação pode ser cancelada a qualquer momento
+ * com {@link #cancelar()}: os lotes já gravados permanecem no catálogo. Cada instância
+ * executa uma única importação.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class IngestaoDiretorio {
+
+    /**
+     * Quantidade padrão de mídias por gravação no catálogo.
+     */
+    public static final int TAMANHO_LOTE_PADRAO = 500;
+
+    /**
+     * Máximo de diretórios abertos ao mesmo tempo, para não esgotar descritores de arquivo.
+     */
+    private static final int DIRETORIOS_SIMULTANEOS = 64;
+
+    /**
+     * Retrato do andamento de uma importação.
+     */
+    public static class Progresso {
+        private final long arquivosLidos;
+        private final long adicionados;
+        private final long jaCadastrados;
+        private final long naoSuportados;
+        private final long erros;
+        private final long decorridoMs;
+        private final boolean concluido;
+
+        Progresso(long arquivosLidos, long adicionados, long jaCadastrados, long naoSuportados,
+                  long erros, long decorridoMs, boolean concluido) {
+            this.arquivosLidos = arquivosLidos;
+            this.adicionados = adicionados;
+            this.jaCadastrados = jaCadastrados;
+            this.naoSuportados = naoSuportados;
+            this.erros = erros;
+            this.decorridoMs = decorridoMs;
+            this.concluido = concluido;
+        }
+
+        /** @return Arquivos encontrados até agora (de qualquer formato). */
+        public long getArquivosLidos() {
+            return arquivosLidos;
+        }
+
+        /** @return Mídias incluídas no catálogo. */
+        public long getAdicionados() {
+            return adicionados;
+        }
+
+        /** @return Arquivos ignorados por já estarem cadastrados. */
+        public long getJaCadastrados() {
+            return jaCadastrados;
+        }
+
+        /** @return Arquivos ignorados por extensão não suportada. */
+        public long getNaoSuportados() {
+            return naoSuportados;
+        }
+
+        /** @return Arquivos ou diretórios que não puderam ser lidos. */
+        public long getErros() {
+            return erros;
+        }
+
+        /** @return Tempo decorrido desde o início, em milissegundos. */
+        public long getDecorridoMs() {
+            return decorridoMs;
+        }
+
+        /** @return {@code true} no último retrato, após o término (ou cancelamento). */
+        public boolean isConcluido() {
+            return concluido;
+        }
+
+        /**
+         * Vazão da varredura.
+         *
+         * @return Arquivos lidos por segundo.
+         */
+        public double getArquivosPorSegundo() {
+            return decorridoMs == 0 ? 0 : arquivosLidos * 1000.0 / decorridoMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d arquivos (%.0f/s): %d adicionados, %d já cadastrados, %d não suportados, %d erros",
+                    arquivosLidos, getArquivosPorSegundo(), adicionados, jaCadastrados, naoSuportados, erros);
+        }
+    }
+
+    private final GerenciadorMidia gerenciador;
+    private final String categoria;
+    private final String extra;
+    private int tamanhoLote = TAMANHO_LOTE_PADRAO;
+    private Consumer<Progresso> ouvinte = p -> { };
+
+    private volatile boolean cancelado;
+    private final AtomicLong arquivosLidos = new AtomicLong();
+    private final AtomicLong adicionados = new AtomicLong();
+    private final AtomicLong jaCadastrados = new AtomicLong();
+    private final AtomicLong naoSuportados = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+    private final AtomicReference<ErroPersistenciaException> falha = new AtomicReference<>();
+    private final Semaphore diretoriosAbertos = new Semaphore(DIRETORIOS_SIMULTANEOS);
+
+    /**
+     * Diretórios submetidos e ainda não concluídos; ao chegar a zero a varredura terminou.
+     */
+    private final AtomicInteger diretoriosPendentes = new AtomicInteger();
+    private CountDownLatch concluidos;
+
+    /**
+     * Mídias aguardando a próxima gravação em lote (protegidas pelo próprio objeto).
+     */
+    private List<Midia> lote = new ArrayList<>();
+
+    private long inicio;
+
+    /**
+     * Cria uma importação.
+     *
+     * @param gerenciador O catálogo que receberá as mídias.
+     * @param categoria A categoria atribuída a todas as mídias importadas.
+     * @param extra O campo extra (Idioma, Artista ou Autores) atribuído a todas as mídias importadas.
+     */
+    public IngestaoDiretorio(GerenciadorMidia gerenciador, String categoria, String extra) {
+        this.gerenciador = gerenciador;
+        this.categoria = categoria;
+        this.extra = extra;
+    }
+
+    /**
+     * Define quantas mídias são acumuladas antes de cada gravação no catálogo.
+     *
+     * @param tamanhoLote O tamanho do lote (mínimo 1).
+     */
+    public void setTamanhoLote(int tamanhoLote) {
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+    }
+
+    /**
+     * Define quem recebe o andamento. É chamado a cada lote gravado e ao final,
+     * a partir das threads da importação.
+     *
+     * @param ouvinte O receptor do progresso.
+     */
+    public void setOuvinte(Consumer<Progresso> ouvinte) {
+        this.ouvinte = ouvinte;
+    }
+
+    /**
+     * Solicita o cancelamento. Diretórios ainda não lidos são descartados; o que já
+     * foi encontrado é gravado antes de {@link #executar(File)} retornar.
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    /**
+     * Indica se o cancelamento foi solicitado.
+     *
+     * @return {@code true} se {@link #cancelar()} foi chamado.
+     */
+    public boolean isCancelado() {
+        return cancelado;
+    }
+
+    /**
+     * Percorre a árvore a partir da raiz e importa as mídias encontradas.
+     * Bloqueia até o término ou cancelamento.
+     *
+     * @param raiz O diretório inicial.
+     * @return O progresso final.
+     * @throws ErroPersistenciaException Se a gravação de algum lote no catálogo falhar.
+     */
+    public Progresso executar(File raiz) throws ErroPersistenciaException {
+        inicio = System.nanoTime();
+
+        // Cada diretório submete seus subdiretórios, então o executor só pode ser fechado
+        // quando a contagem de diretórios pendentes chegar a zero
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            diretoriosPendentes.set(0);
+            concluidos = new CountDownLatch(1);
+            submeterDiretorio(executor, raiz.toPath());
+            try {
+                concluidos.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelar();
+            }
+        }
+
+        List<Midia> restante;
+        synchronized (this) {
+            restante = lote;
+            lote = new ArrayList<>();
+        }
+        gravar(restante);
+
+        if (falha.get() != null) {
+            throw falha.get();
+        }
+        Progresso fim = retrato(true);
+        ouvinte.accept(fim);
+        return fim;
+    }
+
+    private void submeterDiretorio(ExecutorService executor, Path diretorio) {
+        diretoriosPendentes.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                lerDiretorio(executor, diretorio);
+            } finally {
+                if (diretoriosPendentes.decrementAndGet() == 0) concluidos.countDown();
+            }
+        });
+    }
+
+    private void lerDiretorio(ExecutorService executor, Path diretorio) {
+        if (cancelado) return;
+        try {
+            diretoriosAbertos.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try (DirectoryStream<Path> entradas = Files.newDirectoryStream(diretorio)) {
+            for (Path p : entradas) {
+                if (cancelado) return;
+                BasicFileAttributes atributos;
+                try {
+                    // Única consulta ao sistema de arquivos por entrada: tipo e tamanho juntos
+                    atributos = Files.readAttributes(p, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (IOException e) {
+                    erros.incrementAndGet();
+                    continue;
+                }
+                if (atributos.isDirectory()) {
+                    submeterDiretorio(executor, p);
+                } else if (atributos.isRegularFile()) {
+                    arquivosLidos.incrementAndGet();
+                    considerarArquivo(p, atributos.size());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            erros.incrementAndGet();
+            System.err.println("Erro ao ler diretório " + diretorio + ": " + e.getMessage());
+        } finally {
+            diretoriosAbertos.release();
+        }
+    }
+
+    private void considerarArquivo(Path arquivo, long tamanho) {
+        String caminho = arquivo.toAbsolutePath().toString();
+        Midia m;
+        try {
+            m = MidiaController.criarMidiaPorExtensao(caminho, MidiaController.tituloDoArquivo(caminho),
+                    categoria, extra, 0);
+        } catch (FormatoNaoSuportadoException e) {
+            naoSuportados.incrementAndGet();
+            return;
+        }
+        if (gerenciador.buscarMidiaPorLocal(caminho) != null) {
+            jaCadastrados.incrementAndGet();
+            return;
+        }
+        m.setTamanhoDisco(tamanho);
+
+        List<Midia> cheio = null;
+        synchronized (this) {
+            lote.add(m);
+            if (lote.size() >= tamanhoLote) {
+                cheio = lote;
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+        if (cheio != null) {
+            try {
+                gravar(cheio);
+            } catch (ErroPersistenciaException e) {
+                falha.compareAndSet(null, e);
+                cancelado = true;
+            }
+        }
+    }
+
+    private void gravar(List<Midia> midias) throws ErroPersistenciaException {
+        if (midias.isEmpty()) return;
+        ResultadoLote resultado = gerenciador.adicionarMidias(midias);
+        adicionados.addAndGet(resultado.contar(ResultadoLote.Status.ADICIONADA));
+        // Cadastradas entre a verificação e a gravação (ex: outra importação simultânea)
+        jaCadastrados.addAndGet(resultado.contar(ResultadoLote.Status.DUPLICADA));
+        ouvinte.accept(retrato(false));
+    }
+
+    private Progresso retrato(boolean concluido) {
+        return new Progresso(arquivosLidos.get(), adicionados.get(), jaCadastrados.get(), naoSuportados.get(),
+                erros.get(), (System.nanoTime() - inicio) / 1_000_000, concluido);
+    }
+}
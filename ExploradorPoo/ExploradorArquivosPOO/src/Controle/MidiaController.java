@@ -1,14 +1,18 @@
 package Controle;
 
+import Modelo.ConsultaMidia;
 import Modelo.GerenciadorMidia;
 import Modelo.Midia;
 import Modelo.Filme;
 import Modelo.Livro;
 import Modelo.Musica;
+import Modelo.Pagina;
+import Modelo.ResultadoLote;
 import excecoes.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -85,8 +89,83 @@ public class MidiaController {
             throw new ExcecaoArquivoNaoExisteException("Arquivo não encontrado: " + caminhoDoArquivo);
         }
 
+        Midia novaMidia = criarMidiaPorExtensao(caminhoDoArquivo, titulo, categoria, extra, duracao);
+        gerenciador.adicionarMidia(novaMidia);
+    }
+
+    /**
+     * Adiciona vários arquivos de uma só vez, com uma única gravação no banco de dados.
+     * <p>
+     * O título de cada mídia é o nome do arquivo sem a extensão; categoria, campo extra e
+     * duração são os mesmos para todo o lote. Arquivos inexistentes ou de formato não
+     * suportado não interrompem o lote: aparecem no resultado com o respectivo motivo,
+     * assim como os já cadastrados.
+     * </p>
+     *
+     * @param caminhos Os caminhos dos arquivos.
+     * @param categoria A categoria/gênero.
+     * @param extra Campo polimórfico (Idioma, Artista ou Autores).
+     * @param duracao A duração em minutos, segundos ou número de páginas.
+     * @return O desfecho de cada arquivo, na ordem recebida.
+     * @throws ErroPersistenciaException Se houver erro ao salvar no banco de dados.
+     * @throws ExcecaoCampoException Se a categoria ou o campo extra estiverem vazios.
+     */
+    public ResultadoLote incluirNovasMidias(List<String> caminhos, String categoria, String extra, int duracao)
+            throws ErroPersistenciaException, ExcecaoCampoException {
+
+        if (categoria == null || categoria.trim().isEmpty()) {
+            throw new ExcecaoCampoException("O campo 'Categoria' é obrigatório.");
+        }
+        if (extra == null || extra.trim().isEmpty()) {
+            throw new ExcecaoCampoException("O campo 'Autor/Artista/Idioma' é obrigatório.");
+        }
+
+        // Recusas detectadas aqui ficam na posição original; as demais vêm do gerenciador
+        ResultadoLote.Item[] recusas = new ResultadoLote.Item[caminhos.size()];
+        List<Midia> validas = new ArrayList<>(caminhos.size());
+        for (int i = 0; i < caminhos.size(); i++) {
+            String caminho = caminhos.get(i);
+            if (!new File(caminho).isFile()) {
+                recusas[i] = new ResultadoLote.Item(caminho, ResultadoLote.Status.NAO_ENCONTRADA,
+                        "Arquivo não encontrado: " + caminho);
+                continue;
+            }
+            try {
+                validas.add(criarMidiaPorExtensao(caminho, tituloDoArquivo(caminho), categoria, extra, duracao));
+            } catch (FormatoNaoSuportadoException e) {
+                recusas[i] = new ResultadoLote.Item(caminho, ResultadoLote.Status.FORMATO_NAO_SUPORTADO, e.getMessage());
+            }
+        }
+
+        List<ResultadoLote.Item> aplicados = gerenciador.adicionarMidias(validas).getItens();
+        ResultadoLote resultado = new ResultadoLote();
+        int j = 0;
+        for (ResultadoLote.Item recusa : recusas) {
+            resultado.adicionar(recusa != null ? recusa : aplicados.get(j++));
+        }
+        return resultado;
+    }
+
+    /**
+     * Instancia a subclasse de {@link Midia} correspondente à extensão do arquivo.
+     * <ul>
+     * <li><b>.mp4, .mkv</b>: Cria um {@link Filme}.</li>
+     * <li><b>.mp3</b>: Cria uma {@link Musica}.</li>
+     * <li><b>.pdf, .epub</b>: Cria um {@link Livro}.</li>
+     * </ul>
+     *
+     * @param caminhoDoArquivo O caminho do arquivo.
+     * @param titulo O título da mídia.
+     * @param categoria A categoria/gênero.
+     * @param extra Campo polimórfico (Idioma, Artista ou Autores).
+     * @param duracao A duração em minutos, segundos ou número de páginas.
+     * @return A nova mídia (ainda não cadastrada).
+     * @throws FormatoNaoSuportadoException Se a extensão do arquivo não for reconhecida.
+     */
+    public static Midia criarMidiaPorExtensao(String caminhoDoArquivo, String titulo, String categoria, String extra, int duracao)
+            throws FormatoNaoSuportadoException {
+
         String extensao = getFileExtension(caminhoDoArquivo);
-        Midia novaMidia;
 
         // Criação do Objeto baseado na Extensão
         // ATENÇÃO: A ordem dos parâmetros deve bater com seus Construtores em Modelo
@@ -94,22 +173,29 @@ public class MidiaController {
             case "mp4":
             case "mkv":
                 // Filme(Titulo, Local, Duracao, Categoria, Idioma)
-                novaMidia = new Filme(titulo, caminhoDoArquivo, duracao, categoria, extra);
-                break;
+                return new Filme(titulo, caminhoDoArquivo, duracao, categoria, extra);
             case "mp3":
                 // Musica(Local, Titulo, Categoria, Duracao, Artista)
-                novaMidia = new Musica(caminhoDoArquivo, titulo, categoria, duracao, extra);
-                break;
+                return new Musica(caminhoDoArquivo, titulo, categoria, duracao, extra);
             case "pdf":
             case "epub":
                 // Livro(Local, Titulo, Categoria, Duracao, Autores)
-                novaMidia = new Livro(caminhoDoArquivo, titulo, categoria, duracao, extra);
-                break;
+                return new Livro(caminhoDoArquivo, titulo, categoria, duracao, extra);
             default:
                 throw new FormatoNaoSuportadoException("Formato não suportado: ." + extensao);
         }
+    }
 
-        gerenciador.adicionarMidia(novaMidia);
+    /**
+     * Extrai o título padrão de um arquivo: o nome sem diretório e sem extensão.
+     *
+     * @param caminhoDoArquivo O caminho do arquivo.
+     * @return O nome do arquivo sem a extensão.
+     */
+    public static String tituloDoArquivo(String caminhoDoArquivo) {
+        String nome = new File(caminhoDoArquivo).getName();
+        int lastDot = nome.lastIndexOf('.');
+        return lastDot > 0 ? nome.substring(0, lastDot) : nome;
     }
 
     /**
@@ -132,8 +218,9 @@ public class MidiaController {
      * @param midiaOriginal O objeto original antes da edição.
      * @param midiaEditada O novo objeto contendo as informações atualizadas.
      * @throws ErroPersistenciaException Se houver erro na persistência dos dados.
+     * @throws MidiaJaCadastradaException Se o novo caminho já pertencer a outra mídia.
      */
-    public void editarMidia(Midia midiaOriginal, Midia midiaEditada) throws ErroPersistenciaException {
+    public void editarMidia(Midia midiaOriginal, Midia midiaEditada) throws ErroPersistenciaException, MidiaJaCadastradaException {
         if (midiaOriginal == null || midiaEditada == null) {
             throw new NullPointerException("Erro ao editar: mídia original ou editada está nula.");
         }
@@ -152,6 +239,69 @@ public class MidiaController {
         return gerenciador.getMidiasFiltradas(formato, categoria, ordem);
     }
 
+    /**
+     * Executa uma consulta tipada (filtros por tipo, categoria, duração, tamanho, diretório e texto,
+     * ordenação por várias chaves e limite).
+     *
+     * @param consulta A consulta montada pelo chamador.
+     * @return As mídias encontradas, na ordem pedida.
+     */
+    public List<Midia> consultar(ConsultaMidia consulta) {
+        return gerenciador.consultar(consulta);
+    }
+
+    /**
+     * Obtém uma página das mídias filtradas, pulando as primeiras {@code deslocamento}.
+     * Útil para saltar direto a uma página; para avançar uma a uma, prefira
+     * {@link #getPaginaSeguinte(String, String, String, Pagina.Cursor, int)}.
+     *
+     * @param formato O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param categoria A categoria para filtragem (string vazia ignora este filtro).
+     * @param ordem O critério de ordenação (vazio ou nulo para a ordem do catálogo).
+     * @param deslocamento Quantas mídias do início do resultado pular.
+     * @param limite Quantidade máxima de mídias na página.
+     * @return A página, com o cursor para a seguinte.
+     */
+    public Pagina getPagina(String formato, String categoria, String ordem, int deslocamento, int limite) {
+        return gerenciador.getPagina(formato, categoria, ordem, 0, deslocamento, limite);
+    }
+
+    /**
+     * Obtém a página seguinte à do cursor informado, mesmo que o catálogo tenha sido
+     * alterado desde então.
+     *
+     * @param formato O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param categoria A categoria para filtragem (string vazia ignora este filtro).
+     * @param ordem O mesmo critério de ordenação da página anterior.
+     * @param depois O cursor da página anterior ({@code null} para a primeira página).
+     * @param limite Quantidade máxima de mídias na página.
+     * @return A página, com o cursor para a seguinte.
+     */
+    public Pagina getPaginaSeguinte(String formato, String categoria, String ordem, Pagina.Cursor depois, int limite) {
+        return gerenciador.getPaginaSeguinte(formato, categoria, ordem, 0, depois, limite);
+    }
+
+    /**
+     * Busca mídias por palavras do título, idioma, artista ou autores.
+     *
+     * @param consulta O texto digitado pelo usuário.
+     * @return As mídias que contêm todas as palavras (como prefixo), na ordem do catálogo.
+     */
+    public List<Midia> buscar(String consulta) {
+        return gerenciador.buscarTexto(consulta);
+    }
+
+    /**
+     * Busca mídias pelo título de forma aproximada (tolerando erros de digitação).
+     *
+     * @param consulta O texto digitado pelo usuário.
+     * @param limite Quantidade máxima de resultados.
+     * @return As mídias da mais parecida para a menos parecida.
+     */
+    public List<Midia> buscarAproximado(String consulta, int limite) {
+        return gerenciador.buscarAproximado(consulta, limite);
+    }
+
     /**
      * Obtém todas as mídias cadastradas sem aplicar filtros de categoria.
      *
@@ -168,8 +318,10 @@ public class MidiaController {
      * @param novoDiretorio O caminho da pasta de destino.
      * @throws ErroPersistenciaException Se houver erro de I/O ou permissão.
      * @throws ExcecaoCampoException Se o diretório de destino for inválido.
+     * @throws MidiaJaCadastradaException Se o caminho de destino já pertencer a outra mídia.
      */
-    public void moverMidia(Midia midia, String novoDiretorio) throws ErroPersistenciaException, ExcecaoCampoException {
+    public void moverMidia(Midia midia, String novoDiretorio)
+            throws ErroPersistenciaException, ExcecaoCampoException, MidiaJaCadastradaException {
         if (midia == null || novoDiretorio == null || novoDiretorio.isEmpty()) {
             throw new ExcecaoCampoException("Mídia e novo diretório são obrigatórios.");
         }
@@ -184,8 +336,10 @@ public class MidiaController {
      * @throws ErroPersistenciaException Se falhar ao atualizar o registro.
      * @throws ExcecaoCampoException Se o novo nome for vazio ou nulo.
      * @throws IOException Se houver erro no sistema de arquivos ao renomear.
+     * @throws MidiaJaCadastradaException Se o novo caminho já pertencer a outra mídia.
      */
-    public void renomearArquivo(Midia midia, String novoNome) throws ErroPersistenciaException, ExcecaoCampoException, IOException {
+    public void renomearArquivo(Midia midia, String novoNome)
+            throws ErroPersistenciaException, ExcecaoCampoException, IOException, MidiaJaCadastradaException {
         if (midia == null || novoNome == null || novoNome.trim().isEmpty()) {
             throw new ExcecaoCampoException("O novo nome do arquivo não pode ser vazio.");
         }
@@ -198,7 +352,7 @@ public class MidiaController {
      * @param filename O nome completo ou caminho do arquivo.
      * @return A extensão em letras minúsculas (ex: "mp4") ou string vazia se não houver.
      */
-    private String getFileExtension(String filename) {
+    private static String getFileExtension(String filename) {
         int lastDot = filename.lastIndexOf('.');
         if (lastDot > 0 && lastDot < filename.length() - 1) {
             return filename.substring(lastDot + 1).toLowerCase();
@@ -21,11 +21,15 @@ public class Main {
         }
         //</editor-fold>
         
+        // Carrega o catálogo na thread principal, fora da EDT, para não congelar a janela
+        GerenciadorMidia gerenciador = new GerenciadorMidia();
+        MidiaController controlador = new MidiaController(gerenciador);
+        // Garante que alterações pendentes (gravação em segundo plano) cheguem ao disco ao sair
+        Runtime.getRuntime().addShutdownHook(new Thread(gerenciador::fechar, "encerramento-catalogo"));
+
         java.awt.EventQueue.invokeLater(() -> {
             
-            GerenciadorMidia gerenciador = new GerenciadorMidia();
-            MidiaController controlador = new MidiaController(gerenciador);
-            TelaPrincipal tela = new TelaPrincipal();
+            TelaPrincipal tela = new TelaPrincipal(gerenciador);
             
          
             
@@ -0,0 +1,333 @@
+package Modelo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Carregador paralelo do arquivo de catálogo CSV (database.csv).
+ * <p>
+ * O arquivo é mapeado em memória e dividido em blocos alinhados em quebras de linha.
+ * Cada bloco é interpretado em paralelo por um tokenizador que trabalha direto sobre os bytes,
+ * sem expressões regulares nem vetores de substrings, e os resultados são concatenados
+ * na ordem do arquivo.
+ * </p>
+ * <p>
+ * Regras mantidas do carregamento original: a primeira linha (cabeçalho) é ignorada, assim como
+ * linhas com menos de 7 campos (contados como em {@code String.split(";")}, que descarta campos
+ * vazios no final), linhas de tipo desconhecido e linhas com duração inválida.
+ * </p>
+ * <p>
+ * Arquivos gravados com checksum (cabeçalho terminado em {@link #MARCADOR_CHECKSUM} e última linha
+ * "#CRC32C;&lt;hex&gt;") são verificados por {@link #verificar(File)} antes de serem usados.
+ * Arquivos antigos, sem o marcador, são aceitos sem verificação.
+ * </p>
+ * <p>
+ * No Windows, um arquivo mapeado não pode ser sobrescrito nem renomeado até o mapeamento ser
+ * coletado pelo GC, o que impediria a compactação do catálogo. Nesse sistema os blocos são lidos
+ * com leituras posicionais em vez de mapeamento, mantendo o mesmo processamento paralelo.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see GerenciadorMidia
+ */
+public final class CarregadorCatalogoCsv {
+
+    /**
+     * Tamanho mínimo de cada bloco. Arquivos menores que isso são lidos em um único bloco,
+     * na própria thread chamadora.
+     */
+    private static final long TAMANHO_MINIMO_BLOCO = 1024 * 1024;
+
+    /**
+     * Tamanho máximo de um bloco (limite de um {@link ByteBuffer}).
+     */
+    private static final long TAMANHO_MAXIMO_BLOCO = Integer.MAX_VALUE - 8;
+
+    /**
+     * Número de campos de uma linha do catálogo.
+     */
+    private static final int CAMPOS = 7;
+
+    /**
+     * Sufixo do cabeçalho que indica que o arquivo termina com uma linha de checksum.
+     * Tanto o cabeçalho quanto a linha de checksum são ignorados na leitura das mídias.
+     */
+    public static final String MARCADOR_CHECKSUM = "#CRC32C";
+
+    private static final boolean WINDOWS =
+            System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+
+    private CarregadorCatalogoCsv() {
+    }
+
+    /**
+     * Lê todas as mídias do arquivo CSV, em paralelo.
+     *
+     * @param arquivo O arquivo do catálogo.
+     * @return As mídias na ordem em que aparecem no arquivo.
+     * @throws IOException Se houver falha de leitura.
+     */
+    public static List<Midia> carregar(File arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho == 0) return new ArrayList<>();
+
+            List<long[]> blocos = dividirEmBlocos(canal, tamanho);
+            List<List<Midia>> partes;
+            try {
+                if (blocos.size() == 1) {
+                    partes = List.of(lerBloco(canal, blocos.get(0)));
+                } else {
+                    partes = blocos.parallelStream().map(b -> lerBloco(canal, b)).toList();
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            int total = 0;
+            for (List<Midia> p : partes) total += p.size();
+            List<Midia> resultado = new ArrayList<>(total);
+            for (List<Midia> p : partes) resultado.addAll(p);
+            return resultado;
+        }
+    }
+
+    /**
+     * Verifica o checksum de um arquivo de catálogo CSV.
+     * <p>
+     * O custo é uma leitura sequencial do arquivo com CRC32C (acelerado por hardware),
+     * bem menor que o parsing. Arquivos sem o marcador no cabeçalho (formato antigo) são aceitos.
+     * </p>
+     *
+     * @param arquivo O arquivo do catálogo.
+     * @return {@code true} se o checksum foi conferido, {@code false} se o arquivo é do formato antigo.
+     * @throws IOException Se o arquivo estiver truncado ou corrompido, ou houver falha de leitura.
+     */
+    public static boolean verificar(File arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            long fimCabecalho = proximaLinha(canal, 0, tamanho);
+            String cabecalho = lerTexto(canal, 0, fimCabecalho).strip();
+            if (!cabecalho.endsWith(MARCADOR_CHECKSUM)) return false;
+
+            // Localiza a última linha (a de checksum), que deve terminar com quebra de linha
+            long inicioRodape = tamanho - 1;
+            ByteBuffer um = ByteBuffer.allocate(1);
+            while (inicioRodape > fimCabecalho) {
+                um.clear();
+                canal.read(um, inicioRodape - 1);
+                if (um.get(0) == '\n') break;
+                inicioRodape--;
+            }
+            String rodape = lerTexto(canal, inicioRodape, tamanho).strip();
+            String prefixo = MARCADOR_CHECKSUM + ";";
+            if (inicioRodape <= fimCabecalho || !rodape.startsWith(prefixo)) {
+                throw new IOException("Catálogo truncado (sem linha de checksum): " + arquivo.getName());
+            }
+
+            CRC32C crc = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+            long posicao = 0;
+            while (posicao < inicioRodape) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), inicioRodape - posicao));
+                int lidos = canal.read(buffer, posicao);
+                if (lidos <= 0) break;
+                buffer.flip();
+                crc.update(buffer);
+                posicao += lidos;
+            }
+            String esperado = rodape.substring(prefixo.length());
+            if (!esperado.equalsIgnoreCase(Long.toHexString(crc.getValue()))) {
+                throw new IOException("Checksum inválido no catálogo: " + arquivo.getName());
+            }
+            return true;
+        }
+    }
+
+    private static String lerTexto(FileChannel canal, long inicio, long fim) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(fim - inicio, 4096));
+        canal.read(buffer, inicio);
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Divide o arquivo em blocos {início, fim} que começam logo após uma quebra de linha.
+     * O primeiro bloco começa depois do cabeçalho.
+     */
+    private static List<long[]> dividirEmBlocos(FileChannel canal, long tamanho) throws IOException {
+        int processadores = Runtime.getRuntime().availableProcessors();
+        long alvo = Math.max(TAMANHO_MINIMO_BLOCO, tamanho / (processadores * 4L));
+        alvo = Math.min(alvo, TAMANHO_MAXIMO_BLOCO);
+
+        List<long[]> blocos = new ArrayList<>();
+        long inicio = proximaLinha(canal, 0, tamanho); // pula o cabeçalho
+        while (inicio < tamanho) {
+            long fim = inicio + alvo >= tamanho ? tamanho : proximaLinha(canal, inicio + alvo, tamanho);
+            blocos.add(new long[]{inicio, fim});
+            inicio = fim;
+        }
+        return blocos;
+    }
+
+    /**
+     * Encontra a posição logo após a próxima quebra de linha a partir de {@code posicao}.
+     */
+    private static long proximaLinha(FileChannel canal, long posicao, long tamanho) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (posicao < tamanho) {
+            buffer.clear();
+            int lidos = canal.read(buffer, posicao);
+            if (lidos <= 0) break;
+            for (int i = 0; i < lidos; i++) {
+                if (buffer.get(i) == '\n') return posicao + i + 1;
+            }
+            posicao += lidos;
+        }
+        return tamanho;
+    }
+
+    /**
+     * Mapeia (ou lê) um bloco e interpreta todas as suas linhas.
+     */
+    private static List<Midia> lerBloco(FileChannel canal, long[] bloco) {
+        try {
+            int tamanho = (int) (bloco[1] - bloco[0]);
+            ByteBuffer dados;
+            if (WINDOWS) {
+                dados = ByteBuffer.allocate(tamanho);
+                while (dados.hasRemaining()) {
+                    if (canal.read(dados, bloco[0] + dados.position()) < 0) break;
+                }
+                dados.flip();
+            } else {
+                dados = canal.map(FileChannel.MapMode.READ_ONLY, bloco[0], tamanho);
+            }
+            return new Tokenizador(dados).lerTudo();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tokenizador de linhas do catálogo que opera diretamente sobre os bytes de um bloco.
+     * Reaproveita o mesmo vetor de linha e os mesmos vetores de posições para todas as linhas.
+     */
+    private static final class Tokenizador {
+
+        private final ByteBuffer dados;
+        private byte[] linha = new byte[256];
+        private final int[] inicioCampo = new int[CAMPOS];
+        private final int[] fimCampo = new int[CAMPOS];
+
+        Tokenizador(ByteBuffer dados) {
+            this.dados = dados;
+        }
+
+        List<Midia> lerTudo() {
+            List<Midia> resultado = new ArrayList<>();
+            int limite = dados.limit();
+            int inicio = 0;
+            while (inicio < limite) {
+                int fim = inicio;
+                while (fim < limite && dados.get(fim) != '\n') fim++;
+
+                int comprimento = fim - inicio;
+                if (comprimento > 0 && dados.get(fim - 1) == '\r') comprimento--;
+                if (comprimento > linha.length) linha = new byte[Math.max(comprimento, linha.length * 2)];
+                dados.get(inicio, linha, 0, comprimento);
+
+                Midia m = interpretar(comprimento);
+                if (m != null) resultado.add(m);
+                inicio = fim + 1;
+            }
+            return resultado;
+        }
+
+        /**
+         * Interpreta a linha atual (em {@link #linha}) e cria a mídia correspondente.
+         *
+         * @param comprimento O número de bytes válidos da linha.
+         * @return A mídia, ou null se a linha for ignorada.
+         */
+        private Midia interpretar(int comprimento) {
+            int campo = 0;
+            int ultimoNaoVazio = -1;
+            int inicio = 0;
+            for (int i = 0; i <= comprimento; i++) {
+                if (i == comprimento || linha[i] == ';') {
+                    if (campo < CAMPOS) {
+                        inicioCampo[campo] = inicio;
+                        fimCampo[campo] = i;
+                    }
+                    if (i > inicio) ultimoNaoVazio = campo;
+                    campo++;
+                    inicio = i + 1;
+                }
+            }
+            // Equivalente a split(";").length < 7, que ignora campos vazios no final
+            if (ultimoNaoVazio < CAMPOS - 1) return null;
+
+            int duracao;
+            try {
+                duracao = lerInteiro(inicioCampo[3], fimCampo[3]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            if (igual(0, "Filme")) {
+                return new Filme(texto(1), texto(5), duracao, texto(2), texto(4), texto(6));
+            } else if (igual(0, "Musica")) {
+                return new Musica(texto(5), texto(1), texto(2), duracao, texto(4), texto(6));
+            } else if (igual(0, "Livro")) {
+                return new Livro(texto(5), texto(1), texto(2), duracao, texto(4), texto(6));
+            }
+            return null;
+        }
+
+        private String texto(int campo) {
+            return new String(linha, inicioCampo[campo], fimCampo[campo] - inicioCampo[campo], StandardCharsets.UTF_8);
+        }
+
+        private boolean igual(int campo, String valor) {
+            int tamanho = fimCampo[campo] - inicioCampo[campo];
+            if (tamanho != valor.length()) return false;
+            for (int i = 0; i < tamanho; i++) {
+                if (linha[inicioCampo[campo] + i] != valor.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Converte os bytes em um inteiro com as mesmas regras de {@link Integer#parseInt(String)}.
+         */
+        private int lerInteiro(int inicio, int fim) {
+            if (inicio >= fim) throw new NumberFormatException();
+            boolean negativo = false;
+            if (linha[inicio] == '-' || linha[inicio] == '+') {
+                negativo = linha[inicio] == '-';
+                inicio++;
+                if (inicio == fim) throw new NumberFormatException();
+            }
+            long valor = 0;
+            for (int i = inicio; i < fim; i++) {
+                int digito = linha[i] - '0';
+                if (digito < 0 || digito > 9) throw new NumberFormatException();
+                valor = valor * 10 + digito;
+                if (valor > (long) Integer.MAX_VALUE + 1) throw new NumberFormatException();
+            }
+            if (negativo) valor = -valor;
+            if (valor > Integer.MAX_VALUE || valor < Integer.MIN_VALUE) throw new NumberFormatException();
+            return (int) valor;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package Modelo;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Formato binário compacto e versionado para o catálogo de mídias.
+ * <p>
+ * Alternativa ao CSV que evita formatar e interpretar texto para campos numéricos.
+ * Estrutura do arquivo (inteiros em big-endian):
+ * <ul>
+ * <li><b>Cabeçalho:</b> assinatura "TPCB" (4 bytes), versão (2 bytes), reservado (2 bytes),
+ * quantidade de registros (4 bytes).</li>
+ * <li><b>Registro:</b> tipo (1 byte: 1 = Filme, 2 = Musica, 3 = Livro), duração (4 bytes),
+ * tamanho em bytes (8 bytes) e as strings título, categoria, extra e local. Arquivos gravados
+ * antes de o tamanho ser numérico podem ter -1 no tamanho seguido do tamanho em texto,
+ * que é convertido na leitura.</li>
+ * <li><b>String:</b> comprimento em bytes (inteiro de tamanho variável, 7 bits por byte, 1 byte
+ * para textos de até 127 bytes) seguido do conteúdo em UTF-8.</li>
+ * <li><b>Rodapé:</b> CRC32C (4 bytes) de todo o conteúdo anterior.</li>
+ * </ul>
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see GerenciadorMidia
+ */
+public final class CatalogoBinario {
+
+    /**
+     * Assinatura ("TPCB") gravada no início do arquivo.
+     */
+    private static final int ASSINATURA = 0x54504342;
+
+    /**
+     * Versão atual do formato.
+     */
+    public static final short VERSAO = 1;
+
+    private static final byte FILME = 1;
+    private static final byte MUSICA = 2;
+    private static final byte LIVRO = 3;
+
+    private CatalogoBinario() {
+    }
+
+    /**
+     * Grava as mídias no formato binário e força a escrita no disco antes de retornar.
+     *
+     * @param midias As mídias a gravar, na ordem do catálogo.
+     * @param arquivo O arquivo de destino (sobrescrito).
+     * @throws IOException Se houver falha na escrita.
+     */
+    public static void salvar(List<Midia> midias, File arquivo) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(arquivo)) {
+            CheckedOutputStream verificado = new CheckedOutputStream(fos, new CRC32C());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(verificado, 64 * 1024));
+
+            out.writeInt(ASSINATURA);
+            out.writeShort(VERSAO);
+            out.writeShort(0);
+            out.writeInt(midias.size());
+
+            for (Midia m : midias) {
+                String extra;
+                if (m instanceof Filme f) { out.writeByte(FILME); extra = f.getIdioma(); }
+                else if (m instanceof Musica mu) { out.writeByte(MUSICA); extra = mu.getArtista(); }
+                else if (m instanceof Livro l) { out.writeByte(LIVRO); extra = l.getAutores(); }
+                else throw new IOException("Tipo de mídia não suportado: " + m.getClass().getSimpleName());
+
+                out.writeInt(m.getDuracao());
+                out.writeLong(m.getTamanhoDisco());
+                escreverTexto(out, m.getTitulo());
+                escreverTexto(out, m.getCategoria());
+                escreverTexto(out, extra);
+                escreverTexto(out, m.getLocal());
+            }
+            out.flush();
+
+            // O rodapé não entra no próprio checksum, por isso vai direto para o arquivo
+            int crc = (int) verificado.getChecksum().getValue();
+            fos.write(ByteBuffer.allocate(4).putInt(crc).array());
+            fos.getChannel().force(true);
+        }
+    }
+
+    /**
+     * Lê todas as mídias de um arquivo binário, validando assinatura, versão e checksum.
+     *
+     * @param arquivo O arquivo do catálogo.
+     * @return As mídias na ordem gravada.
+     * @throws IOException Se o arquivo estiver corrompido, truncado, for de versão desconhecida
+     *                     ou houver falha de leitura.
+     */
+    public static List<Midia> carregar(File arquivo) throws IOException {
+        byte[] bytes = Files.readAllBytes(arquivo.toPath());
+        if (bytes.length < 16) {
+            throw new IOException("Catálogo binário truncado: " + arquivo.getName());
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - 4);
+        if ((int) crc.getValue() != buf.getInt(bytes.length - 4)) {
+            throw new IOException("Checksum inválido no catálogo binário: " + arquivo.getName());
+        }
+
+        if (buf.getInt() != ASSINATURA) {
+            throw new IOException("Arquivo não é um catálogo binário: " + arquivo.getName());
+        }
+        short versao = buf.getShort();
+        if (versao != VERSAO) {
+            throw new IOException("Versão de catálogo binário não suportada: " + versao);
+        }
+        buf.getShort(); // reservado
+        int quantidade = buf.getInt();
+
+        List<Midia> midias = new ArrayList<>(quantidade);
+        try {
+            for (int i = 0; i < quantidade; i++) {
+                byte tipo = buf.get();
+                int duracao = buf.getInt();
+                long tamanho = buf.getLong();
+                String titulo = lerTexto(buf, bytes);
+                String categoria = lerTexto(buf, bytes);
+                String extra = lerTexto(buf, bytes);
+                String local = lerTexto(buf, bytes);
+                if (tamanho < 0) tamanho = Midia.converterTamanho(lerTexto(buf, bytes));
+
+                midias.add(switch (tipo) {
+                    case FILME -> new Filme(titulo, local, duracao, categoria, extra, tamanho);
+                    case MUSICA -> new Musica(local, titulo, categoria, duracao, extra, tamanho);
+                    case LIVRO -> new Livro(local, titulo, categoria, duracao, extra, tamanho);
+                    default -> throw new IOException("Tipo de registro desconhecido: " + tipo);
+                });
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Catálogo binário corrompido: " + arquivo.getName(), e);
+        }
+        return midias;
+    }
+
+    private static void escreverTexto(DataOutputStream out, String texto) throws IOException {
+        byte[] b = (texto == null ? "" : texto).getBytes(StandardCharsets.UTF_8);
+        int comprimento = b.length;
+        while (comprimento >= 0x80) {
+            out.writeByte((comprimento & 0x7F) | 0x80);
+            comprimento >>>= 7;
+        }
+        out.writeByte(comprimento);
+        out.write(b);
+    }
+
+    private static String lerTexto(ByteBuffer buf, byte[] bytes) {
+        int comprimento = 0;
+        for (int deslocamento = 0; ; deslocamento += 7) {
+            if (deslocamento > 28) throw new IllegalStateException("Comprimento de texto inválido");
+            byte b = buf.get();
+            comprimento |= (b & 0x7F) << deslocamento;
+            if (b >= 0) break;
+        }
+        int inicio = buf.position();
+        buf.position(inicio + comprimento);
+        return new String(bytes, inicio, comprimento, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,271 @@
+package Modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Descrição tipada de uma consulta ao catálogo, executada por {@link GerenciadorMidia#consultar(ConsultaMidia)}.
+ * <p>
+ * Os filtros são combinados com E; os que não forem informados não restringem nada.
+ * A ordenação pode ter várias chaves, aplicadas na ordem em que foram informadas; o que
+ * continuar empatado fica na ordem do catálogo. Exemplo:
+ * </p>
+ * <pre>
+ * new ConsultaMidia()
+ *         .doTipo(Filme.class)
+ *         .comDuracaoEntre(90, 180)
+ *         .ordenarPorDecrescente(ConsultaMidia.Campo.TAMANHO)
+ *         .ordenarPor(ConsultaMidia.Campo.TITULO)
+ *         .limitar(20);
+ * </pre>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class ConsultaMidia {
+
+    /**
+     * Campos pelos quais o resultado pode ser ordenado.
+     */
+    public enum Campo {
+        /** Título. */
+        TITULO(Comparator.comparing(Midia::getTitulo, Comparator.nullsFirst(Comparator.naturalOrder()))),
+        /** Tipo da mídia (nome da classe). */
+        TIPO(Comparator.comparing(m -> m.getClass().getSimpleName())),
+        /** Categoria. */
+        CATEGORIA(Comparator.comparing(Midia::getCategoria, Comparator.nullsFirst(Comparator.naturalOrder()))),
+        /** Duração. */
+        DURACAO(Comparator.comparingInt(Midia::getDuracao)),
+        /** Tamanho em disco. */
+        TAMANHO(Comparator.comparingLong(Midia::getTamanhoDisco)),
+        /** Caminho do arquivo. */
+        LOCAL(Comparator.comparing(Midia::getLocal, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        private final Comparator<Midia> comparador;
+
+        Campo(Comparator<Midia> comparador) {
+            this.comparador = comparador;
+        }
+    }
+
+    /**
+     * Uma chave de ordenação.
+     *
+     * @param campo O campo comparado.
+     * @param decrescente {@code true} para começar pelo maior valor.
+     */
+    record Ordenacao(Campo campo, boolean decrescente) { }
+
+    private Class<? extends Midia> tipo;
+    private String categoria;
+    private long duracaoMinima = Long.MIN_VALUE;
+    private long duracaoMaxima = Long.MAX_VALUE;
+    private long tamanhoMinimo = Long.MIN_VALUE;
+    private long tamanhoMaximo = Long.MAX_VALUE;
+    private String diretorio;
+    private String texto;
+    private final List<Ordenacao> ordenacao = new ArrayList<>();
+    private int limite = Integer.MAX_VALUE;
+
+    /**
+     * Aceita apenas mídias de um tipo.
+     *
+     * @param tipo A classe da mídia ({@link Filme}, {@link Musica} ou {@link Livro}), ou {@code null} para todas.
+     * @return Esta consulta.
+     */
+    public ConsultaMidia doTipo(Class<? extends Midia> tipo) {
+        this.tipo = tipo;
+        return this;
+    }
+
+    /**
+     * Aceita apenas mídias de uma categoria (sem diferenciar maiúsculas e minúsculas).
+     *
+     * @param categoria A categoria, ou {@code null}/vazio para todas.
+     * @return Esta consulta.
+     */
+    public ConsultaMidia daCategoria(String categoria) {
+        this.categoria = categoria == null || categoria.isEmpty() ? null : categoria;
+        return this;
+    }
+
+    /**
+     * Aceita apenas mídias com duração na faixa (inclusive).
+     *
+     * @param minima A menor duração aceita.
+     * @param maxima A maior duração aceita.
+     * @return Esta consulta.
+     */
+    public ConsultaMidia comDuracaoEntre(int minima, int maxima) {
+        this.duracaoMinima = minima;
+        this.duracaoMaxima = maxima;
+        return this;
+    }
+
+    /**
+     * Aceita apenas mídias com tamanho em disco na faixa (inclusive).
+     *
+     * @param minimo O menor tamanho aceito, em bytes.
+     * @param maximo O maior tamanho aceito, em bytes.
+     * @return Esta consulta.
+     */
+    public ConsultaMidia comTamanhoEntre(long minimo, long maximo) {
+        this.tamanhoMinimo = minimo;
+        this.tamanhoMaximo = maximo;
+        return this;
+    }
+
+    /**
+     * Aceita apenas mídias cujo arquivo está dentro de um diretório (em qualquer nível).
+     *
+     * @param diretorio O diretório, ou {@code null}/vazio para qualquer um.
+     * @return Esta consulta.
+     */
+    public ConsultaMidia sobDiretorio(String diretorio) {
+        this.diretorio = diretorio == null || diretorio.isEmpty() ? null : diretorio;
+        return this;
+    }
+
+    /**
+     * Aceita apenas mídias que contêm todas as palavras do texto, com as mesmas regras de
+     * {@link GerenciadorMidia#buscarTexto(String)}.
+     *
+     * @param texto O texto a buscar, ou {@code null}/em branco para não filtrar.
+     * @return Esta consulta.
+     */
+    public ConsultaMidia contendo(String texto) {
+        this.texto = texto == null || texto.isBlank() ? null : texto;
+        return this;
+    }
+
+    /**
+     * Acrescenta uma chave de ordenação crescente.
+     *
+     * @param campo O campo.
+     * @return Esta consulta.
+     */
+    public ConsultaMidia ordenarPor(Campo campo) {
+        ordenacao.add(new Ordenacao(campo, false));
+        return this;
+    }
+
+    /**
+     * Acrescenta uma chave de ordenação decrescente.
+     *
+     * @param campo O campo.
+     * @return Esta consulta.
+     */
+    public ConsultaMidia ordenarPorDecrescente(Campo campo) {
+        ordenacao.add(new Ordenacao(campo, true));
+        return this;
+    }
+
+    /**
+     * Limita a quantidade de mídias devolvidas. Com limite, só as primeiras na ordem pedida
+     * são mantidas durante a consulta, em vez de ordenar o resultado inteiro.
+     *
+     * @param limite A quantidade máxima.
+     * @return Esta consulta.
+     * @throws IllegalArgumentException Se o limite for negativo.
+     */
+    public ConsultaMidia limitar(int limite) {
+        if (limite < 0) throw new IllegalArgumentException("Limite negativo: " + limite);
+        this.limite = limite;
+        return this;
+    }
+
+    Class<? extends Midia> getTipo() {
+        return tipo;
+    }
+
+    String getCategoria() {
+        return categoria;
+    }
+
+    boolean filtraDuracao() {
+        return duracaoMinima != Long.MIN_VALUE || duracaoMaxima != Long.MAX_VALUE;
+    }
+
+    long getDuracaoMinima() {
+        return duracaoMinima;
+    }
+
+    long getDuracaoMaxima() {
+        return duracaoMaxima;
+    }
+
+    boolean filtraTamanho() {
+        return tamanhoMinimo != Long.MIN_VALUE || tamanhoMaximo != Long.MAX_VALUE;
+    }
+
+    long getTamanhoMinimo() {
+        return tamanhoMinimo;
+    }
+
+    long getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    String getDiretorio() {
+        return diretorio;
+    }
+
+    String getTexto() {
+        return texto;
+    }
+
+    List<Ordenacao> getOrdenacao() {
+        return ordenacao;
+    }
+
+    int getLimite() {
+        return limite;
+    }
+
+    /**
+     * Monta o comparador das chaves de ordenação, terminando no desempate informado.
+     *
+     * @param desempate A ordem usada quando todas as chaves empatam (ordem do catálogo).
+     * @return O comparador completo.
+     */
+    Comparator<Midia> comparador(Comparator<Midia> desempate) {
+        Comparator<Midia> resultado = null;
+        for (Ordenacao o : ordenacao) {
+            Comparator<Midia> chave = o.decrescente() ? o.campo().comparador.reversed() : o.campo().comparador;
+            resultado = resultado == null ? chave : resultado.thenComparing(chave);
+        }
+        return resultado == null ? desempate : resultado.thenComparing(desempate);
+    }
+
+    /**
+     * Seleciona as {@code limite} primeiras mídias aceitas na ordem informada, mantendo só elas
+     * em um heap (o pior no topo): custa O(n log limite) em vez de ordenar todas as aceitas.
+     *
+     * @param fonte As candidatas, em qualquer ordem.
+     * @param filtro Condição para uma candidata entrar.
+     * @param ordem A ordem do resultado.
+     * @param limite Quantidade máxima de mídias.
+     * @return As primeiras mídias, já ordenadas.
+     */
+    static List<Midia> primeiras(Iterable<Midia> fonte, Predicate<Midia> filtro, Comparator<Midia> ordem, int limite) {
+        if (limite <= 0) return new ArrayList<>();
+        PriorityQueue<Midia> melhores = new PriorityQueue<>(ordem.reversed());
+        for (Midia m : fonte) {
+            if (!filtro.test(m)) continue;
+            if (melhores.size() < limite) {
+                melhores.add(m);
+            } else if (ordem.compare(m, melhores.peek()) < 0) {
+                melhores.poll();
+                melhores.add(m);
+            }
+        }
+
+        Midia[] ordenadas = melhores.toArray(new Midia[0]);
+        Arrays.sort(ordenadas, ordem);
+        return new ArrayList<>(Arrays.asList(ordenadas));
+    }
+}
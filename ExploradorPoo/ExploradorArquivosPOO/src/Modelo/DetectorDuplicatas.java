@@ -0,0 +1,447 @@
+package Modelo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Encontra arquivos de mídia com o mesmo conteúdo guardados em caminhos diferentes.
+ * <p>
+ * Para ler o mínimo possível do disco, os candidatos passam por três filtros, e cada um só
+ * considera os arquivos que continuam empatados no anterior:
+ * <ol>
+ * <li>tamanho exato (lido dos atributos, sem abrir o arquivo);</li>
+ * <li>hash SHA-256 parcial: os primeiros e os últimos {@link #TAMANHO_AMOSTRA} bytes;</li>
+ * <li>hash SHA-256 do arquivo inteiro.</li>
+ * </ol>
+ * A leitura é feita em paralelo, com um limite opcional de bytes por segundo somado entre
+ * todas as threads, para não saturar o disco enquanto a aplicação é usada.
+ * </p>
+ * <p>
+ * Os hashes calculados são guardados em um arquivo de cache ({@code <catálogo>.hashes}) e
+ * reaproveitados enquanto caminho, tamanho e data de modificação do arquivo não mudarem:
+ * uma nova verificação só lê os arquivos alterados.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see GerenciadorMidia
+ */
+public class DetectorDuplicatas {
+
+    /**
+     * Bytes lidos do início e do fim de cada arquivo no hash parcial.
+     */
+    public static final int TAMANHO_AMOSTRA = 64 * 1024;
+
+    /**
+     * Quantidade padrão de arquivos lidos ao mesmo tempo.
+     */
+    public static final int PARALELISMO_PADRAO = 4;
+
+    private static final String CABECALHO_CACHE = "TAMANHO;MODIFICACAO;PARCIAL;COMPLETO;LOCAL";
+
+    /**
+     * Mídias com o mesmo conteúdo.
+     */
+    public static class Grupo {
+        private final long tamanho;
+        private final String hash;
+        private final List<Midia> midias;
+
+        Grupo(long tamanho, String hash, List<Midia> midias) {
+            this.tamanho = tamanho;
+            this.hash = hash;
+            this.midias = Collections.unmodifiableList(midias);
+        }
+
+        /** @return O tamanho de cada arquivo, em bytes. */
+        public long getTamanho() {
+            return tamanho;
+        }
+
+        /** @return O SHA-256 do conteúdo, em hexadecimal. */
+        public String getHash() {
+            return hash;
+        }
+
+        /** @return As mídias do grupo (duas ou mais), na ordem do catálogo. */
+        public List<Midia> getMidias() {
+            return midias;
+        }
+
+        /**
+         * Espaço que seria liberado mantendo uma única cópia.
+         *
+         * @return Os bytes ocupados pelas cópias excedentes.
+         */
+        public long getEspacoDesperdicado() {
+            return tamanho * (midias.size() - 1);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format("%d cópias de %d bytes:", midias.size(), tamanho));
+            for (Midia m : midias) sb.append("\n  ").append(m.getLocal());
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Hashes conhecidos de um arquivo, válidos enquanto tamanho e data de modificação não mudarem.
+     */
+    private static final class EntradaCache {
+        final long tamanho;
+        final long modificacao;
+        volatile String parcial;
+        volatile String completo;
+
+        /**
+         * Veio do arquivo de cache (e não foi calculada nesta execução).
+         */
+        final boolean doCache;
+
+        EntradaCache(long tamanho, long modificacao, String parcial, String completo, boolean doCache) {
+            this.tamanho = tamanho;
+            this.modificacao = modificacao;
+            this.parcial = parcial;
+            this.completo = completo;
+            this.doCache = doCache;
+        }
+    }
+
+    private final GerenciadorMidia gerenciador;
+    private final Path arquivoCache;
+    private final Map<String, EntradaCache> cache = new ConcurrentHashMap<>();
+    private int paralelismo = PARALELISMO_PADRAO;
+    private long limiteBytesPorSegundo;
+    private volatile boolean cancelado;
+
+    /**
+     * Próximo instante (System.nanoTime) em que a leitura pode prosseguir sem exceder o limite.
+     */
+    private long liberadoEm;
+
+    private final AtomicLong bytesLidos = new AtomicLong();
+    private final AtomicLong arquivosLidos = new AtomicLong();
+    private final AtomicLong acertosCache = new AtomicLong();
+
+    /**
+     * Cria um detector que usa o cache ao lado do arquivo do catálogo.
+     *
+     * @param gerenciador O catálogo a verificar.
+     */
+    public DetectorDuplicatas(GerenciadorMidia gerenciador) {
+        this(gerenciador, Paths.get(gerenciador.getArquivoDb() + ".hashes"));
+    }
+
+    /**
+     * Cria um detector com um arquivo de cache específico.
+     *
+     * @param gerenciador O catálogo a verificar.
+     * @param arquivoCache Onde os hashes são guardados entre execuções.
+     */
+    public DetectorDuplicatas(GerenciadorMidia gerenciador, Path arquivoCache) {
+        this.gerenciador = gerenciador;
+        this.arquivoCache = arquivoCache;
+    }
+
+    /**
+     * Define quantos arquivos são lidos ao mesmo tempo.
+     *
+     * @param paralelismo O número de threads de leitura (mínimo 1).
+     */
+    public void setParalelismo(int paralelismo) {
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+
+    /**
+     * Limita a leitura total de disco, somada entre todas as threads.
+     *
+     * @param bytesPorSegundo O limite, ou 0 para ler sem limite.
+     */
+    public synchronized void setLimiteBytesPorSegundo(long bytesPorSegundo) {
+        this.limiteBytesPorSegundo = Math.max(0, bytesPorSegundo);
+    }
+
+    /**
+     * Solicita o cancelamento; {@link #detectar()} retorna o que já foi confirmado.
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    /** @return Bytes lidos do disco na última execução (acertos de cache não contam). */
+    public long getBytesLidos() {
+        return bytesLidos.get();
+    }
+
+    /** @return Arquivos efetivamente lidos (parcial ou inteiro) na última execução. */
+    public long getArquivosLidos() {
+        return arquivosLidos.get();
+    }
+
+    /** @return Hashes reaproveitados do cache na última execução. */
+    public long getAcertosCache() {
+        return acertosCache.get();
+    }
+
+    /**
+     * Procura mídias com conteúdo idêntico em todo o catálogo. Bloqueia até o término.
+     *
+     * @return Os grupos de duplicatas, do que mais desperdiça espaço para o que menos desperdiça.
+     */
+    public List<Grupo> detectar() {
+        bytesLidos.set(0);
+        arquivosLidos.set(0);
+        acertosCache.set(0);
+        carregarCache();
+
+        // 1. Tamanho: arquivos com tamanho único não têm duplicata
+        Map<Long, List<Midia>> porTamanho = new HashMap<>();
+        Map<Midia, EntradaCache> entradas = new HashMap<>();
+        for (Midia m : gerenciador.getMidiasFiltradas("Todos", "", null)) {
+            BasicFileAttributes atributos;
+            try {
+                atributos = Files.readAttributes(Paths.get(m.getLocal()), BasicFileAttributes.class);
+            } catch (IOException | RuntimeException e) {
+                continue; // Arquivo ausente: não ocupa espaço
+            }
+            if (!atributos.isRegularFile() || atributos.size() == 0) continue;
+            entradas.put(m, entradaAtual(m.getLocal(), atributos.size(), atributos.lastModifiedTime().toMillis()));
+            porTamanho.computeIfAbsent(atributos.size(), t -> new ArrayList<>()).add(m);
+        }
+        List<List<Midia>> empatados = new ArrayList<>();
+        for (List<Midia> grupo : porTamanho.values()) {
+            if (grupo.size() > 1) empatados.add(grupo);
+        }
+
+        List<Grupo> grupos = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+        try {
+            // 2. Hash parcial (início e fim); arquivos pequenos já têm aqui o hash completo
+            empatados = separar(executor, empatados, m -> hashParcial(m, entradas.get(m)));
+            // 3. Hash completo só para quem continua empatado
+            Map<Midia, String> completos = new ConcurrentHashMap<>();
+            for (List<Midia> grupo : separar(executor, empatados, m -> {
+                String h = hashCompleto(m, entradas.get(m));
+                if (h != null) completos.put(m, h);
+                return h;
+            })) {
+                Midia primeira = grupo.get(0);
+                grupos.add(new Grupo(entradas.get(primeira).tamanho, completos.get(primeira), grupo));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        salvarCache(entradas.keySet());
+        grupos.sort((a, b) -> Long.compare(b.getEspacoDesperdicado(), a.getEspacoDesperdicado()));
+        return grupos;
+    }
+
+    /**
+     * Calcula a chave de cada mídia em paralelo e divide cada grupo pelas chaves,
+     * descartando os subgrupos de um único arquivo (e as mídias que não puderam ser lidas).
+     */
+    private List<List<Midia>> separar(ExecutorService executor, List<List<Midia>> grupos,
+                                      Function<Midia, String> chave) {
+        Map<Midia, Future<String>> pendentes = new LinkedHashMap<>();
+        for (List<Midia> grupo : grupos) {
+            for (Midia m : grupo) pendentes.put(m, executor.submit(() -> cancelado ? null : chave.apply(m)));
+        }
+
+        List<List<Midia>> resultado = new ArrayList<>();
+        for (List<Midia> grupo : grupos) {
+            Map<String, List<Midia>> porChave = new LinkedHashMap<>();
+            for (Midia m : grupo) {
+                String k;
+                try {
+                    k = pendentes.get(m).get();
+                } catch (ExecutionException e) {
+                    k = null;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelar();
+                    k = null;
+                }
+                if (k != null) porChave.computeIfAbsent(k, x -> new ArrayList<>()).add(m);
+            }
+            for (List<Midia> sub : porChave.values()) {
+                if (sub.size() > 1) resultado.add(sub);
+            }
+        }
+        return resultado;
+    }
+
+    private EntradaCache entradaAtual(String local, long tamanho, long modificacao) {
+        EntradaCache e = cache.get(local);
+        if (e == null || e.tamanho != tamanho || e.modificacao != modificacao) {
+            e = new EntradaCache(tamanho, modificacao, null, null, false);
+            cache.put(local, e);
+        }
+        return e;
+    }
+
+    private String hashParcial(Midia m, EntradaCache e) {
+        if (e.parcial != null) {
+            if (e.doCache) acertosCache.incrementAndGet();
+            return e.parcial;
+        }
+        if (e.tamanho <= 2L * TAMANHO_AMOSTRA) {
+            // A amostra cobriria o arquivo inteiro: o hash parcial já é o completo
+            e.parcial = hashCompleto(m, e);
+            return e.parcial;
+        }
+        try (FileChannel canal = FileChannel.open(Paths.get(m.getLocal()), StandardOpenOption.READ)) {
+            MessageDigest sha = sha256();
+            ByteBuffer buf = ByteBuffer.allocate(TAMANHO_AMOSTRA);
+            ler(canal, sha, buf, 0, TAMANHO_AMOSTRA);
+            ler(canal, sha, buf, e.tamanho - TAMANHO_AMOSTRA, e.tamanho);
+            arquivosLidos.incrementAndGet();
+            e.parcial = HexFormat.of().formatHex(sha.digest());
+            return e.parcial;
+        } catch (IOException ex) {
+            System.err.println("Não foi possível ler " + m.getLocal() + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private String hashCompleto(Midia m, EntradaCache e) {
+        if (e.completo != null) {
+            if (e.doCache && e.tamanho > 2L * TAMANHO_AMOSTRA) acertosCache.incrementAndGet();
+            return e.completo;
+        }
+        try (FileChannel canal = FileChannel.open(Paths.get(m.getLocal()), StandardOpenOption.READ)) {
+            MessageDigest sha = sha256();
+            if (!ler(canal, sha, ByteBuffer.allocate(1024 * 1024), 0, e.tamanho)) return null;
+            arquivosLidos.incrementAndGet();
+            e.completo = HexFormat.of().formatHex(sha.digest());
+            return e.completo;
+        } catch (IOException ex) {
+            System.err.println("Não foi possível ler " + m.getLocal() + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lê um trecho do arquivo para o digest, respeitando o limite de leitura.
+     *
+     * @return {@code false} se a leitura foi cancelada no meio.
+     */
+    private boolean ler(FileChannel canal, MessageDigest sha, ByteBuffer buf, long inicio, long fim) throws IOException {
+        long pos = inicio;
+        while (pos < fim) {
+            if (cancelado) return false;
+            buf.clear().limit((int) Math.min(buf.capacity(), fim - pos));
+            aguardarCota(buf.remaining());
+            int n = canal.read(buf, pos);
+            if (n < 0) throw new IOException("O arquivo diminuiu durante a leitura.");
+            buf.flip();
+            sha.update(buf);
+            pos += n;
+            bytesLidos.addAndGet(n);
+        }
+        return true;
+    }
+
+    /**
+     * Reserva a cota de leitura de {@code bytes} e espera até que ela esteja disponível.
+     */
+    private void aguardarCota(long bytes) {
+        long espera;
+        synchronized (this) {
+            if (limiteBytesPorSegundo == 0) return;
+            long agora = System.nanoTime();
+            long inicio = Math.max(agora, liberadoEm);
+            liberadoEm = inicio + bytes * 1_000_000_000L / limiteBytesPorSegundo;
+            espera = inicio - agora;
+        }
+        if (espera > 0) {
+            try {
+                Thread.sleep(espera / 1_000_000, (int) (espera % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelar();
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e); // Obrigatório em toda JVM
+        }
+    }
+
+    private void carregarCache() {
+        if (!Files.exists(arquivoCache)) return;
+        try (BufferedReader leitor = Files.newBufferedReader(arquivoCache, StandardCharsets.UTF_8)) {
+            String linha = leitor.readLine(); // Cabeçalho
+            while ((linha = leitor.readLine()) != null) {
+                String[] partes = linha.split(";", 5);
+                if (partes.length < 5) continue;
+                try {
+                    cache.put(partes[4], new EntradaCache(Long.parseLong(partes[0]), Long.parseLong(partes[1]),
+                            partes[2].isEmpty() ? null : partes[2], partes[3].isEmpty() ? null : partes[3], true));
+                } catch (NumberFormatException e) {
+                    // Linha corrompida: o arquivo será lido de novo
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler o cache de hashes " + arquivoCache + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grava o cache apenas com os arquivos ainda catalogados, via arquivo temporário.
+     */
+    private void salvarCache(Iterable<Midia> catalogadas) {
+        Path temporario = arquivoCache.resolveSibling(arquivoCache.getFileName() + ".tmp");
+        try (BufferedWriter escritor = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+            escritor.write(CABECALHO_CACHE);
+            escritor.newLine();
+            for (Midia m : catalogadas) {
+                EntradaCache e = cache.get(m.getLocal());
+                if (e == null || (e.parcial == null && e.completo == null)) continue;
+                escritor.write(e.tamanho + ";" + e.modificacao + ";" + (e.parcial == null ? "" : e.parcial) + ";"
+                        + (e.completo == null ? "" : e.completo) + ";" + m.getLocal());
+                escritor.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar o cache de hashes " + arquivoCache + ": " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temporario, arquivoCache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar o cache de hashes " + arquivoCache + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package Modelo;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Diário (journal) de mutações do catálogo, gravado apenas por anexação (append-only).
+ * <p>
+ * Cada operação do {@link GerenciadorMidia} gera um registro curto de uma linha,
+ * evitando reescrever o arquivo base inteiro a cada alteração. Na inicialização,
+ * o arquivo base é lido e em seguida o diário é reproduzido por cima dele.
+ * </p>
+ * <p>
+ * Formato dos registros (um por linha):
+ * <ul>
+ * <li><b>A;&lt;linha csv&gt;</b>: mídia adicionada (ou substituída, se o local já existir).</li>
+ * <li><b>R;&lt;local&gt;</b>: mídia removida.</li>
+ * <li><b>E;&lt;local antigo&gt;;&lt;linha csv&gt;</b>: mídia editada, movida ou renomeada.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Uma gravação interrompida por uma queda pode deixar a última linha incompleta, sem o
+ * {@code '\n'} final. Esse fragmento nunca foi confirmado a quem chamou, então ele é
+ * descartado ao abrir o diário; sem isso, o próximo registro seria anexado à mesma linha
+ * e perdido na reprodução.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see GerenciadorMidia
+ */
+public class DiarioMutacoes {
+
+    /** Prefixo do registro de adição. */
+    public static final String ADICAO = "A";
+
+    /** Prefixo do registro de remoção. */
+    public static final String REMOCAO = "R";
+
+    /** Prefixo do registro de edição (inclui mover e renomear). */
+    public static final String EDICAO = "E";
+
+    /**
+     * Arquivo físico do diário.
+     */
+    private final File arquivo;
+
+    /**
+     * Escritor aberto em modo de anexação. Aberto sob demanda no primeiro registro.
+     */
+    private Writer escritor;
+
+    /**
+     * Fluxo sob o {@link #escritor}, usado para forçar a gravação em disco.
+     */
+    private FileOutputStream saida;
+
+    /**
+     * Tamanho atual do diário em bytes, usado para decidir quando compactar.
+     */
+    private long tamanho;
+
+    /**
+     * Cria o diário associado ao arquivo informado. O arquivo não é criado até o primeiro registro.
+     * <p>
+     * Se o arquivo já existir e terminar num registro incompleto, o fragmento é descartado.
+     * </p>
+     *
+     * @param arquivo O arquivo do diário.
+     */
+    public DiarioMutacoes(File arquivo) {
+        this.arquivo = arquivo;
+        try {
+            descartarRegistroIncompleto(arquivo);
+        } catch (IOException e) {
+            System.err.println("Erro ao reparar o diário: " + e.getMessage());
+        }
+        this.tamanho = arquivo.exists() ? arquivo.length() : 0;
+    }
+
+    /**
+     * Anexa um ou mais registros ao final do diário e descarrega o buffer no sistema operacional.
+     * <p>
+     * Sem {@code sincronizar}, os registros sobrevivem a uma queda do processo, mas não a uma
+     * queda do sistema: a durabilidade vai só até o cache de páginas do sistema operacional.
+     * </p>
+     *
+     * @param registros Os registros já formatados (sem quebra de linha).
+     * @param sincronizar Se {@code true}, força a gravação em disco (fsync) antes de retornar.
+     * @throws IOException Se houver falha na escrita.
+     */
+    public synchronized void registrar(List<String> registros, boolean sincronizar) throws IOException {
+        if (escritor == null) {
+            saida = new FileOutputStream(arquivo, true);
+            escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        }
+        for (String r : registros) {
+            escritor.write(r);
+            escritor.write('\n');
+            tamanho += r.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        escritor.flush();
+        if (sincronizar) saida.getChannel().force(false);
+    }
+
+    /**
+     * Obtém o tamanho atual do diário.
+     *
+     * @return O tamanho em bytes.
+     */
+    public synchronized long getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Fecha o diário atual e move seu conteúdo para o arquivo de destino, deixando o diário vazio.
+     * <p>
+     * Se o destino já existir (compactação anterior interrompida), o conteúdo é anexado
+     * ao final dele em vez de sobrescrevê-lo, para que nenhum registro seja perdido.
+     * </p>
+     *
+     * @param destino O arquivo que receberá o segmento do diário.
+     * @throws IOException Se houver falha ao mover ou anexar.
+     */
+    public synchronized void rotacionar(File destino) throws IOException {
+        fechar();
+        if (!arquivo.exists()) {
+            return;
+        }
+        if (destino.exists()) {
+            descartarRegistroIncompleto(destino);
+            Files.write(destino.toPath(), Files.readAllBytes(arquivo.toPath()), StandardOpenOption.APPEND);
+            Files.delete(arquivo.toPath());
+        } else {
+            Files.move(arquivo.toPath(), destino.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        tamanho = 0;
+    }
+
+    /**
+     * Fecha o escritor do diário, caso esteja aberto.
+     */
+    public synchronized void fechar() {
+        if (escritor != null) {
+            try {
+                escritor.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar diário: " + e.getMessage());
+            }
+            escritor = null;
+            saida = null;
+        }
+    }
+
+    /**
+     * Corta o arquivo logo após o último {@code '\n'}, descartando um registro incompleto
+     * deixado por uma gravação interrompida. Não faz nada se o arquivo termina numa quebra de linha.
+     *
+     * @param arquivo O arquivo de diário.
+     * @throws IOException Se houver falha de leitura ou ao truncar.
+     */
+    static void descartarRegistroIncompleto(File arquivo) throws IOException {
+        if (!arquivo.exists() || arquivo.length() == 0) {
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long tamanhoAtual = canal.size();
+            ByteBuffer buf = ByteBuffer.allocate(8192);
+            long fim = tamanhoAtual;
+            long corte = 0;
+            procura:
+            while (fim > 0) {
+                long inicio = Math.max(0, fim - buf.capacity());
+                buf.clear().limit((int) (fim - inicio));
+                while (buf.hasRemaining()) {
+                    if (canal.read(buf, inicio + buf.position()) < 0) break;
+                }
+                for (int i = buf.position() - 1; i >= 0; i--) {
+                    if (buf.get(i) == '\n') {
+                        corte = inicio + i + 1;
+                        break procura;
+                    }
+                }
+                fim = inicio;
+            }
+            if (corte < tamanhoAtual) {
+                System.err.println("Diário " + arquivo.getName() + ": descartados "
+                        + (tamanhoAtual - corte) + " bytes de um registro incompleto.");
+                canal.truncate(corte);
+                canal.force(true);
+            }
+        }
+    }
+
+    /**
+     * Lê um arquivo de diário e entrega cada registro, já separado em tipo e conteúdo,
+     * ao consumidor informado.
+     * <p>
+     * O vetor entregue tem o tipo do registro na posição 0 e o restante da linha na posição 1.
+     * Linhas vazias ou sem separador (por exemplo, a última linha de uma gravação interrompida)
+     * são ignoradas.
+     * </p>
+     *
+     * @param arquivo O arquivo de diário a ser reproduzido.
+     * @param consumidor Quem aplica cada registro.
+     * @throws IOException Se houver falha de leitura.
+     */
+    public static void reproduzir(File arquivo, Consumer<String[]> consumidor) throws IOException {
+        if (!arquivo.exists()) {
+            return;
+        }
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                new FileInputStream(arquivo), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = br.readLine()) != null) {
+                int sep = linha.indexOf(';');
+                if (sep <= 0) continue;
+                consumidor.accept(new String[]{linha.substring(0, sep), linha.substring(sep + 1)});
+            }
+        }
+    }
+}
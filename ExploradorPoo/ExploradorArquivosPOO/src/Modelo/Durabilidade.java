@@ -0,0 +1,35 @@
+package Modelo;
+
+/**
+ * Níveis de durabilidade das mutações do {@link GerenciadorMidia}.
+ * <p>
+ * Definem quando o registro de uma alteração é gravado no diário em relação ao
+ * retorno do método que a executou.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public enum Durabilidade {
+
+    /**
+     * Cada alteração é gravada e forçada em disco (fsync) antes do método retornar.
+     */
+    SINCRONA,
+
+    /**
+     * Gravação em lote (group commit): as alterações se acumulam e são gravadas juntas
+     * após o atraso configurado ou ao atingir o limite de pendências. O método só retorna
+     * depois que o lote que contém a sua alteração foi gravado, mas várias threads
+     * compartilham uma única escrita e um único fsync.
+     */
+    LOTE,
+
+    /**
+     * Gravação em segundo plano (write-behind): o método retorna imediatamente e a
+     * alteração é gravada depois, junto com as demais. Uma queda do processo pode perder
+     * as alterações do último intervalo ainda não gravado. A escrita não é forçada em disco:
+     * uma queda do sistema operacional pode perder também o que estava só no cache de páginas.
+     */
+    ASSINCRONA
+}
@@ -0,0 +1,418 @@
+package Modelo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grava os arquivos auxiliares .tpoo em segundo plano, fora do caminho das mutações.
+ * <p>
+ * Cada pedido (gravar um conteúdo ou apagar o arquivo) entra em uma fila limitada,
+ * agrupada por diretório. Pedidos repetidos para o mesmo arquivo são combinados: só o
+ * último é executado. Diretórios diferentes são processados em paralelo, e cada
+ * diretório por no máximo uma thread de cada vez.
+ * </p>
+ * <p>
+ * Além dos arquivos individuais, grava também registros no .tpoo empacotado de cada
+ * diretório ({@link IndiceTpooDiretorio}); como cada diretório é tratado por uma única
+ * thread, o arquivo empacotado nunca é alterado por duas threads ao mesmo tempo.
+ * </p>
+ * <p>
+ * O estado de cada arquivo pode ser consultado com {@link #getStatus(Path)}. Gravações que
+ * falham são repetidas com espera crescente até {@link #TENTATIVAS} vezes; depois disso
+ * ficam como {@link Status#FALHOU} até {@link #tentarNovamenteFalhas()}.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see GerenciadorMidia
+ */
+public class EscritorTpoo {
+
+    /**
+     * Estado de um arquivo .tpoo.
+     */
+    public enum Status {
+        /** Há uma gravação ou exclusão na fila. */
+        PENDENTE,
+        /** A última operação pedida foi concluída. */
+        ESCRITO,
+        /** A última operação pedida falhou (e esgotou as tentativas automáticas). */
+        FALHOU
+    }
+
+    /**
+     * Número máximo de tentativas automáticas por operação.
+     */
+    public static final int TENTATIVAS = 3;
+
+    /**
+     * Quantidade padrão de operações aguardando na fila antes de bloquear quem pede novas.
+     */
+    public static final int CAPACIDADE_PADRAO = 10_000;
+
+    /**
+     * Operação pendente: gravar {@code conteudo} ou, se nulo, apagar. Se {@code empacotado},
+     * a chave é o arquivo de mídia e a operação vale para o seu registro no
+     * {@link IndiceTpooDiretorio} do diretório; caso contrário, a chave é o próprio arquivo .tpoo.
+     */
+    private static final class Operacao {
+        final String conteudo;
+        final int tentativa;
+        final boolean empacotado;
+
+        Operacao(String conteudo, int tentativa, boolean empacotado) {
+            this.conteudo = conteudo;
+            this.tentativa = tentativa;
+            this.empacotado = empacotado;
+        }
+    }
+
+    private final int capacidade;
+
+    /**
+     * Operações pendentes por diretório (protegido por {@code this}).
+     */
+    private final Map<Path, LinkedHashMap<Path, Operacao>> filas = new HashMap<>();
+
+    /**
+     * Diretórios que já têm uma thread trabalhando neles.
+     */
+    private final Set<Path> emAndamento = new HashSet<>();
+
+    /**
+     * Estado por arquivo. Os arquivos concluídos com sucesso são esquecidos para
+     * não acumular memória; {@link #getStatus(Path)} responde {@link Status#ESCRITO} para eles.
+     */
+    private final Map<Path, Status> estados = new HashMap<>();
+
+    /**
+     * Operações que esgotaram as tentativas, guardadas para {@link #tentarNovamenteFalhas()}.
+     */
+    private final Map<Path, Operacao> falhasGuardadas = new HashMap<>();
+
+    private int totalPendentes;
+    private int repeticoesAgendadas;
+    private boolean fechado;
+
+    private final ExecutorService trabalhadores;
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "escritor-tpoo-repeticao");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Cria o escritor com a capacidade padrão e uma thread por processador (mínimo 2).
+     */
+    public EscritorTpoo() {
+        this(CAPACIDADE_PADRAO, Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Cria o escritor.
+     *
+     * @param capacidade Máximo de operações na fila antes de bloquear quem pede novas.
+     * @param threads Quantos diretórios podem ser gravados ao mesmo tempo.
+     */
+    public EscritorTpoo(int capacidade, int threads) {
+        this.capacidade = capacidade;
+        AtomicInteger contador = new AtomicInteger();
+        this.trabalhadores = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "escritor-tpoo-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Pede a gravação de um arquivo .tpoo com o conteúdo informado.
+     * Substitui qualquer pedido ainda pendente para o mesmo arquivo.
+     *
+     * @param arquivo O arquivo .tpoo.
+     * @param conteudo O texto a gravar.
+     */
+    public void gravar(Path arquivo, String conteudo) {
+        enfileirar(arquivo.toAbsolutePath().normalize(), new Operacao(conteudo, 1, false));
+    }
+
+    /**
+     * Pede a exclusão de um arquivo .tpoo.
+     * Substitui qualquer pedido ainda pendente para o mesmo arquivo.
+     *
+     * @param arquivo O arquivo .tpoo.
+     */
+    public void apagar(Path arquivo) {
+        enfileirar(arquivo.toAbsolutePath().normalize(), new Operacao(null, 1, false));
+    }
+
+    /**
+     * Pede a gravação do registro de uma mídia no .tpoo empacotado do seu diretório
+     * ({@link IndiceTpooDiretorio}). Substitui qualquer pedido pendente para a mesma mídia.
+     *
+     * @param arquivoMidia O arquivo de mídia (a chave do registro é o seu nome).
+     * @param conteudo O texto do registro.
+     */
+    public void gravarNoIndice(Path arquivoMidia, String conteudo) {
+        enfileirar(arquivoMidia.toAbsolutePath().normalize(), new Operacao(conteudo, 1, true));
+    }
+
+    /**
+     * Pede a remoção do registro de uma mídia do .tpoo empacotado do seu diretório.
+     *
+     * @param arquivoMidia O arquivo de mídia.
+     */
+    public void apagarDoIndice(Path arquivoMidia) {
+        enfileirar(arquivoMidia.toAbsolutePath().normalize(), new Operacao(null, 1, true));
+    }
+
+    /**
+     * Consulta o estado de um arquivo .tpoo.
+     *
+     * @param arquivo O arquivo .tpoo.
+     * @return O estado; {@link Status#ESCRITO} se não houver nada pendente nem falha registrada.
+     */
+    public synchronized Status getStatus(Path arquivo) {
+        return estados.getOrDefault(arquivo.toAbsolutePath().normalize(), Status.ESCRITO);
+    }
+
+    /**
+     * Conta os arquivos cuja última operação falhou.
+     *
+     * @return A quantidade de falhas registradas.
+     */
+    public synchronized int getQuantidadeFalhas() {
+        int falhas = 0;
+        for (Status s : estados.values()) {
+            if (s == Status.FALHOU) falhas++;
+        }
+        return falhas;
+    }
+
+    /**
+     * Recoloca na fila, com novas tentativas, as operações que falharam.
+     */
+    public void tentarNovamenteFalhas() {
+        Map<Path, Operacao> falhas;
+        synchronized (this) {
+            falhas = new LinkedHashMap<>(falhasGuardadas);
+            falhasGuardadas.clear();
+        }
+        for (Map.Entry<Path, Operacao> e : falhas.entrySet()) {
+            enfileirar(e.getKey(), new Operacao(e.getValue().conteudo, 1, e.getValue().empacotado));
+        }
+    }
+
+    /**
+     * Aguarda até que a fila esteja vazia (incluindo as repetições agendadas).
+     *
+     * @throws InterruptedException Se a espera for interrompida.
+     */
+    public synchronized void aguardar() throws InterruptedException {
+        while (totalPendentes > 0 || repeticoesAgendadas > 0) {
+            wait();
+        }
+    }
+
+    /**
+     * Conclui as operações pendentes e encerra as threads. Novos pedidos são executados
+     * diretamente na thread de quem pede.
+     */
+    public void fechar() {
+        synchronized (this) {
+            try {
+                aguardar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            fechado = true;
+        }
+        trabalhadores.shutdown();
+        agendador.shutdownNow();
+    }
+
+    private void enfileirar(Path arquivo, Operacao op) {
+        synchronized (this) {
+            if (!fechado) {
+                // Fila cheia: quem pede espera (contrapressão), a menos que o pedido só substitua outro
+                while (totalPendentes >= capacidade && !jaPendente(arquivo)) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                colocarNaFila(arquivo, op);
+                return;
+            }
+        }
+        boolean sucesso;
+        if (op.empacotado) {
+            try (IndiceTpooDiretorio indice = IndiceTpooDiretorio.abrir(arquivo.getParent())) {
+                sucesso = executarNoIndice(indice, arquivo, op);
+            } catch (IOException e) {
+                sucesso = false;
+            }
+        } else {
+            sucesso = executar(arquivo, op);
+        }
+        if (!sucesso) {
+            System.err.println("Erro ao gravar .tpoo: " + arquivo);
+        }
+    }
+
+    private boolean jaPendente(Path arquivo) {
+        Map<Path, Operacao> fila = filas.get(arquivo.getParent());
+        return fila != null && fila.containsKey(arquivo);
+    }
+
+    /**
+     * Deve ser chamado com o bloqueio do escritor.
+     */
+    private void colocarNaFila(Path arquivo, Operacao op) {
+        Path dir = arquivo.getParent();
+        LinkedHashMap<Path, Operacao> fila = filas.computeIfAbsent(dir, d -> new LinkedHashMap<>());
+        if (fila.put(arquivo, op) == null) totalPendentes++;
+        estados.put(arquivo, Status.PENDENTE);
+        falhasGuardadas.remove(arquivo);
+        if (emAndamento.add(dir)) {
+            trabalhadores.execute(() -> processarDiretorio(dir));
+        }
+    }
+
+    /**
+     * Esvazia a fila de um diretório, uma operação por vez, até não restar nada.
+     */
+    private void processarDiretorio(Path dir) {
+        // O .tpoo empacotado é aberto uma vez e reaproveitado por todas as operações da rodada
+        IndiceTpooDiretorio indice = null;
+        try {
+            while (true) {
+                Path arquivo;
+                Operacao op;
+                synchronized (this) {
+                    LinkedHashMap<Path, Operacao> fila = filas.get(dir);
+                    if (fila == null || fila.isEmpty()) {
+                        filas.remove(dir);
+                        emAndamento.remove(dir);
+                        return;
+                    }
+                    Iterator<Map.Entry<Path, Operacao>> it = fila.entrySet().iterator();
+                    Map.Entry<Path, Operacao> proxima = it.next();
+                    it.remove();
+                    arquivo = proxima.getKey();
+                    op = proxima.getValue();
+                }
+
+                boolean sucesso;
+                if (op.empacotado) {
+                    try {
+                        if (indice == null) indice = IndiceTpooDiretorio.abrir(dir);
+                        sucesso = executarNoIndice(indice, arquivo, op);
+                    } catch (IOException e) {
+                        sucesso = false;
+                    }
+                    if (!sucesso) {
+                        // Descarta o estado em memória; a próxima operação relê o arquivo
+                        fecharIndice(indice);
+                        indice = null;
+                    }
+                } else {
+                    sucesso = executar(arquivo, op);
+                }
+
+                concluir(arquivo, op, sucesso);
+            }
+        } finally {
+            fecharIndice(indice);
+        }
+    }
+
+    /**
+     * Registra o desfecho de uma operação executada.
+     */
+    private synchronized void concluir(Path arquivo, Operacao op, boolean sucesso) {
+
+        totalPendentes--;
+        // Um pedido mais novo para o mesmo arquivo pode ter chegado enquanto este era executado
+        if (!jaPendente(arquivo)) {
+            if (sucesso) {
+                estados.remove(arquivo);
+            } else if (op.tentativa < TENTATIVAS) {
+                agendarRepeticao(arquivo, op);
+            } else {
+                estados.put(arquivo, Status.FALHOU);
+                falhasGuardadas.put(arquivo, op);
+                System.err.println("Erro ao gravar .tpoo após " + TENTATIVAS + " tentativas: " + arquivo);
+            }
+        }
+        notifyAll();
+    }
+
+    /**
+     * Deve ser chamado com o bloqueio do escritor.
+     */
+    private void agendarRepeticao(Path arquivo, Operacao op) {
+        repeticoesAgendadas++;
+        long espera = 100L << op.tentativa; // 200 ms, 400 ms, ...
+        agendador.schedule(() -> {
+            synchronized (this) {
+                repeticoesAgendadas--;
+                // Só repete se nenhum pedido mais novo tiver tomado o lugar deste
+                if (estados.get(arquivo) == Status.PENDENTE && !jaPendente(arquivo)) {
+                    colocarNaFila(arquivo, new Operacao(op.conteudo, op.tentativa + 1, op.empacotado));
+                }
+                notifyAll();
+            }
+        }, espera, TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean executarNoIndice(IndiceTpooDiretorio indice, Path arquivoMidia, Operacao op) {
+        try {
+            String nome = arquivoMidia.getFileName().toString();
+            if (op.conteudo == null) {
+                indice.apagar(nome);
+            } else {
+                indice.gravar(nome, op.conteudo);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void fecharIndice(IndiceTpooDiretorio indice) {
+        if (indice == null) return;
+        try {
+            indice.close();
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar índice .tpoo: " + e.getMessage());
+        }
+    }
+
+    private static boolean executar(Path arquivo, Operacao op) {
+        try {
+            if (op.conteudo == null) {
+                Files.deleteIfExists(arquivo);
+            } else {
+                Files.writeString(arquivo, op.conteudo, StandardCharsets.UTF_8);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package Modelo;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Alteração no catálogo, publicada pelo {@link GerenciadorMidia} aos {@link OuvinteCatalogo}s.
+ * <p>
+ * Cada evento traz as mídias afetadas, para que a interface altere apenas as linhas
+ * correspondentes em vez de refazer a consulta inteira.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public final class EventoCatalogo {
+
+    /**
+     * Tipo da alteração.
+     */
+    public enum Tipo {
+        /** Mídias incluídas no catálogo. */
+        ADICIONADAS,
+        /** Mídias retiradas do catálogo. */
+        REMOVIDAS,
+        /** Dados alterados; a edição troca o objeto, veja {@link #getAnteriores()}. */
+        ATUALIZADAS,
+        /** Arquivo movido ou renomeado; o mesmo objeto, com novo caminho (e título, ao renomear). */
+        MOVIDAS
+    }
+
+    private final Tipo tipo;
+    private final List<Midia> midias;
+    private final List<Midia> anteriores;
+
+    /**
+     * Cria um evento em que as mídias não foram trocadas por outros objetos.
+     *
+     * @param tipo O tipo da alteração.
+     * @param midias As mídias afetadas.
+     */
+    public EventoCatalogo(Tipo tipo, List<Midia> midias) {
+        this(tipo, midias, midias);
+    }
+
+    /**
+     * Cria um evento de atualização em que cada mídia substitui a anterior de mesma posição.
+     *
+     * @param tipo O tipo da alteração.
+     * @param midias As mídias afetadas, no estado atual.
+     * @param anteriores Os objetos que estavam no catálogo antes (mesmo tamanho de {@code midias}).
+     */
+    public EventoCatalogo(Tipo tipo, List<Midia> midias, List<Midia> anteriores) {
+        if (midias.size() != anteriores.size()) {
+            throw new IllegalArgumentException("Listas de mídias e anteriores com tamanhos diferentes.");
+        }
+        this.tipo = tipo;
+        this.midias = Collections.unmodifiableList(midias);
+        this.anteriores = anteriores == midias ? this.midias : Collections.unmodifiableList(anteriores);
+    }
+
+    /**
+     * @return O tipo da alteração.
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * @return As mídias afetadas, no estado atual (para {@link Tipo#REMOVIDAS}, as que saíram).
+     */
+    public List<Midia> getMidias() {
+        return midias;
+    }
+
+    /**
+     * Objetos que as mídias substituíram, na mesma ordem de {@link #getMidias()}.
+     * Só difere de {@link #getMidias()} na edição, que troca o objeto da mídia.
+     *
+     * @return Os objetos anteriores.
+     */
+    public List<Midia> getAnteriores() {
+        return anteriores;
+    }
+
+    @Override
+    public String toString() {
+        return tipo + " (" + midias.size() + ")";
+    }
+}
@@ -0,0 +1,149 @@
+package Modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+/**
+ * Filtragem e ordenação em paralelo para consultas que precisam percorrer muitas mídias.
+ * <p>
+ * Acima de um limiar de tamanho, a lista é dividida em blocos contíguos, filtrados em paralelo
+ * no pool comum de fork/join; os resultados dos blocos são concatenados na ordem original.
+ * A ordenação usa {@link Arrays#parallelSort(Object[], Comparator)}, uma ordenação por
+ * intercalação (merge sort) paralela e estável. Abaixo do limiar, ou em máquinas com um só
+ * processador, tudo roda na thread de quem chamou: para poucas mídias, dividir e coordenar
+ * o trabalho custa mais do que o ganho.
+ * </p>
+ * <p>
+ * Os filtros e comparadores são chamados por várias threads ao mesmo tempo e só podem ler
+ * as mídias e os índices; quem chama deve garantir que nada seja alterado durante a execução
+ * (o {@link GerenciadorMidia} mantém seu bloqueio).
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+final class ExecucaoParalela {
+
+    /**
+     * Menor bloco entregue a uma tarefa: abaixo disso, o custo de criar a tarefa pesa mais que o filtro.
+     */
+    private static final int BLOCO_MINIMO = 4096;
+
+    /**
+     * Blocos por thread do pool, para equilibrar blocos com filtros de custo desigual.
+     */
+    private static final int BLOCOS_POR_THREAD = 4;
+
+    private ExecucaoParalela() {
+    }
+
+    /**
+     * Indica se vale dividir o trabalho para uma lista deste tamanho: ela precisa alcançar o
+     * limiar, render mais de um bloco e haver mais de uma thread no pool comum.
+     *
+     * @param tamanho Quantidade de mídias a percorrer.
+     * @param limiar Tamanho a partir do qual a execução é paralela.
+     * @return {@code true} se o trabalho deve ser dividido.
+     */
+    static boolean compensa(int tamanho, int limiar) {
+        return tamanho >= limiar && tamanho > BLOCO_MINIMO && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Filtra uma lista, preservando a ordem.
+     *
+     * @param fonte As mídias a percorrer.
+     * @param filtro A condição (chamada por várias threads acima do limiar).
+     * @param limiar Tamanho a partir do qual a execução é paralela.
+     * @return Uma nova lista com as mídias aceitas, na ordem da fonte.
+     */
+    static List<Midia> filtrar(List<Midia> fonte, Predicate<Midia> filtro, int limiar) {
+        int n = fonte.size();
+        if (!compensa(n, limiar)) {
+            List<Midia> resultado = new ArrayList<>();
+            for (Midia m : fonte) {
+                if (filtro.test(m)) resultado.add(m);
+            }
+            return resultado;
+        }
+
+        int bloco = Math.max(BLOCO_MINIMO, (n + blocos() - 1) / blocos());
+        int quantidade = (n + bloco - 1) / bloco;
+        List<List<Midia>> partes = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) partes.add(null);
+        ForkJoinPool.commonPool().invoke(new Filtragem(fonte, filtro, bloco, partes, 0, quantidade));
+
+        int total = 0;
+        for (List<Midia> parte : partes) total += parte.size();
+        List<Midia> resultado = new ArrayList<>(total);
+        for (List<Midia> parte : partes) resultado.addAll(parte);
+        return resultado;
+    }
+
+    /**
+     * Ordena uma lista no lugar; a ordenação é estável nos dois modos.
+     *
+     * @param lista A lista a ordenar.
+     * @param ordem A ordem (chamada por várias threads acima do limiar).
+     * @param limiar Tamanho a partir do qual a execução é paralela.
+     */
+    static void ordenar(List<Midia> lista, Comparator<Midia> ordem, int limiar) {
+        if (!compensa(lista.size(), limiar)) {
+            lista.sort(ordem);
+            return;
+        }
+        Midia[] vetor = lista.toArray(new Midia[0]);
+        Arrays.parallelSort(vetor, ordem);
+        for (int i = 0; i < vetor.length; i++) lista.set(i, vetor[i]);
+    }
+
+    private static int blocos() {
+        return ForkJoinPool.getCommonPoolParallelism() * BLOCOS_POR_THREAD;
+    }
+
+    /**
+     * Filtra os blocos {@code [de, ate)}, dividindo a faixa ao meio até restar um bloco por tarefa.
+     * Cada bloco guarda seu resultado em {@code partes}, na posição do bloco.
+     */
+    private static final class Filtragem extends RecursiveAction {
+
+        private final List<Midia> fonte;
+        private final Predicate<Midia> filtro;
+        private final int bloco;
+        private final List<List<Midia>> partes;
+        private final int de;
+        private final int ate;
+
+        Filtragem(List<Midia> fonte, Predicate<Midia> filtro, int bloco, List<List<Midia>> partes, int de, int ate) {
+            this.fonte = fonte;
+            this.filtro = filtro;
+            this.bloco = bloco;
+            this.partes = partes;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de > 1) {
+                int meio = (de + ate) >>> 1;
+                invokeAll(new Filtragem(fonte, filtro, bloco, partes, de, meio),
+                        new Filtragem(fonte, filtro, bloco, partes, meio, ate));
+                return;
+            }
+            int inicio = de * bloco;
+            int fim = Math.min(fonte.size(), inicio + bloco);
+            List<Midia> aceitas = new ArrayList<>();
+            for (int i = inicio; i < fim; i++) {
+                Midia m = fonte.get(i);
+                if (filtro.test(m)) aceitas.add(m);
+            }
+            partes.set(de, aceitas);
+        }
+    }
+}
@@ -35,10 +35,25 @@ public class Filme extends Midia {
         this.idioma = idioma;
     }
 
+    /**
+     * Construtor para instanciar um Filme com o tamanho já em bytes.
+     *
+     * @param titulo O título comercial do filme.
+     * @param local O caminho absoluto (path) do arquivo no sistema de arquivos.
+     * @param duracaoMinutos A duração do filme em minutos.
+     * @param categoria O gênero do filme (ex: "Ação", "Comédia").
+     * @param idioma O idioma principal do filme.
+     * @param tamanhoDisco O tamanho do arquivo em bytes.
+     */
+    public Filme(String titulo, String local, int duracaoMinutos, String categoria, String idioma, long tamanhoDisco) {
+        super(local, titulo, duracaoMinutos, categoria, tamanhoDisco);
+        this.idioma = idioma;
+    }
+
     /**
      * Construtor simplificado para instanciar um Filme.
      * <p>
-     * Este construtor define o tamanho do disco automaticamente como "0".
+     * Este construtor define o tamanho do disco automaticamente como 0.
      * </p>
      *
      * @param titulo O título comercial do filme.
@@ -48,7 +63,7 @@ public class Filme extends Midia {
      * @param idioma O idioma principal do filme.
      */
     public Filme(String titulo, String local, int duracaoMinutos, String categoria, String idioma) {
-        this(titulo, local, duracaoMinutos, categoria, idioma, "0");
+        this(titulo, local, duracaoMinutos, categoria, idioma, 0L);
     }
 
     /**
@@ -66,7 +81,7 @@ public class Filme extends Midia {
                 "Idioma: " + idioma + "\n" +
                 "Categoria: " + getCategoria() + "\n" +
                 "Duração (min): " + getDuracao() + "\n" +
-                "Tamanho: " + getTamanhoDisco() + "\n";
+                "Tamanho: " + getTamanhoFormatado() + "\n";
     }
 
     /**
@@ -0,0 +1,30 @@
+package Modelo;
+
+/**
+ * Formatos de arquivo suportados para o catálogo base do {@link GerenciadorMidia}.
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public enum FormatoCatalogo {
+
+    /**
+     * Texto separado por ponto e vírgula (database.csv), o formato original.
+     */
+    CSV,
+
+    /**
+     * Formato binário compacto com checksum, ver {@link CatalogoBinario}.
+     */
+    BINARIO;
+
+    /**
+     * Descobre o formato a partir da extensão do arquivo: ".csv" é texto, qualquer outra é binário.
+     *
+     * @param arquivo O caminho do arquivo do catálogo.
+     * @return O formato correspondente.
+     */
+    public static FormatoCatalogo doArquivo(String arquivo) {
+        return arquivo.toLowerCase().endsWith(".csv") ? CSV : BINARIO;
+    }
+}
@@ -4,13 +4,41 @@ import excecoes.ErroPersistenciaException;
 import excecoes.MidiaJaCadastradaException;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
 
 /**
  * Classe controladora responsável por gerenciar todo o ciclo de vida das Mídias.
@@ -19,6 +47,10 @@ import java.util.List;
  * mantendo a sincronia entre a lista em memória, o arquivo de registro central (CSV)
  * e os arquivos físicos no sistema operacional.
  * </p>
+ * <p>
+ * Cada alteração é gravada como um registro curto no {@link DiarioMutacoes}; o CSV base
+ * só é reescrito quando o diário ultrapassa o limite de compactação.
+ * </p>
  *
  * @author Seu Nome
  * @version 1.0
@@ -26,394 +58,2309 @@ import java.util.List;
 public class GerenciadorMidia {
 
     /**
-     * Lista em memória contendo todas as mídias carregadas.
+     * Lista em memória contendo todas as mídias carregadas.
+     */
+    private List<Midia> midias;
+
+    /**
+     * Índice primário: caminho normalizado do arquivo -> mídia.
+     * <p>
+     * Permite buscas e verificação de duplicidade em tempo constante. Deve ser mantido
+     * em sincronia com a lista em todas as operações (ver {@link #incluir(Midia)},
+     * {@link #excluir(Midia)}, {@link #substituir(Midia, Midia)}, {@link #indexar(Midia)}
+     * e {@link #desindexar(Midia)}).
+     * </p>
+     */
+    private final Map<String, Midia> indicePorLocal = new HashMap<>();
+
+    /**
+     * Número de sequência de cada mídia, que define a ordem do catálogo.
+     * <p>
+     * Uma mídia editada herda a sequência da anterior, preservando a posição na lista.
+     * Os índices secundários usam essa sequência para manter seus grupos na mesma ordem da lista.
+     * </p>
+     */
+    private final Map<Midia, Long> sequencia = new IdentityHashMap<>();
+
+    /**
+     * Próximo número de sequência a ser atribuído.
+     */
+    private long proximaSequencia;
+
+    /**
+     * Sequência de uma mídia do catálogo. Os índices a leem uma vez por inclusão ou remoção
+     * e guardam as mídias chaveadas por ela, sem consultar {@link #sequencia} a cada comparação.
+     */
+    private final ToLongFunction<Midia> sequenciaDe = m -> sequencia.get(m);
+
+    /**
+     * Ordem do catálogo (ordem de inserção), baseada em {@link #sequencia}. Usada apenas para
+     * ordenar resultados de consultas, nunca na manutenção dos índices.
+     */
+    private final Comparator<Midia> ordemCatalogo = Comparator.comparingLong(sequenciaDe);
+
+    /**
+     * Índice secundário por tipo concreto da mídia (Filme, Musica, Livro).
+     */
+    private final IndiceAgrupado<Class<? extends Midia>> indicePorTipo =
+            new IndiceAgrupado<>(Midia::getClass, sequenciaDe);
+
+    /**
+     * Índice secundário por categoria, sem diferenciar maiúsculas de minúsculas.
+     */
+    private final IndiceAgrupado<String> indicePorCategoria =
+            new IndiceAgrupado<>(m -> normalizarCategoria(m.getCategoria()), sequenciaDe);
+
+    /**
+     * Índice secundário ordenado por duração, para consultas por faixa.
+     */
+    private final IndiceOrdenado indicePorDuracao = new IndiceOrdenado(Midia::getDuracao, sequenciaDe);
+
+    /**
+     * Índice secundário ordenado por tamanho em disco, para consultas por faixa.
+     */
+    private final IndiceOrdenado indicePorTamanho = new IndiceOrdenado(Midia::getTamanhoDisco, sequenciaDe);
+
+    /**
+     * Índice secundário em ordem alfabética de título, para a paginação por título.
+     */
+    private final IndiceTitulo indicePorTitulo = new IndiceTitulo(sequenciaDe);
+
+    /**
+     * Índice invertido para busca textual (título, idioma, artista e autores).
+     */
+    private final IndiceTextual indiceTextual = new IndiceTextual(sequenciaDe);
+
+    /**
+     * Índice de trigramas dos títulos, para busca aproximada. A busca aproximada é opcional e
+     * o índice é o mais caro de montar, então ele só é criado na primeira consulta
+     * ({@link #buscarAproximado(String, int)}) e, a partir daí, acompanha as mutações.
+     */
+    private IndiceTrigramas indiceTrigramas;
+
+    /**
+     * Semelhança mínima (coeficiente de Dice dos trigramas) aceita pela busca aproximada.
+     */
+    public static final double SEMELHANCA_MINIMA = 0.3;
+
+    /**
+     * Índices secundários sempre mantidos, atualizados a cada mutação (o de trigramas, depois
+     * de criado, também é).
+     */
+    private final List<IndiceMidia> indicesSecundarios = List.of(
+            indicePorTipo, indicePorCategoria, indicePorDuracao, indicePorTamanho, indicePorTitulo, indiceTextual);
+
+    /**
+     * Caminho para o arquivo CSV que funciona como banco de dados persistente.
+     */
+    private final String ARQUIVO_DB;
+
+    /**
+     * Formato do arquivo base, definido pela extensão de {@link #ARQUIVO_DB}.
+     */
+    private final FormatoCatalogo formato;
+
+    /**
+     * Cabeçalho gravado na primeira linha do arquivo CSV.
+     */
+    private static final String CABECALHO_CSV = "TIPO;TITULO;CATEGORIA;DURACAO;EXTRA;LOCAL;TAMANHO;"
+            + CarregadorCatalogoCsv.MARCADOR_CHECKSUM;
+
+    /**
+     * Quantidade de gerações anteriores do arquivo base mantidas como reserva
+     * (ex: database.csv.1 e database.csv.2).
+     */
+    public static final int GERACOES_ANTERIORES = 2;
+
+    /**
+     * Tamanho padrão (em bytes) a partir do qual o diário é compactado no arquivo base.
+     */
+    public static final long LIMITE_COMPACTACAO_PADRAO = 1024 * 1024;
+
+    /**
+     * Diário de mutações: cada operação anexa um registro curto em vez de reescrever o CSV.
+     */
+    private final DiarioMutacoes diario;
+
+    /**
+     * Segmento do diário que está sendo (ou foi interrompido enquanto era) compactado.
+     */
+    private final File segmentoCompactacao;
+
+    /**
+     * Tamanho do diário que dispara a compactação em segundo plano.
+     */
+    private long limiteCompactacao = LIMITE_COMPACTACAO_PADRAO;
+
+    /**
+     * Indica se já existe uma compactação agendada, evitando agendamentos repetidos.
+     */
+    private boolean compactacaoAgendada;
+
+    /**
+     * Nível de durabilidade das mutações (ver {@link Durabilidade}).
+     */
+    private Durabilidade durabilidade = Durabilidade.SINCRONA;
+
+    /**
+     * Atraso padrão (em milissegundos) da gravação em segundo plano.
+     */
+    public static final long ATRASO_GRAVACAO_PADRAO_MS = 200;
+
+    /**
+     * Quantidade padrão de alterações pendentes que dispara a gravação antes do atraso.
+     */
+    public static final int LIMITE_ALTERACOES_PENDENTES_PADRAO = 1000;
+
+    /**
+     * Tempo máximo que uma alteração fica pendente antes de ser gravada.
+     */
+    private long atrasoGravacaoMs = ATRASO_GRAVACAO_PADRAO_MS;
+
+    /**
+     * Número de alterações pendentes que antecipa a gravação.
+     */
+    private int limiteAlteracoesPendentes = LIMITE_ALTERACOES_PENDENTES_PADRAO;
+
+    /**
+     * Registros do diário ainda não gravados (modos {@link Durabilidade#LOTE} e {@link Durabilidade#ASSINCRONA}).
+     */
+    private final List<String> registrosPendentes = new ArrayList<>();
+
+    /**
+     * Conclui quando os registros pendentes atuais forem gravados.
+     */
+    private CompletableFuture<Void> lotePendente = new CompletableFuture<>();
+
+    /**
+     * Gravação agendada no gravador, se houver.
+     */
+    private ScheduledFuture<?> gravacaoAgendada;
+
+    /**
+     * Indica que {@link #fechar()} já foi chamado: as threads de fundo foram encerradas e
+     * as mutações seguintes gravam o diário diretamente na thread de quem as executa.
+     */
+    private boolean fechado;
+
+    /**
+     * Thread única (daemon) que grava as alterações pendentes em segundo plano.
+     */
+    private final ScheduledExecutorService gravador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "gravador-catalogo");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Grava os arquivos .tpoo em segundo plano, fora do caminho das mutações.
+     */
+    private final EscritorTpoo escritorTpoo = new EscritorTpoo();
+
+    /**
+     * Forma de gravação dos metadados .tpoo (um arquivo por mídia ou um por diretório).
+     */
+    private ModoTpoo modoTpoo = ModoTpoo.INDIVIDUAL;
+
+    /**
+     * Thread única (daemon) que executa a compactação fora do caminho das mutações.
+     */
+    private final ExecutorService compactador = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "compactador-catalogo");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Serializa as compactações: elas compartilham o segmento, o arquivo temporário e as gerações.
+     * Quando os dois são necessários, é obtido antes do bloqueio do gerenciador.
+     */
+    private final Object bloqueioCompactacao = new Object();
+
+    /**
+     * Quantidade padrão de candidatas a partir da qual uma consulta é filtrada e ordenada em paralelo.
+     * É um valor conservador: o ponto de equilíbrio depende da máquina e pode ser medido com
+     * {@code ConsultaParalelaBenchmark} e ajustado com {@link #setLimiarParalelo(int)}.
+     */
+    public static final int LIMIAR_PARALELO_PADRAO = 50_000;
+
+    /**
+     * Quantidade de candidatas a partir da qual as consultas usam o pool de fork/join.
+     */
+    private int limiarParalelo = LIMIAR_PARALELO_PADRAO;
+
+    /**
+     * Ouvintes das alterações do catálogo.
+     */
+    private final List<OuvinteCatalogo> ouvintes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Eventos gerados sob o bloqueio do catálogo e ainda não entregues aos ouvintes (protegido por {@code this}).
+     */
+    private final List<EventoCatalogo> eventosPendentes = new ArrayList<>();
+
+    /**
+     * Serializa as entregas, para que os ouvintes recebam os eventos na ordem das alterações.
+     */
+    private final Object entregaEventos = new Object();
+
+    /**
+     * Construtor que inicializa o gerenciador.
+     * <p>
+     * Ao ser instanciado, ele tenta automaticamente carregar os dados
+     * existentes do arquivo CSV para a memória.
+     * </p>
+     */
+    public GerenciadorMidia() {
+        this("database.csv");
+    }
+
+    /**
+     * Construtor que inicializa o gerenciador usando um arquivo de banco de dados específico.
+     * <p>
+     * Carrega o arquivo base e, em seguida, reproduz o diário de mutações por cima dele.
+     * Se uma compactação anterior foi interrompida, ela é concluída antes de retornar.
+     * </p>
+     * <p>
+     * Arquivos ".csv" usam o formato texto; qualquer outra extensão usa o {@link CatalogoBinario}.
+     * Ao abrir um catálogo binário que ainda não existe, se houver um CSV com o mesmo nome
+     * (ex: "database.bin" e "database.csv"), ele é migrado para o formato binário. A migração
+     * é de mão única: o CSV original é preservado, mas não recebe mais alterações.
+     * </p>
+     *
+     * @param arquivoDb O caminho do arquivo base (CSV ou binário).
+     */
+    public GerenciadorMidia(String arquivoDb) {
+        this.ARQUIVO_DB = arquivoDb;
+        this.formato = FormatoCatalogo.doArquivo(arquivoDb);
+        this.midias = new ArrayList<>();
+        this.diario = new DiarioMutacoes(new File(arquivoDb + ".diario"));
+        this.segmentoCompactacao = new File(arquivoDb + ".diario.compactando");
+        carregarDoArquivo();
+        reproduzirDiario();
+    }
+
+    /**
+     * Lê o arquivo base (database.csv ou catálogo binário) e popula a lista de mídias.
+     * <p>
+     * Este método é chamado internamente na inicialização. No formato CSV o parsing é feito
+     * em paralelo pelo {@link CarregadorCatalogoCsv}; no formato binário a leitura é feita pelo
+     * {@link CatalogoBinario}. Ambos instanciam o objeto correto (Filme, Musica ou Livro).
+     * Se o arquivo CSV não existir, ele cria um novo vazio.
+     * </p>
+     * <p>
+     * O checksum da geração mais recente é conferido antes do uso. Se ela estiver corrompida
+     * (ou ausente após uma queda no meio da troca de gerações), as gerações anteriores são
+     * tentadas em ordem; o diário reproduzido em seguida recupera as alterações mais novas
+     * que ainda não tinham sido compactadas.
+     * </p>
+     * <p>
+     * As mídias lidas entram de uma vez por {@link #incluirTodas(List)}, que monta cada índice
+     * numa única passada em vez de inserir mídia por mídia.
+     * </p>
+     */
+    private void carregarDoArquivo() {
+        File arquivo = new File(ARQUIVO_DB);
+        List<File> geracoes = new ArrayList<>();
+        geracoes.add(arquivo);
+        for (int i = 1; i <= GERACOES_ANTERIORES; i++) {
+            geracoes.add(new File(ARQUIVO_DB + "." + i));
+        }
+
+        if (geracoes.stream().noneMatch(File::exists)) {
+            if (formato == FormatoCatalogo.BINARIO) {
+                migrarDoCsv();
+                return;
+            }
+            try {
+                arquivo.createNewFile();
+            } catch (IOException e) {
+                System.err.println("Erro ao criar banco de dados: " + e.getMessage());
+            }
+            return;
+        }
+
+        for (File geracao : geracoes) {
+            if (!geracao.exists()) continue;
+            try {
+                List<Midia> lidas;
+                if (formato == FormatoCatalogo.CSV) {
+                    CarregadorCatalogoCsv.verificar(geracao);
+                    lidas = CarregadorCatalogoCsv.carregar(geracao);
+                } else {
+                    lidas = CatalogoBinario.carregar(geracao);
+                }
+                incluirTodas(lidas);
+                if (geracao != arquivo) {
+                    System.err.println("Aviso: catálogo carregado da geração anterior " + geracao.getName());
+                }
+                return;
+            } catch (IOException e) {
+                System.err.println("Erro ao ler catálogo " + geracao.getName() + ": " + e.getMessage());
+            }
+        }
+        System.err.println("Nenhuma geração válida do catálogo foi encontrada; iniciando vazio.");
+    }
+
+    /**
+     * Migra (mão única) o CSV de mesmo nome, com o seu diário, para o catálogo binário.
+     * <p>
+     * Se não houver CSV equivalente, o catálogo binário começa vazio e só é criado
+     * na primeira compactação.
+     * </p>
+     */
+    private void migrarDoCsv() {
+        int ponto = ARQUIVO_DB.lastIndexOf('.');
+        String arquivoCsv = (ponto > 0 ? ARQUIVO_DB.substring(0, ponto) : ARQUIVO_DB) + ".csv";
+        if (!new File(arquivoCsv).exists()) return;
+
+        GerenciadorMidia origem = new GerenciadorMidia(arquivoCsv);
+        origem.fechar();
+        incluirTodas(origem.midias);
+        try {
+            salvarNoArquivo(new ArrayList<>(midias));
+            System.out.println("Catálogo migrado de " + arquivoCsv + " para " + ARQUIVO_DB);
+        } catch (ErroPersistenciaException e) {
+            System.err.println("Erro ao migrar catálogo para binário: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reproduz o segmento em compactação (se houver) e o diário sobre as mídias já carregadas.
+     * <p>
+     * Os registros são idempotentes: adicionar um local existente substitui a mídia,
+     * e remover um local inexistente não tem efeito. Assim, reproduzir um segmento
+     * que já havia sido incorporado ao arquivo base não duplica dados.
+     * </p>
+     */
+    private void reproduzirDiario() {
+        boolean segmentoPendente = segmentoCompactacao.exists();
+        try {
+            DiarioMutacoes.reproduzir(segmentoCompactacao, this::aplicarRegistro);
+            DiarioMutacoes.reproduzir(new File(ARQUIVO_DB + ".diario"), this::aplicarRegistro);
+        } catch (IOException e) {
+            System.err.println("Erro ao ler diário: " + e.getMessage());
+        }
+
+        if (segmentoPendente) {
+            try {
+                compactar();
+            } catch (ErroPersistenciaException e) {
+                System.err.println("Erro ao concluir compactação pendente: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Aplica um registro do diário à lista em memória.
+     *
+     * @param registro Vetor com o tipo do registro e o seu conteúdo.
+     */
+    private void aplicarRegistro(String[] registro) {
+        String conteudo = registro[1];
+        switch (registro[0]) {
+            case DiarioMutacoes.ADICAO -> substituirOuAdicionar(null, deLinhaCsv(conteudo));
+            case DiarioMutacoes.REMOCAO -> {
+                Midia existente = buscarMidiaPorLocal(conteudo);
+                if (existente != null) excluir(existente);
+            }
+            case DiarioMutacoes.EDICAO -> {
+                int sep = conteudo.indexOf(';');
+                if (sep > 0) substituirOuAdicionar(conteudo.substring(0, sep), deLinhaCsv(conteudo.substring(sep + 1)));
+            }
+        }
+    }
+
+    /**
+     * Coloca a mídia reproduzida no lugar da versão anterior (pelo local antigo ou pelo atual)
+     * ou a adiciona ao final da lista.
+     *
+     * @param localAntigo O local anterior da mídia (pode ser null).
+     * @param nova A mídia lida do diário (ignorada se null).
+     */
+    private void substituirOuAdicionar(String localAntigo, Midia nova) {
+        if (nova == null) return;
+        Midia atual = buscarMidiaPorLocal(nova.getLocal());
+        Midia anterior = localAntigo != null ? buscarMidiaPorLocal(localAntigo) : null;
+
+        if (anterior != null && atual != null && anterior != atual) {
+            excluir(atual);
+        }
+        Midia alvo = anterior != null ? anterior : atual;
+        if (alvo != null) {
+            substituir(alvo, nova);
+        } else {
+            incluir(nova);
+        }
+    }
+
+    /**
+     * Converte uma linha do CSV em um objeto {@link Midia}.
+     *
+     * @param linha A linha no formato TIPO;TITULO;CATEGORIA;DURACAO;EXTRA;LOCAL;TAMANHO.
+     * @return A mídia correspondente, ou null se a linha estiver incompleta ou for inválida.
+     */
+    private static Midia deLinhaCsv(String linha) {
+        String[] partes = linha.split(";");
+        if (partes.length < 7) return null;
+
+        String tipo = partes[0];
+        String titulo = partes[1];
+        String categoria = partes[2];
+        int duracao;
+        try {
+            duracao = Integer.parseInt(partes[3]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        String extra = partes[4];
+        String local = partes[5];
+        String tamanho = partes[6];
+
+        return switch (tipo) {
+            case "Filme" -> new Filme(titulo, local, duracao, categoria, extra, tamanho);
+            case "Musica" -> new Musica(local, titulo, categoria, duracao, extra, tamanho);
+            case "Livro" -> new Livro(local, titulo, categoria, duracao, extra, tamanho);
+            default -> null;
+        };
+    }
+
+    /**
+     * Converte uma mídia na linha correspondente do CSV.
+     *
+     * @param m A mídia a ser convertida.
+     * @return A linha formatada (sem quebra de linha).
+     */
+    private static String paraLinhaCsv(Midia m) {
+        String extra = "";
+        String tipo = "";
+
+        if (m instanceof Filme f) { tipo = "Filme"; extra = f.getIdioma(); }
+        else if (m instanceof Musica mu) { tipo = "Musica"; extra = mu.getArtista(); }
+        else if (m instanceof Livro l) { tipo = "Livro"; extra = l.getAutores(); }
+
+        return String.format("%s;%s;%s;%d;%s;%s;%d",
+                tipo, m.getTitulo(), m.getCategoria(), m.getDuracao(), extra, m.getLocal(), m.getTamanhoDisco());
+    }
+
+    /**
+     * Persiste uma cópia da lista de mídias no arquivo base, no formato configurado.
+     * <p>
+     * Este método substitui o arquivo base inteiro de forma segura contra quedas:
+     * <ol>
+     * <li>Grava o conteúdo (com checksum) em um arquivo temporário e força a escrita no disco.</li>
+     * <li>Desloca as gerações anteriores (database.csv.1 -> database.csv.2) e preserva a base
+     * atual como database.csv.1.</li>
+     * <li>Renomeia atomicamente o temporário sobre o arquivo base.</li>
+     * </ol>
+     * Em nenhum momento o arquivo base fica parcialmente escrito. No fluxo normal este método
+     * só é chamado pela compactação do diário; as operações individuais gravam apenas no diário.
+     * </p>
+     *
+     * @param retrato As mídias a serem gravadas.
+     * @throws ErroPersistenciaException Se houver falha na escrita do arquivo.
+     */
+    private void salvarNoArquivo(List<Midia> retrato) throws ErroPersistenciaException {
+        Path base = Paths.get(ARQUIVO_DB);
+        Path temporario = Paths.get(ARQUIVO_DB + ".tmp");
+        try {
+            if (formato == FormatoCatalogo.BINARIO) {
+                CatalogoBinario.salvar(retrato, temporario.toFile());
+            } else {
+                salvarCsv(retrato, temporario.toFile());
+            }
+
+            rotacionarGeracoes(base);
+            try {
+                Files.move(temporario, base, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, base, StandardCopyOption.REPLACE_EXISTING);
+            }
+            sincronizarDiretorio(base);
+        } catch (IOException e) {
+            throw new ErroPersistenciaException("Erro ao salvar dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Grava o catálogo em CSV com a linha de checksum no final e força a escrita no disco.
+     *
+     * @param retrato As mídias a serem gravadas.
+     * @param destino O arquivo a ser escrito.
+     * @throws IOException Se houver falha na escrita.
+     */
+    private void salvarCsv(List<Midia> retrato, File destino) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(destino)) {
+            CheckedOutputStream verificado = new CheckedOutputStream(fos, new CRC32C());
+            BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(verificado, StandardCharsets.UTF_8));
+            bw.write(CABECALHO_CSV);
+            bw.newLine();
+
+            for (Midia m : retrato) {
+                bw.write(paraLinhaCsv(m));
+                bw.newLine();
+            }
+            bw.flush();
+
+            // A linha de checksum não entra no próprio cálculo, por isso vai direto para o arquivo
+            String rodape = CarregadorCatalogoCsv.MARCADOR_CHECKSUM + ";"
+                    + Long.toHexString(verificado.getChecksum().getValue()) + System.lineSeparator();
+            fos.write(rodape.getBytes(StandardCharsets.UTF_8));
+            fos.getChannel().force(true);
+        }
+    }
+
+    /**
+     * Desloca as gerações anteriores e preserva a base atual como geração 1.
+     * <p>
+     * A base atual é preservada com um link físico (hard link), de modo que o arquivo base
+     * continua existindo até ser substituído pelo rename atômico. Se o sistema de arquivos
+     * não suportar links, a base é movida; uma queda nesse intervalo é coberta pela leitura
+     * das gerações anteriores na inicialização.
+     * </p>
+     *
+     * @param base O arquivo base atual.
+     * @throws IOException Se houver falha ao mover as gerações.
+     */
+    private void rotacionarGeracoes(Path base) throws IOException {
+        if (!Files.exists(base)) return;
+
+        for (int i = GERACOES_ANTERIORES; i > 1; i--) {
+            Path anterior = Paths.get(ARQUIVO_DB + "." + (i - 1));
+            if (Files.exists(anterior)) {
+                Files.move(anterior, Paths.get(ARQUIVO_DB + "." + i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Path primeira = Paths.get(ARQUIVO_DB + ".1");
+        Files.deleteIfExists(primeira);
+        try {
+            Files.createLink(primeira, base);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.move(base, primeira, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Força a gravação da entrada de diretório após o rename (necessário no Linux para
+     * que o rename sobreviva a uma queda de energia). Em sistemas que não permitem abrir
+     * diretórios, como o Windows, a operação é ignorada.
+     *
+     * @param arquivo Um arquivo do diretório a sincronizar.
+     */
+    private static void sincronizarDiretorio(Path arquivo) {
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Não suportado neste sistema de arquivos
+        }
+    }
+
+    /**
+     * Registra uma mutação conforme a {@link Durabilidade} configurada.
+     * <p>
+     * No modo {@link Durabilidade#SINCRONA} os registros são gravados imediatamente. Nos demais,
+     * eles ficam pendentes (catálogo "sujo") e a gravação é agendada: após o atraso configurado
+     * ou, antes disso, quando o número de alterações pendentes atinge o limite.
+     * Depois de {@link #fechar()}, todos os modos gravam imediatamente.
+     * Deve ser chamado com o bloqueio do gerenciador.
+     * </p>
+     *
+     * @param registros Os registros formatados conforme {@link DiarioMutacoes}.
+     * @return No modo {@link Durabilidade#LOTE}, o lote cuja gravação o chamador deve aguardar
+     *         (fora do bloqueio, com {@link #aguardarGravacao(CompletableFuture)}); caso contrário, null.
+     * @throws ErroPersistenciaException Se houver falha na escrita síncrona do diário.
+     */
+    private CompletableFuture<Void> registrarNoDiario(String... registros) throws ErroPersistenciaException {
+        if (durabilidade == Durabilidade.SINCRONA) {
+            escreverNoDiario(List.of(registros));
+            return null;
+        }
+
+        registrosPendentes.addAll(List.of(registros));
+        if (fechado) {
+            // Sem o gravador: grava junto com o que tiver sobrado pendente, preservando a ordem
+            descarregar();
+            return null;
+        }
+        CompletableFuture<Void> lote = lotePendente;
+        if (registrosPendentes.size() >= limiteAlteracoesPendentes) {
+            agendarGravacao(0);
+        } else if (gravacaoAgendada == null) {
+            agendarGravacao(atrasoGravacaoMs);
+        }
+        return durabilidade == Durabilidade.LOTE ? lote : null;
+    }
+
+    /**
+     * Agenda a gravação das alterações pendentes no gravador em segundo plano.
+     *
+     * @param atrasoMs O atraso em milissegundos (0 para gravar assim que possível).
+     */
+    private void agendarGravacao(long atrasoMs) {
+        if (gravacaoAgendada != null) {
+            if (atrasoMs > 0) return;
+            gravacaoAgendada.cancel(false);
+        }
+        gravacaoAgendada = gravador.schedule(() -> {
+            try {
+                descarregar();
+            } catch (ErroPersistenciaException e) {
+                System.err.println("Erro na gravação em segundo plano: " + e.getMessage());
+                synchronized (this) {
+                    if (!fechado && gravacaoAgendada == null && !registrosPendentes.isEmpty()) {
+                        agendarGravacao(atrasoGravacaoMs);
+                    }
+                }
+            }
+        }, atrasoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Aguarda a gravação de um lote (modo {@link Durabilidade#LOTE}). Deve ser chamado
+     * sem o bloqueio do gerenciador, para que outras mutações possam entrar no mesmo lote.
+     *
+     * @param lote O lote retornado por {@link #registrarNoDiario(String...)} (pode ser null).
+     * @throws ErroPersistenciaException Se a gravação do lote falhar.
+     */
+    private static void aguardarGravacao(CompletableFuture<Void> lote) throws ErroPersistenciaException {
+        if (lote == null) return;
+        try {
+            lote.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErroPersistenciaException("Interrompido aguardando gravação.", e);
+        } catch (ExecutionException e) {
+            throw new ErroPersistenciaException("Erro ao salvar dados: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Grava imediatamente todas as alterações pendentes no diário (flush).
+     * <p>
+     * Combina todas as mutações acumuladas desde a última gravação em uma única escrita.
+     * Em caso de falha, as alterações continuam pendentes para uma nova tentativa, e
+     * quem aguardava o lote (modo {@link Durabilidade#LOTE}) recebe o erro.
+     * </p>
+     *
+     * @throws ErroPersistenciaException Se houver falha na escrita do diário.
+     */
+    public void descarregar() throws ErroPersistenciaException {
+        CompletableFuture<Void> lote;
+        synchronized (this) {
+            if (gravacaoAgendada != null) {
+                gravacaoAgendada.cancel(false);
+                gravacaoAgendada = null;
+            }
+            if (registrosPendentes.isEmpty()) return;
+
+            List<String> registros = new ArrayList<>(registrosPendentes);
+            lote = lotePendente;
+            registrosPendentes.clear();
+            lotePendente = new CompletableFuture<>();
+            try {
+                escreverNoDiario(registros);
+            } catch (ErroPersistenciaException e) {
+                registrosPendentes.addAll(0, registros);
+                lote.completeExceptionally(e);
+                throw e;
+            }
+        }
+        lote.complete(null);
+    }
+
+    /**
+     * Indica se há alterações em memória ainda não gravadas no diário.
+     *
+     * @return {@code true} se o catálogo tem alterações pendentes.
+     */
+    public synchronized boolean possuiAlteracoesPendentes() {
+        return !registrosPendentes.isEmpty();
+    }
+
+    /**
+     * Define o nível de durabilidade das mutações.
+     * <p>
+     * Ao voltar para {@link Durabilidade#SINCRONA}, as alterações pendentes são gravadas antes,
+     * preservando a ordem dos registros no diário.
+     * </p>
+     *
+     * @param durabilidade O novo nível de durabilidade.
+     * @throws ErroPersistenciaException Se a gravação das alterações pendentes falhar.
+     */
+    public synchronized void setDurabilidade(Durabilidade durabilidade) throws ErroPersistenciaException {
+        if (durabilidade == Durabilidade.SINCRONA) descarregar();
+        this.durabilidade = durabilidade;
+    }
+
+    /**
+     * Obtém o nível de durabilidade atual.
+     *
+     * @return O nível de durabilidade.
+     */
+    public synchronized Durabilidade getDurabilidade() {
+        return durabilidade;
+    }
+
+    /**
+     * Define quanto tempo as alterações podem ficar pendentes antes da gravação em segundo plano.
+     *
+     * @param atrasoMs O atraso em milissegundos.
+     */
+    public synchronized void setAtrasoGravacao(long atrasoMs) {
+        this.atrasoGravacaoMs = atrasoMs;
+    }
+
+    /**
+     * Define quantas alterações pendentes disparam a gravação antes do fim do atraso.
+     *
+     * @param limite O número de alterações.
+     */
+    public synchronized void setLimiteAlteracoesPendentes(int limite) {
+        this.limiteAlteracoesPendentes = limite;
+    }
+
+    /**
+     * Anexa registros ao diário e agenda a compactação se o limite foi atingido.
+     * <p>
+     * Nos modos {@link Durabilidade#SINCRONA} e {@link Durabilidade#LOTE} a escrita é forçada
+     * em disco (fsync); no modo {@link Durabilidade#ASSINCRONA} ela vai só até o cache do sistema.
+     * </p>
+     *
+     * @param registros Os registros formatados conforme {@link DiarioMutacoes}.
+     * @throws ErroPersistenciaException Se houver falha na escrita do diário.
+     */
+    private void escreverNoDiario(List<String> registros) throws ErroPersistenciaException {
+        try {
+            diario.registrar(registros, durabilidade != Durabilidade.ASSINCRONA);
+        } catch (IOException e) {
+            throw new ErroPersistenciaException("Erro ao salvar dados: " + e.getMessage(), e);
+        }
+
+        if (diario.getTamanho() >= limiteCompactacao && !compactacaoAgendada && !fechado) {
+            compactacaoAgendada = true;
+            compactador.submit(() -> {
+                try {
+                    compactar();
+                } catch (ErroPersistenciaException e) {
+                    System.err.println("Erro na compactação do diário: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Incorpora o diário de mutações ao arquivo base (compactação).
+     * <p>
+     * Sob o bloqueio do gerenciador, tira um retrato da lista e move o diário atual para
+     * um segmento de compactação, liberando as mutações para continuarem num diário vazio.
+     * Fora do bloqueio, grava o novo arquivo base e então apaga o segmento.
+     * Se o processo for interrompido, o segmento é reproduzido e compactado na próxima inicialização.
+     * </p>
+     * <p>
+     * Chamadas simultâneas (por exemplo, uma explícita e a automática) são executadas uma de
+     * cada vez; caso contrário uma poderia apagar o segmento com registros que a outra acabou
+     * de rotacionar e ainda não gravou na base.
+     * </p>
+     *
+     * @throws ErroPersistenciaException Se houver falha ao rotacionar o diário ou gravar a base.
+     */
+    public void compactar() throws ErroPersistenciaException {
+        synchronized (bloqueioCompactacao) {
+            List<Midia> retrato;
+            synchronized (this) {
+                compactacaoAgendada = false;
+                try {
+                    diario.rotacionar(segmentoCompactacao);
+                } catch (IOException e) {
+                    throw new ErroPersistenciaException("Erro ao rotacionar diário: " + e.getMessage(), e);
+                }
+                retrato = new ArrayList<>(midias);
+            }
+            salvarNoArquivo(retrato);
+            segmentoCompactacao.delete();
+        }
+    }
+
+    /**
+     * Define o tamanho do diário (em bytes) que dispara a compactação automática.
+     *
+     * @param limiteCompactacao O novo limite em bytes.
+     */
+    public synchronized void setLimiteCompactacao(long limiteCompactacao) {
+        this.limiteCompactacao = limiteCompactacao;
+    }
+
+    /**
+     * Define a partir de quantas candidatas as consultas passam a filtrar e ordenar em paralelo.
+     *
+     * @param limiarParalelo A quantidade mínima ({@link Integer#MAX_VALUE} mantém tudo sequencial).
+     */
+    public synchronized void setLimiarParalelo(int limiarParalelo) {
+        this.limiarParalelo = limiarParalelo;
+    }
+
+    /**
+     * Encerra o gerenciador: grava as alterações pendentes e os arquivos .tpoo na fila,
+     * aguarda gravações e compactações em andamento e fecha o diário.
+     * <p>
+     * O gerenciador continua utilizável depois de fechado: as mutações seguintes são gravadas
+     * no diário de forma síncrona, qualquer que seja a {@link Durabilidade}, e a compactação
+     * deixa de ser agendada automaticamente (ainda pode ser feita com {@link #compactar()}).
+     * </p>
+     */
+    public void fechar() {
+        synchronized (this) {
+            fechado = true;
+        }
+        try {
+            descarregar();
+        } catch (ErroPersistenciaException e) {
+            System.err.println("Erro ao gravar alterações pendentes: " + e.getMessage());
+        }
+        escritorTpoo.fechar();
+        gravador.shutdown();
+        compactador.shutdown();
+        try {
+            gravador.awaitTermination(1, TimeUnit.MINUTES);
+            compactador.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        diario.fechar();
+    }
+
+    /**
+     * Gera um arquivo de metadados (.tpoo) na mesma pasta do arquivo de mídia original.
+     * <p>
+     * O nome do arquivo é gerado com base no título da mídia. Este arquivo contém
+     * um resumo textual das propriedades do objeto. No modo {@link ModoTpoo#EMPACOTADO},
+     * o mesmo resumo vira um registro no .tpoo único do diretório. A gravação é feita em
+     * segundo plano pelo {@link EscritorTpoo}; o estado pode ser consultado com
+     * {@link #getStatusTpoo(Midia)}.
+     * </p>
+     *
+     * @param m A mídia para a qual o arquivo .tpoo será gerado.
+     */
+    private void gerarArquivoIndividual(Midia m) {
+        if (modoTpoo == ModoTpoo.EMPACOTADO) {
+            escritorTpoo.gravarNoIndice(Paths.get(m.getLocal()), conteudoTpoo(m));
+        } else {
+            gravarTpooIndividual(m);
+        }
+    }
+
+    /**
+     * Pede a gravação do .tpoo individual (um arquivo por mídia) no formato original.
+     *
+     * @param m A mídia.
+     */
+    private void gravarTpooIndividual(Midia m) {
+        // O nome do .tpoo é baseado no TÍTULO, na mesma pasta do arquivo original
+        File arquivoTPOO = getArquivoTpooAssociado(m);
+        escritorTpoo.gravar(arquivoTPOO.toPath(), conteudoTpoo(m));
+    }
+
+    /**
+     * Monta o texto de metadados de uma mídia, comum aos dois modos de .tpoo.
+     *
+     * @param m A mídia.
+     * @return O conteúdo do .tpoo.
+     */
+    private static String conteudoTpoo(Midia m) {
+        String nl = System.lineSeparator();
+        return "Arquivo TPOO - " + m.getClass().getSimpleName() + nl
+                + "Titulo: " + m.getTitulo() + nl
+                + "Categoria: " + m.getCategoria() + nl
+                + "Duração: " + m.getDuracao() + nl
+                + "Local: " + m.getLocal() + nl
+                + "Tamanho: " + m.getTamanhoDisco() + nl;
+    }
+
+    /**
+     * Pede (em segundo plano) a exclusão do arquivo .tpoo associado ao título e local atuais da mídia.
+     *
+     * @param m A mídia.
+     */
+    private void apagarArquivoTpoo(Midia m) {
+        if (modoTpoo == ModoTpoo.EMPACOTADO) {
+            escritorTpoo.apagarDoIndice(Paths.get(m.getLocal()));
+        } else {
+            escritorTpoo.apagar(getArquivoTpooAssociado(m).toPath());
+        }
+    }
+
+    /**
+     * Define como os metadados .tpoo passam a ser gravados.
+     * <p>
+     * Vale para as próximas alterações; para converter os arquivos já existentes,
+     * use {@link #regerarArquivosTpoo()}.
+     * </p>
+     *
+     * @param modoTpoo {@link ModoTpoo#INDIVIDUAL} (um arquivo por mídia) ou
+     *                 {@link ModoTpoo#EMPACOTADO} (um arquivo por diretório).
+     */
+    public synchronized void setModoTpoo(ModoTpoo modoTpoo) {
+        this.modoTpoo = modoTpoo;
+    }
+
+    /**
+     * Obtém o modo de gravação dos metadados .tpoo.
+     *
+     * @return O modo atual.
+     */
+    public synchronized ModoTpoo getModoTpoo() {
+        return modoTpoo;
+    }
+
+    /**
+     * Regrava os metadados de todas as mídias no modo atual e apaga os do outro modo,
+     * convertendo o acervo entre arquivos individuais e empacotados.
+     */
+    public synchronized void regerarArquivosTpoo() {
+        for (Midia m : midias) {
+            if (modoTpoo == ModoTpoo.EMPACOTADO) {
+                escritorTpoo.apagar(getArquivoTpooAssociado(m).toPath());
+            } else {
+                escritorTpoo.apagarDoIndice(Paths.get(m.getLocal()));
+            }
+            gerarArquivoIndividual(m);
+        }
+    }
+
+    /**
+     * Gera os arquivos .tpoo individuais (formato original) de todas as mídias, sem mudar o modo.
+     * Útil para exportar os metadados quando o modo empacotado está em uso.
+     */
+    public synchronized void exportarArquivosTpooIndividuais() {
+        for (Midia m : midias) {
+            gravarTpooIndividual(m);
+        }
+    }
+
+    /**
+     * Consulta o estado da gravação do arquivo .tpoo de uma mídia.
+     *
+     * @param m A mídia.
+     * @return {@link EscritorTpoo.Status#PENDENTE}, {@link EscritorTpoo.Status#ESCRITO} ou
+     *         {@link EscritorTpoo.Status#FALHOU}.
+     */
+    public synchronized EscritorTpoo.Status getStatusTpoo(Midia m) {
+        Path chave = modoTpoo == ModoTpoo.EMPACOTADO ? Paths.get(m.getLocal()) : getArquivoTpooAssociado(m).toPath();
+        return escritorTpoo.getStatus(chave);
+    }
+
+    /**
+     * Aguarda a conclusão de todas as gravações de arquivos .tpoo pendentes.
+     *
+     * @throws InterruptedException Se a espera for interrompida.
+     */
+    public void aguardarArquivosTpoo() throws InterruptedException {
+        escritorTpoo.aguardar();
+    }
+
+    /**
+     * Recoloca na fila as gravações de .tpoo que esgotaram as tentativas automáticas.
+     */
+    public void tentarNovamenteArquivosTpoo() {
+        escritorTpoo.tentarNovamenteFalhas();
+    }
+
+
+    /**
+     * Adiciona uma nova mídia ao sistema.
+     * <p>
+     * Verifica se o arquivo já está cadastrado (pelo caminho). Se não estiver,
+     * adiciona à lista, registra no diário e gera o arquivo .tpoo.
+     * </p>
+     *
+     * @param m O objeto Midia a ser adicionado.
+     * @throws MidiaJaCadastradaException Se já existir uma mídia com o mesmo caminho.
+     * @throws ErroPersistenciaException Se houver erro ao salvar no disco.
+     */
+    public void adicionarMidia(Midia m) throws MidiaJaCadastradaException, ErroPersistenciaException {
+        CompletableFuture<Void> gravacao;
+        synchronized (this) {
+            if (buscarMidiaPorLocal(m.getLocal()) != null) {
+                throw new MidiaJaCadastradaException("Mídia já cadastrada!");
+            }
+            incluir(m);
+            gravacao = registrarNoDiario(DiarioMutacoes.ADICAO + ";" + paraLinhaCsv(m));
+            gerarArquivoIndividual(m);
+            notificar(new EventoCatalogo(EventoCatalogo.Tipo.ADICIONADAS, List.of(m)));
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+    }
+
+    /**
+     * Remove uma mídia do sistema.
+     * <p>
+     * Remove da lista, registra no diário e tenta excluir o arquivo .tpoo associado.
+     * Nota: O arquivo de mídia original (mp3, mp4, pdf) NÃO é excluído.
+     * </p>
+     *
+     * @param m A mídia a ser removida.
+     * @throws ErroPersistenciaException Se houver erro ao salvar o estado atualizado.
+     */
+    public void removerMidia(Midia m) throws ErroPersistenciaException {
+        CompletableFuture<Void> gravacao;
+        synchronized (this) {
+            if (sequencia.containsKey(m)) notificar(new EventoCatalogo(EventoCatalogo.Tipo.REMOVIDAS, List.of(m)));
+            excluir(m);
+            gravacao = registrarNoDiario(DiarioMutacoes.REMOCAO + ";" + m.getLocal());
+
+            // Apaga o .tpoo associado (em segundo plano)
+            apagarArquivoTpoo(m);
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+    }
+
+    /**
+     * Edita as informações de uma mídia existente.
+     * <p>
+     * Substitui o objeto antigo pelo novo na lista e atualiza a persistência.
+     * Se o título mudar, o arquivo .tpoo antigo é removido e um novo é gerado.
+     * </p>
+     *
+     * @param midiaAntiga O objeto original que será substituído.
+     * @param midiaNova O novo objeto com as informações atualizadas.
+     * @throws MidiaJaCadastradaException Se o novo caminho já pertencer a outra mídia do catálogo.
+     * @throws ErroPersistenciaException Se houver erro ao salvar as alterações.
+     */
+    public void editarMidia(Midia midiaAntiga, Midia midiaNova) throws MidiaJaCadastradaException, ErroPersistenciaException {
+        CompletableFuture<Void> gravacao = null;
+        synchronized (this) {
+            if (sequencia.containsKey(midiaAntiga)) {
+                verificarLocalLivre(midiaAntiga, midiaNova.getLocal());
+
+                // Se mudou o título, precisamos renomear o .tpoo antigo ou criar um novo
+                // Simplificação: remove o .tpoo antigo e cria um novo
+                apagarArquivoTpoo(midiaAntiga);
+
+                substituir(midiaAntiga, midiaNova);
+                gravacao = registrarNoDiario(DiarioMutacoes.EDICAO + ";" + midiaAntiga.getLocal() + ";" + paraLinhaCsv(midiaNova));
+                gerarArquivoIndividual(midiaNova);
+                notificar(new EventoCatalogo(EventoCatalogo.Tipo.ATUALIZADAS, List.of(midiaNova), List.of(midiaAntiga)));
+            }
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+    }
+
+    /**
+     * Move o arquivo físico da mídia para um novo diretório.
+     * <p>
+     * Esta operação é complexa pois envolve:
+     * 1. Mover o arquivo de mídia real (entre volumes, com uma {@link TransferenciaRetomavel}).
+     * 2. Mover o arquivo .tpoo associado.
+     * 3. Atualizar o caminho interno no objeto.
+     * 4. Registrar a alteração no diário.
+     * </p>
+     *
+     * @param m A mídia a ser movida.
+     * @param novoDiretorio O caminho da pasta de destino.
+     * @throws MidiaJaCadastradaException Se o caminho de destino já pertencer a outra mídia do catálogo.
+     * @throws ErroPersistenciaException Se o arquivo original não existir, o destino for inválido,
+     *         já existir um arquivo com o mesmo nome no destino ou houver erro de permissão.
+     */
+    public void moverMidia(Midia m, String novoDiretorio) throws MidiaJaCadastradaException, ErroPersistenciaException {
+        File arquivoOriginal = new File(m.getLocal());
+        File pastaDestino = new File(novoDiretorio);
+
+        if (!arquivoOriginal.exists()) {
+            throw new ErroPersistenciaException("ERRO FATAL: Arquivo não encontrado.");
+        }
+        if (!pastaDestino.exists() || !pastaDestino.isDirectory()) {
+            throw new ErroPersistenciaException("A pasta de destino não existe: " + novoDiretorio);
+        }
+
+        Path origem = Paths.get(m.getLocal());
+        Path destino = Paths.get(novoDiretorio, arquivoOriginal.getName()); // Mantém o nome do arquivo
+        synchronized (this) {
+            verificarLocalLivre(m, destino.toString());
+        }
+        verificarArquivoLivre(origem, destino);
+
+        // 1. Move o Arquivo de Mídia (Filme/Musica/Livro): renomeação no mesmo volume;
+        // entre volumes, cópia em blocos que pode ser retomada se for interrompida
+        TransferenciaRetomavel copia = null;
+        try {
+            try {
+                Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                copia = new TransferenciaRetomavel(origem, destino);
+                copia.copiar(n -> { }, () -> false);
+                copia.concluir();
+            }
+        } catch (IOException e) {
+            throw new ErroPersistenciaException("Falha técnica ao mover: " + e.getMessage());
+        }
+
+        CompletableFuture<Void> gravacao;
+        synchronized (this) {
+            // Outra mídia pode ter sido cadastrada no destino enquanto o arquivo era movido
+            Midia ocupante = indicePorLocal.get(normalizarLocal(destino.toString()));
+            if (ocupante != null && ocupante != m) {
+                desfazerMovimento(origem, destino, copia);
+                throw new MidiaJaCadastradaException("Mídia já cadastrada!");
+            }
+
+            // 2. O .tpoo acompanha: apaga o da pasta antiga e grava na nova (em segundo plano)
+            apagarArquivoTpoo(m);
+
+            // 3. ATUALIZAÇÃO DO OBJETO NA MEMÓRIA (só depois de o arquivo inteiro estar no destino)
+            String localAntigo = m.getLocal();
+            desindexar(m);
+            m.setLocal(destino.toFile().getAbsolutePath()); // Atualiza o caminho
+            indexar(m);
+            gerarArquivoIndividual(m);
+
+            // 4. ATUALIZAÇÃO DA PERSISTÊNCIA (diário)
+            gravacao = registrarNoDiario(DiarioMutacoes.EDICAO + ";" + localAntigo + ";" + paraLinhaCsv(m));
+            notificar(new EventoCatalogo(EventoCatalogo.Tipo.MOVIDAS, List.of(m)));
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+
+        // 5. Cópia entre volumes: a origem só é apagada depois de o catálogo apontar para o destino
+        if (copia != null) {
+            try {
+                Files.delete(origem);
+            } catch (IOException e) {
+                System.err.println("Cópia concluída, mas a origem não pôde ser apagada: " + origem);
+            }
+            copia.finalizar();
+        }
+    }
+
+    /**
+     * Renomeia o arquivo físico da mídia e atualiza o título no sistema.
+     *
+     * @param m A mídia a ser renomeada.
+     * @param novoNomeSemExtensao O novo nome desejado (sem a extensão .mp3, .pdf, etc).
+     * @throws MidiaJaCadastradaException Se o novo caminho já pertencer a outra mídia do catálogo.
+     * @throws ErroPersistenciaException Se já existir um arquivo com o novo nome ou houver falha
+     *         na operação de renomear do sistema operacional.
+     */
+    public void renomearArquivoMidia(Midia m, String novoNomeSemExtensao) throws MidiaJaCadastradaException, ErroPersistenciaException {
+        File arquivoOriginal = new File(m.getLocal());
+
+        // Devemos obter a extensão correta para montar o novo caminho
+        String nomeAtual = arquivoOriginal.getName();
+        int i = nomeAtual.lastIndexOf('.');
+        String extensao = (i > 0) ? nomeAtual.substring(i) : "";
+
+        File novoArquivo = new File(arquivoOriginal.getParent(), novoNomeSemExtensao + extensao);
+
+        CompletableFuture<Void> gravacao;
+        synchronized (this) {
+            verificarLocalLivre(m, novoArquivo.getPath());
+            verificarArquivoLivre(arquivoOriginal.toPath(), novoArquivo.toPath());
+            try {
+                // 1. Move o arquivo físico (renomeando), sem sobrescrever outro arquivo
+                Files.move(arquivoOriginal.toPath(), novoArquivo.toPath());
+
+                // 2. ATUALIZAÇÃO DO OBJETO NA MEMÓRIA (Corpo do objeto 'm')
+                // O .tpoo antigo é localizado antes de o título mudar
+                apagarArquivoTpoo(m);
+                String localAntigo = m.getLocal();
+                desindexar(m);
+                m.setLocal(novoArquivo.getAbsolutePath());
+                m.setTitulo(novoNomeSemExtensao); // Atualiza o título para refletir o nome do arquivo
+                indexar(m);
+
+                // 3. ATUALIZAÇÃO DA PERSISTÊNCIA (diário)
+                gravacao = registrarNoDiario(DiarioMutacoes.EDICAO + ";" + localAntigo + ";" + paraLinhaCsv(m));
+
+                // 4. Se o título mudou, o .tpoo também deve mudar: o antigo já foi pedido
+                // para exclusão acima, agora criamos o novo
+                gerarArquivoIndividual(m);
+                notificar(new EventoCatalogo(EventoCatalogo.Tipo.MOVIDAS, List.of(m)));
+
+            } catch(IOException e){
+                throw new ErroPersistenciaException("Erro ao renomear arquivo: " + e.getMessage());
+            }
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+    }
+
+    /**
+     * Recusa um novo caminho que já pertence a outra mídia do catálogo, como as operações em
+     * lote fazem com {@link ResultadoLote.Status#DUPLICADA}. Deve ser chamado com o bloqueio.
+     *
+     * @param propria A mídia que vai ocupar o caminho (pode já estar nele).
+     * @param novoLocal O novo caminho.
+     * @throws MidiaJaCadastradaException Se o caminho pertencer a outra mídia.
+     */
+    private void verificarLocalLivre(Midia propria, String novoLocal) throws MidiaJaCadastradaException {
+        Midia ocupante = indicePorLocal.get(normalizarLocal(novoLocal));
+        if (ocupante != null && ocupante != propria) {
+            throw new MidiaJaCadastradaException("Mídia já cadastrada!");
+        }
+    }
+
+    /**
+     * Recusa mover um arquivo para cima de outro: a renomeação atômica e a cópia entre volumes
+     * substituiriam o arquivo existente sem aviso.
+     *
+     * @param origem O arquivo atual.
+     * @param destino O novo caminho.
+     * @throws ErroPersistenciaException Se já existir outro arquivo no destino.
+     */
+    private static void verificarArquivoLivre(Path origem, Path destino) throws ErroPersistenciaException {
+        boolean mesmoArquivo = normalizarLocal(origem.toString()).equals(normalizarLocal(destino.toString()));
+        if (!mesmoArquivo && Files.exists(destino, LinkOption.NOFOLLOW_LINKS)) {
+            throw new ErroPersistenciaException("Já existe um arquivo com esse nome no destino: " + destino);
+        }
+    }
+
+    /**
+     * Devolve o arquivo à origem quando a movimentação é recusada depois de o arquivo já ter sido
+     * movido. Na cópia entre volumes a origem ainda está intacta: basta apagar a cópia.
+     */
+    private static void desfazerMovimento(Path origem, Path destino, TransferenciaRetomavel copia) {
+        try {
+            if (copia == null) {
+                Files.move(destino, origem, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.deleteIfExists(destino);
+                copia.finalizar();
+            }
+        } catch (IOException e) {
+            System.err.println("Não foi possível desfazer a movimentação de " + origem + ": " + e.getMessage());
+        }
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    /**
+     * Adiciona várias mídias de uma só vez.
+     * <p>
+     * Todas as mídias são validadas antes de qualquer alteração: as que já estão
+     * cadastradas (ou repetidas dentro do próprio lote) são recusadas como
+     * {@link ResultadoLote.Status#DUPLICADA}. As demais são incluídas sob um único
+     * bloqueio e registradas no diário em uma única gravação.
+     * </p>
+     *
+     * @param novas As mídias a adicionar.
+     * @return O desfecho de cada mídia, na ordem recebida.
+     * @throws ErroPersistenciaException Se houver erro ao gravar o diário.
+     */
+    public ResultadoLote adicionarMidias(List<? extends Midia> novas) throws ErroPersistenciaException {
+        ResultadoLote resultado = new ResultadoLote();
+        CompletableFuture<Void> gravacao = null;
+        synchronized (this) {
+            List<Midia> aceitas = new ArrayList<>(novas.size());
+            Set<String> locaisDoLote = new HashSet<>();
+            for (Midia m : novas) {
+                String chave = normalizarLocal(m.getLocal());
+                if (indicePorLocal.containsKey(chave) || !locaisDoLote.add(chave)) {
+                    resultado.adicionar(m.getLocal(), ResultadoLote.Status.DUPLICADA, "Mídia já cadastrada!");
+                } else {
+                    aceitas.add(m);
+                    resultado.adicionar(m.getLocal(), ResultadoLote.Status.ADICIONADA, "");
+                }
+            }
+
+            if (!aceitas.isEmpty()) {
+                String[] registros = new String[aceitas.size()];
+                for (int i = 0; i < aceitas.size(); i++) {
+                    Midia m = aceitas.get(i);
+                    incluir(m);
+                    registros[i] = DiarioMutacoes.ADICAO + ";" + paraLinhaCsv(m);
+                }
+                gravacao = registrarNoDiario(registros);
+                for (Midia m : aceitas) gerarArquivoIndividual(m);
+                notificar(new EventoCatalogo(EventoCatalogo.Tipo.ADICIONADAS, aceitas));
+            }
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+        return resultado;
+    }
+
+    /**
+     * Remove várias mídias de uma só vez, com uma única gravação no diário.
+     * <p>
+     * Mídias que não pertencem ao catálogo são informadas como
+     * {@link ResultadoLote.Status#NAO_ENCONTRADA}.
+     * </p>
+     *
+     * @param alvos As mídias a remover.
+     * @return O desfecho de cada mídia, na ordem recebida.
+     * @throws ErroPersistenciaException Se houver erro ao gravar o diário.
+     */
+    public ResultadoLote removerMidias(Collection<? extends Midia> alvos) throws ErroPersistenciaException {
+        ResultadoLote resultado = new ResultadoLote();
+        CompletableFuture<Void> gravacao = null;
+        synchronized (this) {
+            Set<Midia> removidas = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Midia m : alvos) {
+                if (sequencia.containsKey(m) && removidas.add(m)) {
+                    resultado.adicionar(m.getLocal(), ResultadoLote.Status.REMOVIDA, "");
+                } else {
+                    resultado.adicionar(m.getLocal(), ResultadoLote.Status.NAO_ENCONTRADA, "Mídia não está no catálogo.");
+                }
+            }
+
+            if (!removidas.isEmpty()) {
+                // Uma única passada pela lista em vez de uma remoção linear por mídia
+                midias.removeIf(removidas::contains);
+                String[] registros = new String[removidas.size()];
+                int i = 0;
+                for (Midia m : removidas) {
+                    desindexar(m);
+                    sequencia.remove(m);
+                    registros[i++] = DiarioMutacoes.REMOCAO + ";" + m.getLocal();
+                }
+                gravacao = registrarNoDiario(registros);
+                for (Midia m : removidas) {
+                    apagarArquivoTpoo(m);
+                }
+                notificar(new EventoCatalogo(EventoCatalogo.Tipo.REMOVIDAS, new ArrayList<>(removidas)));
+            }
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+        return resultado;
+    }
+
+    /**
+     * Aplica várias edições de uma só vez, com uma única gravação no diário.
+     * <p>
+     * Cada entrada associa a mídia original à sua versão editada. Edições cuja mídia
+     * original não está no catálogo são informadas como {@link ResultadoLote.Status#NAO_ENCONTRADA};
+     * edições que levariam a um caminho já usado por outra mídia, como
+     * {@link ResultadoLote.Status#DUPLICADA}.
+     * </p>
+     *
+     * @param edicoes Mapa de mídia original para mídia editada (a ordem de iteração é preservada no resultado).
+     * @return O desfecho de cada edição.
+     * @throws ErroPersistenciaException Se houver erro ao gravar o diário.
+     */
+    public ResultadoLote editarMidias(Map<? extends Midia, ? extends Midia> edicoes) throws ErroPersistenciaException {
+        ResultadoLote resultado = new ResultadoLote();
+        CompletableFuture<Void> gravacao = null;
+        synchronized (this) {
+            Map<Midia, Midia> aceitas = new IdentityHashMap<>();
+            List<String> registros = new ArrayList<>();
+            // Caminhos liberados/ocupados pelas edições já aceitas neste lote
+            Set<String> liberados = new HashSet<>();
+            Set<String> ocupados = new HashSet<>();
+            for (Map.Entry<? extends Midia, ? extends Midia> e : edicoes.entrySet()) {
+                Midia antiga = e.getKey();
+                Midia nova = e.getValue();
+                if (!sequencia.containsKey(antiga) || aceitas.containsKey(antiga)) {
+                    resultado.adicionar(antiga.getLocal(), ResultadoLote.Status.NAO_ENCONTRADA, "Mídia não está no catálogo.");
+                    continue;
+                }
+                String chaveAntiga = normalizarLocal(antiga.getLocal());
+                String chaveNova = normalizarLocal(nova.getLocal());
+                if (!chaveNova.equals(chaveAntiga)) {
+                    boolean emUso = (indicePorLocal.containsKey(chaveNova) && !liberados.contains(chaveNova))
+                            || ocupados.contains(chaveNova);
+                    if (emUso) {
+                        resultado.adicionar(nova.getLocal(), ResultadoLote.Status.DUPLICADA, "Mídia já cadastrada!");
+                        continue;
+                    }
+                    liberados.add(chaveAntiga);
+                    ocupados.remove(chaveAntiga);
+                }
+                ocupados.add(chaveNova);
+                aceitas.put(antiga, nova);
+                registros.add(DiarioMutacoes.EDICAO + ";" + antiga.getLocal() + ";" + paraLinhaCsv(nova));
+                resultado.adicionar(nova.getLocal(), ResultadoLote.Status.EDITADA, "");
+            }
+
+            if (!aceitas.isEmpty()) {
+                for (Midia antiga : aceitas.keySet()) {
+                    apagarArquivoTpoo(antiga);
+                    desindexar(antiga);
+                }
+                // Uma única passada pela lista em vez de um indexOf por edição
+                midias.replaceAll(m -> aceitas.getOrDefault(m, m));
+                for (Map.Entry<Midia, Midia> e : aceitas.entrySet()) {
+                    sequencia.put(e.getValue(), sequencia.remove(e.getKey()));
+                    indexar(e.getValue());
+                }
+                gravacao = registrarNoDiario(registros.toArray(new String[0]));
+                for (Midia nova : aceitas.values()) gerarArquivoIndividual(nova);
+                notificar(new EventoCatalogo(EventoCatalogo.Tipo.ATUALIZADAS,
+                        new ArrayList<>(aceitas.values()), new ArrayList<>(aceitas.keySet())));
+            }
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+        return resultado;
+    }
+
+    /**
+     * Atualiza o caminho de mídias cujos arquivos já foram movidos ou renomeados por fora
+     * da aplicação. Nenhum arquivo de mídia é tocado; apenas o catálogo (e o .tpoo) acompanham.
+     * <p>
+     * Todas as alterações são registradas no diário em uma única gravação.
+     * </p>
+     *
+     * @param novosLocais Mapa da mídia para o seu novo caminho.
+     * @return O desfecho de cada mídia: {@link ResultadoLote.Status#EDITADA},
+     *         {@link ResultadoLote.Status#NAO_ENCONTRADA} ou {@link ResultadoLote.Status#DUPLICADA}.
+     * @throws ErroPersistenciaException Se houver erro ao gravar o diário.
+     */
+    public ResultadoLote relocalizarMidias(Map<? extends Midia, String> novosLocais) throws ErroPersistenciaException {
+        ResultadoLote resultado = new ResultadoLote();
+        CompletableFuture<Void> gravacao = null;
+        synchronized (this) {
+            List<String> registros = new ArrayList<>();
+            List<Midia> movidas = new ArrayList<>();
+            for (Map.Entry<? extends Midia, String> e : novosLocais.entrySet()) {
+                Midia m = e.getKey();
+                String novoLocal = e.getValue();
+                if (!sequencia.containsKey(m)) {
+                    resultado.adicionar(m.getLocal(), ResultadoLote.Status.NAO_ENCONTRADA, "Mídia não está no catálogo.");
+                    continue;
+                }
+                Midia ocupante = indicePorLocal.get(normalizarLocal(novoLocal));
+                if (ocupante != null && ocupante != m) {
+                    resultado.adicionar(novoLocal, ResultadoLote.Status.DUPLICADA, "Mídia já cadastrada!");
+                    continue;
+                }
+
+                apagarArquivoTpoo(m);
+
+                String localAntigo = m.getLocal();
+                desindexar(m);
+                m.setLocal(novoLocal);
+                indexar(m);
+                registros.add(DiarioMutacoes.EDICAO + ";" + localAntigo + ";" + paraLinhaCsv(m));
+                gerarArquivoIndividual(m);
+                movidas.add(m);
+                resultado.adicionar(novoLocal, ResultadoLote.Status.EDITADA, "");
+            }
+            if (!registros.isEmpty()) {
+                gravacao = registrarNoDiario(registros.toArray(new String[0]));
+                notificar(new EventoCatalogo(EventoCatalogo.Tipo.MOVIDAS, movidas));
+            }
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+        return resultado;
+    }
+
+    /**
+     * Atualiza o tamanho em disco de várias mídias com valores já lidos do sistema de arquivos,
+     * em uma única gravação no diário. Mídias cujo tamanho não mudou são ignoradas.
+     *
+     * @param tamanhos Mapa da mídia para o tamanho atual do arquivo, em bytes.
+     * @return Quantas mídias foram de fato alteradas.
+     * @throws ErroPersistenciaException Se houver erro ao gravar o diário.
+     */
+    public int atualizarTamanhos(Map<? extends Midia, Long> tamanhos) throws ErroPersistenciaException {
+        CompletableFuture<Void> gravacao = null;
+        List<String> registros = new ArrayList<>();
+        List<Midia> alteradas = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<? extends Midia, Long> e : tamanhos.entrySet()) {
+                Midia m = e.getKey();
+                long tamanho = e.getValue();
+                if (!sequencia.containsKey(m) || tamanho == m.getTamanhoDisco()) continue;
+
+                desindexar(m);
+                m.setTamanhoDisco(tamanho);
+                indexar(m);
+                alteradas.add(m);
+                registros.add(DiarioMutacoes.EDICAO + ";" + m.getLocal() + ";" + paraLinhaCsv(m));
+            }
+            if (!registros.isEmpty()) {
+                gravacao = registrarNoDiario(registros.toArray(new String[0]));
+                notificar(new EventoCatalogo(EventoCatalogo.Tipo.ATUALIZADAS, alteradas));
+            }
+        }
+        publicarEventos();
+        aguardarGravacao(gravacao);
+        return registros.size();
+    }
+
+    /**
+     * Quantidade de mídias cujos atributos são lidos por cada thread em
+     * {@link #atualizarAtributosDoDisco(Collection)}.
+     */
+    private static final int LOTE_ATRIBUTOS = 256;
+
+    /**
+     * Relê do disco o tamanho e a data de modificação de várias mídias.
+     * <p>
+     * Os atributos são lidos fora do bloqueio do catálogo, em paralelo (threads virtuais, um
+     * lote de {@value #LOTE_ATRIBUTOS} mídias por thread), com uma única chamada a
+     * {@code readAttributes} por arquivo. Os tamanhos alterados são gravados com
+     * {@link #atualizarTamanhos(Map)}, em uma única escrita no diário; a data de modificação
+     * fica apenas em memória. Arquivos ausentes são ignorados.
+     * </p>
+     *
+     * @param alvo As mídias a atualizar.
+     * @return Quantas mídias tiveram o tamanho alterado.
+     * @throws ErroPersistenciaException Se houver erro ao gravar o diário.
+     */
+    public int atualizarAtributosDoDisco(Collection<? extends Midia> alvo) throws ErroPersistenciaException {
+        List<Midia> lista = new ArrayList<>(alvo);
+        List<String> locais = new ArrayList<>(lista.size());
+        synchronized (this) {
+            for (Midia m : lista) locais.add(m.getLocal());
+        }
+
+        long[] tamanhos = new long[lista.size()];
+        long[] modificacoes = new long[lista.size()];
+        try (ExecutorService leitores = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int inicio = 0; inicio < lista.size(); inicio += LOTE_ATRIBUTOS) {
+                int de = inicio;
+                int ate = Math.min(lista.size(), inicio + LOTE_ATRIBUTOS);
+                leitores.execute(() -> {
+                    for (int i = de; i < ate; i++) {
+                        try {
+                            BasicFileAttributes a = Files.readAttributes(Paths.get(locais.get(i)), BasicFileAttributes.class);
+                            tamanhos[i] = a.size();
+                            modificacoes[i] = a.lastModifiedTime().toMillis();
+                        } catch (IOException | RuntimeException e) {
+                            tamanhos[i] = -1; // Ausente ou ilegível
+                        }
+                    }
+                });
+            }
+        } // close() espera todas as leituras
+
+        Map<Midia, Long> alterados = new IdentityHashMap<>();
+        synchronized (this) {
+            for (int i = 0; i < lista.size(); i++) {
+                Midia m = lista.get(i);
+                if (tamanhos[i] < 0 || !m.getLocal().equals(locais.get(i))) continue; // Movida enquanto lia
+                m.setUltimaModificacao(modificacoes[i]);
+                if (tamanhos[i] != m.getTamanhoDisco()) alterados.put(m, tamanhos[i]);
+            }
+        }
+        return alterados.isEmpty() ? 0 : atualizarTamanhos(alterados);
+    }
+
+    /**
+     * Lista os diretórios que contêm ao menos uma mídia do catálogo.
+     *
+     * @return Os diretórios, como caminhos absolutos normalizados.
+     */
+    public synchronized Set<Path> getDiretoriosCatalogados() {
+        Set<Path> diretorios = new HashSet<>();
+        for (String chave : indicePorLocal.keySet()) {
+            Path pai = Paths.get(chave).getParent();
+            if (pai != null) diretorios.add(pai);
+        }
+        return diretorios;
+    }
+
+    /**
+     * Lista as mídias cujo arquivo está dentro do diretório informado (em qualquer nível).
+     *
+     * @param diretorio O diretório.
+     * @return As mídias encontradas, na ordem do catálogo.
+     */
+    public synchronized List<Midia> getMidiasSob(Path diretorio) {
+        List<Midia> resultado = midiasSob(Paths.get(normalizarLocal(diretorio.toString())));
+        resultado.sort(ordemCatalogo);
+        return resultado;
+    }
+
+    /**
+     * Mídias cujo arquivo está sob o diretório (já normalizado), fora de ordem.
+     */
+    private List<Midia> midiasSob(Path base) {
+        List<Midia> resultado = new ArrayList<>();
+        // As chaves do índice já estão normalizadas
+        for (Map.Entry<String, Midia> e : indicePorLocal.entrySet()) {
+            if (Paths.get(e.getKey()).startsWith(base)) resultado.add(e.getValue());
+        }
+        return resultado;
+    }
+
+    /**
+     * Normaliza um caminho para servir de chave no índice primário.
+     * <p>
+     * Converte para caminho absoluto e remove segmentos redundantes ("." e ".."),
+     * sem acessar o disco. Assim, "filme.mp4" e "./filme.mp4" apontam para a mesma mídia.
+     * </p>
+     *
+     * @param local O caminho como informado.
+     * @return O caminho normalizado.
+     */
+    static String normalizarLocal(String local) {
+        try {
+            return Paths.get(local).toAbsolutePath().normalize().toString();
+        } catch (InvalidPathException e) {
+            return local;
+        }
+    }
+
+    /**
+     * Normaliza uma categoria para servir de chave no índice por categoria,
+     * com a mesma tolerância a maiúsculas/minúsculas de {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param categoria A categoria como informada (pode ser null).
+     * @return A categoria em caixa baixa.
      */
-    private List<Midia> midias;
+    static String normalizarCategoria(String categoria) {
+        if (categoria == null) return "";
+        return categoria.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
 
     /**
-     * Caminho para o arquivo CSV que funciona como banco de dados persistente.
+     * Registra a mídia no índice primário e nos índices secundários,
+     * usando os valores atuais dos seus atributos.
+     * @param m A mídia a indexar.
      */
-    private final String ARQUIVO_DB = "database.csv";
+    private void indexar(Midia m) {
+        indicePorLocal.put(normalizarLocal(m.getLocal()), m);
+        for (IndiceMidia indice : indicesSecundarios) indice.indexar(m);
+        if (indiceTrigramas != null) indiceTrigramas.indexar(m);
+    }
 
     /**
-     * Construtor que inicializa o gerenciador.
-     * <p>
-     * Ao ser instanciado, ele tenta automaticamente carregar os dados
-     * existentes do arquivo CSV para a memória.
-     * </p>
+     * Retira a mídia de todos os índices. Deve ser chamado antes de alterar
+     * o caminho, o título ou qualquer outro atributo indexado.
+     * @param m A mídia a retirar.
      */
-    public GerenciadorMidia() {
-        this.midias = new ArrayList<>();
-        carregarDoArquivo();
+    private void desindexar(Midia m) {
+        indicePorLocal.remove(normalizarLocal(m.getLocal()), m);
+        for (IndiceMidia indice : indicesSecundarios) indice.desindexar(m);
+        if (indiceTrigramas != null) indiceTrigramas.desindexar(m);
+    }
+
+    /**
+     * Adiciona a mídia ao final da lista e aos índices.
+     * @param m A mídia a incluir.
+     */
+    private void incluir(Midia m) {
+        midias.add(m);
+        sequencia.put(m, proximaSequencia++);
+        indexar(m);
     }
 
     /**
-     * Lê o arquivo CSV (database.csv) e popula a lista de mídias.
+     * Adiciona ao catálogo, de uma vez, as mídias lidas do arquivo base (já na ordem do catálogo).
      * <p>
-     * Este método é chamado internamente na inicialização. Ele faz o parsing
-     * de cada linha para instanciar o objeto correto (Filme, Musica ou Livro).
-     * Se o arquivo não existir, ele cria um novo vazio.
+     * Com o catálogo vazio, cada índice monta suas estruturas numa única passada
+     * ({@link IndiceMidia#indexarTodas(List)}), o que evita o rebalanceamento das árvores
+     * a cada inserção; caso contrário, as mídias são incluídas uma a uma.
      * </p>
+     * @param lidas As mídias, na ordem do arquivo.
      */
-    private void carregarDoArquivo() {
-        File arquivo = new File(ARQUIVO_DB);
-        if (!arquivo.exists()) {
-            try {
-                arquivo.createNewFile();
-            } catch (IOException e) {
-                System.err.println("Erro ao criar banco de dados: " + e.getMessage());
-            }
+    private void incluirTodas(List<Midia> lidas) {
+        if (!midias.isEmpty() || indiceTrigramas != null) {
+            for (Midia m : lidas) incluir(m);
             return;
         }
+        midias.addAll(lidas);
+        for (Midia m : lidas) {
+            sequencia.put(m, proximaSequencia++);
+            indicePorLocal.put(normalizarLocal(m.getLocal()), m);
+        }
+        for (IndiceMidia indice : indicesSecundarios) indice.indexarTodas(lidas);
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(arquivo))) {
-            String linha;
-            boolean primeiraLinha = true;
-
-            while ((linha = br.readLine()) != null) {
-                if (primeiraLinha) { primeiraLinha = false; continue; }
+    /**
+     * Remove a mídia da lista e dos índices.
+     * @param m A mídia a excluir.
+     */
+    private void excluir(Midia m) {
+        if (!sequencia.containsKey(m)) return;
+        midias.remove(m);
+        desindexar(m);
+        sequencia.remove(m);
+    }
 
-                String[] partes = linha.split(";");
-                if (partes.length < 7) continue;
+    /**
+     * Coloca a nova mídia na mesma posição (e sequência) da antiga, atualizando os índices.
+     * @param antiga A mídia que sai.
+     * @param nova A mídia que entra.
+     */
+    private void substituir(Midia antiga, Midia nova) {
+        midias.set(midias.indexOf(antiga), nova);
+        desindexar(antiga);
+        sequencia.put(nova, sequencia.remove(antiga));
+        indexar(nova);
+    }
 
-                String tipo = partes[0];
-                String titulo = partes[1];
-                String categoria = partes[2];
-                int duracao = Integer.parseInt(partes[3]);
-                String extra = partes[4];
-                String local = partes[5];
-                String tamanho = partes[6];
+    /**
+     * Converte o texto do filtro de tipo na classe correspondente.
+     *
+     * @param tipo "Filme", "Musica" ou "Livro".
+     * @return A classe da mídia, ou null se o tipo não for reconhecido.
+     */
+    private static Class<? extends Midia> classeDoTipo(String tipo) {
+        return switch (tipo) {
+            case "Filme" -> Filme.class;
+            case "Musica" -> Musica.class;
+            case "Livro" -> Livro.class;
+            default -> null;
+        };
+    }
 
-                Midia m = null;
-                switch (tipo) {
-                    case "Filme" -> m = new Filme(titulo, local, duracao, categoria, extra, tamanho);
-                    case "Musica" -> m = new Musica(local, titulo, categoria, duracao, extra, tamanho);
-                    case "Livro" -> m = new Livro(local, titulo, categoria, duracao, extra, tamanho);
-                }
-                if (m != null) midias.add(m);
-            }
-        } catch (IOException e) {
-            System.err.println("Erro ao ler CSV: " + e.getMessage());
-        }
+    /**
+     * Helper para localizar o arquivo .tpoo com base nas regras de nomenclatura do sistema.
+     * @param m A mídia base.
+     * @return Um objeto File apontando para onde o .tpoo deveria estar.
+     */
+    private File getArquivoTpooAssociado(Midia m) {
+        // Reconstrói o caminho onde o .tpoo deveria estar
+        File arquivoMedia = new File(m.getLocal());
+        String nomeTpoo = m.getTitulo().replaceAll("[^a-zA-Z0-9]", ".tpoo");
+        return new File(arquivoMedia.getParent(), nomeTpoo);
     }
 
+    // ---------------- EVENTOS ----------------
+
     /**
-     * Persiste o estado atual da lista de mídias no arquivo CSV.
-     * <p>
-     * Este método sobrescreve o arquivo CSV inteiro com os dados atuais da memória.
-     * Deve ser chamado após qualquer operação de adição, remoção ou edição.
-     * </p>
+     * Passa a avisar o ouvinte de cada alteração no catálogo (inclusões, remoções, edições e
+     * mudanças de caminho), com as mídias afetadas.
      *
-     * @throws ErroPersistenciaException Se houver falha na escrita do arquivo.
+     * @param ouvinte O ouvinte. Para atualizar a interface, use um {@link OuvinteAgrupado}.
      */
-    private void salvarNoArquivo() throws ErroPersistenciaException {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(ARQUIVO_DB))) {
-            bw.write("TIPO;TITULO;CATEGORIA;DURACAO;EXTRA;LOCAL;TAMANHO");
-            bw.newLine();
+    public void adicionarOuvinte(OuvinteCatalogo ouvinte) {
+        ouvintes.add(ouvinte);
+    }
 
-            for (Midia m : midias) {
-                String extra = "";
-                String tipo = "";
+    /**
+     * Deixa de avisar o ouvinte.
+     *
+     * @param ouvinte O ouvinte registrado em {@link #adicionarOuvinte(OuvinteCatalogo)}.
+     */
+    public void removerOuvinte(OuvinteCatalogo ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
 
-                if (m instanceof Filme f) { tipo = "Filme"; extra = f.getIdioma(); }
-                else if (m instanceof Musica mu) { tipo = "Musica"; extra = mu.getArtista(); }
-                else if (m instanceof Livro l) { tipo = "Livro"; extra = l.getAutores(); }
+    /**
+     * Enfileira um evento; deve ser chamado sob o bloqueio do catálogo, junto da alteração,
+     * para que a fila fique na ordem das alterações.
+     */
+    private void notificar(EventoCatalogo evento) {
+        if (!ouvintes.isEmpty()) eventosPendentes.add(evento);
+    }
 
-                String linha = String.format("%s;%s;%s;%d;%s;%s;%s",
-                        tipo, m.getTitulo(), m.getCategoria(), m.getDuracao(), extra, m.getLocal(), m.getTamanhoDisco());
-                bw.write(linha);
-                bw.newLine();
+    /**
+     * Entrega os eventos enfileirados. Chamado pelas mutações depois de liberar o bloqueio
+     * do catálogo, de modo que um ouvinte lento não segura as demais operações.
+     */
+    private void publicarEventos() {
+        synchronized (entregaEventos) {
+            List<EventoCatalogo> lote;
+            synchronized (this) {
+                if (eventosPendentes.isEmpty()) return;
+                lote = new ArrayList<>(eventosPendentes);
+                eventosPendentes.clear();
+            }
+            for (OuvinteCatalogo o : ouvintes) {
+                try {
+                    o.catalogoAlterado(lote);
+                } catch (RuntimeException e) {
+                    System.err.println("Erro em ouvinte do catálogo: " + e.getMessage());
+                }
             }
-        } catch (IOException e) {
-            throw new ErroPersistenciaException("Erro ao salvar dados: " + e.getMessage());
         }
     }
 
+    // ---------------- CONSULTAS ----------------
+
     /**
-     * Gera um arquivo de metadados (.tpoo) na mesma pasta do arquivo de mídia original.
+     * Caminho do arquivo base do catálogo, usado para guardar arquivos auxiliares ao lado dele.
+     *
+     * @return O caminho informado na construção.
+     */
+    String getArquivoDb() {
+        return ARQUIVO_DB;
+    }
+
+    /**
+     * Busca uma mídia com base no caminho do arquivo, em tempo constante.
      * <p>
-     * O nome do arquivo é gerado com base no título da mídia. Este arquivo contém
-     * um resumo textual das propriedades do objeto.
+     * O caminho é normalizado antes da consulta ao índice, portanto formas
+     * equivalentes do mesmo caminho encontram a mesma mídia.
      * </p>
      *
-     * @param m A mídia para a qual o arquivo .tpoo será gerado.
+     * @param local O caminho do arquivo.
+     * @return O objeto Midia se encontrado, ou null caso contrário.
      */
-    private void gerarArquivoIndividual(Midia m) {
-        //1- Salva o .tpoo na mesma pasta do arquivo original
-        File arquivoOriginal = new File(m.getLocal());
-        File pastaDoArquivo = arquivoOriginal.getParentFile();
-
-        // O nome do .tpoo é baseado no TÍTULO
-        String nomeTpoo = m.getTitulo().replaceAll("[^a-zA-Z0-9]", ".tpoo");  //replace faz que acrescente o tpoo
-        File arquivoTPOO = new File(pastaDoArquivo, nomeTpoo);
-
-        try (PrintWriter pw = new PrintWriter(arquivoTPOO)) {
-            pw.println("Arquivo TPOO - " + m.getClass().getSimpleName());
-            pw.println("Titulo: " + m.getTitulo());
-            pw.println("Categoria: " + m.getCategoria());
-            pw.println("Duração: " + m.getDuracao());
-            pw.println("Local: " + m.getLocal());
-            pw.println("Tamanho: " + m.getTamanhoDisco());
-        } catch (FileNotFoundException e) {
-            System.err.println("Erro ao gerar .tpoo: " + e.getMessage());
-        }
+    public synchronized Midia buscarMidiaPorLocal(String local) {
+        return indicePorLocal.get(normalizarLocal(local));
     }
 
-
     /**
-     * Adiciona uma nova mídia ao sistema.
+     * Busca textual no título e no campo próprio de cada tipo (idioma, artista ou autores).
      * <p>
-     * Verifica se o arquivo já está cadastrado (pelo caminho). Se não estiver,
-     * adiciona à lista, salva no CSV e gera o arquivo .tpoo.
+     * Não diferencia maiúsculas, minúsculas nem acentos. Cada palavra da consulta é um
+     * prefixo e todas precisam aparecer: "mat rel" encontra "Matrix Reloaded".
      * </p>
      *
-     * @param m O objeto Midia a ser adicionado.
-     * @throws MidiaJaCadastradaException Se já existir uma mídia com o mesmo caminho.
-     * @throws ErroPersistenciaException Se houver erro ao salvar no disco.
+     * @param consulta O texto a buscar.
+     * @return As mídias encontradas, na ordem do catálogo (vazia se a consulta não tiver palavras).
      */
-    public void adicionarMidia(Midia m) throws MidiaJaCadastradaException, ErroPersistenciaException {
-        if (buscarMidiaPorLocal(m.getLocal()) != null) {
-            throw new MidiaJaCadastradaException("Mídia já cadastrada!");
-        }
-        midias.add(m);
-        salvarNoArquivo();
-        gerarArquivoIndividual(m);
+    public synchronized List<Midia> buscarTexto(String consulta) {
+        return indiceTextual.buscar(consulta);
     }
 
     /**
-     * Remove uma mídia do sistema.
+     * Busca aproximada por título, tolerante a erros de digitação e separadores diferentes
+     * ("matirx reloded" encontra "Matrix_Reloaded").
      * <p>
-     * Remove da lista, atualiza o CSV e tenta excluir o arquivo .tpoo associado.
-     * Nota: O arquivo de mídia original (mp3, mp4, pdf) NÃO é excluído.
+     * Usa o índice de trigramas: só os títulos que compartilham trigramas raros com a consulta
+     * são pontuados, e apenas os {@code limite} melhores são mantidos. A primeira chamada
+     * monta o índice a partir do catálogo inteiro.
      * </p>
      *
-     * @param m A mídia a ser removida.
-     * @throws ErroPersistenciaException Se houver erro ao salvar o estado atualizado.
+     * @param consulta O texto a buscar.
+     * @param limite Quantidade máxima de resultados.
+     * @return As mídias da mais parecida para a menos parecida.
      */
-    public void removerMidia(Midia m) throws ErroPersistenciaException {
-        midias.remove(m);
-        salvarNoArquivo();
+    public synchronized List<Midia> buscarAproximado(String consulta, int limite) {
+        if (indiceTrigramas == null) {
+            indiceTrigramas = new IndiceTrigramas(ordemCatalogo);
+            for (Midia m : midias) indiceTrigramas.indexar(m);
+        }
+        return indiceTrigramas.buscar(consulta, limite, SEMELHANCA_MINIMA);
+    }
 
-        // Tenta apagar o .tpoo associado
-        File tpoo = getArquivoTpooAssociado(m);
-        if (tpoo != null && tpoo.exists()) {
-            tpoo.delete();
+    /**
+     * Busca aproximada restrita aos filtros da tela: das {@code limite} mídias mais parecidas,
+     * devolve as que atendem ao tipo, à categoria e ao tamanho mínimo, sem montar a lista filtrada
+     * do catálogo inteiro.
+     *
+     * @param consulta O texto a buscar.
+     * @param limite Quantidade máxima de resultados antes dos filtros.
+     * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param categoria A categoria para filtrar (pode ser vazio para ignorar).
+     * @param tamanhoMinimo O menor tamanho aceito, em bytes (0 para não filtrar).
+     * @return As mídias aceitas, da mais parecida para a menos parecida.
+     */
+    public synchronized List<Midia> buscarAproximado(String consulta, int limite, String tipo,
+                                                     String categoria, long tamanhoMinimo) {
+        Class<? extends Midia> classe = classeDoTipo(tipo);
+        if (!tipo.equals("Todos") && classe == null) return new ArrayList<>();
+        Predicate<Midia> aceita = filtroDaTela(classe, categoria, tamanhoMinimo);
+        List<Midia> resultado = new ArrayList<>();
+        for (Midia m : buscarAproximado(consulta, limite)) {
+            if (aceita.test(m)) resultado.add(m);
         }
+        return resultado;
     }
 
     /**
-     * Edita as informações de uma mídia existente.
+     * Retorna uma lista filtrada e ordenada de mídias.
+     *
+     * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param categoria A categoria para filtrar (pode ser vazio para ignorar).
+     * @param ordem O critério de ordenação ("Alfabética", "Duração" ou "Tamanho").
+     * @return Uma nova lista contendo apenas as mídias que atendem aos critérios.
+     */
+    public List<Midia> getMidiasFiltradas(String tipo, String categoria, String ordem) {
+        return getMidiasFiltradas(tipo, categoria, ordem, 0);
+    }
+
+    /**
+     * Retorna uma lista filtrada e ordenada de mídias, apenas com arquivos a partir de um tamanho.
+     *
+     * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param categoria A categoria para filtrar (pode ser vazio para ignorar).
+     * @param ordem O critério de ordenação ("Alfabética", "Duração" ou "Tamanho", do maior para o menor).
+     * @param tamanhoMinimo O menor tamanho aceito, em bytes (0 para não filtrar).
+     * @return Uma nova lista contendo apenas as mídias que atendem aos critérios.
+     */
+    public synchronized List<Midia> getMidiasFiltradas(String tipo, String categoria, String ordem, long tamanhoMinimo) {
+        Class<? extends Midia> classe = classeDoTipo(tipo);
+        if (!tipo.equals("Todos") && classe == null) return new ArrayList<>();
+        return consultar(consultaDaTela(classe, categoria, ordem, tamanhoMinimo));
+    }
+
+    /**
+     * Busca textual com os mesmos filtros e a mesma ordenação de
+     * {@link #getMidiasFiltradas(String, String, String, long)}.
      * <p>
-     * Substitui o objeto antigo pelo novo na lista e atualiza a persistência.
-     * Se o título mudar, o arquivo .tpoo antigo é removido e um novo é gerado.
+     * As candidatas vêm do índice invertido e só elas são filtradas e ordenadas; o catálogo
+     * filtrado inteiro não é montado.
      * </p>
      *
-     * @param midiaAntiga O objeto original que será substituído.
-     * @param midiaNova O novo objeto com as informações atualizadas.
-     * @throws ErroPersistenciaException Se houver erro ao salvar as alterações.
+     * @param consulta O texto digitado (cada termo como prefixo de alguma palavra).
+     * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param categoria A categoria para filtrar (pode ser vazio para ignorar).
+     * @param ordem O critério de ordenação ("Alfabética", "Duração", "Tamanho" ou vazio para a ordem do catálogo).
+     * @param tamanhoMinimo O menor tamanho aceito, em bytes (0 para não filtrar).
+     * @return Uma nova lista com as mídias encontradas, na ordem pedida.
      */
-    public void editarMidia(Midia midiaAntiga, Midia midiaNova) throws ErroPersistenciaException {
-        int index = midias.indexOf(midiaAntiga);
-        if (index != -1) {
-            // Se mudou o título, precisamos renomear o .tpoo antigo ou criar um novo
-            // Simplificação: remove o .tpoo antigo e cria um novo
-            File tpooAntigo = getArquivoTpooAssociado(midiaAntiga);
-            if(tpooAntigo != null && tpooAntigo.exists()) tpooAntigo.delete();
+    public synchronized List<Midia> buscarTexto(String consulta, String tipo, String categoria, String ordem,
+                                                long tamanhoMinimo) {
+        Class<? extends Midia> classe = classeDoTipo(tipo);
+        if (!tipo.equals("Todos") && classe == null) return new ArrayList<>();
+        if (consulta == null || consulta.isBlank()) return new ArrayList<>();
+        return consultar(consultaDaTela(classe, categoria, ordem, tamanhoMinimo).contendo(consulta));
+    }
 
-            midias.set(index, midiaNova);
-            salvarNoArquivo();
-            gerarArquivoIndividual(midiaNova);
+    /**
+     * Traduz os filtros e a ordenação da tela para uma {@link ConsultaMidia}.
+     */
+    private static ConsultaMidia consultaDaTela(Class<? extends Midia> classe, String categoria, String ordem,
+                                                long tamanhoMinimo) {
+        ConsultaMidia consulta = new ConsultaMidia().doTipo(classe).daCategoria(categoria);
+        if (tamanhoMinimo > 0) consulta.comTamanhoEntre(tamanhoMinimo, Long.MAX_VALUE);
+        switch (Pagina.Criterio.de(ordem)) {
+            case TITULO -> consulta.ordenarPor(ConsultaMidia.Campo.TITULO);
+            case DURACAO -> consulta.ordenarPor(ConsultaMidia.Campo.DURACAO);
+            case TAMANHO -> consulta.ordenarPorDecrescente(ConsultaMidia.Campo.TAMANHO);
+            case CATALOGO -> { }
         }
+        return consulta;
     }
 
     /**
-     * Move o arquivo físico da mídia para um novo diretório.
+     * Condição equivalente aos filtros da tela (tipo, categoria e tamanho mínimo).
+     *
+     * @param classe A classe aceita, ou {@code null} para todas.
+     * @param categoria A categoria, ou vazio para todas.
+     * @param tamanhoMinimo O menor tamanho aceito, em bytes.
+     */
+    private static Predicate<Midia> filtroDaTela(Class<? extends Midia> classe, String categoria, long tamanhoMinimo) {
+        String chaveCategoria = categoria == null || categoria.isEmpty() ? null : normalizarCategoria(categoria);
+        return m -> (classe == null || m.getClass() == classe)
+                && (chaveCategoria == null || normalizarCategoria(m.getCategoria()).equals(chaveCategoria))
+                && m.getTamanhoDisco() >= tamanhoMinimo;
+    }
+
+    /**
+     * Executa uma consulta tipada.
      * <p>
-     * Esta operação é complexa pois envolve:
-     * 1. Mover o arquivo de mídia real.
-     * 2. Mover o arquivo .tpoo associado.
-     * 3. Atualizar o caminho interno no objeto.
-     * 4. Atualizar o registro no CSV.
+     * A consulta é compilada uma vez: o filtro mais seletivo disponível em índice escolhe as
+     * candidatas (texto, diretório, tipo ou categoria, faixa de duração ou de tamanho, nessa
+     * preferência) e os demais viram uma cadeia de condições conferida em cada candidata.
+     * Ordenada por uma única chave de duração ou tamanho, a consulta percorre o índice ordenado
+     * e para ao atingir o limite. Nos demais casos, com limite, só as primeiras mídias ficam
+     * guardadas (em um heap) em vez de ordenar o resultado inteiro.
      * </p>
      *
-     * @param m A mídia a ser movida.
-     * @param novoDiretorio O caminho da pasta de destino.
-     * @throws ErroPersistenciaException Se o arquivo original não existir, o destino for inválido ou houver erro de permissão.
+     * @param consulta A consulta.
+     * @return Uma nova lista com as mídias encontradas, na ordem pedida (ou na ordem do catálogo).
      */
-    public void moverMidia(Midia m, String novoDiretorio) throws ErroPersistenciaException {
-        File arquivoOriginal = new File(m.getLocal());
-        File pastaDestino = new File(novoDiretorio);
+    public synchronized List<Midia> consultar(ConsultaMidia consulta) {
+        int limite = consulta.getLimite();
+        if (limite == 0) return new ArrayList<>();
+        Class<? extends Midia> classe = consulta.getTipo();
+        String chaveCategoria = consulta.getCategoria() == null ? null : normalizarCategoria(consulta.getCategoria());
+        Path base = consulta.getDiretorio() == null ? null : Paths.get(normalizarLocal(consulta.getDiretorio()));
+        List<ConsultaMidia.Ordenacao> ordenacao = consulta.getOrdenacao();
 
-        if (!arquivoOriginal.exists()) {
-            throw new ErroPersistenciaException("ERRO FATAL: Arquivo não encontrado.");
-        }
-        if (!pastaDestino.exists() || !pastaDestino.isDirectory()) {
-            throw new ErroPersistenciaException("A pasta de destino não existe: " + novoDiretorio);
+        // Uma única chave numérica, sem categoria: o índice ordenado já entrega na ordem pedida
+        if (consulta.getTexto() == null && base == null && chaveCategoria == null && ordenacao.size() == 1) {
+            ConsultaMidia.Ordenacao chave = ordenacao.get(0);
+            if (chave.campo() == ConsultaMidia.Campo.DURACAO) {
+                Predicate<Midia> filtro = encadear(filtrosDe(consulta, classe, null, null, true, false));
+                return indicePorDuracao.faixa(consulta.getDuracaoMinima(), consulta.getDuracaoMaxima(),
+                        filtro, chave.decrescente(), limite);
+            }
+            if (chave.campo() == ConsultaMidia.Campo.TAMANHO) {
+                Predicate<Midia> filtro = encadear(filtrosDe(consulta, classe, null, null, false, true));
+                return indicePorTamanho.faixa(consulta.getTamanhoMinimo(), consulta.getTamanhoMaximo(),
+                        filtro, chave.decrescente(), limite);
+            }
         }
 
-        Path origem = Paths.get(m.getLocal());
-        Path destino = Paths.get(novoDiretorio, arquivoOriginal.getName()); // Mantém o nome do arquivo
-
-        try {
-            // 1. Move o Arquivo de Mídia (Filme/Musica/Livro)
-            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        // Escolhe as candidatas pelo filtro mais seletivo; os filtros cobertos pela fonte saem da cadeia
+        Collection<Midia> fonte;
+        boolean fonteNaOrdemDoCatalogo = true;
+        boolean cobreTipo = false;
+        boolean cobreCategoria = false;
+        boolean cobreDuracao = false;
+        boolean cobreTamanho = false;
+        boolean cobreDiretorio = false;
+        if (consulta.getTexto() != null) {
+            fonte = indiceTextual.buscar(consulta.getTexto());
+        } else if (base != null) {
+            fonte = midiasSob(base);
+            fonteNaOrdemDoCatalogo = false;
+            cobreDiretorio = true;
+        } else if (classe != null || chaveCategoria != null) {
+            NavigableMap<Long, Midia> grupoTipo = classe == null ? null : indicePorTipo.get(classe);
+            NavigableMap<Long, Midia> grupoCategoria = chaveCategoria == null ? null : indicePorCategoria.get(chaveCategoria);
+            cobreTipo = grupoCategoria == null || (grupoTipo != null && grupoTipo.size() <= grupoCategoria.size());
+            cobreCategoria = !cobreTipo;
+            fonte = (cobreTipo ? grupoTipo : grupoCategoria).values();
+        } else if (consulta.filtraDuracao()) {
+            fonte = indicePorDuracao.faixa(consulta.getDuracaoMinima(), consulta.getDuracaoMaxima(),
+                    m -> true, false, Integer.MAX_VALUE);
+            fonteNaOrdemDoCatalogo = false;
+            cobreDuracao = true;
+        } else if (consulta.filtraTamanho()) {
+            fonte = indicePorTamanho.faixa(consulta.getTamanhoMinimo(), consulta.getTamanhoMaximo(),
+                    m -> true, false, Integer.MAX_VALUE);
+            fonteNaOrdemDoCatalogo = false;
+            cobreTamanho = true;
+        } else {
+            fonte = midias;
+        }
 
-            // 2. Move o Arquivo .tpoo junto
-            moverTpooJunto(m, novoDiretorio);
+        Predicate<Midia> filtro = encadear(filtrosDe(consulta, cobreTipo ? null : classe,
+                cobreCategoria ? null : chaveCategoria, cobreDiretorio ? null : base, cobreDuracao, cobreTamanho));
+        Comparator<Midia> ordem = consulta.comparador(ordemCatalogo);
+        boolean ordenar = !ordenacao.isEmpty() || !fonteNaOrdemDoCatalogo;
 
-            // 3. ATUALIZAÇÃO DO OBJETO NA MEMÓRIA
-            m.setLocal(destino.toFile().getAbsolutePath()); // Atualiza o caminho
+        // Muitas candidatas e nenhuma chance de parar cedo: filtra os blocos em paralelo
+        boolean paraCedo = !ordenar && limite < Integer.MAX_VALUE;
+        if (!paraCedo && fonte instanceof List<Midia> lista && ExecucaoParalela.compensa(lista.size(), limiarParalelo)) {
+            List<Midia> aceitas = ExecucaoParalela.filtrar(lista, filtro, limiarParalelo);
+            if (limite < Integer.MAX_VALUE) return ConsultaMidia.primeiras(aceitas, m -> true, ordem, limite);
+            if (ordenar) ExecucaoParalela.ordenar(aceitas, ordem, limiarParalelo);
+            return aceitas;
+        }
 
-            // 4. ATUALIZAÇÃO DA PERSISTÊNCIA (CSV)
-            salvarNoArquivo();
+        if (ordenar && limite < Integer.MAX_VALUE) {
+            return ConsultaMidia.primeiras(fonte, filtro, ordem, limite);
+        }
+        List<Midia> resultado = new ArrayList<>();
+        for (Midia m : fonte) {
+            if (filtro.test(m) && resultado.add(m) && resultado.size() == limite) break;
+        }
+        if (ordenar) ExecucaoParalela.ordenar(resultado, ordem, limiarParalelo);
+        return resultado;
+    }
 
-        } catch (IOException e) {
-            throw new ErroPersistenciaException("Falha técnica ao mover: " + e.getMessage());
+    /**
+     * Condições de uma consulta que a fonte de candidatas não garante, das mais baratas
+     * (comparação de classe e de números) para as mais caras (textos e caminhos).
+     */
+    private static List<Predicate<Midia>> filtrosDe(ConsultaMidia consulta, Class<? extends Midia> classe,
+                                                    String chaveCategoria, Path base,
+                                                    boolean semDuracao, boolean semTamanho) {
+        List<Predicate<Midia>> filtros = new ArrayList<>();
+        if (classe != null) filtros.add(m -> m.getClass() == classe);
+        if (!semDuracao && consulta.filtraDuracao()) {
+            long minima = consulta.getDuracaoMinima();
+            long maxima = consulta.getDuracaoMaxima();
+            filtros.add(m -> m.getDuracao() >= minima && m.getDuracao() <= maxima);
+        }
+        if (!semTamanho && consulta.filtraTamanho()) {
+            long minimo = consulta.getTamanhoMinimo();
+            long maximo = consulta.getTamanhoMaximo();
+            filtros.add(m -> m.getTamanhoDisco() >= minimo && m.getTamanhoDisco() <= maximo);
         }
+        if (chaveCategoria != null) filtros.add(m -> normalizarCategoria(m.getCategoria()).equals(chaveCategoria));
+        if (base != null) filtros.add(m -> Paths.get(normalizarLocal(m.getLocal())).startsWith(base));
+        return filtros;
     }
 
     /**
-     * Renomeia o arquivo físico da mídia e atualiza o título no sistema.
+     * Junta as condições com E, sem custo extra quando há uma só ou nenhuma.
+     */
+    private static Predicate<Midia> encadear(List<Predicate<Midia>> filtros) {
+        if (filtros.isEmpty()) return m -> true;
+        Predicate<Midia> resultado = filtros.get(0);
+        for (int i = 1; i < filtros.size(); i++) resultado = resultado.and(filtros.get(i));
+        return resultado;
+    }
+
+    /**
+     * Retorna uma página do resultado de {@link #getMidiasFiltradas(String, String, String, long)},
+     * pulando as {@code deslocamento} primeiras mídias.
+     * <p>
+     * Só as mídias até o fim da página são percorridas; o resultado inteiro nunca é montado.
+     * O deslocamento é recontado a cada chamada e muda de sentido quando o catálogo é alterado
+     * entre uma página e outra; para avançar página a página, use {@link #getPaginaSeguinte}
+     * com o cursor da página anterior.
+     * </p>
      *
-     * @param m A mídia a ser renomeada.
-     * @param novoNomeSemExtensao O novo nome desejado (sem a extensão .mp3, .pdf, etc).
-     * @throws ErroPersistenciaException Se houver falha na operação de renomear do sistema operacional.
+     * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param categoria A categoria para filtrar (pode ser vazio para ignorar).
+     * @param ordem O critério de ordenação ("Alfabética", "Duração", "Tamanho" ou vazio para a ordem do catálogo).
+     * @param tamanhoMinimo O menor tamanho aceito, em bytes (0 para não filtrar).
+     * @param deslocamento Quantas mídias do início do resultado pular.
+     * @param limite Quantidade máxima de mídias na página.
+     * @return A página, com o cursor para a seguinte.
+     * @throws IllegalArgumentException Se o deslocamento for negativo ou o limite não for positivo.
      */
-    public void renomearArquivoMidia(Midia m, String novoNomeSemExtensao) throws ErroPersistenciaException {
-        File arquivoOriginal = new File(m.getLocal());
+    public synchronized Pagina getPagina(String tipo, String categoria, String ordem, long tamanhoMinimo,
+                                         int deslocamento, int limite) {
+        if (deslocamento < 0) throw new IllegalArgumentException("Deslocamento negativo: " + deslocamento);
+        return paginar(tipo, categoria, Pagina.Criterio.de(ordem), tamanhoMinimo, null, deslocamento, limite);
+    }
 
-        // Devemos obter a extensão correta para montar o novo caminho
-        String nomeAtual = arquivoOriginal.getName();
-        int i = nomeAtual.lastIndexOf('.');
-        String extensao = (i > 0) ? nomeAtual.substring(i) : "";
+    /**
+     * Retorna a página que começa logo depois do cursor de uma página anterior.
+     * <p>
+     * A consulta retoma pela chave de ordenação da última mídia entregue (e sua sequência no
+     * catálogo, que desempata): nos índices ordenados e na ordem do catálogo isso é uma busca
+     * direta, sem percorrer as páginas anteriores. Mídias incluídas ou removidas depois do cursor
+     * não fazem outras se repetirem nem serem puladas.
+     * </p>
+     *
+     * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param categoria A categoria para filtrar (pode ser vazio para ignorar).
+     * @param ordem O mesmo critério de ordenação usado na página anterior.
+     * @param tamanhoMinimo O menor tamanho aceito, em bytes (0 para não filtrar).
+     * @param depois O cursor da página anterior ({@code null} para a primeira página).
+     * @param limite Quantidade máxima de mídias na página.
+     * @return A página, com o cursor para a seguinte.
+     * @throws IllegalArgumentException Se o cursor for de outra ordenação ou o limite não for positivo.
+     */
+    public synchronized Pagina getPaginaSeguinte(String tipo, String categoria, String ordem, long tamanhoMinimo,
+                                                 Pagina.Cursor depois, int limite) {
+        Pagina.Criterio criterio = Pagina.Criterio.de(ordem);
+        if (depois != null && depois.getCriterio() != criterio) {
+            throw new IllegalArgumentException("Cursor criado para outra ordenação: " + depois.getCriterio());
+        }
+        return paginar(tipo, categoria, criterio, tamanhoMinimo, depois, 0, limite);
+    }
 
-        File novoArquivo = new File(arquivoOriginal.getParent(), novoNomeSemExtensao + extensao);
+    private Pagina paginar(String tipo, String categoria, Pagina.Criterio criterio, long tamanhoMinimo,
+                           Pagina.Cursor depois, int deslocamento, int limite) {
+        if (limite <= 0) throw new IllegalArgumentException("Limite deve ser positivo: " + limite);
+        Class<? extends Midia> classe = classeDoTipo(tipo);
+        if (!tipo.equals("Todos") && classe == null) return new Pagina(List.of(), null);
 
-        try {
-            // 1. Move o arquivo físico (renomeando)
-            Files.move(arquivoOriginal.toPath(), novoArquivo.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        String chaveCategoria = categoria.isEmpty() ? null : normalizarCategoria(categoria);
+        Predicate<Midia> aceita = filtroDaTela(classe, categoria, tamanhoMinimo);
+        // Uma mídia além do limite revela se existe página seguinte
+        int quantidade = (int) Math.min(Integer.MAX_VALUE, (long) deslocamento + limite + 1);
 
-            // 2. ATUALIZAÇÃO DO OBJETO NA MEMÓRIA (Corpo do objeto 'm')
-            m.setLocal(novoArquivo.getAbsolutePath());
-            m.setTitulo(novoNomeSemExtensao); // Atualiza o título para refletir o nome do arquivo
+        List<Midia> itens = switch (criterio) {
+            case DURACAO -> depois != null
+                    ? indicePorDuracao.apos(depois.getValor(), depois.getSequencia(), aceita, false, quantidade)
+                    : indicePorDuracao.faixa(Long.MIN_VALUE, Long.MAX_VALUE, aceita, false, quantidade);
+            case TAMANHO -> depois != null
+                    ? indicePorTamanho.apos(depois.getValor(), depois.getSequencia(), aceita, true, quantidade)
+                    : indicePorTamanho.faixa(tamanhoMinimo, Long.MAX_VALUE, aceita, true, quantidade);
+            case TITULO -> depois != null
+                    ? indicePorTitulo.apos(depois.getTitulo(), depois.getSequencia(), false, aceita, quantidade)
+                    : indicePorTitulo.apos(null, 0, true, aceita, quantidade);
+            case CATALOGO -> paginarPeloCatalogo(menorGrupo(classe, chaveCategoria), aceita, depois, quantidade);
+        };
 
-            // 3. ATUALIZAÇÃO DA PERSISTÊNCIA (CSV)
-            salvarNoArquivo();
+        itens = itens.subList(Math.min(deslocamento, itens.size()), itens.size());
+        if (itens.size() <= limite) return new Pagina(itens, null);
+        itens = itens.subList(0, limite);
+        return new Pagina(itens, cursorDe(criterio, itens.get(limite - 1)));
+    }
 
-            // 4. Se o título mudou, o .tpoo também deve mudar. Usamos o editarMidia aqui:
-            // Simplificamos: removemos o antigo e criamos o novo
-            File tpooAntigo = getArquivoTpooAssociado(m);
-            if(tpooAntigo != null && tpooAntigo.exists()) tpooAntigo.delete();
-            gerarArquivoIndividual(m);
+    /**
+     * Percorre na ordem do catálogo a partir do cursor. Com filtro de tipo ou categoria, percorre
+     * só o menor grupo correspondente, retomado direto na sequência da última mídia entregue;
+     * senão, localiza essa sequência por busca binária na lista (que está sempre na ordem das sequências).
+     */
+    private List<Midia> paginarPeloCatalogo(NavigableMap<Long, Midia> grupo, Predicate<Midia> aceita,
+                                            Pagina.Cursor depois, int quantidade) {
+        Iterable<Midia> fonte;
+        if (grupo != null) {
+            fonte = depois == null ? grupo.values() : grupo.tailMap(depois.getSequencia(), false).values();
+        } else {
+            int inicio = depois == null ? 0 : primeiraPosicaoApos(depois.getSequencia());
+            fonte = midias.subList(inicio, midias.size());
+        }
 
-        } catch(IOException e){
-            throw new ErroPersistenciaException("Erro ao renomear arquivo: " + e.getMessage());
+        List<Midia> resultado = new ArrayList<>();
+        for (Midia m : fonte) {
+            if (aceita.test(m) && resultado.add(m) && resultado.size() == quantidade) break;
         }
+        return resultado;
     }
 
-    // --- MÉTODOS AUXILIARES ---
-
     /**
-     * Helper para localizar o arquivo .tpoo com base nas regras de nomenclatura do sistema.
-     * @param m A mídia base.
-     * @return Um objeto File apontando para onde o .tpoo deveria estar.
+     * Menor grupo dos índices de tipo e categoria que cobre os filtros, ou {@code null} sem filtros.
      */
-    private File getArquivoTpooAssociado(Midia m) {
-        // Reconstrói o caminho onde o .tpoo deveria estar
-        File arquivoMedia = new File(m.getLocal());
-        String nomeTpoo = m.getTitulo().replaceAll("[^a-zA-Z0-9]", ".tpoo");
-        return new File(arquivoMedia.getParent(), nomeTpoo);
+    private NavigableMap<Long, Midia> menorGrupo(Class<? extends Midia> classe, String chaveCategoria) {
+        NavigableMap<Long, Midia> grupoTipo = classe == null ? null : indicePorTipo.get(classe);
+        NavigableMap<Long, Midia> grupoCategoria = chaveCategoria == null ? null : indicePorCategoria.get(chaveCategoria);
+        if (grupoTipo == null) return grupoCategoria;
+        if (grupoCategoria == null) return grupoTipo;
+        return grupoTipo.size() <= grupoCategoria.size() ? grupoTipo : grupoCategoria;
     }
 
     /**
-     * Helper para mover o arquivo .tpoo quando a mídia principal é movida.
-     * @param m A mídia que está sendo movida.
-     * @param novoDiretorio O caminho da pasta de destino.
+     * Posição, na lista do catálogo, da primeira mídia com sequência maior que a informada.
      */
-    private void moverTpooJunto(Midia m, String novoDiretorio) {
-        try {
-            File tpooOrigem = getArquivoTpooAssociado(m);
-
-            if (tpooOrigem.exists()) {
-                Path origem = tpooOrigem.toPath();
-                Path destino = Paths.get(novoDiretorio, tpooOrigem.getName());
-                Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
-                System.out.println(".tpoo movido com sucesso para: " + destino);
-            } else {
-                System.out.println("Aviso: Arquivo .tpoo não encontrado para mover (não é crítico).");
-            }
-        } catch (Exception e) {
-            System.out.println("Erro ao mover .tpoo: " + e.getMessage());
+    private int primeiraPosicaoApos(long seq) {
+        int inicio = 0;
+        int fim = midias.size();
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (sequencia.get(midias.get(meio)) <= seq) inicio = meio + 1;
+            else fim = meio;
         }
+        return inicio;
+    }
+
+    private Pagina.Cursor cursorDe(Pagina.Criterio criterio, Midia m) {
+        long valor = criterio == Pagina.Criterio.DURACAO ? m.getDuracao() : m.getTamanhoDisco();
+        return new Pagina.Cursor(criterio, valor, m.getTitulo(), sequencia.get(m));
     }
 
     /**
-     * Helper (legado) para recriar a referência do objeto após mudança de arquivo.
+     * Retorna as mídias com duração entre {@code minimo} e {@code maximo} (inclusive),
+     * da mais curta para a mais longa.
      * <p>
-     * <b>Nota:</b> Este método remove a referência antiga e cria uma nova instância.
-     * Útil se a imutabilidade fosse um requisito estrito, mas atualmente o sistema atualiza o objeto existente.
+     * Usa o índice ordenado por duração: percorre apenas a faixa pedida, sem ordenar.
      * </p>
-     * @param m A mídia antiga.
-     * @param novoArquivo O arquivo no novo local.
-     * @throws ErroPersistenciaException Se falhar ao salvar.
+     *
+     * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param minimo A menor duração aceita.
+     * @param maximo A maior duração aceita.
+     * @return Uma nova lista, já ordenada por duração.
      */
-    private void atualizarObjetoAposMudancaArquivo(Midia m, File novoArquivo) throws ErroPersistenciaException {
-        // Remove a referência antiga
-        midias.remove(m);
-
-        // Cria nova referência
-        Midia nova = null;
-        String caminho = novoArquivo.getAbsolutePath();
-
-        if (m instanceof Filme f) nova = new Filme(f.getTitulo(), caminho, f.getDuracao(), f.getCategoria(), f.getIdioma());
-        else if (m instanceof Musica mu) nova = new Musica(caminho, mu.getTitulo(), mu.getCategoria(), mu.getDuracao(), mu.getArtista());
-        else if (m instanceof Livro l) nova = new Livro(caminho, l.getTitulo(), l.getCategoria(), l.getDuracao(), l.getAutores());
-
-        if (nova != null) {
-            midias.add(nova);
-            salvarNoArquivo(); // Atualiza CSV imediatamente
-        }
+    public synchronized List<Midia> getMidiasPorDuracao(String tipo, int minimo, int maximo) {
+        return consultarFaixa(indicePorDuracao, tipo, minimo, maximo, false, Integer.MAX_VALUE);
     }
 
-    // ---------------- CONSULTAS ----------------
+    /**
+     * Retorna as mídias com tamanho entre {@code minimo} e {@code maximo} bytes (inclusive),
+     * da menor para a maior.
+     *
+     * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param minimo O menor tamanho aceito, em bytes.
+     * @param maximo O maior tamanho aceito, em bytes.
+     * @return Uma nova lista, já ordenada por tamanho.
+     */
+    public synchronized List<Midia> getMidiasPorTamanho(String tipo, long minimo, long maximo) {
+        return consultarFaixa(indicePorTamanho, tipo, minimo, maximo, false, Integer.MAX_VALUE);
+    }
 
     /**
-     * Busca uma mídia na lista com base no caminho absoluto do arquivo.
+     * Retorna as {@code n} mídias de maior duração, da mais longa para a mais curta.
+     * <p>
+     * Percorre o índice a partir do fim e para ao completar {@code n} mídias.
+     * </p>
      *
-     * @param local O caminho absoluto do arquivo.
-     * @return O objeto Midia se encontrado, ou null caso contrário.
+     * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
+     * @param n Quantidade máxima de mídias.
+     * @return Uma nova lista com no máximo {@code n} mídias.
      */
-    public Midia buscarMidiaPorLocal(String local) {
-        for (Midia m : midias) {
-            if (m.getLocal().equals(local)) return m;
-        }
-        return null;
+    public synchronized List<Midia> getMaisLongas(String tipo, int n) {
+        return consultarFaixa(indicePorDuracao, tipo, Long.MIN_VALUE, Long.MAX_VALUE, true, n);
     }
 
     /**
-     * Retorna uma lista filtrada e ordenada de mídias.
+     * Retorna as {@code n} maiores mídias em disco, da maior para a menor.
      *
      * @param tipo O tipo de mídia ("Filme", "Musica", "Livro" ou "Todos").
-     * @param categoria A categoria para filtrar (pode ser vazio para ignorar).
-     * @param ordem O critério de ordenação ("Alfabética" ou "Duração").
-     * @return Uma nova lista contendo apenas as mídias que atendem aos critérios.
+     * @param n Quantidade máxima de mídias.
+     * @return Uma nova lista com no máximo {@code n} mídias.
      */
-    public List<Midia> getMidiasFiltradas(String tipo, String categoria, String ordem) {
-        List<Midia> filtradas = new ArrayList<>();
-        for (Midia m : midias) {
-            boolean okTipo = tipo.equals("Todos") ||
-                    (tipo.equals("Filme") && m instanceof Filme) ||
-                    (tipo.equals("Musica") && m instanceof Musica) ||
-                    (tipo.equals("Livro") && m instanceof Livro);
-            boolean okCat = categoria.isEmpty() || m.getCategoria().equalsIgnoreCase(categoria);
+    public synchronized List<Midia> getMaiores(String tipo, int n) {
+        return consultarFaixa(indicePorTamanho, tipo, Long.MIN_VALUE, Long.MAX_VALUE, true, n);
+    }
 
-            if (okTipo && okCat) filtradas.add(m);
-        }
+    private List<Midia> consultarFaixa(IndiceOrdenado indice, String tipo, long minimo, long maximo,
+                                       boolean decrescente, int limite) {
+        Class<? extends Midia> classe = classeDoTipo(tipo);
+        if (!tipo.equals("Todos") && classe == null) return new ArrayList<>();
+        return consultarFaixa(indice, classe, minimo, maximo, decrescente, limite, m -> true);
+    }
 
-        if (ordem != null && !ordem.isEmpty()) {
-            if (ordem.contains("Alfabética")) filtradas.sort(Comparator.comparing(Midia::getTitulo));
-            else if (ordem.contains("Duração")) filtradas.sort(Comparator.comparingInt(Midia::getDuracao));
-        }
-        return filtradas;
+    /**
+     * Consulta uma faixa de um índice ordenado, aceitando apenas mídias da classe informada
+     * ({@code null} para todas) que também atendam ao filtro.
+     */
+    private List<Midia> consultarFaixa(IndiceOrdenado indice, Class<? extends Midia> classe, long minimo, long maximo,
+                                       boolean decrescente, int limite, Predicate<Midia> filtro) {
+        Predicate<Midia> aceita = classe == null ? filtro : m -> m.getClass() == classe && filtro.test(m);
+        return indice.faixa(minimo, maximo, aceita, decrescente, limite);
     }
-}
\ No newline at end of file
+}
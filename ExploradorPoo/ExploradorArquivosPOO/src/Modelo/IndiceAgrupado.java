@@ -0,0 +1,96 @@
+package Modelo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice secundário que agrupa as mídias por uma chave (por exemplo, tipo ou categoria).
+ * <p>
+ * Cada grupo é mantido na ordem do catálogo, de forma que uma consulta filtrada
+ * percorre apenas as mídias do grupo e já as devolve na mesma ordem da lista principal.
+ * Os grupos são chaveados pela sequência de cada mídia no catálogo: a sequência é lida uma
+ * vez por inclusão, e as comparações da árvore são entre números, sem consultar outros mapas.
+ * </p>
+ *
+ * @param <K> O tipo da chave de agrupamento.
+ * @author Seu Nome
+ * @version 1.0
+ */
+class IndiceAgrupado<K> implements IndiceMidia {
+
+    /**
+     * Função que extrai a chave de agrupamento de uma mídia.
+     */
+    private final Function<Midia, K> extrator;
+
+    /**
+     * Função que informa a sequência da mídia no catálogo.
+     */
+    private final ToLongFunction<Midia> sequencia;
+
+    /**
+     * Grupos indexados pela chave; em cada grupo, sequência no catálogo -> mídia.
+     */
+    private final Map<K, TreeMap<Long, Midia>> grupos = new HashMap<>();
+
+    /**
+     * Cria o índice.
+     *
+     * @param extrator Função que calcula a chave de cada mídia.
+     * @param sequencia Função que informa a posição de cada mídia no catálogo.
+     */
+    IndiceAgrupado(Function<Midia, K> extrator, ToLongFunction<Midia> sequencia) {
+        this.extrator = extrator;
+        this.sequencia = sequencia;
+    }
+
+    @Override
+    public void indexar(Midia m) {
+        grupos.computeIfAbsent(extrator.apply(m), k -> new TreeMap<>()).put(sequencia.applyAsLong(m), m);
+    }
+
+    @Override
+    public void indexarTodas(List<Midia> midias) {
+        Map<K, List<Map.Entry<Long, Midia>>> porChave = new HashMap<>();
+        for (Midia m : midias) {
+            porChave.computeIfAbsent(extrator.apply(m), k -> new ArrayList<>())
+                    .add(Map.entry(sequencia.applyAsLong(m), m));
+        }
+        for (Map.Entry<K, List<Map.Entry<Long, Midia>>> e : porChave.entrySet()) {
+            TreeMap<Long, Midia> grupo = grupos.get(e.getKey());
+            if (grupo == null) {
+                grupos.put(e.getKey(), MontagemOrdenada.montar(e.getValue()));
+            } else {
+                for (Map.Entry<Long, Midia> entrada : e.getValue()) grupo.put(entrada.getKey(), entrada.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void desindexar(Midia m) {
+        K chave = extrator.apply(m);
+        TreeMap<Long, Midia> grupo = grupos.get(chave);
+        if (grupo != null) {
+            grupo.remove(sequencia.applyAsLong(m), m);
+            if (grupo.isEmpty()) grupos.remove(chave);
+        }
+    }
+
+    /**
+     * Obtém as mídias de um grupo, na ordem do catálogo.
+     *
+     * @param chave A chave do grupo.
+     * @return Uma visão somente leitura do grupo, da sequência para a mídia (vazia se não houver mídias).
+     */
+    NavigableMap<Long, Midia> get(K chave) {
+        TreeMap<Long, Midia> grupo = grupos.get(chave);
+        return grupo == null ? Collections.emptyNavigableMap() : Collections.unmodifiableNavigableMap(grupo);
+    }
+}
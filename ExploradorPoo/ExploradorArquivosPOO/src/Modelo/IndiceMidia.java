@@ -0,0 +1,44 @@
+package Modelo;
+
+import java.util.List;
+
+/**
+ * Contrato de um índice secundário mantido pelo {@link GerenciadorMidia}.
+ * <p>
+ * O gerenciador chama {@link #desindexar(Midia)} antes de qualquer alteração em uma mídia
+ * (remoção, substituição, mudança de caminho ou título) e {@link #indexar(Midia)} depois dela,
+ * de modo que cada índice é atualizado de forma incremental, sem reconstruções completas.
+ * Na carga do arquivo base, todas as mídias entram de uma vez por {@link #indexarTodas(List)}.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+interface IndiceMidia {
+
+    /**
+     * Registra a mídia no índice, usando os valores atuais dos seus atributos.
+     *
+     * @param m A mídia a indexar.
+     */
+    void indexar(Midia m);
+
+    /**
+     * Retira a mídia do índice. Deve ser chamado enquanto os atributos ainda têm
+     * os mesmos valores usados em {@link #indexar(Midia)}.
+     *
+     * @param m A mídia a retirar.
+     */
+    void desindexar(Midia m);
+
+    /**
+     * Registra de uma vez mídias que chegam na ordem do catálogo, como na carga do arquivo base.
+     * O padrão chama {@link #indexar(Midia)} para cada uma; índices que conseguem montar suas
+     * estruturas em uma única passada sobrescrevem este método.
+     *
+     * @param midias As mídias, em ordem crescente de sequência no catálogo.
+     */
+    default void indexarTodas(List<Midia> midias) {
+        for (Midia m : midias) indexar(m);
+    }
+}
@@ -0,0 +1,177 @@
+package Modelo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice secundário que mantém as mídias ordenadas por um valor numérico (por exemplo,
+ * duração ou tamanho em disco), para consultas por faixa de valores.
+ * <p>
+ * Cada mídia é guardada sob a chave (valor, sequência no catálogo), então mídias com o
+ * mesmo valor ficam na ordem do catálogo. Uma consulta por faixa percorre apenas as
+ * entradas dentro da faixa e já devolve o resultado ordenado, sem ordenação por consulta.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+class IndiceOrdenado implements IndiceMidia {
+
+    /**
+     * Chave de ordenação: o valor indexado e, para desempate, a sequência no catálogo.
+     */
+    private record Chave(long valor, long sequencia) implements Comparable<Chave> {
+        @Override
+        public int compareTo(Chave outra) {
+            int c = Long.compare(valor, outra.valor);
+            return c != 0 ? c : Long.compare(sequencia, outra.sequencia);
+        }
+    }
+
+    /**
+     * Função que extrai o valor indexado de uma mídia.
+     */
+    private final ToLongFunction<Midia> extrator;
+
+    /**
+     * Função que informa a sequência da mídia no catálogo.
+     */
+    private final ToLongFunction<Midia> sequencia;
+
+    private final TreeMap<Chave, Midia> ordenadas = new TreeMap<>();
+
+    /**
+     * Cria o índice.
+     *
+     * @param extrator Função que calcula o valor de cada mídia.
+     * @param sequencia Função que informa a posição de cada mídia no catálogo.
+     */
+    IndiceOrdenado(ToLongFunction<Midia> extrator, ToLongFunction<Midia> sequencia) {
+        this.extrator = extrator;
+        this.sequencia = sequencia;
+    }
+
+    @Override
+    public void indexar(Midia m) {
+        ordenadas.put(chave(m), m);
+    }
+
+    @Override
+    public void indexarTodas(List<Midia> midias) {
+        if (!ordenadas.isEmpty()) {
+            IndiceMidia.super.indexarTodas(midias);
+            return;
+        }
+        List<Map.Entry<Chave, Midia>> entradas = new ArrayList<>(midias.size());
+        for (Midia m : midias) entradas.add(Map.entry(chave(m), m));
+        entradas.sort(Map.Entry.comparingByKey());
+        ordenadas.putAll(MontagemOrdenada.montar(entradas));
+    }
+
+    @Override
+    public void desindexar(Midia m) {
+        ordenadas.remove(chave(m), m);
+    }
+
+    private Chave chave(Midia m) {
+        return new Chave(extrator.applyAsLong(m), sequencia.applyAsLong(m));
+    }
+
+    /**
+     * Obtém as mídias cujo valor está entre {@code minimo} e {@code maximo} (inclusive).
+     *
+     * @param minimo O menor valor aceito.
+     * @param maximo O maior valor aceito.
+     * @param filtro Condição adicional (ex: tipo da mídia); apenas as aceitas contam para o limite.
+     * @param decrescente {@code true} para começar pelo maior valor.
+     * @param limite Quantidade máxima de mídias devolvidas.
+     * @return As mídias na ordem do valor; empates ficam na ordem do catálogo nos dois sentidos.
+     */
+    List<Midia> faixa(long minimo, long maximo, Predicate<Midia> filtro, boolean decrescente, int limite) {
+        List<Midia> resultado = new ArrayList<>();
+        if (minimo > maximo || limite <= 0) return resultado;
+        NavigableMap<Chave, Midia> trecho = ordenadas.subMap(
+                new Chave(minimo, Long.MIN_VALUE), true, new Chave(maximo, Long.MAX_VALUE), true);
+
+        if (!decrescente) {
+            for (Midia m : trecho.values()) {
+                if (filtro.test(m) && resultado.add(m) && resultado.size() == limite) break;
+            }
+            return resultado;
+        }
+
+        // Decrescente: percorre do fim, mas devolve cada grupo de valores iguais na ordem do catálogo
+        List<Midia> empatadas = new ArrayList<>();
+        long valorAtual = 0;
+        for (Map.Entry<Chave, Midia> e : trecho.descendingMap().entrySet()) {
+            if (!filtro.test(e.getValue())) continue;
+            if (!empatadas.isEmpty() && e.getKey().valor() != valorAtual) {
+                if (despejar(empatadas, resultado, limite)) return resultado;
+            }
+            valorAtual = e.getKey().valor();
+            empatadas.add(e.getValue());
+            // Um grupo de empates nunca precisa crescer além do que ainda falta devolver
+            if (empatadas.size() > limite - resultado.size()) empatadas.remove(0);
+        }
+        despejar(empatadas, resultado, limite);
+        return resultado;
+    }
+
+    /**
+     * Continua um percurso a partir da chave (valor, sequência) da última mídia já entregue,
+     * na mesma ordem de {@link #faixa}: a mídia da chave e as anteriores não voltam, e a chave
+     * não precisa mais estar no índice (a mídia pode ter sido removida ou alterada).
+     *
+     * @param valor O valor da última mídia entregue.
+     * @param sequencia A sequência no catálogo da última mídia entregue.
+     * @param filtro Condição adicional; apenas as aceitas contam para o limite.
+     * @param decrescente O sentido do percurso original.
+     * @param limite Quantidade máxima de mídias devolvidas.
+     * @return As mídias seguintes, na ordem do percurso.
+     */
+    List<Midia> apos(long valor, long sequencia, Predicate<Midia> filtro, boolean decrescente, int limite) {
+        List<Midia> resultado = new ArrayList<>();
+        if (limite <= 0) return resultado;
+
+        // Restante do grupo de empates: fica na ordem do catálogo nos dois sentidos
+        for (Midia m : ordenadas.subMap(new Chave(valor, sequencia), false,
+                new Chave(valor, Long.MAX_VALUE), true).values()) {
+            if (filtro.test(m) && resultado.add(m) && resultado.size() == limite) return resultado;
+        }
+
+        int falta = limite - resultado.size();
+        if (decrescente && valor > Long.MIN_VALUE) {
+            resultado.addAll(faixa(Long.MIN_VALUE, valor - 1, filtro, true, falta));
+        } else if (!decrescente && valor < Long.MAX_VALUE) {
+            resultado.addAll(faixa(valor + 1, Long.MAX_VALUE, filtro, false, falta));
+        }
+        return resultado;
+    }
+
+    /**
+     * Acrescenta ao resultado um grupo de empates coletado de trás para frente.
+     *
+     * @return {@code true} se o limite foi atingido.
+     */
+    private static boolean despejar(List<Midia> empatadas, List<Midia> resultado, int limite) {
+        for (int i = empatadas.size() - 1; i >= 0 && resultado.size() < limite; i--) {
+            resultado.add(empatadas.get(i));
+        }
+        empatadas.clear();
+        return resultado.size() >= limite;
+    }
+
+    /**
+     * Quantidade de mídias indexadas.
+     *
+     * @return O tamanho do índice.
+     */
+    int tamanho() {
+        return ordenadas.size();
+    }
+}
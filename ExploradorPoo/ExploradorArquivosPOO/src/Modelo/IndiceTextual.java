@@ -0,0 +1,218 @@
+package Modelo;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice invertido para busca textual no título e no campo próprio de cada tipo
+ * (idioma do filme, artista da música, autores do livro).
+ * <p>
+ * Os textos são quebrados em palavras, em minúsculas e sem acentos ("Ação" vira "acao").
+ * O vocabulário fica ordenado, então cada termo da consulta é tratado como prefixo:
+ * "matr" encontra "Matrix". Vários termos são combinados com E (todos precisam aparecer).
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+class IndiceTextual implements IndiceMidia {
+
+    /**
+     * Palavra -> mídias que a contêm, cada conjunto chaveado pela sequência no catálogo.
+     */
+    private final TreeMap<String, TreeMap<Long, Midia>> vocabulario = new TreeMap<>();
+
+    /**
+     * Palavras de cada mídia, guardadas para a remoção e para conferir os demais termos da consulta.
+     */
+    private final Map<Midia, String[]> palavrasPorMidia = new IdentityHashMap<>();
+
+    /**
+     * Função que informa a sequência da mídia no catálogo (ordem dos resultados).
+     */
+    private final ToLongFunction<Midia> sequencia;
+
+    /**
+     * Cria o índice.
+     *
+     * @param sequencia Função que informa a posição de cada mídia no catálogo.
+     */
+    IndiceTextual(ToLongFunction<Midia> sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    @Override
+    public void indexar(Midia m) {
+        String[] palavras = palavrasDe(m);
+        palavrasPorMidia.put(m, palavras);
+        long seq = sequencia.applyAsLong(m);
+        for (String p : palavras) {
+            vocabulario.computeIfAbsent(p, k -> new TreeMap<>()).put(seq, m);
+        }
+    }
+
+    @Override
+    public void indexarTodas(List<Midia> midias) {
+        if (!vocabulario.isEmpty()) {
+            IndiceMidia.super.indexarTodas(midias);
+            return;
+        }
+        // As mídias chegam em ordem de sequência, então cada lista de ocorrências já sai ordenada
+        Map<String, List<Map.Entry<Long, Midia>>> ocorrencias = new HashMap<>();
+        for (Midia m : midias) {
+            String[] palavras = palavrasDe(m);
+            palavrasPorMidia.put(m, palavras);
+            Map.Entry<Long, Midia> entrada = Map.entry(sequencia.applyAsLong(m), m);
+            for (String p : palavras) {
+                ocorrencias.computeIfAbsent(p, k -> new ArrayList<>()).add(entrada);
+            }
+        }
+        List<Map.Entry<String, TreeMap<Long, Midia>>> palavras = new ArrayList<>(ocorrencias.size());
+        for (Map.Entry<String, List<Map.Entry<Long, Midia>>> e : ocorrencias.entrySet()) {
+            palavras.add(Map.entry(e.getKey(), MontagemOrdenada.montar(e.getValue())));
+        }
+        palavras.sort(Map.Entry.comparingByKey());
+        vocabulario.putAll(MontagemOrdenada.montar(palavras));
+    }
+
+    @Override
+    public void desindexar(Midia m) {
+        String[] palavras = palavrasPorMidia.remove(m);
+        if (palavras == null) return;
+        long seq = sequencia.applyAsLong(m);
+        for (String p : palavras) {
+            TreeMap<Long, Midia> conjunto = vocabulario.get(p);
+            if (conjunto != null && conjunto.remove(seq, m) && conjunto.isEmpty()) {
+                vocabulario.remove(p);
+            }
+        }
+    }
+
+    /**
+     * Busca as mídias que contêm todos os termos da consulta (cada um como prefixo de alguma palavra).
+     * <p>
+     * Só o termo de menor alcance no vocabulário é expandido; os demais são conferidos nas
+     * palavras de cada candidata, sem montar e cruzar os conjuntos de todos os termos.
+     * Quando esse termo corresponde a uma única palavra, o conjunto dela já está na ordem
+     * do catálogo e o resultado sai sem ordenação.
+     * </p>
+     *
+     * @param consulta O texto digitado.
+     * @return As mídias encontradas, na ordem do catálogo (vazia se a consulta não tiver termos).
+     */
+    List<Midia> buscar(String consulta) {
+        List<String> termos = new ArrayList<>(tokenizar(consulta));
+        if (termos.isEmpty()) return new ArrayList<>();
+
+        String guia = null;
+        long menor = Long.MAX_VALUE;
+        for (String t : termos) {
+            long alcance = 0;
+            for (TreeMap<Long, Midia> conjunto : faixa(t).values()) {
+                alcance += conjunto.size();
+                if (alcance >= menor) break;
+            }
+            if (alcance == 0) return new ArrayList<>();
+            if (alcance < menor) {
+                menor = alcance;
+                guia = t;
+            }
+        }
+        termos.remove(guia);
+
+        NavigableMap<String, TreeMap<Long, Midia>> palavras = faixa(guia);
+        if (palavras.size() == 1) {
+            List<Midia> resultado = new ArrayList<>();
+            for (Midia m : palavras.firstEntry().getValue().values()) {
+                if (contemTodos(palavrasPorMidia.get(m), termos)) resultado.add(m);
+            }
+            return resultado;
+        }
+        // Vários conjuntos: a união pela sequência ordena e descarta a mídia que aparece sob duas palavras do prefixo
+        TreeMap<Long, Midia> unidas = new TreeMap<>();
+        for (TreeMap<Long, Midia> conjunto : palavras.values()) {
+            for (Map.Entry<Long, Midia> e : conjunto.entrySet()) {
+                if (contemTodos(palavrasPorMidia.get(e.getValue()), termos)) unidas.put(e.getKey(), e.getValue());
+            }
+        }
+        return new ArrayList<>(unidas.values());
+    }
+
+    private NavigableMap<String, TreeMap<Long, Midia>> faixa(String prefixo) {
+        return vocabulario.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false);
+    }
+
+    private static boolean contemTodos(String[] palavras, Collection<String> termos) {
+        for (String t : termos) {
+            boolean achou = false;
+            for (String p : palavras) {
+                if (p.startsWith(t)) {
+                    achou = true;
+                    break;
+                }
+            }
+            if (!achou) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Quantidade de palavras distintas no índice.
+     *
+     * @return O tamanho do vocabulário.
+     */
+    int tamanhoVocabulario() {
+        return vocabulario.size();
+    }
+
+    /**
+     * Palavras indexadas de uma mídia: título e o campo próprio do seu tipo.
+     */
+    private static String[] palavrasDe(Midia m) {
+        String extra = "";
+        if (m instanceof Filme f) extra = f.getIdioma();
+        else if (m instanceof Musica c) extra = c.getArtista();
+        else if (m instanceof Livro l) extra = l.getAutores();
+        Set<String> palavras = tokenizar(m.getTitulo());
+        palavras.addAll(tokenizar(extra));
+        return palavras.toArray(new String[0]);
+    }
+
+    /**
+     * Quebra um texto em palavras sem acentos e em minúsculas, sem repetições.
+     * Qualquer caractere que não seja letra ou dígito separa palavras ("Matrix_Reloaded.2003"
+     * rende "matrix", "reloaded" e "2003").
+     *
+     * @param texto O texto original (pode ser nulo).
+     * @return As palavras, na ordem em que aparecem.
+     */
+    static Set<String> tokenizar(String texto) {
+        Set<String> palavras = new LinkedHashSet<>();
+        if (texto == null || texto.isEmpty()) return palavras;
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder atual = new StringBuilder();
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue; // acento separado da letra
+            if (Character.isLetterOrDigit(c)) {
+                atual.append(c);
+            } else if (atual.length() > 0) {
+                palavras.add(atual.toString().toLowerCase(Locale.ROOT));
+                atual.setLength(0);
+            }
+        }
+        if (atual.length() > 0) palavras.add(atual.toString().toLowerCase(Locale.ROOT));
+        return palavras;
+    }
+}
@@ -0,0 +1,111 @@
+package Modelo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice secundário que mantém as mídias em ordem alfabética de título, para a paginação
+ * por título.
+ * <p>
+ * Cada mídia é guardada sob a chave (título, sequência no catálogo), então títulos iguais
+ * ficam na ordem do catálogo. A página seguinte é retomada direto na chave da última mídia
+ * entregue, sem percorrer nem ordenar as páginas anteriores.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+class IndiceTitulo implements IndiceMidia {
+
+    /**
+     * Chave de ordenação: o título (nulo antes de todos) e, para desempate, a sequência no catálogo.
+     */
+    private record Chave(String titulo, long sequencia) implements Comparable<Chave> {
+        private static final Comparator<String> TITULOS = Comparator.nullsFirst(Comparator.naturalOrder());
+
+        @Override
+        public int compareTo(Chave outra) {
+            int c = TITULOS.compare(titulo, outra.titulo);
+            return c != 0 ? c : Long.compare(sequencia, outra.sequencia);
+        }
+    }
+
+    /**
+     * Função que informa a sequência da mídia no catálogo.
+     */
+    private final ToLongFunction<Midia> sequencia;
+
+    private final TreeMap<Chave, Midia> ordenadas = new TreeMap<>();
+
+    /**
+     * Cria o índice.
+     *
+     * @param sequencia Função que informa a posição de cada mídia no catálogo.
+     */
+    IndiceTitulo(ToLongFunction<Midia> sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    @Override
+    public void indexar(Midia m) {
+        ordenadas.put(chave(m), m);
+    }
+
+    @Override
+    public void indexarTodas(List<Midia> midias) {
+        if (!ordenadas.isEmpty()) {
+            IndiceMidia.super.indexarTodas(midias);
+            return;
+        }
+        List<Map.Entry<Chave, Midia>> entradas = new ArrayList<>(midias.size());
+        for (Midia m : midias) entradas.add(Map.entry(chave(m), m));
+        entradas.sort(Map.Entry.comparingByKey());
+        ordenadas.putAll(MontagemOrdenada.montar(entradas));
+    }
+
+    @Override
+    public void desindexar(Midia m) {
+        ordenadas.remove(chave(m), m);
+    }
+
+    private Chave chave(Midia m) {
+        return new Chave(m.getTitulo(), sequencia.applyAsLong(m));
+    }
+
+    /**
+     * Percorre em ordem de título a partir da chave (título, sequência) da última mídia já
+     * entregue. A mídia da chave e as anteriores não voltam, e a chave não precisa mais estar
+     * no índice (a mídia pode ter sido removida ou renomeada).
+     *
+     * @param titulo O título da última mídia entregue (ignorado se {@code primeira}).
+     * @param sequencia A sequência no catálogo da última mídia entregue.
+     * @param primeira {@code true} para começar do início, sem cursor.
+     * @param filtro Condição adicional; apenas as aceitas contam para o limite.
+     * @param limite Quantidade máxima de mídias devolvidas.
+     * @return As mídias seguintes, em ordem de título e, nos empates, na ordem do catálogo.
+     */
+    List<Midia> apos(String titulo, long sequencia, boolean primeira, Predicate<Midia> filtro, int limite) {
+        List<Midia> resultado = new ArrayList<>();
+        if (limite <= 0) return resultado;
+        Iterable<Midia> fonte = primeira ? ordenadas.values()
+                : ordenadas.tailMap(new Chave(titulo, sequencia), false).values();
+        for (Midia m : fonte) {
+            if (filtro.test(m) && resultado.add(m) && resultado.size() == limite) break;
+        }
+        return resultado;
+    }
+
+    /**
+     * Quantidade de mídias indexadas.
+     *
+     * @return O tamanho do índice.
+     */
+    int tamanho() {
+        return ordenadas.size();
+    }
+}
@@ -0,0 +1,309 @@
+package Modelo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Arquivo .tpoo empacotado de um diretório: um único arquivo com um registro por mídia,
+ * no lugar de um arquivo .tpoo por mídia.
+ * <p>
+ * O arquivo é dividido em blocos de tamanho fixo ({@link #TAMANHO_BLOCO} bytes), o que permite
+ * alterar ou apagar um registro no próprio lugar, sem reescrever o arquivo:
+ * <ul>
+ * <li><b>Cabeçalho (16 bytes):</b> assinatura "TPIX", versão (2 bytes), tamanho do bloco (2 bytes), reservado.</li>
+ * <li><b>Registro:</b> ocupa uma sequência de blocos. O primeiro byte indica o estado
+ * (1 = ocupado, 0 = livre), seguido da quantidade de blocos (2 bytes) e do comprimento dos
+ * dados (4 bytes). Os dados são o nome do arquivo de mídia, uma quebra de linha e o conteúdo,
+ * em UTF-8.</li>
+ * </ul>
+ * A chave de cada registro é o nome do arquivo de mídia, e não o título, de modo que editar
+ * o título não deixa registros órfãos. Ao abrir, o arquivo é percorrido uma vez para montar
+ * o índice em memória (nome → posição) e a lista de espaços livres. Um registro que não cabe
+ * mais nos seus blocos é gravado em outro espaço livre (ou no fim); os blocos antigos são
+ * liberados antes disso, para que uma gravação interrompida nunca deixe duas versões no arquivo.
+ * </p>
+ * <p>
+ * Não é seguro para uso simultâneo: o {@link EscritorTpoo} garante uma única thread por diretório.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see EscritorTpoo
+ */
+class IndiceTpooDiretorio implements Closeable {
+
+    /**
+     * Nome do arquivo empacotado dentro de cada diretório.
+     */
+    static final String NOME_ARQUIVO = "indice.tpoo";
+
+    /**
+     * Tamanho de cada bloco, em bytes.
+     */
+    static final int TAMANHO_BLOCO = 256;
+
+    private static final int ASSINATURA = 0x54504958; // "TPIX"
+    private static final short VERSAO = 1;
+    private static final int CABECALHO = 16;
+    private static final int CABECALHO_REGISTRO = 7;
+    private static final byte LIVRE = 0;
+    private static final byte OCUPADO = 1;
+
+    private final FileChannel canal;
+
+    /**
+     * Primeiro bloco e quantidade de blocos de cada registro, pelo nome do arquivo de mídia.
+     */
+    private final Map<String, int[]> registros = new HashMap<>();
+
+    /**
+     * Espaços livres: primeiro bloco → quantidade de blocos.
+     */
+    private final TreeMap<Integer, Integer> livres = new TreeMap<>();
+
+    private int totalBlocos;
+
+    private IndiceTpooDiretorio(FileChannel canal) {
+        this.canal = canal;
+    }
+
+    /**
+     * Abre (ou cria) o arquivo empacotado de um diretório e carrega o índice.
+     *
+     * @param diretorio O diretório.
+     * @return O índice aberto.
+     * @throws IOException Se o arquivo não puder ser lido ou estiver em formato desconhecido.
+     */
+    static IndiceTpooDiretorio abrir(Path diretorio) throws IOException {
+        FileChannel canal = FileChannel.open(diretorio.resolve(NOME_ARQUIVO),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        IndiceTpooDiretorio indice = new IndiceTpooDiretorio(canal);
+        try {
+            indice.carregar();
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e instanceof IOException io ? io : new IOException("Índice .tpoo corrompido em " + diretorio, e);
+        }
+        return indice;
+    }
+
+    private void carregar() throws IOException {
+        long tamanho = canal.size();
+        if (tamanho < CABECALHO) {
+            ByteBuffer cab = ByteBuffer.allocate(CABECALHO);
+            cab.putInt(ASSINATURA).putShort(VERSAO).putShort((short) TAMANHO_BLOCO).putLong(0).flip();
+            escreverTudo(cab, 0);
+            canal.truncate(CABECALHO);
+            return;
+        }
+
+        ByteBuffer cab = ByteBuffer.allocate(CABECALHO);
+        lerTudo(cab, 0);
+        cab.flip();
+        if (cab.getInt() != ASSINATURA || cab.getShort() != VERSAO || cab.getShort() != TAMANHO_BLOCO) {
+            throw new IOException("Arquivo " + NOME_ARQUIVO + " em formato desconhecido.");
+        }
+
+        // Blocos incompletos no fim (gravação interrompida) são ignorados
+        totalBlocos = (int) ((tamanho - CABECALHO) / TAMANHO_BLOCO);
+        ByteBuffer cabReg = ByteBuffer.allocate(CABECALHO_REGISTRO);
+        int bloco = 0;
+        while (bloco < totalBlocos) {
+            cabReg.clear();
+            lerTudo(cabReg, posicao(bloco));
+            cabReg.flip();
+            byte estado = cabReg.get();
+            int blocos = Math.max(1, Math.min(cabReg.getShort() & 0xFFFF, totalBlocos - bloco));
+            int comprimento = cabReg.getInt();
+
+            if (estado == OCUPADO && comprimento >= 0 && comprimento <= blocos * TAMANHO_BLOCO - CABECALHO_REGISTRO) {
+                String nome = lerNome(bloco, comprimento);
+                int[] anterior = registros.put(nome, new int[]{bloco, blocos});
+                if (anterior != null) liberar(anterior); // Não ocorre em arquivos íntegros
+            } else {
+                adicionarLivre(bloco, blocos);
+            }
+            bloco += blocos;
+        }
+    }
+
+    private String lerNome(int bloco, int comprimento) throws IOException {
+        ByteBuffer dados = ByteBuffer.allocate(Math.min(comprimento, TAMANHO_BLOCO - CABECALHO_REGISTRO));
+        lerTudo(dados, posicao(bloco) + CABECALHO_REGISTRO);
+        byte[] b = dados.array();
+        int fim = 0;
+        while (fim < b.length && b[fim] != '\n') fim++;
+        if (fim == b.length && comprimento > b.length) {
+            // Nome maior que o primeiro bloco: lê o registro inteiro
+            return ler(bloco, comprimento).split("\n", 2)[0];
+        }
+        return new String(b, 0, fim, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Grava (ou substitui) o registro de uma mídia.
+     *
+     * @param nomeMidia O nome do arquivo de mídia (sem diretório).
+     * @param conteudo O conteúdo do registro.
+     * @throws IOException Se houver falha de escrita.
+     */
+    void gravar(String nomeMidia, String conteudo) throws IOException {
+        byte[] dados = (nomeMidia + "\n" + conteudo).getBytes(StandardCharsets.UTF_8);
+        int necessarios = (dados.length + CABECALHO_REGISTRO + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        if (necessarios > 0xFFFF) throw new IOException("Registro .tpoo grande demais: " + nomeMidia);
+
+        int[] atual = registros.get(nomeMidia);
+        if (atual != null && atual[1] >= necessarios) {
+            // Cabe no mesmo lugar: alteração no próprio arquivo
+            escreverRegistro(atual[0], atual[1], dados);
+            return;
+        }
+
+        if (atual != null) {
+            // Libera a versão antiga antes de gravar a nova: se as duas ficassem no arquivo após
+            // uma queda, a abertura não saberia qual é a mais recente (a nova pode estar num bloco anterior)
+            registros.remove(nomeMidia);
+            liberar(atual);
+            canal.force(false);
+        }
+        int destino = alocar(necessarios);
+        escreverRegistro(destino, necessarios, dados);
+        registros.put(nomeMidia, new int[]{destino, necessarios});
+    }
+
+    /**
+     * Remove o registro de uma mídia, marcando seus blocos como livres.
+     *
+     * @param nomeMidia O nome do arquivo de mídia.
+     * @throws IOException Se houver falha de escrita.
+     */
+    void apagar(String nomeMidia) throws IOException {
+        int[] atual = registros.remove(nomeMidia);
+        if (atual != null) liberar(atual);
+    }
+
+    /**
+     * Lê o conteúdo do registro de uma mídia.
+     *
+     * @param nomeMidia O nome do arquivo de mídia.
+     * @return O conteúdo, ou null se não houver registro.
+     * @throws IOException Se houver falha de leitura.
+     */
+    String ler(String nomeMidia) throws IOException {
+        int[] atual = registros.get(nomeMidia);
+        if (atual == null) return null;
+        ByteBuffer cab = ByteBuffer.allocate(CABECALHO_REGISTRO);
+        lerTudo(cab, posicao(atual[0]));
+        cab.flip();
+        cab.get();
+        cab.getShort();
+        return ler(atual[0], cab.getInt()).split("\n", 2)[1];
+    }
+
+    /**
+     * Quantidade de registros ocupados.
+     *
+     * @return O número de mídias com registro neste diretório.
+     */
+    int getQuantidade() {
+        return registros.size();
+    }
+
+    private String ler(int bloco, int comprimento) throws IOException {
+        ByteBuffer dados = ByteBuffer.allocate(comprimento);
+        lerTudo(dados, posicao(bloco) + CABECALHO_REGISTRO);
+        return new String(dados.array(), StandardCharsets.UTF_8);
+    }
+
+    private void escreverRegistro(int bloco, int blocos, byte[] dados) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(blocos * TAMANHO_BLOCO);
+        buf.put(OCUPADO).putShort((short) blocos).putInt(dados.length).put(dados);
+        buf.position(0);
+        escreverTudo(buf, posicao(bloco));
+    }
+
+    /**
+     * Escolhe onde gravar um registro: o primeiro espaço livre grande o bastante ou o fim do arquivo.
+     */
+    private int alocar(int necessarios) throws IOException {
+        for (Map.Entry<Integer, Integer> e : livres.entrySet()) {
+            if (e.getValue() >= necessarios) {
+                int inicio = e.getKey();
+                int sobra = e.getValue() - necessarios;
+                livres.remove(inicio);
+                if (sobra > 0) {
+                    livres.put(inicio + necessarios, sobra);
+                    marcarLivre(inicio + necessarios, sobra);
+                }
+                return inicio;
+            }
+        }
+        int inicio = totalBlocos;
+        totalBlocos += necessarios;
+        return inicio;
+    }
+
+    private void liberar(int[] espaco) throws IOException {
+        marcarLivre(espaco[0], espaco[1]);
+        adicionarLivre(espaco[0], espaco[1]);
+    }
+
+    /**
+     * Registra um espaço livre na lista em memória, unindo-o aos vizinhos livres.
+     */
+    private void adicionarLivre(int inicio, int blocos) {
+        Map.Entry<Integer, Integer> antes = livres.floorEntry(inicio - 1);
+        if (antes != null && antes.getKey() + antes.getValue() == inicio) {
+            livres.remove(antes.getKey());
+            inicio = antes.getKey();
+            blocos += antes.getValue();
+        }
+        Integer depois = livres.remove(inicio + blocos);
+        if (depois != null) blocos += depois;
+        livres.put(inicio, blocos);
+    }
+
+    private void marcarLivre(int inicio, int blocos) throws IOException {
+        // A quantidade de blocos cabe em 2 bytes: espaços maiores recebem um cabeçalho a cada 0xFFFF blocos
+        ByteBuffer cab = ByteBuffer.allocate(CABECALHO_REGISTRO);
+        while (blocos > 0) {
+            int parte = Math.min(blocos, 0xFFFF);
+            cab.clear();
+            cab.put(LIVRE).putShort((short) parte).putInt(0).flip();
+            escreverTudo(cab, posicao(inicio));
+            inicio += parte;
+            blocos -= parte;
+        }
+    }
+
+    private static long posicao(int bloco) {
+        return CABECALHO + (long) bloco * TAMANHO_BLOCO;
+    }
+
+    private void lerTudo(ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = canal.read(buf, pos);
+            if (n < 0) throw new IOException("Fim inesperado do arquivo " + NOME_ARQUIVO);
+            pos += n;
+        }
+    }
+
+    private void escreverTudo(ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            pos += canal.write(buf, pos);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
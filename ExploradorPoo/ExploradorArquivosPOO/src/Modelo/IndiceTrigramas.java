@@ -0,0 +1,158 @@
+package Modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Índice de trigramas (sequências de 3 caracteres) dos títulos, para busca aproximada.
+ * <p>
+ * Títulos sugeridos a partir de nomes de arquivo costumam ter erros de digitação e separadores
+ * variados ("Matirx_Reloaded"). A semelhança entre a consulta e um título é o coeficiente de
+ * Dice dos seus conjuntos de trigramas: {@code 2 * comuns / (trigramas da consulta + trigramas do título)}.
+ * </p>
+ * <p>
+ * Uma consulta não pontua todos os títulos: como um título só alcança a semelhança mínima se
+ * compartilhar uma quantidade mínima de trigramas com a consulta, basta buscar candidatos nas
+ * listas dos trigramas mais raros da consulta e conferir os demais por pertinência.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+class IndiceTrigramas implements IndiceMidia {
+
+    /**
+     * Trigrama -> mídias cujo título o contém.
+     */
+    private final Map<String, Set<Midia>> listas = new HashMap<>();
+
+    /**
+     * Trigramas do título de cada mídia.
+     */
+    private final Map<Midia, String[]> trigramasPorMidia = new IdentityHashMap<>();
+
+    /**
+     * Desempate entre semelhanças iguais (ordem do catálogo).
+     */
+    private final Comparator<Midia> ordem;
+
+    /**
+     * Cria o índice.
+     *
+     * @param ordem Ordem usada para desempatar resultados com a mesma semelhança.
+     */
+    IndiceTrigramas(Comparator<Midia> ordem) {
+        this.ordem = ordem;
+    }
+
+    @Override
+    public void indexar(Midia m) {
+        String[] trigramas = trigramas(m.getTitulo()).toArray(new String[0]);
+        trigramasPorMidia.put(m, trigramas);
+        for (String t : trigramas) {
+            listas.computeIfAbsent(t, k -> Collections.newSetFromMap(new IdentityHashMap<>(4))).add(m);
+        }
+    }
+
+    @Override
+    public void desindexar(Midia m) {
+        String[] trigramas = trigramasPorMidia.remove(m);
+        if (trigramas == null) return;
+        for (String t : trigramas) {
+            Set<Midia> lista = listas.get(t);
+            if (lista != null && lista.remove(m) && lista.isEmpty()) listas.remove(t);
+        }
+    }
+
+    /**
+     * Um título encontrado e sua semelhança com a consulta.
+     */
+    private record Pontuada(Midia midia, double semelhanca) { }
+
+    /**
+     * Busca os títulos mais parecidos com a consulta.
+     *
+     * @param consulta O texto digitado.
+     * @param limite Quantidade máxima de resultados.
+     * @param semelhancaMinima Semelhança mínima (de 0 a 1, exclusive 0) para um título entrar no resultado.
+     * @return As mídias da mais parecida para a menos parecida; empates na ordem do catálogo.
+     */
+    List<Midia> buscar(String consulta, int limite, double semelhancaMinima) {
+        Set<String> daConsulta = trigramas(consulta);
+        if (daConsulta.isEmpty() || limite <= 0) return new ArrayList<>();
+
+        // Listas da consulta, da mais rara para a mais comum (trigramas ausentes do índice não geram candidatos)
+        List<Set<Midia>> presentes = new ArrayList<>();
+        for (String t : daConsulta) {
+            Set<Midia> lista = listas.get(t);
+            if (lista != null) presentes.add(lista);
+        }
+        presentes.sort(Comparator.comparingInt(Set::size));
+
+        // Dice >= s exige comuns >= s * (q + t) / 2 >= s * (q + 1) / 2 (todo título tem ao menos um trigrama).
+        // Quem não está em nenhuma das (presentes - minimo + 1) listas mais raras tem menos que 'minimo' em comum.
+        int q = daConsulta.size();
+        int minimo = Math.max(1, (int) Math.ceil(semelhancaMinima * (q + 1) / 2));
+        int raras = presentes.size() - minimo + 1;
+        if (raras <= 0) return new ArrayList<>();
+
+        Map<Midia, Integer> comuns = new IdentityHashMap<>();
+        for (int i = 0; i < raras; i++) {
+            for (Midia m : presentes.get(i)) comuns.merge(m, 1, Integer::sum);
+        }
+
+        Comparator<Pontuada> pior = Comparator.comparingDouble(Pontuada::semelhanca)
+                .thenComparing(Pontuada::midia, ordem.reversed());
+        PriorityQueue<Pontuada> melhores = new PriorityQueue<>(pior);
+        for (Map.Entry<Midia, Integer> e : comuns.entrySet()) {
+            Midia m = e.getKey();
+            int c = e.getValue();
+            for (int i = raras; i < presentes.size(); i++) {
+                if (presentes.get(i).contains(m)) c++;
+            }
+            double semelhanca = 2.0 * c / (q + trigramasPorMidia.get(m).length);
+            if (semelhanca < semelhancaMinima) continue;
+
+            Pontuada p = new Pontuada(m, semelhanca);
+            if (melhores.size() < limite) {
+                melhores.add(p);
+            } else if (pior.compare(p, melhores.peek()) > 0) {
+                melhores.poll();
+                melhores.add(p);
+            }
+        }
+
+        Pontuada[] ordenadas = melhores.toArray(new Pontuada[0]);
+        Arrays.sort(ordenadas, pior.reversed());
+        List<Midia> resultado = new ArrayList<>(ordenadas.length);
+        for (Pontuada p : ordenadas) resultado.add(p.midia());
+        return resultado;
+    }
+
+    /**
+     * Trigramas de um texto: cada palavra (sem acentos, em minúsculas) é cercada por espaços,
+     * de modo que início e fim de palavra também contam ("rio" rende " ri", "rio" e "io ").
+     *
+     * @param texto O texto original.
+     * @return Os trigramas distintos.
+     */
+    static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (String palavra : IndiceTextual.tokenizar(texto)) {
+            String cercada = " " + palavra + " ";
+            for (int i = 0; i + 3 <= cercada.length(); i++) {
+                trigramas.add(cercada.substring(i, i + 3));
+            }
+        }
+        return trigramas;
+    }
+}
@@ -34,9 +34,24 @@ public class Livro extends Midia {
         super(local, titulo, duracaoPaginas, categoria, tamanhoDisco);
         this.autores = autores;
     }
+
+    /**
+     * Construtor para instanciar um Livro com o tamanho já em bytes.
+     *
+     * @param local          O caminho do arquivo ou localização física do livro.
+     * @param titulo         O título da obra.
+     * @param categoria      O gênero ou categoria do livro (ex: Romance, Técnico).
+     * @param duracaoPaginas O número total de páginas do livro (mapeado para o atributo duração da classe pai).
+     * @param autores        O nome do autor ou lista de autores.
+     * @param tamanhoDisco   O tamanho do arquivo em bytes.
+     */
+    public Livro(String local, String titulo, String categoria, int duracaoPaginas, String autores, long tamanhoDisco) {
+        super(local, titulo, duracaoPaginas, categoria, tamanhoDisco);
+        this.autores = autores;
+    }
     /**
      * Construtor de conveniência da classe Livro.
-     * Inicializa o livro definindo automaticamente o tamanho em disco como "0".
+     * Inicializa o livro definindo automaticamente o tamanho em disco como 0.
      * Ideal para livros físicos onde o tamanho do arquivo não se aplica.
      *
      * @param local          O caminho ou localização do livro.
@@ -47,7 +62,7 @@ public class Livro extends Midia {
      */
 
     public Livro(String local, String titulo, String categoria, int duracaoPaginas, String autores) {
-        this(local, titulo, categoria, duracaoPaginas, autores, "0");
+        this(local, titulo, categoria, duracaoPaginas, autores, 0L);
     }
 
     /**
@@ -84,6 +99,6 @@ public class Livro extends Midia {
                 "Autores: " + this.autores + "\n" +
                 "Categoria: " + getCategoria() + "\n" +
                 "Páginas: " + getDuracao() + "\n" +
-                "Tamanho: " + getTamanhoDisco() + "\n";
+                "Tamanho: " + getTamanhoFormatado() + "\n";
     }
 }
@@ -1,7 +1,7 @@
 package Modelo;
 
-import java.io.File;
 import java.io.Serializable;
+import java.util.Locale;
 
 /**
  * Classe abstrata que representa a entidade genérica de uma Mídia no sistema.
@@ -40,9 +40,15 @@ public abstract class Midia implements Serializable {
     protected String categoria;
 
     /**
-     * Tamanho do arquivo físico em bytes, armazenado como texto.
+     * Tamanho do arquivo físico em bytes.
      */
-    protected String tamanhoDisco;
+    protected long tamanhoDisco;
+
+    /**
+     * Data da última modificação do arquivo físico (milissegundos desde 1970), lida junto com
+     * o tamanho; 0 enquanto o arquivo não tiver sido consultado. Não é gravada no catálogo.
+     */
+    protected long ultimaModificacao;
 
     /**
      * Construtor base para inicializar os atributos comuns de qualquer mídia.
@@ -51,14 +57,28 @@ public abstract class Midia implements Serializable {
      * @param titulo O título da mídia.
      * @param duracao A duração (em minutos) ou extensão da mídia.
      * @param categoria A categoria ou gênero.
-     * @param tamanhoDisco O tamanho do arquivo em bytes (como String).
+     * @param tamanhoDisco O tamanho do arquivo em bytes.
      */
-    public Midia(String local, String titulo, int duracao, String categoria, String tamanhoDisco) {
+    public Midia(String local, String titulo, int duracao, String categoria, long tamanhoDisco) {
         this.local = local;
         this.titulo = titulo;
         this.duracao = duracao;
         this.categoria = categoria;
-        this.tamanhoDisco = tamanhoDisco;
+        this.tamanhoDisco = Math.max(0, tamanhoDisco);
+    }
+
+    /**
+     * Construtor que aceita o tamanho em texto, como nos catálogos antigos.
+     *
+     * @param local O caminho absoluto do arquivo.
+     * @param titulo O título da mídia.
+     * @param duracao A duração (em minutos) ou extensão da mídia.
+     * @param categoria A categoria ou gênero.
+     * @param tamanhoDisco O tamanho (ex: "1048576", "2.5 GB"); texto inválido vira 0.
+     * @see #converterTamanho(String)
+     */
+    public Midia(String local, String titulo, int duracao, String categoria, String tamanhoDisco) {
+        this(local, titulo, duracao, categoria, converterTamanho(tamanhoDisco));
     }
 
     /**
@@ -103,12 +123,36 @@ public abstract class Midia implements Serializable {
 
     /**
      * Obtém o tamanho do arquivo armazenado.
-     * @return O tamanho em bytes como String.
+     * @return O tamanho em bytes.
      */
-    public String getTamanhoDisco() {
+    public long getTamanhoDisco() {
         return tamanhoDisco;
     }
 
+    /**
+     * Obtém o tamanho do arquivo em unidade legível (ex: "1,4 GB").
+     * @return O tamanho formatado.
+     */
+    public String getTamanhoFormatado() {
+        return formatarTamanho(tamanhoDisco);
+    }
+
+    /**
+     * Obtém a data da última modificação do arquivo, lida na última atualização de atributos.
+     * @return Milissegundos desde 1970, ou 0 se ainda não consultada.
+     */
+    public long getUltimaModificacao() {
+        return ultimaModificacao;
+    }
+
+    /**
+     * Define a data da última modificação do arquivo.
+     * @param ultimaModificacao Milissegundos desde 1970.
+     */
+    public void setUltimaModificacao(long ultimaModificacao) {
+        this.ultimaModificacao = ultimaModificacao;
+    }
+
     /**
      * Atualiza o caminho do arquivo.
      * @param local O novo caminho absoluto.
@@ -135,25 +179,76 @@ public abstract class Midia implements Serializable {
 
     /**
      * Define manualmente o tamanho do disco.
-     * @param tamanhoDisco O tamanho em bytes como String.
+     * @param tamanhoDisco O tamanho em bytes.
      */
-    public void setTamanhoDisco(String tamanhoDisco) {
-        this.tamanhoDisco = tamanhoDisco;
+    public void setTamanhoDisco(long tamanhoDisco) {
+        this.tamanhoDisco = Math.max(0, tamanhoDisco);
     }
 
     /**
-     * Atualiza o atributo {@code tamanhoDisco} lendo o arquivo físico real no sistema.
+     * Converte um tamanho em texto para bytes.
      * <p>
-     * O método verifica se o arquivo existe no caminho especificado em {@code local}.
-     * Se existir, captura o tamanho em bytes ({@code length()}) e converte para String.
-     * Se não existir, mantém o valor anterior.
+     * Aceita um número de bytes ("1048576") ou um valor com unidade B, KB, MB, GB ou TB
+     * (potências de 1024), com vírgula ou ponto decimal e espaço opcional (ex: "2.5 GB", "5MB").
      * </p>
+     *
+     * @param texto O tamanho em texto.
+     * @return O tamanho em bytes, ou 0 se o texto estiver vazio ou não for reconhecido.
+     */
+    public static long converterTamanho(String texto) {
+        if (texto == null) return 0;
+        String t = texto.trim();
+        if (t.isEmpty()) return 0;
+
+        // Caminho comum (catálogos gravados por esta versão): só dígitos
+        boolean soDigitos = t.length() <= 18;
+        for (int i = 0; soDigitos && i < t.length(); i++) {
+            soDigitos = Character.isDigit(t.charAt(i));
+        }
+        if (soDigitos) return Long.parseLong(t);
+
+        String maiusculo = t.toUpperCase(Locale.ROOT);
+        int fimNumero = 0;
+        while (fimNumero < maiusculo.length()
+                && (Character.isDigit(maiusculo.charAt(fimNumero)) || maiusculo.charAt(fimNumero) == '.'
+                || maiusculo.charAt(fimNumero) == ',')) {
+            fimNumero++;
+        }
+        if (fimNumero == 0) return 0;
+        String unidade = maiusculo.substring(fimNumero).trim();
+        int expoente = switch (unidade) {
+            case "", "B", "BYTES" -> 0;
+            case "K", "KB" -> 1;
+            case "M", "MB" -> 2;
+            case "G", "GB" -> 3;
+            case "T", "TB" -> 4;
+            default -> -1;
+        };
+        if (expoente < 0) return 0;
+        try {
+            double valor = Double.parseDouble(maiusculo.substring(0, fimNumero).replace(',', '.'));
+            return Math.round(valor * Math.pow(1024, expoente));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Formata um tamanho em bytes na maior unidade adequada (ex: "700 KB", "1,4 GB").
+     *
+     * @param bytes O tamanho em bytes.
+     * @return O tamanho formatado.
      */
-    public void atualizarTamanhoDoArquivo() {
-        File file  = new File(local);
-        if(file.exists()) {
-            this.tamanhoDisco = String.valueOf(file.length());
+    public static String formatarTamanho(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        String[] unidades = {"KB", "MB", "GB", "TB"};
+        double valor = bytes;
+        int i = -1;
+        while (valor >= 1024 && i < unidades.length - 1) {
+            valor /= 1024;
+            i++;
         }
+        return String.format(valor < 10 ? "%.1f %s" : "%.0f %s", valor, unidades[i]);
     }
 
     /**
@@ -0,0 +1,22 @@
+package Modelo;
+
+/**
+ * Formas de gravar os metadados .tpoo das mídias.
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see GerenciadorMidia#setModoTpoo(ModoTpoo)
+ */
+public enum ModoTpoo {
+
+    /**
+     * Um arquivo .tpoo por mídia, nomeado a partir do título (formato original).
+     */
+    INDIVIDUAL,
+
+    /**
+     * Um único arquivo {@value IndiceTpooDiretorio#NOME_ARQUIVO} por diretório, com um registro
+     * por mídia alterado no próprio lugar (ver {@link IndiceTpooDiretorio}).
+     */
+    EMPACOTADO
+}
@@ -0,0 +1,98 @@
+package Modelo;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Monta árvores ({@link TreeMap}) a partir de entradas que já chegam em ordem crescente de chave,
+ * como as mídias lidas do arquivo base (na ordem das sequências) ou um vetor já ordenado.
+ * <p>
+ * Incluir uma entrada por vez custa O(log n) comparações e rotações para rebalancear a árvore.
+ * O construtor {@link TreeMap#TreeMap(SortedMap)} monta a árvore balanceada de uma vez, em tempo
+ * linear, quando recebe um mapa já ordenado; esta classe apresenta uma lista de entradas como
+ * esse mapa, sem copiá-la.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+final class MontagemOrdenada {
+
+    private MontagemOrdenada() {
+    }
+
+    /**
+     * Monta a árvore a partir das entradas.
+     *
+     * @param crescentes Entradas em ordem estritamente crescente de chave (ordem natural).
+     * @return Uma nova árvore com as entradas.
+     */
+    static <K, V> TreeMap<K, V> montar(List<Map.Entry<K, V>> crescentes) {
+        return new TreeMap<>(new Crescentes<>(crescentes));
+    }
+
+    /**
+     * Visão somente leitura de uma lista ordenada como {@link SortedMap}: só o necessário
+     * para o construtor de {@link TreeMap} (comparador, tamanho e percurso das entradas).
+     */
+    private static final class Crescentes<K, V> extends AbstractMap<K, V> implements SortedMap<K, V> {
+
+        private final List<Map.Entry<K, V>> entradas;
+
+        Crescentes(List<Map.Entry<K, V>> entradas) {
+            this.entradas = entradas;
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return null;
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return entradas.iterator();
+                }
+
+                @Override
+                public int size() {
+                    return entradas.size();
+                }
+            };
+        }
+
+        @Override
+        public K firstKey() {
+            return entradas.get(0).getKey();
+        }
+
+        @Override
+        public K lastKey() {
+            return entradas.get(entradas.size() - 1).getKey();
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(K de, K ate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(K ate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(K de) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
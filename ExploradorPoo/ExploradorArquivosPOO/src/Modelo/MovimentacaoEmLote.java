@@ -0,0 +1,423 @@
+package Modelo;
+
+import excecoes.ErroPersistenciaException;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Move os arquivos de muitas mídias para outra pasta de uma só vez.
+ * <p>
+ * Para cada arquivo, tenta primeiro uma renomeação atômica, que só é possível quando origem
+ * e destino estão no mesmo sistema de arquivos e não copia nenhum dado. Entre volumes
+ * diferentes, o arquivo é copiado com uma {@link TransferenciaRetomavel}: os blocos são copiados
+ * em paralelo com {@link java.nio.channels.FileChannel#transferTo} (cópia feita pelo sistema
+ * operacional, sem passar pela memória da aplicação) e conferidos por CRC32C antes de o arquivo
+ * receber o nome final.
+ * </p>
+ * <p>
+ * O andamento é informado em bytes e a operação pode ser cancelada: arquivos ainda não
+ * concluídos ficam intactos na origem, e a cópia parcial é retomada na próxima movimentação
+ * para o mesmo destino. O catálogo é atualizado com {@link GerenciadorMidia#relocalizarMidias(Map)}
+ * logo após as renomeações, antes das cópias (que podem demorar minutos), e de novo ao fim das
+ * cópias; só depois disso as origens copiadas são apagadas.
+ * Cada instância executa uma única movimentação.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see GerenciadorMidia
+ */
+public class MovimentacaoEmLote {
+
+    /**
+     * Quantidade padrão de blocos copiados ao mesmo tempo.
+     */
+    public static final int PARALELISMO_PADRAO = 4;
+
+    /**
+     * Retrato do andamento de uma movimentação.
+     */
+    public static class Progresso {
+        private final long bytesConcluidos;
+        private final long bytesTotais;
+        private final long decorridoMs;
+
+        Progresso(long bytesConcluidos, long bytesTotais, long decorridoMs) {
+            this.bytesConcluidos = bytesConcluidos;
+            this.bytesTotais = bytesTotais;
+            this.decorridoMs = decorridoMs;
+        }
+
+        /** @return Bytes já movidos (renomeados ou copiados). */
+        public long getBytesConcluidos() {
+            return bytesConcluidos;
+        }
+
+        /** @return Total de bytes a mover. */
+        public long getBytesTotais() {
+            return bytesTotais;
+        }
+
+        /** @return Tempo decorrido desde o início, em milissegundos. */
+        public long getDecorridoMs() {
+            return decorridoMs;
+        }
+
+        /**
+         * Vazão média.
+         *
+         * @return Bytes por segundo.
+         */
+        public double getBytesPorSegundo() {
+            return decorridoMs == 0 ? 0 : bytesConcluidos * 1000.0 / decorridoMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d de %d MB (%.1f MB/s)", bytesConcluidos >> 20, bytesTotais >> 20,
+                    getBytesPorSegundo() / (1024 * 1024));
+        }
+    }
+
+    /**
+     * Um arquivo a mover e, para cópias entre volumes, os blocos em andamento.
+     */
+    private static final class Item {
+        final Midia midia;
+        final Path origem;
+        final Path destino;
+        final long tamanho;
+        TransferenciaRetomavel transferencia;
+        final List<Future<Boolean>> blocos = new ArrayList<>();
+        ResultadoLote.Item resultado;
+
+        Item(Midia midia, Path origem, Path destino, long tamanho) {
+            this.midia = midia;
+            this.origem = origem;
+            this.destino = destino;
+            this.tamanho = tamanho;
+        }
+    }
+
+    private final GerenciadorMidia gerenciador;
+    private int paralelismo = PARALELISMO_PADRAO;
+    private Consumer<Progresso> ouvinte = p -> { };
+    private volatile boolean cancelado;
+    private final AtomicLong bytesConcluidos = new AtomicLong();
+    private long bytesTotais;
+    private long inicio;
+    private long tamanhoBloco = TransferenciaRetomavel.TAMANHO_BLOCO_PADRAO;
+
+    /**
+     * Quando falso, pula a renomeação e copia sempre (simula volumes diferentes nos testes).
+     */
+    private boolean renomeacaoAtomica = true;
+
+    /**
+     * Cria uma movimentação em lote.
+     *
+     * @param gerenciador O catálogo que será atualizado ao final.
+     */
+    public MovimentacaoEmLote(GerenciadorMidia gerenciador) {
+        this.gerenciador = gerenciador;
+    }
+
+    /**
+     * Define quantos blocos são copiados ao mesmo tempo entre volumes.
+     *
+     * @param paralelismo O número de threads de cópia (mínimo 1).
+     */
+    public void setParalelismo(int paralelismo) {
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+
+    /**
+     * Define quem recebe o andamento (chamado a partir das threads de cópia).
+     *
+     * @param ouvinte O receptor do progresso.
+     */
+    public void setOuvinte(Consumer<Progresso> ouvinte) {
+        this.ouvinte = ouvinte;
+    }
+
+    /**
+     * Define o tamanho dos blocos das cópias entre volumes.
+     *
+     * @param tamanhoBloco O tamanho de cada bloco, em bytes.
+     */
+    public void setTamanhoBloco(long tamanhoBloco) {
+        this.tamanhoBloco = Math.max(1, tamanhoBloco);
+    }
+
+    void setRenomeacaoAtomica(boolean renomeacaoAtomica) {
+        this.renomeacaoAtomica = renomeacaoAtomica;
+    }
+
+    /**
+     * Solicita o cancelamento. Arquivos já movidos permanecem movidos (e são registrados
+     * no catálogo); os demais ficam na origem.
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    /**
+     * Indica se o cancelamento foi solicitado.
+     *
+     * @return {@code true} se {@link #cancelar()} foi chamado.
+     */
+    public boolean isCancelado() {
+        return cancelado;
+    }
+
+    /**
+     * Move os arquivos das mídias para a pasta de destino e atualiza o catálogo.
+     * Bloqueia até o término ou cancelamento.
+     *
+     * @param midias As mídias a mover.
+     * @param pastaDestino A pasta de destino.
+     * @return O desfecho de cada mídia, na ordem recebida: {@link ResultadoLote.Status#MOVIDA},
+     *         {@link ResultadoLote.Status#NAO_ENCONTRADA}, {@link ResultadoLote.Status#DUPLICADA}
+     *         (já existe um arquivo com o mesmo nome no destino) ou {@link ResultadoLote.Status#FALHOU}.
+     * @throws ErroPersistenciaException Se a pasta de destino não existir ou o catálogo não puder ser gravado.
+     */
+    public ResultadoLote mover(Collection<? extends Midia> midias, Path pastaDestino) throws ErroPersistenciaException {
+        if (!Files.isDirectory(pastaDestino)) {
+            throw new ErroPersistenciaException("A pasta de destino não existe: " + pastaDestino);
+        }
+        inicio = System.nanoTime();
+
+        List<Item> itens = planejar(midias, pastaDestino.toAbsolutePath().normalize());
+        List<Item> renomeados = new ArrayList<>();
+        List<Item> copias = new ArrayList<>();
+
+        // 1. Renomeação atômica: instantânea quando origem e destino estão no mesmo volume
+        for (Item item : itens) {
+            if (item.resultado != null) continue;
+            if (cancelado) {
+                item.resultado = falha(item, "Cancelado.");
+                continue;
+            }
+            try {
+                if (!renomeacaoAtomica) throw new AtomicMoveNotSupportedException(null, null, null);
+                // A renomeação atômica substitui um arquivo existente sem aviso: confere antes
+                if (Files.exists(item.destino, LinkOption.NOFOLLOW_LINKS)) {
+                    item.resultado = duplicada(item);
+                    continue;
+                }
+                Files.move(item.origem, item.destino, StandardCopyOption.ATOMIC_MOVE);
+                renomeados.add(item);
+                concluirBytes(item.tamanho);
+            } catch (AtomicMoveNotSupportedException e) {
+                copias.add(item);
+            } catch (IOException e) {
+                item.resultado = falha(item, "Falha ao mover: " + e.getMessage());
+            }
+        }
+
+        // O catálogo acompanha as renomeações antes das cópias: sem isso, o vigilante de arquivos
+        // veria as origens sumirem e removeria as mídias enquanto as cópias ainda estão em andamento
+        registrar(renomeados);
+
+        // 2. Cópia em blocos paralelos entre volumes, conferida antes de apagar a origem
+        if (!copias.isEmpty()) {
+            ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+            try {
+                for (Item item : copias) iniciarCopia(executor, item);
+                for (Item item : copias) finalizarCopia(item);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        // 3. Uma única atualização do catálogo para todas as cópias concluídas
+        List<Item> copiados = new ArrayList<>();
+        for (Item item : copias) {
+            if (item.resultado == null) copiados.add(item);
+        }
+        registrar(copiados);
+
+        ouvinte.accept(retrato());
+        ResultadoLote resultado = new ResultadoLote();
+        for (Item item : itens) resultado.adicionar(item.resultado);
+        return resultado;
+    }
+
+    /**
+     * Lê os atributos de cada origem (uma vez) e recusa desde já o que não pode ser movido:
+     * arquivos ausentes e destinos já ocupados no disco, no catálogo ou por outro item do lote
+     * (duas mídias com o mesmo nome de arquivo em pastas diferentes).
+     */
+    private List<Item> planejar(Collection<? extends Midia> midias, Path pastaDestino) {
+        List<Item> itens = new ArrayList<>(midias.size());
+        Set<String> destinosDoLote = new HashSet<>();
+        for (Midia m : midias) {
+            Path origem = Path.of(m.getLocal()).toAbsolutePath().normalize();
+            Path destino = pastaDestino.resolve(origem.getFileName());
+            long tamanho;
+            try {
+                tamanho = Files.size(origem);
+            } catch (IOException e) {
+                Item item = new Item(m, origem, destino, 0);
+                item.resultado = new ResultadoLote.Item(m.getLocal(), ResultadoLote.Status.NAO_ENCONTRADA,
+                        "Arquivo não encontrado.");
+                itens.add(item);
+                continue;
+            }
+            Item item = new Item(m, origem, destino, tamanho);
+            Midia ocupante = gerenciador.buscarMidiaPorLocal(destino.toString());
+            // Um destino com manifesto é uma cópia de uma tentativa anterior, que será retomada
+            if (destino.equals(origem) || (Files.exists(destino, LinkOption.NOFOLLOW_LINKS)
+                    && !Files.exists(TransferenciaRetomavel.manifestoDe(destino)))) {
+                item.resultado = duplicada(item);
+            } else if (ocupante != null && ocupante != m) {
+                item.resultado = new ResultadoLote.Item(destino.toString(), ResultadoLote.Status.DUPLICADA,
+                        "Mídia já cadastrada!");
+            } else if (!destinosDoLote.add(GerenciadorMidia.normalizarLocal(destino.toString()))) {
+                item.resultado = new ResultadoLote.Item(destino.toString(), ResultadoLote.Status.DUPLICADA,
+                        "Outra mídia do lote vai para o mesmo destino.");
+            } else {
+                bytesTotais += tamanho;
+            }
+            itens.add(item);
+        }
+        return itens;
+    }
+
+    /**
+     * Atualiza o catálogo, em uma única gravação, com itens cujos arquivos já estão no destino.
+     * Um item recusado pelo catálogo (ex: o destino foi cadastrado para outra mídia no meio tempo)
+     * volta para a origem; uma cópia registrada tem a origem apagada.
+     */
+    private void registrar(List<Item> movidos) throws ErroPersistenciaException {
+        if (movidos.isEmpty()) return;
+        Map<Midia, String> novosLocais = new LinkedHashMap<>();
+        for (Item item : movidos) novosLocais.put(item.midia, item.destino.toString());
+        List<ResultadoLote.Item> registrados = gerenciador.relocalizarMidias(novosLocais).getItens();
+        for (int i = 0; i < movidos.size(); i++) {
+            Item item = movidos.get(i);
+            ResultadoLote.Item r = registrados.get(i);
+            if (r.getStatus() == ResultadoLote.Status.EDITADA) {
+                item.resultado = new ResultadoLote.Item(item.destino.toString(), ResultadoLote.Status.MOVIDA, "");
+                if (item.transferencia != null) apagarOrigem(item);
+            } else {
+                desfazer(item);
+                item.resultado = falha(item, "A mídia não pôde ser atualizada no catálogo e o arquivo voltou"
+                        + " para a origem: " + r.getMensagem());
+            }
+        }
+    }
+
+    /**
+     * Devolve um item movido à origem. Na cópia entre volumes a origem está intacta: basta apagar a cópia.
+     */
+    private static void desfazer(Item item) {
+        try {
+            if (item.transferencia == null) {
+                if (Files.exists(item.origem, LinkOption.NOFOLLOW_LINKS)) {
+                    throw new IOException("a origem foi ocupada por outro arquivo");
+                }
+                Files.move(item.destino, item.origem, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.deleteIfExists(item.destino);
+                item.transferencia.finalizar();
+            }
+        } catch (IOException e) {
+            System.err.println("Não foi possível desfazer a movimentação de " + item.origem + ": " + e.getMessage());
+        }
+    }
+
+    private void iniciarCopia(ExecutorService executor, Item item) {
+        TransferenciaRetomavel t;
+        try {
+            t = new TransferenciaRetomavel(item.origem, item.destino, tamanhoBloco);
+        } catch (IOException e) {
+            item.resultado = falha(item, "Não foi possível iniciar a cópia: " + e.getMessage());
+            return;
+        }
+        item.transferencia = t;
+        concluirBytes(t.getBytesVerificados()); // Retomada: blocos de tentativas anteriores
+        for (int i = 0; i < t.getQuantidadeBlocos(); i++) {
+            if (t.isBlocoVerificado(i)) continue;
+            int indice = i;
+            item.blocos.add(executor.submit(() -> t.copiarBloco(indice, this::concluirBytes, () -> cancelado)));
+        }
+    }
+
+    private void finalizarCopia(Item item) {
+        if (item.resultado != null) return;
+        boolean ok = true;
+        String erro = "Cancelado; a cópia será retomada na próxima tentativa.";
+        for (Future<Boolean> bloco : item.blocos) {
+            try {
+                ok &= bloco.get();
+            } catch (ExecutionException e) {
+                ok = false;
+                erro = "Falha na cópia: " + e.getCause().getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelar();
+                ok = false;
+            }
+        }
+        if (!ok) {
+            // O .parcial e o manifesto ficam para a retomada
+            item.resultado = falha(item, erro);
+            return;
+        }
+        try {
+            item.transferencia.concluir();
+        } catch (IOException e) {
+            item.resultado = falha(item, "Falha ao concluir a cópia: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Apaga a origem de uma cópia já registrada no catálogo e descarta o manifesto.
+     */
+    private static void apagarOrigem(Item item) {
+        try {
+            Files.delete(item.origem);
+        } catch (IOException e) {
+            // A cópia verificada já é o arquivo oficial; a origem fica como sobra
+            System.err.println("Cópia concluída, mas a origem não pôde ser apagada: " + item.origem);
+        }
+        item.transferencia.finalizar();
+    }
+
+    private void concluirBytes(long n) {
+        bytesConcluidos.addAndGet(n);
+        ouvinte.accept(retrato());
+    }
+
+    private Progresso retrato() {
+        return new Progresso(bytesConcluidos.get(), bytesTotais, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private static ResultadoLote.Item duplicada(Item item) {
+        return new ResultadoLote.Item(item.destino.toString(), ResultadoLote.Status.DUPLICADA,
+                "Já existe um arquivo com esse nome no destino.");
+    }
+
+    private static ResultadoLote.Item falha(Item item, String mensagem) {
+        return new ResultadoLote.Item(item.origem.toString(), ResultadoLote.Status.FALHOU, mensagem);
+    }
+}
@@ -27,17 +27,32 @@ public class Musica extends Midia {
      * @param categoria O gênero musical (ex: "Rock", "Pop", "Clássica").
      * @param duracaoSegundos A duração da faixa em segundos.
      * @param artista O nome do artista ou banda.
-     * @param tamanhoDisco O tamanho do arquivo em bytes (formato texto).
+     * @param tamanhoDisco O tamanho do arquivo (ex: "4096" ou "3.5 MB").
      */
     public Musica(String local, String titulo, String categoria, int duracaoSegundos, String artista, String tamanhoDisco) {
         super(local, titulo, duracaoSegundos, categoria, tamanhoDisco);
         this.artista = artista;
     }
 
+    /**
+     * Construtor para instanciar uma Música com o tamanho já em bytes.
+     *
+     * @param local O caminho absoluto do arquivo de áudio.
+     * @param titulo O nome da música.
+     * @param categoria O gênero musical (ex: "Rock", "Pop", "Clássica").
+     * @param duracaoSegundos A duração da faixa em segundos.
+     * @param artista O nome do artista ou banda.
+     * @param tamanhoDisco O tamanho do arquivo em bytes.
+     */
+    public Musica(String local, String titulo, String categoria, int duracaoSegundos, String artista, long tamanhoDisco) {
+        super(local, titulo, duracaoSegundos, categoria, tamanhoDisco);
+        this.artista = artista;
+    }
+
     /**
      * Construtor simplificado para instanciar uma Música.
      * <p>
-     * Inicializa o tamanho do disco como "0" por padrão.
+     * Inicializa o tamanho do disco como 0 por padrão.
      * </p>
      *
      * @param local O caminho absoluto do arquivo de áudio.
@@ -47,7 +62,7 @@ public class Musica extends Midia {
      * @param artista O nome do artista ou banda.
      */
     public Musica(String local, String titulo, String categoria, int duracaoSegundos, String artista) {
-        this(local, titulo, categoria, duracaoSegundos, artista, "0");
+        this(local, titulo, categoria, duracaoSegundos, artista, 0L);
     }
 
     /**
@@ -82,6 +97,6 @@ public class Musica extends Midia {
                 "Artista: " + artista + "\n" +
                 "Categoria: " + getCategoria() + "\n" +
                 "Duração (seg): " + getDuracao() + "\n" +
-                "Tamanho: " + getTamanhoDisco() + "\n";
+                "Tamanho: " + getTamanhoFormatado() + "\n";
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package Modelo;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Ouvinte que agrupa rajadas de eventos antes de repassá-los a outro ouvinte.
+ * <p>
+ * Os eventos recebidos se acumulam até que o executor rode a entrega; só uma entrega fica
+ * agendada por vez. Com {@code SwingUtilities::invokeLater} como executor, cem alterações
+ * feitas em sequência resultam em uma única chamada na thread de eventos. Eventos seguidos
+ * do mesmo tipo são fundidos em um só, mantendo a ordem entre tipos diferentes.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class OuvinteAgrupado implements OuvinteCatalogo {
+
+    private final OuvinteCatalogo destino;
+    private final Executor executor;
+
+    /**
+     * Eventos ainda não entregues (protegido por {@code this}).
+     */
+    private List<EventoCatalogo> pendentes = new ArrayList<>();
+
+    /**
+     * Cria o ouvinte.
+     *
+     * @param destino Quem recebe os eventos agrupados.
+     * @param executor Onde a entrega é feita (ex: {@code SwingUtilities::invokeLater}).
+     */
+    public OuvinteAgrupado(OuvinteCatalogo destino, Executor executor) {
+        this.destino = destino;
+        this.executor = executor;
+    }
+
+    @Override
+    public void catalogoAlterado(List<EventoCatalogo> eventos) {
+        boolean agendar;
+        synchronized (this) {
+            agendar = pendentes.isEmpty();
+            pendentes.addAll(eventos);
+        }
+        if (agendar) executor.execute(this::entregar);
+    }
+
+    private void entregar() {
+        List<EventoCatalogo> lote;
+        synchronized (this) {
+            lote = pendentes;
+            pendentes = new ArrayList<>();
+        }
+        if (!lote.isEmpty()) destino.catalogoAlterado(fundir(lote));
+    }
+
+    /**
+     * Funde eventos consecutivos do mesmo tipo.
+     * <p>
+     * Nas trocas de objeto, uma mídia que volta a ser trocada continua o par anterior em vez de
+     * formar outro: A→B seguida de B→C vira A→C, que é o que quem ainda exibe A precisa aplicar.
+     * </p>
+     *
+     * @param eventos Os eventos em ordem.
+     * @return Os eventos fundidos, na mesma ordem.
+     */
+    static List<EventoCatalogo> fundir(List<EventoCatalogo> eventos) {
+        List<EventoCatalogo> fundidos = new ArrayList<>();
+        int i = 0;
+        while (i < eventos.size()) {
+            EventoCatalogo primeiro = eventos.get(i);
+            int j = i + 1;
+            while (j < eventos.size() && eventos.get(j).getTipo() == primeiro.getTipo()) j++;
+            if (j == i + 1) {
+                fundidos.add(primeiro);
+            } else {
+                List<Midia> midias = new ArrayList<>();
+                List<Midia> anteriores = new ArrayList<>();
+                Map<Midia, Integer> posicaoAtual = new IdentityHashMap<>();
+                for (EventoCatalogo e : eventos.subList(i, j)) {
+                    for (int k = 0; k < e.getMidias().size(); k++) {
+                        Midia atual = e.getMidias().get(k);
+                        Integer posicao = posicaoAtual.remove(e.getAnteriores().get(k));
+                        if (posicao == null) {
+                            posicao = midias.size();
+                            midias.add(atual);
+                            anteriores.add(e.getAnteriores().get(k));
+                        } else {
+                            midias.set(posicao, atual);
+                        }
+                        posicaoAtual.put(atual, posicao);
+                    }
+                }
+                fundidos.add(new EventoCatalogo(primeiro.getTipo(), midias, anteriores));
+            }
+            i = j;
+        }
+        return fundidos;
+    }
+}
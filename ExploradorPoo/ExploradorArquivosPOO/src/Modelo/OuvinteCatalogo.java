@@ -0,0 +1,25 @@
+package Modelo;
+
+import java.util.List;
+
+/**
+ * Recebe as alterações do catálogo publicadas pelo {@link GerenciadorMidia}.
+ * <p>
+ * Os eventos chegam na ordem em que as alterações foram feitas, na thread que fez a alteração
+ * e depois de liberado o bloqueio do catálogo. Para atualizar a interface, envolva o ouvinte
+ * em um {@link OuvinteAgrupado}, que os entrega em lote na thread de eventos.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface OuvinteCatalogo {
+
+    /**
+     * Chamado após uma ou mais alterações no catálogo.
+     *
+     * @param eventos As alterações, em ordem.
+     */
+    void catalogoAlterado(List<EventoCatalogo> eventos);
+}
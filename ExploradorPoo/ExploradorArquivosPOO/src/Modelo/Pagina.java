@@ -0,0 +1,125 @@
+package Modelo;
+
+import java.util.List;
+
+/**
+ * Uma página do resultado de uma consulta ao catálogo.
+ * <p>
+ * Além das mídias, a página traz um {@link Cursor} que marca onde ela terminou. Pedir a página
+ * seguinte a partir do cursor retoma logo depois da última mídia entregue, sem recontar as
+ * anteriores: inclusões e remoções feitas no catálogo entre uma página e outra não fazem
+ * mídias se repetirem nem serem puladas, como aconteceria com um deslocamento numérico.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class Pagina {
+
+    /**
+     * Critério de ordenação de uma consulta paginada.
+     */
+    enum Criterio {
+        /** Ordem do catálogo (ordem de inserção). */
+        CATALOGO,
+        /** Título, com empates na ordem do catálogo. */
+        TITULO,
+        /** Duração crescente, com empates na ordem do catálogo. */
+        DURACAO,
+        /** Tamanho em disco decrescente, com empates na ordem do catálogo. */
+        TAMANHO;
+
+        /**
+         * Interpreta o texto de ordenação usado nos filtros da tela.
+         *
+         * @param ordem "Alfabética", "Duração", "Tamanho" ou vazio/nulo para a ordem do catálogo.
+         * @return O critério correspondente.
+         */
+        static Criterio de(String ordem) {
+            if (ordem == null || ordem.isEmpty()) return CATALOGO;
+            if (ordem.contains("Alfabética")) return TITULO;
+            if (ordem.contains("Duração")) return DURACAO;
+            if (ordem.contains("Tamanho")) return TAMANHO;
+            return CATALOGO;
+        }
+    }
+
+    /**
+     * Posição no resultado: a chave de ordenação da última mídia entregue.
+     * <p>
+     * O cursor é opaco para quem usa a consulta e só vale para o mesmo critério de ordenação
+     * com que foi criado.
+     * </p>
+     */
+    public static final class Cursor {
+
+        private final Criterio criterio;
+        private final long valor;
+        private final String titulo;
+        private final long sequencia;
+
+        Cursor(Criterio criterio, long valor, String titulo, long sequencia) {
+            this.criterio = criterio;
+            this.valor = valor;
+            this.titulo = titulo;
+            this.sequencia = sequencia;
+        }
+
+        Criterio getCriterio() {
+            return criterio;
+        }
+
+        long getValor() {
+            return valor;
+        }
+
+        String getTitulo() {
+            return titulo;
+        }
+
+        long getSequencia() {
+            return sequencia;
+        }
+    }
+
+    private final List<Midia> itens;
+    private final Cursor proxima;
+
+    /**
+     * Cria a página.
+     *
+     * @param itens As mídias da página, na ordem da consulta.
+     * @param proxima Cursor para a página seguinte, ou {@code null} se esta for a última.
+     */
+    Pagina(List<Midia> itens, Cursor proxima) {
+        this.itens = List.copyOf(itens);
+        this.proxima = proxima;
+    }
+
+    /**
+     * Mídias da página.
+     *
+     * @return Uma lista imutável, na ordem da consulta.
+     */
+    public List<Midia> getItens() {
+        return itens;
+    }
+
+    /**
+     * Cursor para pedir a página seguinte.
+     *
+     * @return O cursor, ou {@code null} se não houver mais mídias.
+     */
+    public Cursor getProxima() {
+        return proxima;
+    }
+
+    /**
+     * Indica se há mais mídias depois desta página (no momento em que ela foi montada).
+     *
+     * @return {@code true} se existir uma página seguinte.
+     */
+    public boolean temProxima() {
+        return proxima != null;
+    }
+}
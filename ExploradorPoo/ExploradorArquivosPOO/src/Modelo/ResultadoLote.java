@@ -0,0 +1,161 @@
+package Modelo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de uma operação em lote do {@link GerenciadorMidia}.
+ * <p>
+ * Guarda, na mesma ordem da entrada, o desfecho de cada item: se ele foi aplicado
+ * ou o motivo de ter sido recusado. Um item recusado não impede os demais.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class ResultadoLote {
+
+    /**
+     * Desfecho de um item do lote.
+     */
+    public enum Status {
+        /** A mídia foi adicionada ao catálogo. */
+        ADICIONADA,
+        /** Já existe uma mídia com o mesmo caminho (no catálogo ou no próprio lote). */
+        DUPLICADA,
+        /** A extensão do arquivo não corresponde a nenhum tipo de mídia. */
+        FORMATO_NAO_SUPORTADO,
+        /** A mídia foi removida do catálogo. */
+        REMOVIDA,
+        /** A mídia foi substituída pela versão editada. */
+        EDITADA,
+        /** O arquivo da mídia foi movido e o catálogo atualizado. */
+        MOVIDA,
+        /** A mídia (ou o arquivo) não foi encontrada. */
+        NAO_ENCONTRADA,
+        /** A operação falhou (erro de E/S) ou foi cancelada antes de concluir este item. */
+        FALHOU;
+
+        /**
+         * Indica se o item foi de fato aplicado ao catálogo.
+         *
+         * @return {@code true} para adicionada, removida, editada ou movida.
+         */
+        public boolean isSucesso() {
+            return this == ADICIONADA || this == REMOVIDA || this == EDITADA || this == MOVIDA;
+        }
+    }
+
+    /**
+     * Desfecho de um único item, identificado pelo caminho do arquivo.
+     */
+    public static class Item {
+        private final String local;
+        private final Status status;
+        private final String mensagem;
+
+        /**
+         * Cria o desfecho de um item.
+         *
+         * @param local O caminho do arquivo do item.
+         * @param status O desfecho.
+         * @param mensagem Detalhe para exibição (pode ser vazio).
+         */
+        public Item(String local, Status status, String mensagem) {
+            this.local = local;
+            this.status = status;
+            this.mensagem = mensagem;
+        }
+
+        public String getLocal() {
+            return local;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        @Override
+        public String toString() {
+            return status + ": " + local + (mensagem.isEmpty() ? "" : " (" + mensagem + ")");
+        }
+    }
+
+    private final List<Item> itens = new ArrayList<>();
+    private final Map<Status, Integer> contagem = new EnumMap<>(Status.class);
+
+    /**
+     * Registra o desfecho do próximo item.
+     *
+     * @param local O caminho do arquivo do item.
+     * @param status O desfecho.
+     * @param mensagem Detalhe para exibição.
+     */
+    public void adicionar(String local, Status status, String mensagem) {
+        adicionar(new Item(local, status, mensagem == null ? "" : mensagem));
+    }
+
+    /**
+     * Registra o desfecho do próximo item.
+     *
+     * @param item O desfecho.
+     */
+    public void adicionar(Item item) {
+        itens.add(item);
+        contagem.merge(item.getStatus(), 1, Integer::sum);
+    }
+
+    /**
+     * Obtém os desfechos na ordem da entrada.
+     *
+     * @return Lista somente leitura dos itens.
+     */
+    public List<Item> getItens() {
+        return Collections.unmodifiableList(itens);
+    }
+
+    /**
+     * Conta quantos itens tiveram o desfecho informado.
+     *
+     * @param status O desfecho.
+     * @return A quantidade de itens.
+     */
+    public int contar(Status status) {
+        return contagem.getOrDefault(status, 0);
+    }
+
+    /**
+     * Conta quantos itens foram aplicados ao catálogo.
+     *
+     * @return A quantidade de itens com sucesso.
+     */
+    public int getTotalAplicados() {
+        int total = 0;
+        for (Map.Entry<Status, Integer> e : contagem.entrySet()) {
+            if (e.getKey().isSucesso()) total += e.getValue();
+        }
+        return total;
+    }
+
+    /**
+     * Resumo das contagens, útil para mensagens ao usuário.
+     *
+     * @return Texto como "ADICIONADA=10, DUPLICADA=2".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Status, Integer> e : contagem.entrySet()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(e.getKey()).append('=').append(e.getValue());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,327 @@
+package Modelo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.BitSet;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Cópia de um arquivo grande em blocos de tamanho fixo que pode ser retomada após uma
+ * queda ou cancelamento.
+ * <p>
+ * Os dados são gravados em {@code <destino>.parcial}. Cada bloco copiado é conferido por
+ * CRC32C contra a origem e, só depois de gravado em disco, registrado no manifesto
+ * {@code <destino>.parcial.manifesto}, um arquivo de texto pequeno:
+ * <pre>
+ * TPMF;1
+ * tamanho;ultimaModificacao;tamanhoBloco;origem
+ * indiceBloco;crc32c      (uma linha por bloco conferido, em qualquer ordem)
+ * </pre>
+ * Ao criar uma transferência para o mesmo par origem/destino, o manifesto é lido e os blocos
+ * já conferidos são pulados. Se a origem mudou (tamanho ou data) ou o manifesto não puder ser
+ * lido, a cópia recomeça do zero. Uma linha incompleta no fim (queda durante a escrita) é ignorada.
+ * </p>
+ * <p>
+ * Blocos diferentes podem ser copiados ao mesmo tempo por threads diferentes.
+ * O chamador decide o que fazer depois de {@link #concluir()} (atualizar o catálogo,
+ * apagar a origem) e só então chama {@link #finalizar()} para descartar o manifesto;
+ * enquanto ele existir, uma nova tentativa reconhece a cópia já concluída.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see MovimentacaoEmLote
+ */
+public class TransferenciaRetomavel {
+
+    /**
+     * Tamanho padrão de cada bloco.
+     */
+    public static final long TAMANHO_BLOCO_PADRAO = 32L * 1024 * 1024;
+
+    private static final String ASSINATURA = "TPMF;1";
+
+    /**
+     * Maior trecho passado a cada chamada de transferTo, para atualizar o progresso e
+     * verificar o cancelamento com frequência.
+     */
+    private static final long PASSO = 8L * 1024 * 1024;
+
+    private final Path origem;
+    private final Path destino;
+    private final Path parcial;
+    private final Path manifesto;
+    private final long tamanho;
+    private final long tamanhoBloco;
+    private final int quantidadeBlocos;
+
+    /**
+     * Blocos já conferidos e registrados no manifesto (protegido pelo próprio objeto).
+     */
+    private final BitSet verificados = new BitSet();
+
+    /**
+     * Prepara (ou retoma) a cópia de um arquivo com o tamanho de bloco padrão.
+     *
+     * @param origem O arquivo a copiar.
+     * @param destino O caminho final da cópia.
+     * @throws IOException Se a origem não puder ser lida ou o manifesto não puder ser criado.
+     */
+    public TransferenciaRetomavel(Path origem, Path destino) throws IOException {
+        this(origem, destino, TAMANHO_BLOCO_PADRAO);
+    }
+
+    /**
+     * Prepara (ou retoma) a cópia de um arquivo.
+     *
+     * @param origem O arquivo a copiar.
+     * @param destino O caminho final da cópia.
+     * @param tamanhoBloco O tamanho de cada bloco, em bytes.
+     * @throws IOException Se a origem não puder ser lida ou o manifesto não puder ser criado.
+     */
+    public TransferenciaRetomavel(Path origem, Path destino, long tamanhoBloco) throws IOException {
+        this.origem = origem.toAbsolutePath().normalize();
+        this.destino = destino.toAbsolutePath().normalize();
+        this.parcial = this.destino.resolveSibling(this.destino.getFileName() + ".parcial");
+        this.manifesto = manifestoDe(this.destino);
+        this.tamanhoBloco = tamanhoBloco;
+
+        BasicFileAttributes atributos = Files.readAttributes(this.origem, BasicFileAttributes.class);
+        this.tamanho = atributos.size();
+        this.quantidadeBlocos = (int) Math.max(1, (tamanho + tamanhoBloco - 1) / tamanhoBloco);
+
+        String cabecalho = tamanho + ";" + atributos.lastModifiedTime().toMillis() + ";" + tamanhoBloco + ";" + this.origem;
+        if (!retomar(cabecalho)) {
+            Files.deleteIfExists(parcial);
+            Files.writeString(manifesto, ASSINATURA + "\n" + cabecalho + "\n", StandardCharsets.UTF_8);
+            Files.newByteChannel(parcial, StandardOpenOption.CREATE, StandardOpenOption.WRITE).close();
+        }
+    }
+
+    /**
+     * Caminho do manifesto de uma cópia para o destino informado.
+     *
+     * @param destino O caminho final da cópia.
+     * @return O caminho do manifesto (que pode não existir).
+     */
+    public static Path manifestoDe(Path destino) {
+        return destino.resolveSibling(destino.getFileName() + ".parcial.manifesto");
+    }
+
+    /**
+     * Lê o manifesto existente, se for da mesma origem, e marca os blocos já conferidos.
+     *
+     * @return {@code true} se a cópia anterior pode ser retomada.
+     */
+    private boolean retomar(String cabecalho) {
+        if (!Files.exists(manifesto)) return false;
+        // Já concluída em uma tentativa anterior: o arquivo final existe e o .parcial não
+        boolean concluida = Files.exists(destino) && !Files.exists(parcial);
+        if (!concluida && !Files.exists(parcial)) return false;
+
+        try (BufferedReader leitor = Files.newBufferedReader(manifesto, StandardCharsets.UTF_8)) {
+            if (!ASSINATURA.equals(leitor.readLine()) || !cabecalho.equals(leitor.readLine())) return false;
+            long tamanhoParcial = concluida ? tamanho : Files.size(parcial);
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                String[] partes = linha.split(";");
+                if (partes.length != 2 || partes[1].length() != 8) continue; // Linha interrompida
+                int indice = Integer.parseInt(partes[0]);
+                if (indice < 0 || indice >= quantidadeBlocos || fimBloco(indice) > tamanhoParcial) continue;
+                verificados.set(indice);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Manifesto de cópia ilegível, recomeçando: " + manifesto);
+            verificados.clear();
+            return false;
+        }
+        return !concluida || verificados.cardinality() == quantidadeBlocos;
+    }
+
+    /** @return O tamanho do arquivo, em bytes. */
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    /** @return A quantidade de blocos da cópia. */
+    public int getQuantidadeBlocos() {
+        return quantidadeBlocos;
+    }
+
+    /** @return O caminho final da cópia. */
+    public Path getDestino() {
+        return destino;
+    }
+
+    /**
+     * Indica se um bloco já foi copiado e conferido.
+     *
+     * @param indice O índice do bloco.
+     * @return {@code true} se o bloco não precisa ser copiado de novo.
+     */
+    public synchronized boolean isBlocoVerificado(int indice) {
+        return verificados.get(indice);
+    }
+
+    /**
+     * Bytes dos blocos já conferidos (inclusive os de tentativas anteriores).
+     *
+     * @return A quantidade de bytes que não precisa ser copiada de novo.
+     */
+    public synchronized long getBytesVerificados() {
+        long total = 0;
+        for (int i = verificados.nextSetBit(0); i >= 0; i = verificados.nextSetBit(i + 1)) {
+            total += fimBloco(i) - inicioBloco(i);
+        }
+        return total;
+    }
+
+    /**
+     * Indica se todos os blocos foram conferidos.
+     *
+     * @return {@code true} se {@link #concluir()} pode ser chamado.
+     */
+    public synchronized boolean isCompleta() {
+        return verificados.cardinality() == quantidadeBlocos;
+    }
+
+    /**
+     * Copia todos os blocos pendentes, em sequência.
+     *
+     * @param progresso Recebe a quantidade de bytes copiados a cada trecho.
+     * @param cancelado Consultado entre os trechos; ao retornar verdadeiro, a cópia para.
+     * @return {@code true} se todos os blocos estão conferidos; {@code false} se cancelada.
+     * @throws IOException Se a cópia ou a conferência falhar.
+     */
+    public boolean copiar(LongConsumer progresso, BooleanSupplier cancelado) throws IOException {
+        for (int i = 0; i < quantidadeBlocos; i++) {
+            if (!copiarBloco(i, progresso, cancelado)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Copia um bloco com transferTo, confere o CRC32C das duas pontas, grava os dados em disco
+     * e registra o bloco no manifesto. Blocos já conferidos são ignorados.
+     *
+     * @param indice O índice do bloco.
+     * @param progresso Recebe a quantidade de bytes copiados a cada trecho.
+     * @param cancelado Consultado entre os trechos; ao retornar verdadeiro, a cópia para.
+     * @return {@code true} se o bloco está conferido; {@code false} se cancelado.
+     * @throws IOException Se a cópia falhar ou a conferência não bater.
+     */
+    public boolean copiarBloco(int indice, LongConsumer progresso, BooleanSupplier cancelado) throws IOException {
+        if (isBlocoVerificado(indice)) return true;
+        long inicio = inicioBloco(indice);
+        long fim = fimBloco(indice);
+        long crc;
+        try (FileChannel entrada = FileChannel.open(origem, StandardOpenOption.READ);
+             FileChannel saida = FileChannel.open(parcial, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long pos = inicio;
+            while (pos < fim) {
+                if (cancelado.getAsBoolean()) return false;
+                saida.position(pos);
+                long n = entrada.transferTo(pos, Math.min(PASSO, fim - pos), saida);
+                if (n <= 0) throw new IOException("A origem terminou antes do esperado: " + origem);
+                pos += n;
+                progresso.accept(n);
+            }
+            crc = crc32c(entrada, inicio, fim);
+            if (crc != crc32c(saida, inicio, fim)) {
+                throw new IOException("Conferência falhou no bloco " + indice + " de " + origem);
+            }
+            // Os dados precisam estar no disco antes de o manifesto dizer que estão
+            saida.force(false);
+        }
+        registrar(indice, crc);
+        return true;
+    }
+
+    private synchronized void registrar(int indice, long crc) throws IOException {
+        try (FileChannel canal = FileChannel.open(manifesto, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            canal.write(ByteBuffer.wrap(String.format("%d;%08x%n", indice, crc).getBytes(StandardCharsets.UTF_8)));
+            canal.force(false);
+        }
+        verificados.set(indice);
+    }
+
+    /**
+     * Dá o nome final à cópia, depois que todos os blocos foram conferidos.
+     * Se uma tentativa anterior já havia concluído, não faz nada.
+     *
+     * @throws IOException Se ainda houver blocos pendentes, já existir um arquivo no destino
+     *         ou a renomeação falhar.
+     */
+    public void concluir() throws IOException {
+        if (!isCompleta()) {
+            throw new IOException("Cópia incompleta: " + verificados.cardinality() + " de " + quantidadeBlocos + " blocos.");
+        }
+        if (!Files.exists(parcial)) return;
+        // A renomeação atômica substituiria sem aviso um arquivo criado no destino durante a cópia
+        if (Files.exists(destino, LinkOption.NOFOLLOW_LINKS)) {
+            throw new FileAlreadyExistsException(destino.toString());
+        }
+        Files.move(parcial, destino, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Descarta o manifesto depois que o chamador registrou a cópia (ex: atualizou o catálogo).
+     */
+    public void finalizar() {
+        try {
+            Files.deleteIfExists(manifesto);
+        } catch (IOException e) {
+            System.err.println("Não foi possível apagar o manifesto " + manifesto + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Abandona a cópia: apaga o .parcial e o manifesto.
+     */
+    public void descartar() {
+        try {
+            Files.deleteIfExists(parcial);
+        } catch (IOException e) {
+            System.err.println("Não foi possível apagar a cópia parcial " + parcial + ": " + e.getMessage());
+        }
+        finalizar();
+    }
+
+    private long inicioBloco(int indice) {
+        return indice * tamanhoBloco;
+    }
+
+    private long fimBloco(int indice) {
+        return Math.min(tamanho, (indice + 1) * tamanhoBloco);
+    }
+
+    /**
+     * Calcula o CRC32C de um trecho de um arquivo.
+     */
+    static long crc32c(FileChannel canal, long inicio, long fim) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buf = ByteBuffer.allocateDirect(1024 * 1024);
+        long pos = inicio;
+        while (pos < fim) {
+            buf.clear().limit((int) Math.min(buf.capacity(), fim - pos));
+            int n = canal.read(buf, pos);
+            if (n < 0) throw new IOException("Fim inesperado do arquivo.");
+            buf.flip();
+            crc.update(buf);
+            pos += n;
+        }
+        return crc.getValue();
+    }
+}
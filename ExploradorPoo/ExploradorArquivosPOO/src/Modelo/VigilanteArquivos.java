@@ -0,0 +1,402 @@
+package Modelo;
+
+import excecoes.ErroPersistenciaException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Mantém o catálogo sincronizado com alterações feitas no disco por fora da aplicação.
+ * <p>
+ * Observa, com um {@link WatchService}, os diretórios que contêm mídias do catálogo.
+ * Os eventos de criação, exclusão e modificação são acumulados até que o disco fique
+ * em silêncio pelo atraso configurado (debounce) e então aplicados ao {@link GerenciadorMidia}
+ * de forma incremental, lendo os atributos apenas dos caminhos afetados:
+ * <ul>
+ * <li><b>Renomeado ou movido:</b> um arquivo catalogado que sumiu é casado com um arquivo novo
+ * de mesmo nome (movido entre pastas observadas) ou, se único, de mesma extensão e tamanho
+ * (renomeado). O catálogo passa a apontar para o novo caminho.</li>
+ * <li><b>Excluído:</b> sem correspondente, a mídia é removida do catálogo. A exclusão de uma
+ * pasta remove as mídias que estavam dentro dela.</li>
+ * <li><b>Modificado:</b> o tamanho em disco é atualizado.</li>
+ * </ul>
+ * Arquivos novos sem correspondência não são cadastrados automaticamente; para isso
+ * existe a importação de pastas.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see GerenciadorMidia
+ */
+public class VigilanteArquivos implements Closeable {
+
+    /**
+     * Tempo padrão de silêncio (em milissegundos) antes de aplicar os eventos acumulados.
+     */
+    public static final long ATRASO_PADRAO_MS = 500;
+
+    private final GerenciadorMidia gerenciador;
+    private final WatchService servico;
+    private final Map<WatchKey, Path> diretorios = new HashMap<>();
+
+    /**
+     * Todos os diretórios já registrados, inclusive os que deixaram de existir.
+     * Usado para reconhecer a exclusão de uma pasta que continha mídias.
+     */
+    private final Set<Path> observados = new LinkedHashSet<>();
+    private final long atrasoMs;
+    private Runnable aoAlterar = () -> { };
+    private Thread thread;
+
+    /**
+     * Caminhos com eventos pendentes, acumulados até o fim do atraso.
+     */
+    private final Set<Path> pendentes = new LinkedHashSet<>();
+
+    /**
+     * Diretórios que perderam eventos (OVERFLOW) e precisam ser reconciliados por inteiro.
+     */
+    private final Set<Path> diretoriosPerdidos = new LinkedHashSet<>();
+
+    /**
+     * Cria o vigilante com o atraso padrão.
+     *
+     * @param gerenciador O catálogo a manter sincronizado.
+     * @throws IOException Se o serviço de observação não puder ser criado.
+     */
+    public VigilanteArquivos(GerenciadorMidia gerenciador) throws IOException {
+        this(gerenciador, ATRASO_PADRAO_MS);
+    }
+
+    /**
+     * Cria o vigilante.
+     *
+     * @param gerenciador O catálogo a manter sincronizado.
+     * @param atrasoMs Tempo de silêncio antes de aplicar os eventos acumulados.
+     * @throws IOException Se o serviço de observação não puder ser criado.
+     */
+    public VigilanteArquivos(GerenciadorMidia gerenciador, long atrasoMs) throws IOException {
+        this.gerenciador = gerenciador;
+        this.atrasoMs = atrasoMs;
+        this.servico = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Define uma ação executada (na thread do vigilante) sempre que o catálogo for alterado.
+     *
+     * @param aoAlterar A ação, por exemplo atualizar a tabela da interface.
+     */
+    public void setAoAlterar(Runnable aoAlterar) {
+        this.aoAlterar = aoAlterar;
+    }
+
+    /**
+     * Registra os diretórios do catálogo e inicia a observação em uma thread daemon.
+     *
+     * @throws IOException Se nenhum diretório puder ser registrado por erro de I/O.
+     */
+    public synchronized void iniciar() throws IOException {
+        if (thread != null) return;
+        for (Path dir : gerenciador.getDiretoriosCatalogados()) {
+            registrar(dir);
+        }
+        thread = new Thread(this::executar, "vigilante-arquivos");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Passa a observar um diretório (se ainda não observado).
+     *
+     * @param diretorio O diretório.
+     */
+    public synchronized void registrar(Path diretorio) {
+        if (diretorios.containsValue(diretorio)) return;
+        observados.add(diretorio);
+        try {
+            WatchKey chave = diretorio.register(servico, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            diretorios.put(chave, diretorio);
+        } catch (NoSuchFileException e) {
+            // Diretório sumiu antes do registro; as mídias dele serão tratadas como excluídas
+            synchronized (pendentes) {
+                pendentes.add(diretorio);
+            }
+        } catch (IOException e) {
+            System.err.println("Não foi possível observar " + diretorio + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Encerra a observação. Eventos ainda no atraso são descartados.
+     */
+    @Override
+    public void close() {
+        try {
+            servico.close();
+        } catch (IOException e) {
+            System.err.println("Erro ao encerrar vigilante: " + e.getMessage());
+        }
+        Thread t;
+        synchronized (this) {
+            t = thread;
+        }
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    /**
+     * Laço da thread: acumula eventos e aplica o lote após o atraso sem novos eventos.
+     */
+    private void executar() {
+        long ultimoEvento = 0;
+        try {
+            while (true) {
+                boolean temPendentes;
+                synchronized (pendentes) {
+                    temPendentes = !pendentes.isEmpty() || !diretoriosPerdidos.isEmpty();
+                }
+                WatchKey chave;
+                if (temPendentes) {
+                    long restante = atrasoMs - (System.currentTimeMillis() - ultimoEvento);
+                    chave = restante > 0 ? servico.poll(restante, TimeUnit.MILLISECONDS) : null;
+                    if (chave == null) {
+                        aplicarPendentes();
+                        continue;
+                    }
+                } else {
+                    chave = servico.take();
+                }
+                acumular(chave);
+                ultimoEvento = System.currentTimeMillis();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Encerrado por close()
+        }
+    }
+
+    private void acumular(WatchKey chave) {
+        Path dir;
+        synchronized (this) {
+            dir = diretorios.get(chave);
+        }
+        if (dir == null) {
+            chave.cancel();
+            return;
+        }
+        synchronized (pendentes) {
+            for (WatchEvent<?> evento : chave.pollEvents()) {
+                if (evento.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    diretoriosPerdidos.add(dir);
+                } else {
+                    pendentes.add(dir.resolve((Path) evento.context()));
+                }
+            }
+        }
+        if (!chave.reset()) {
+            // O próprio diretório foi apagado ou deixou de ser acessível
+            synchronized (this) {
+                diretorios.remove(chave);
+            }
+            synchronized (pendentes) {
+                pendentes.add(dir);
+            }
+        }
+    }
+
+    /**
+     * Aplica imediatamente os eventos acumulados, sem esperar o atraso.
+     * <p>
+     * Cada caminho é reconciliado pelo seu estado atual no disco, e não pela sequência
+     * de eventos: isso torna o resultado independente da ordem e de eventos repetidos.
+     * </p>
+     */
+    void aplicarPendentes() {
+        List<Path> caminhos;
+        List<Path> perdidos;
+        synchronized (pendentes) {
+            caminhos = new ArrayList<>(pendentes);
+            perdidos = new ArrayList<>(diretoriosPerdidos);
+            pendentes.clear();
+            diretoriosPerdidos.clear();
+        }
+
+        // Eventos perdidos: reconcilia todas as mídias e arquivos desses diretórios
+        for (Path dir : perdidos) {
+            for (Midia m : gerenciador.getMidiasSob(dir)) caminhos.add(Path.of(m.getLocal()));
+            try (Stream<Path> conteudo = Files.list(dir)) {
+                conteudo.forEach(caminhos::add);
+            } catch (IOException e) {
+                caminhos.add(dir);
+            }
+        }
+
+        Map<Midia, Long> tamanhos = new IdentityHashMap<>();
+        Map<Midia, String> sumidas = new LinkedHashMap<>();
+        List<Path> novos = new ArrayList<>();
+        Map<Path, Long> tamanhoDosNovos = new HashMap<>();
+
+        for (Path caminho : caminhos) {
+            Path absoluto = caminho.toAbsolutePath().normalize();
+            Midia m = gerenciador.buscarMidiaPorLocal(absoluto.toString());
+            BasicFileAttributes atributos = lerAtributos(absoluto);
+
+            if (atributos == null) {
+                if (m != null) {
+                    sumidas.put(m, absoluto.getFileName().toString());
+                } else if (continhaDiretorioObservado(absoluto)) {
+                    // Pasta apagada ou movida: o que havia dentro sumiu junto
+                    for (Midia dentro : gerenciador.getMidiasSob(absoluto)) {
+                        if (!Files.exists(Path.of(dentro.getLocal()))) {
+                            sumidas.put(dentro, Path.of(dentro.getLocal()).getFileName().toString());
+                        }
+                    }
+                }
+            } else if (atributos.isRegularFile()) {
+                if (m != null) {
+                    tamanhos.put(m, atributos.size());
+                } else {
+                    novos.add(absoluto);
+                    tamanhoDosNovos.put(absoluto, atributos.size());
+                }
+            } else if (atributos.isDirectory() && m == null) {
+                // Pasta movida para dentro de uma observada: seus arquivos são candidatos
+                try (Stream<Path> arvore = Files.walk(absoluto)) {
+                    arvore.forEach(p -> {
+                        BasicFileAttributes a = lerAtributos(p);
+                        if (a != null && a.isRegularFile()) {
+                            novos.add(p);
+                            tamanhoDosNovos.put(p, a.size());
+                        }
+                    });
+                } catch (IOException e) {
+                    System.err.println("Erro ao ler " + absoluto + ": " + e.getMessage());
+                }
+            }
+        }
+
+        Map<Midia, String> relocadas = casarSumidasComNovos(sumidas, novos, tamanhoDosNovos);
+        List<Midia> removidas = new ArrayList<>();
+        for (Midia m : sumidas.keySet()) {
+            if (!relocadas.containsKey(m)) removidas.add(m);
+        }
+
+        try {
+            boolean alterou = false;
+            if (!relocadas.isEmpty()) {
+                alterou |= gerenciador.relocalizarMidias(relocadas).getTotalAplicados() > 0;
+                for (String novoLocal : relocadas.values()) registrar(Path.of(novoLocal).getParent());
+            }
+            if (!removidas.isEmpty()) {
+                alterou |= gerenciador.removerMidias(removidas).getTotalAplicados() > 0;
+            }
+            if (!tamanhos.isEmpty()) {
+                alterou |= gerenciador.atualizarTamanhos(tamanhos) > 0;
+            }
+            if (alterou) aoAlterar.run();
+        } catch (ErroPersistenciaException e) {
+            System.err.println("Erro ao sincronizar catálogo com o disco: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Casa mídias que sumiram com arquivos que apareceram: primeiro pelo nome do arquivo,
+     * depois por extensão e tamanho, desde que a correspondência seja única.
+     */
+    private static Map<Midia, String> casarSumidasComNovos(Map<Midia, String> sumidas, List<Path> novos,
+                                                          Map<Path, Long> tamanhoDosNovos) {
+        Map<Midia, String> relocadas = new IdentityHashMap<>();
+        if (sumidas.isEmpty() || novos.isEmpty()) return relocadas;
+
+        Map<String, List<Path>> porNome = new HashMap<>();
+        Map<String, List<Path>> porAssinatura = new HashMap<>();
+        for (Path p : novos) {
+            porNome.computeIfAbsent(p.getFileName().toString(), k -> new ArrayList<>()).add(p);
+            porAssinatura.computeIfAbsent(assinatura(p.getFileName().toString(), tamanhoDosNovos.get(p)),
+                    k -> new ArrayList<>()).add(p);
+        }
+
+        Set<Path> usados = new LinkedHashSet<>();
+        List<Midia> semNome = new ArrayList<>();
+        for (Map.Entry<Midia, String> e : sumidas.entrySet()) {
+            Path destino = unicoDisponivel(porNome.get(e.getValue()), usados);
+            if (destino != null) {
+                usados.add(destino);
+                relocadas.put(e.getKey(), destino.toString());
+            } else {
+                semNome.add(e.getKey());
+            }
+        }
+
+        // Renomeados: a assinatura precisa identificar um único arquivo novo e uma única mídia
+        Map<String, List<Midia>> sumidasPorAssinatura = new HashMap<>();
+        for (Midia m : semNome) {
+            sumidasPorAssinatura.computeIfAbsent(assinatura(sumidas.get(m), m.getTamanhoDisco()), k -> new ArrayList<>()).add(m);
+        }
+        for (Map.Entry<String, List<Midia>> e : sumidasPorAssinatura.entrySet()) {
+            if (e.getValue().size() != 1) continue;
+            Path destino = unicoDisponivel(porAssinatura.get(e.getKey()), usados);
+            if (destino != null) {
+                usados.add(destino);
+                relocadas.put(e.getValue().get(0), destino.toString());
+            }
+        }
+        return relocadas;
+    }
+
+    private synchronized boolean continhaDiretorioObservado(Path caminho) {
+        for (Path dir : observados) {
+            if (dir.startsWith(caminho)) return true;
+        }
+        return false;
+    }
+
+    private static Path unicoDisponivel(List<Path> candidatos, Set<Path> usados) {
+        if (candidatos == null) return null;
+        Path unico = null;
+        for (Path p : candidatos) {
+            if (usados.contains(p)) continue;
+            if (unico != null) return null;
+            unico = p;
+        }
+        return unico;
+    }
+
+    private static String assinatura(String nomeArquivo, long tamanho) {
+        int ponto = nomeArquivo.lastIndexOf('.');
+        String extensao = ponto > 0 ? nomeArquivo.substring(ponto + 1).toLowerCase(Locale.ROOT) : "";
+        return extensao + ";" + tamanho;
+    }
+
+
+    private static BasicFileAttributes lerAtributos(Path p) {
+        try {
+            return Files.readAttributes(p, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package Visao;
+
+import Modelo.Midia;
+
+import javax.swing.SwingWorker;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consulta ao catálogo executada fora da thread de eventos (EDT), com o resultado
+ * entregue à tabela em blocos.
+ * <p>
+ * A subclasse implementa {@link #executar()} e chama {@link #entregar(Midia)} para cada mídia,
+ * na ordem de exibição. A cada {@link #TAMANHO_BLOCO} mídias o bloco é publicado: as primeiras
+ * linhas aparecem enquanto o restante ainda é processado. O primeiro bloco substitui o conteúdo
+ * da tabela (que até lá continua mostrando o resultado anterior) e os seguintes são acrescentados.
+ * </p>
+ * <p>
+ * Uma consulta cancelada (por exemplo, porque o usuário mudou o filtro e outra foi iniciada)
+ * para na próxima entrega e não altera mais a tabela.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+abstract class ConsultaTabela extends SwingWorker<Integer, List<Midia>> {
+
+    /**
+     * Quantidade de mídias por bloco publicado.
+     */
+    static final int TAMANHO_BLOCO = 500;
+
+    private final ModeloTabelaMidias modelo;
+
+    /**
+     * Bloco em preenchimento (thread da consulta).
+     */
+    private List<Midia> bloco = new ArrayList<>(TAMANHO_BLOCO);
+
+    /**
+     * Mídias entregues até agora (thread da consulta).
+     */
+    private int entregues;
+
+    /**
+     * Se algum bloco já chegou à tabela (EDT).
+     */
+    private boolean substituiu;
+
+    /**
+     * Mídias já colocadas na tabela (EDT).
+     */
+    private int exibidas;
+
+    /**
+     * Cria a consulta.
+     *
+     * @param modelo O modelo da tabela que receberá o resultado.
+     */
+    ConsultaTabela(ModeloTabelaMidias modelo) {
+        this.modelo = modelo;
+    }
+
+    /**
+     * Executa a consulta, chamando {@link #entregar(Midia)} para cada mídia do resultado.
+     * Roda fora da EDT.
+     */
+    protected abstract void executar();
+
+    /**
+     * Entrega a próxima mídia do resultado.
+     *
+     * @param m A mídia.
+     * @throws ConsultaCancelada Se a consulta foi cancelada (interrompe {@link #executar()}).
+     */
+    protected final void entregar(Midia m) {
+        bloco.add(m);
+        entregues++;
+        if (bloco.size() == TAMANHO_BLOCO) {
+            if (isCancelled()) throw new ConsultaCancelada();
+            publish(bloco);
+            bloco = new ArrayList<>(TAMANHO_BLOCO);
+        }
+    }
+
+    @Override
+    protected final Integer doInBackground() {
+        try {
+            executar();
+        } catch (ConsultaCancelada e) {
+            return entregues;
+        }
+        if (!bloco.isEmpty() && !isCancelled()) publish(bloco);
+        return entregues;
+    }
+
+    @Override
+    protected final void process(List<List<Midia>> blocos) {
+        if (isCancelled()) return;
+        for (List<Midia> b : blocos) {
+            if (!substituiu) {
+                modelo.setMidias(b); // O bloco passa a pertencer ao modelo, que acrescenta os próximos nele
+                substituiu = true;
+            } else {
+                modelo.acrescentar(b);
+            }
+            exibidas += b.size();
+        }
+    }
+
+    /**
+     * Indica se todo o resultado já está na tabela. Enquanto não estiver, blocos calculados
+     * antes de uma alteração no catálogo ainda podem chegar. Deve ser chamado na EDT.
+     *
+     * @return {@code true} se a consulta terminou e todos os blocos foram exibidos.
+     */
+    boolean isConcluida() {
+        if (!isDone() || isCancelled()) return false;
+        try {
+            return exibidas == get();
+        } catch (Exception e) {
+            return true; // Falhou: não virão mais blocos
+        }
+    }
+
+    @Override
+    protected final void done() {
+        if (isCancelled()) return;
+        try {
+            // Os blocos podem chegar depois de done(); só o resultado vazio é tratado aqui
+            if (get() == 0) modelo.setMidias(new ArrayList<>());
+        } catch (Exception e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            System.err.println("Erro ao consultar o catálogo: " + causa.getMessage());
+        }
+    }
+
+    /**
+     * Interrompe uma consulta cancelada no meio da execução.
+     */
+    private static class ConsultaCancelada extends RuntimeException {
+        ConsultaCancelada() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package Visao;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.WindowConstants;
+import java.awt.BorderLayout;
+
+/**
+ * Janela modal de andamento para operações executadas fora da thread de eventos (EDT).
+ * <p>
+ * Mostra uma mensagem de status, uma barra de progresso (indeterminada até o primeiro
+ * {@link #setProgresso(long, long)}) e, quando a operação pode ser interrompida, um botão Cancelar.
+ * Os métodos de atualização podem ser chamados de qualquer thread.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+class DialogoProgresso extends JDialog {
+
+    private final JLabel status;
+    private final JProgressBar barra = new JProgressBar();
+
+    /**
+     * Cria a janela.
+     *
+     * @param dono A janela principal.
+     * @param titulo O título da janela.
+     * @param statusInicial A mensagem exibida até a primeira atualização.
+     * @param aoCancelar Ação do botão Cancelar, ou {@code null} se a operação não puder ser interrompida.
+     */
+    DialogoProgresso(JFrame dono, String titulo, String statusInicial, Runnable aoCancelar) {
+        super(dono, titulo, true);
+        status = new JLabel(statusInicial);
+        barra.setIndeterminate(true);
+
+        setLayout(new BorderLayout(10, 10));
+        add(status, BorderLayout.NORTH);
+        add(barra, BorderLayout.CENTER);
+        if (aoCancelar != null) {
+            JButton cancelar = new JButton("Cancelar");
+            cancelar.addActionListener(e -> {
+                aoCancelar.run();
+                cancelar.setEnabled(false);
+            });
+            add(cancelar, BorderLayout.SOUTH);
+        }
+        setSize(520, aoCancelar != null ? 140 : 110);
+        setLocationRelativeTo(dono);
+        setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+    }
+
+    /**
+     * Troca a mensagem de status.
+     *
+     * @param texto A nova mensagem.
+     */
+    void setStatus(String texto) {
+        naEdt(() -> status.setText(texto));
+    }
+
+    /**
+     * Mostra o andamento em uma barra determinada.
+     *
+     * @param feito Quanto já foi feito.
+     * @param total O total (zero ou negativo mantém a barra indeterminada).
+     */
+    void setProgresso(long feito, long total) {
+        naEdt(() -> {
+            if (total <= 0) return;
+            barra.setIndeterminate(false);
+            barra.setValue((int) Math.min(100, feito * 100 / total));
+        });
+    }
+
+    /**
+     * Inicia a tarefa e exibe a janela, que bloqueia (modal) até a tarefa fechá-la
+     * com {@link #dispose()} em seu {@code done()}.
+     *
+     * @param tarefa A tarefa a executar.
+     */
+    void executar(SwingWorker<?, ?> tarefa) {
+        tarefa.execute();
+        setVisible(true);
+    }
+
+    private static void naEdt(Runnable acao) {
+        if (SwingUtilities.isEventDispatchThread()) acao.run();
+        else SwingUtilities.invokeLater(acao);
+    }
+}
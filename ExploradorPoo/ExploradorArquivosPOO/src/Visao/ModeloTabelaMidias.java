@@ -0,0 +1,193 @@
+package Visao;
+
+import Modelo.Filme;
+import Modelo.Livro;
+import Modelo.Midia;
+import Modelo.Musica;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Modelo da tabela principal: uma visão somente leitura do resultado da consulta atual.
+ * <p>
+ * O modelo guarda apenas a referência à lista de mídias; nenhuma linha é montada antecipadamente.
+ * Cada célula é calculada em {@link #getValueAt(int, int)}, que a {@code JTable} só chama para
+ * as linhas visíveis na tela. Trocar o resultado custa o mesmo para dez ou um milhão de mídias.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class ModeloTabelaMidias extends AbstractTableModel {
+
+    /**
+     * Colunas exibidas, na ordem.
+     */
+    private static final String[] COLUNAS = {"Título", "Tipo", "Categoria", "Duração", "Tamanho", "Info extra", "Local"};
+
+    /**
+     * Índice da coluna "Local".
+     */
+    public static final int COLUNA_LOCAL = 6;
+
+    /**
+     * Acima desta quantidade de remoções, a tabela recebe um aviso geral em vez de um por trecho.
+     */
+    private static final int LIMITE_AVISOS_POR_LINHA = 64;
+
+    /**
+     * Resultado exibido (não é copiado nem alterado pelo modelo).
+     */
+    private List<Midia> midias = new ArrayList<>();
+
+    /**
+     * Passa a exibir outro resultado, sem copiar a lista.
+     * <p>
+     * Quem chama não deve alterar a lista depois de entregá-la ao modelo.
+     * Deve ser chamado na thread de eventos (EDT).
+     * </p>
+     *
+     * @param midias O novo resultado.
+     */
+    public void setMidias(List<Midia> midias) {
+        this.midias = midias;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Acrescenta um bloco de mídias ao final do resultado exibido, avisando a tabela apenas
+     * das linhas novas. Usado quando o resultado chega em partes.
+     * <p>
+     * Deve ser chamado na thread de eventos (EDT), depois de {@link #setMidias(List)} com uma
+     * lista que o modelo possa alterar.
+     * </p>
+     *
+     * @param bloco As mídias a acrescentar.
+     */
+    public void acrescentar(List<Midia> bloco) {
+        if (bloco.isEmpty()) return;
+        int inicio = midias.size();
+        midias.addAll(bloco);
+        fireTableRowsInserted(inicio, midias.size() - 1);
+    }
+
+    /**
+     * Retira as linhas das mídias informadas (comparadas por identidade), avisando a tabela
+     * apenas dos trechos removidos. Deve ser chamado na thread de eventos (EDT).
+     *
+     * @param removidas As mídias que saíram do catálogo; as que não estão na tabela são ignoradas.
+     */
+    public void remover(Collection<Midia> removidas) {
+        Set<Midia> alvo = Collections.newSetFromMap(new IdentityHashMap<>());
+        alvo.addAll(removidas);
+        if (alvo.size() > LIMITE_AVISOS_POR_LINHA) {
+            // Muitas linhas: uma passada só e um aviso geral sai mais barato que vários trechos
+            if (midias.removeIf(alvo::contains)) fireTableDataChanged();
+            return;
+        }
+        for (int i = midias.size() - 1; i >= 0; i--) {
+            if (!alvo.contains(midias.get(i))) continue;
+            int fim = i;
+            while (i > 0 && alvo.contains(midias.get(i - 1))) i--;
+            midias.subList(i, fim + 1).clear();
+            fireTableRowsDeleted(i, fim);
+        }
+    }
+
+    /**
+     * Troca, nas linhas em que aparecem, as mídias anteriores pelas atuais e redesenha só essas linhas.
+     * Deve ser chamado na thread de eventos (EDT).
+     *
+     * @param anteriores Os objetos exibidos hoje.
+     * @param atuais Os objetos que os substituem, na mesma ordem (podem ser os mesmos, alterados).
+     */
+    public void substituir(List<Midia> anteriores, List<Midia> atuais) {
+        Map<Midia, Midia> troca = new IdentityHashMap<>();
+        for (int i = 0; i < anteriores.size(); i++) troca.put(anteriores.get(i), atuais.get(i));
+        for (int i = 0; i < midias.size(); i++) {
+            Midia nova = troca.get(midias.get(i));
+            if (nova == null) continue;
+            midias.set(i, nova);
+            fireTableRowsUpdated(i, i);
+        }
+    }
+
+    /**
+     * Mídias exibidas, na ordem das linhas.
+     *
+     * @return Uma cópia do resultado atual, que pode ser usada fora da EDT.
+     */
+    public List<Midia> getMidias() {
+        return List.copyOf(midias);
+    }
+
+    /**
+     * Mídia exibida em uma linha.
+     *
+     * @param linha Índice da linha no modelo.
+     * @return A mídia da linha.
+     */
+    public Midia getMidia(int linha) {
+        return midias.get(linha);
+    }
+
+    @Override
+    public int getRowCount() {
+        return midias.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return COLUNAS[coluna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return coluna == 3 ? Integer.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int linha, int coluna) {
+        return false; // Bloqueia edição direta na célula para evitar erros
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        Midia m = midias.get(linha);
+        return switch (coluna) {
+            case 0 -> m.getTitulo();
+            case 1 -> m.getClass().getSimpleName();
+            case 2 -> m.getCategoria();
+            case 3 -> m.getDuracao();
+            case 4 -> m.getTamanhoFormatado();
+            case 5 -> infoExtra(m);
+            case COLUNA_LOCAL -> m.getLocal();
+            default -> null;
+        };
+    }
+
+    /**
+     * Helper para extrair informações específicas de cada subclasse de Mídia.
+     *
+     * @param m O objeto Midia.
+     * @return Uma String formatada (ex: "Idioma: Português" para filmes).
+     */
+    private static String infoExtra(Midia m) {
+        if (m instanceof Filme f) return "Idioma: " + f.getIdioma();
+        if (m instanceof Musica c) return "Artista: " + c.getArtista();
+        if (m instanceof Livro l) return "Autores: " + l.getAutores();
+        return "-";
+    }
+}
@@ -1,15 +1,19 @@
 package Visao;
 
+import Controle.IngestaoDiretorio;
 import Modelo.*;
 import excecoes.ErroPersistenciaException;
 import excecoes.MidiaJaCadastradaException;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Representa a interface gráfica principal (GUI) da aplicação.
@@ -31,11 +35,45 @@ public class TelaPrincipal extends JFrame {
     private GerenciadorMidia gerenciador;
 
     private JTable tabelaMidias;
-    private DefaultTableModel modeloTabela;
+    private ModeloTabelaMidias modeloTabela;
 
     private JComboBox<String> filtroTipo;
     private JComboBox<String> filtroCategoria;
     private JComboBox<String> filtroOrdem;
+    private JComboBox<String> filtroTamanho;
+    private JTextField campoBusca;
+    private JCheckBox buscaAproximada;
+
+    /**
+     * Quantidade máxima de resultados da busca aproximada.
+     */
+    private static final int LIMITE_APROXIMADA = 200;
+
+    /**
+     * Espera após a última tecla antes de refazer a busca, para não consultar a cada caractere.
+     */
+    private static final int ESPERA_DIGITACAO_MS = 250;
+
+    /**
+     * Consulta em andamento da tabela; cancelada quando outra é iniciada.
+     */
+    private ConsultaTabela consultaAtual;
+
+    /**
+     * Se a tabela mostra o catálogo inteiro na ordem de inclusão (sem filtros, busca ou ordenação).
+     * Só nesse caso inclusões e edições podem ser aplicadas direto nas linhas.
+     */
+    private boolean exibindoCatalogoInteiro;
+
+    /**
+     * Quantidade de mídias removidas por vez, para mostrar o andamento e permitir cancelar.
+     */
+    private static final int BLOCO_REMOCAO = 200;
+
+    /**
+     * Tamanho mínimo (em bytes) de cada opção de {@link #filtroTamanho}.
+     */
+    private static final long[] TAMANHOS_MINIMOS = {0, 100L << 20, 1L << 30, 4L << 30};
 
     /**
      * Armazena o último diretório acessado pelo JFileChooser para melhorar a usabilidade,
@@ -43,6 +81,11 @@ public class TelaPrincipal extends JFrame {
      */
     private File ultimoDiretorio = new File(System.getProperty("user.home"));
 
+    /**
+     * Observador de alterações externas no disco; nulo enquanto a sincronização está desligada.
+     */
+    private VigilanteArquivos vigilante;
+
     /**
      * Construtor da Tela Principal.
      * <p>
@@ -51,7 +94,20 @@ public class TelaPrincipal extends JFrame {
      * </p>
      */
     public TelaPrincipal() {
-        gerenciador = new GerenciadorMidia();
+        this(new GerenciadorMidia());
+    }
+
+    /**
+     * Construtor da Tela Principal usando um gerenciador já carregado.
+     * <p>
+     * Permite que o catálogo seja lido fora da thread de eventos do Swing (EDT),
+     * evitando que a janela congele durante o carregamento.
+     * </p>
+     *
+     * @param gerenciador O gerenciador de mídias já inicializado.
+     */
+    public TelaPrincipal(GerenciadorMidia gerenciador) {
+        this.gerenciador = gerenciador;
 
         setTitle("📀 Gerenciador de Mídias");
         setSize(1100, 550);
@@ -63,27 +119,22 @@ public class TelaPrincipal extends JFrame {
         criarPainelFiltros();
         criarBotoes();
 
+        // As alterações chegam agrupadas na EDT e mexem só nas linhas afetadas
+        gerenciador.adicionarOuvinte(new OuvinteAgrupado(this::aplicarEventos, SwingUtilities::invokeLater));
         atualizarTabela();
     }
 
     // --------- TABELA -----------
 
     /**
-     * Configura e inicializa a JTable com o modelo de colunas padrão.
+     * Configura e inicializa a JTable com o {@link ModeloTabelaMidias}.
      * <p>
      * As colunas definidas são: Título, Tipo, Categoria, Duração, Tamanho, Info extra e Local.
-     * O modelo é configurado para impedir a edição direta das células (`isCellEditable` retorna false).
+     * As células são calculadas sob demanda, apenas para as linhas visíveis.
      * </p>
      */
     private void criarTabela() {
-        modeloTabela = new DefaultTableModel(
-                new Object[]{"Título", "Tipo", "Categoria", "Duração", "Tamanho", "Info extra", "Local"}, 0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Bloqueia edição direta na célula para evitar erros
-            }
-        };
+        modeloTabela = new ModeloTabelaMidias();
 
         tabelaMidias = new JTable(modeloTabela);
         JScrollPane scroll = new JScrollPane(tabelaMidias);
@@ -94,44 +145,83 @@ public class TelaPrincipal extends JFrame {
     /**
      * Atualiza o conteúdo visual da tabela com base nos filtros atuais.
      * <p>
-     * O método limpa a tabela, solicita a lista filtrada ao {@link GerenciadorMidia}
-     * e repovoa as linhas. A coluna "Info extra" é preenchida dinamicamente dependendo
-     * do tipo da mídia (polimorfismo).
+     * Os filtros são lidos aqui, na thread de eventos (EDT), mas a consulta ao
+     * {@link GerenciadorMidia} roda em segundo plano ({@link ConsultaTabela}): a janela não
+     * congela e as primeiras linhas aparecem antes do fim. Sem busca, o catálogo é lido página
+     * a página ({@link GerenciadorMidia#getPaginaSeguinte}), sem montar o resultado inteiro.
+     * Uma consulta ainda em andamento é cancelada, de modo que só o resultado do filtro mais
+     * recente chega à tabela.
      * </p>
      */
     private void atualizarTabela() {
-        modeloTabela.setRowCount(0);
-
-        List<Midia> lista = gerenciador.getMidiasFiltradas(
-                (String) filtroTipo.getSelectedItem(),
-                (String) filtroCategoria.getSelectedItem(),
-                (String) filtroOrdem.getSelectedItem()
-        );
-
-        for (Midia m : lista) {
-            modeloTabela.addRow(new Object[]{
-                    m.getTitulo(),
-                    m.getClass().getSimpleName(),
-                    m.getCategoria(),
-                    m.getDuracao(),
-                    m.getTamanhoDisco(), // novo campo exibido
-                    infoExtra(m),
-                    m.getLocal()
-            });
-        }
+        String tipo = (String) filtroTipo.getSelectedItem();
+        String categoria = (String) filtroCategoria.getSelectedItem();
+        String ordem = (String) filtroOrdem.getSelectedItem();
+        long tamanhoMinimo = TAMANHOS_MINIMOS[filtroTamanho.getSelectedIndex()];
+        String busca = campoBusca.getText().trim();
+        boolean aproximada = buscaAproximada.isSelected();
+
+        exibindoCatalogoInteiro = "Todos".equals(tipo) && (categoria == null || categoria.isEmpty())
+                && (ordem == null || ordem.isEmpty()) && tamanhoMinimo == 0 && busca.isEmpty();
+
+        if (consultaAtual != null) consultaAtual.cancel(false);
+        consultaAtual = new ConsultaTabela(modeloTabela) {
+            @Override
+            protected void executar() {
+                // A busca textual parte do índice invertido e usa os filtros para restringir e ordenar.
+                // A aproximada mantém a ordem de semelhança e usa os filtros só para restringir.
+                if (!busca.isEmpty() && aproximada) {
+                    for (Midia m : gerenciador.buscarAproximado(busca, LIMITE_APROXIMADA, tipo, categoria, tamanhoMinimo)) {
+                        entregar(m);
+                    }
+                } else if (!busca.isEmpty()) {
+                    for (Midia m : gerenciador.buscarTexto(busca, tipo, categoria, ordem, tamanhoMinimo)) entregar(m);
+                } else {
+                    // Página a página pelo cursor: cada página sai assim que é lida, e uma consulta
+                    // cancelada para antes de pedir a seguinte
+                    Pagina.Cursor cursor = null;
+                    do {
+                        if (isCancelled()) return;
+                        Pagina pagina = gerenciador.getPaginaSeguinte(tipo, categoria, ordem, tamanhoMinimo,
+                                cursor, ConsultaTabela.TAMANHO_BLOCO);
+                        for (Midia m : pagina.getItens()) entregar(m);
+                        cursor = pagina.getProxima();
+                    } while (cursor != null);
+                }
+            }
+        };
+        consultaAtual.execute();
     }
 
     /**
-     * Helper para extrair informações específicas de cada subclasse de Mídia.
+     * Aplica à tabela as alterações do catálogo, na thread de eventos (EDT).
+     * <p>
+     * Remoções sempre tiram só as linhas afetadas. Na visão do catálogo inteiro, inclusões
+     * entram no fim (a ordem de inclusão) e edições e mudanças de caminho trocam só as suas
+     * linhas. Com filtros, busca ou ordenação, a alteração pode mudar quais linhas aparecem
+     * e em que ordem, então a consulta é refeita (uma vez por lote de eventos).
+     * </p>
      *
-     * @param m O objeto Midia.
-     * @return Uma String formatada (ex: "Idioma: Português" para filmes).
-     */
-    private String infoExtra(Midia m) {
-        if (m instanceof Filme f) return "Idioma: " + f.getIdioma();
-        if (m instanceof Musica c) return "Artista: " + c.getArtista();
-        if (m instanceof Livro l) return "Autores: " + l.getAutores();
-        return "-";
+     * @param eventos As alterações, já agrupadas pelo {@link OuvinteAgrupado}.
+     */
+    private void aplicarEventos(List<EventoCatalogo> eventos) {
+        // Blocos de uma consulta ainda em andamento podem ter sido calculados antes destas alterações
+        if (consultaAtual != null && !consultaAtual.isConcluida()) {
+            atualizarTabela();
+            return;
+        }
+        for (EventoCatalogo e : eventos) {
+            if (e.getTipo() == EventoCatalogo.Tipo.REMOVIDAS) {
+                modeloTabela.remover(e.getMidias());
+            } else if (!exibindoCatalogoInteiro) {
+                atualizarTabela();
+                return;
+            } else if (e.getTipo() == EventoCatalogo.Tipo.ADICIONADAS) {
+                modeloTabela.acrescentar(e.getMidias());
+            } else {
+                modeloTabela.substituir(e.getAnteriores(), e.getMidias());
+            }
+        }
     }
 
     // --------- FILTROS -----------
@@ -144,7 +234,25 @@ public class TelaPrincipal extends JFrame {
 
         filtroTipo = new JComboBox<>(new String[]{"Todos", "Filme", "Musica", "Livro"});
         filtroCategoria = new JComboBox<>(new String[]{"", "Ação", "Aventura", "Rock", "Drama", "Terror"});
-        filtroOrdem = new JComboBox<>(new String[]{"", "Alfabética (A-Z)", "Duração (Crescente)"});
+        filtroOrdem = new JComboBox<>(new String[]{"", "Alfabética (A-Z)", "Duração (Crescente)", "Tamanho (Maior primeiro)"});
+        filtroTamanho = new JComboBox<>(new String[]{"Qualquer", "≥ 100 MB", "≥ 1 GB", "≥ 4 GB"});
+
+        campoBusca = new JTextField(14);
+        campoBusca.setToolTipText("Palavras do título, idioma, artista ou autores");
+        campoBusca.addActionListener(e -> atualizarTabela()); // Enter
+        Timer espera = new Timer(ESPERA_DIGITACAO_MS, e -> atualizarTabela());
+        espera.setRepeats(false);
+        campoBusca.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { espera.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { espera.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { espera.restart(); }
+        });
+        buscaAproximada = new JCheckBox("Aproximada");
+        buscaAproximada.setToolTipText("Tolera erros de digitação no título");
+        buscaAproximada.addActionListener(e -> atualizarTabela());
+        filtroPanel.add(new JLabel("Buscar:"));
+        filtroPanel.add(campoBusca);
+        filtroPanel.add(buscaAproximada);
 
         filtroPanel.add(new JLabel("Tipo:"));
         filtroPanel.add(filtroTipo);
@@ -155,13 +263,45 @@ public class TelaPrincipal extends JFrame {
         filtroPanel.add(new JLabel("Ordenar:"));
         filtroPanel.add(filtroOrdem);
 
+        filtroPanel.add(new JLabel("Tamanho:"));
+        filtroPanel.add(filtroTamanho);
+
         JButton filtrar = new JButton("Filtrar");
         filtrar.addActionListener(e -> atualizarTabela());
         filtroPanel.add(filtrar);
 
+        JCheckBox sincronizar = new JCheckBox("Sincronizar com disco");
+        sincronizar.addActionListener(e -> alternarSincronizacao(sincronizar));
+        filtroPanel.add(sincronizar);
+
         add(filtroPanel, BorderLayout.NORTH);
     }
 
+    /**
+     * Liga ou desliga a sincronização automática do catálogo com o disco.
+     * <p>
+     * Enquanto ligada, arquivos renomeados, movidos, apagados ou modificados por fora
+     * da aplicação são refletidos no catálogo e a tabela é atualizada.
+     * </p>
+     *
+     * @param caixa A caixa de seleção que disparou a ação.
+     */
+    private void alternarSincronizacao(JCheckBox caixa) {
+        if (caixa.isSelected()) {
+            try {
+                vigilante = new VigilanteArquivos(gerenciador);
+                vigilante.iniciar();
+            } catch (java.io.IOException ex) {
+                vigilante = null;
+                caixa.setSelected(false);
+                JOptionPane.showMessageDialog(this, "Não foi possível observar o disco: " + ex.getMessage());
+            }
+        } else if (vigilante != null) {
+            vigilante.close();
+            vigilante = null;
+        }
+    }
+
     // ---------------- BOTÕES E AÇÕES --------------------
 
     /**
@@ -175,6 +315,9 @@ public class TelaPrincipal extends JFrame {
         painel.add(btn("❌ Remover", e -> removerMidia()));
         painel.add(btn("📁 Mover", e -> moverMidia()));
         painel.add(btn("📝 Renomear", e -> renomearMidia()));
+        painel.add(btn("📂 Importar Pasta", e -> importarPasta()));
+        painel.add(btn("🔍 Duplicatas", e -> procurarDuplicatas()));
+        painel.add(btn("📏 Atualizar Tamanhos", e -> atualizarTamanhos()));
         painel.add(btn("🔄 Recarregar", e -> atualizarTabela()));
 
         add(painel, BorderLayout.SOUTH);
@@ -196,8 +339,7 @@ public class TelaPrincipal extends JFrame {
     /**
      * Recupera o objeto {@link Midia} correspondente à linha selecionada na tabela.
      * <p>
-     * Utiliza a coluna "Local" (índice 6) como chave única para buscar o objeto
-     * no gerenciador.
+     * O objeto vem direto do modelo da tabela, sem nova busca no gerenciador.
      * </p>
      *
      * @return O objeto Midia selecionado ou {@code null} se nenhuma linha estiver selecionada (exibe alerta).
@@ -208,8 +350,24 @@ public class TelaPrincipal extends JFrame {
             JOptionPane.showMessageDialog(this, "Selecione uma mídia na tabela.");
             return null;
         }
-        String local = tabelaMidias.getValueAt(linha, 6).toString();
-        return gerenciador.buscarMidiaPorLocal(local);
+        return modeloTabela.getMidia(tabelaMidias.convertRowIndexToModel(linha));
+    }
+
+    /**
+     * Recupera todas as mídias das linhas selecionadas na tabela.
+     *
+     * @return As mídias selecionadas (vazia, com alerta, se nenhuma linha estiver selecionada).
+     */
+    private List<Midia> getMidiasSelecionadas() {
+        int[] linhas = tabelaMidias.getSelectedRows();
+        if (linhas.length == 0) {
+            JOptionPane.showMessageDialog(this, "Selecione uma mídia na tabela.");
+        }
+        List<Midia> midias = new java.util.ArrayList<>(linhas.length);
+        for (int linha : linhas) {
+            midias.add(modeloTabela.getMidia(tabelaMidias.convertRowIndexToModel(linha)));
+        }
+        return midias;
     }
 
     // ---------------- ADICIONAR (Atualizado) --------------------
@@ -263,7 +421,7 @@ public class TelaPrincipal extends JFrame {
             JTextField txtCategoria = new JTextField();
             JTextField txtDuracao = new JTextField("0");
             JTextField txtExtra = new JTextField(); // Campo variável
-            JTextField txtTamanho = new JTextField(""); // novo campo tamanhoDisco
+            JTextField txtTamanho = new JTextField(String.valueOf(arq.length())); // tamanho real, editável
 
             panel.add(new JLabel("Título:"));
             panel.add(txtTitulo);
@@ -282,7 +440,7 @@ public class TelaPrincipal extends JFrame {
             panel.add(new JLabel(labelExtra));
             panel.add(txtExtra);
 
-            panel.add(new JLabel("Tamanho (tamanhoDisco):"));
+            panel.add(new JLabel("Tamanho (bytes ou ex: 2.5 GB):"));
             panel.add(txtTamanho);
 
             // 4. Mostra o Popup único
@@ -295,7 +453,6 @@ public class TelaPrincipal extends JFrame {
                     String categoria = txtCategoria.getText().trim();
                     String duracaoStr = txtDuracao.getText().trim();
                     String extra = txtExtra.getText().trim();
-                    String tamanhoDisco = txtTamanho.getText().trim();
 
                     // Validações básicas
                     if (titulo.isEmpty()) {
@@ -324,8 +481,9 @@ public class TelaPrincipal extends JFrame {
                         JOptionPane.showMessageDialog(this, "Erro: Idioma não pode conter números.");
                         return;
                     }
-                    if (tamanhoDisco.isEmpty()) {
-                        JOptionPane.showMessageDialog(this, "Erro: Tamanho do disco (tamanhoDisco) é obrigatório.");
+                    long tamanhoDisco = lerTamanho(txtTamanho.getText());
+                    if (tamanhoDisco < 0) {
+                        JOptionPane.showMessageDialog(this, "Erro: Tamanho inválido (use bytes ou ex: 700 MB, 2.5 GB).");
                         return;
                     }
 
@@ -336,16 +494,13 @@ public class TelaPrincipal extends JFrame {
                         default -> null;
                     };
 
-                    gerenciador.adicionarMidia(novaMidia);
-                    atualizarTabela();
-                    JOptionPane.showMessageDialog(this, "Mídia adicionada com sucesso!");
+                    executarOperacao("Adicionando mídia", () -> {
+                        gerenciador.adicionarMidia(novaMidia);
+                        return "Mídia adicionada com sucesso!";
+                    });
 
                 } catch (NumberFormatException ex) {
                     JOptionPane.showMessageDialog(this, "Erro: Duração deve ser um número inteiro.");
-                } catch (MidiaJaCadastradaException ex) {
-                    JOptionPane.showMessageDialog(this, "Erro: " + ex.getMessage());
-                } catch (ErroPersistenciaException ex) {
-                    JOptionPane.showMessageDialog(this, "Erro ao persistir: " + ex.getMessage());
                 } catch (Exception ex) {
                     JOptionPane.showMessageDialog(this, "Erro: " + ex.getMessage());
                 }
@@ -374,7 +529,7 @@ public class TelaPrincipal extends JFrame {
         JTextField txtCategoria = new JTextField(midia.getCategoria());
         JTextField txtDuracao = new JTextField(String.valueOf(midia.getDuracao()));
         JTextField txtExtra = new JTextField();
-        JTextField txtTamanho = new JTextField(midia.getTamanhoDisco()); // novo campo
+        JTextField txtTamanho = new JTextField(String.valueOf(midia.getTamanhoDisco())); // em bytes
 
         panel.add(new JLabel("Título:"));
         panel.add(txtTitulo);
@@ -401,7 +556,7 @@ public class TelaPrincipal extends JFrame {
         panel.add(new JLabel(labelExtra));
         panel.add(txtExtra);
 
-        panel.add(new JLabel("Tamanho (tamanhoDisco):"));
+        panel.add(new JLabel("Tamanho (bytes ou ex: 2.5 GB):"));
         panel.add(txtTamanho);
 
         int result = JOptionPane.showConfirmDialog(this, panel,
@@ -413,7 +568,6 @@ public class TelaPrincipal extends JFrame {
                 String novaCategoria = txtCategoria.getText().trim();
                 String novaDuracaoStr = txtDuracao.getText().trim();
                 String novoExtra = txtExtra.getText().trim();
-                String novoTamanho = txtTamanho.getText().trim();
 
                 if (novoTitulo.isEmpty()) {
                     JOptionPane.showMessageDialog(this, "Erro: Título obrigatório.");
@@ -442,26 +596,28 @@ public class TelaPrincipal extends JFrame {
                     JOptionPane.showMessageDialog(this, "Erro: Idioma não pode conter números.");
                     return;
                 }
-                if (novoTamanho.isEmpty()) {
-                    JOptionPane.showMessageDialog(this, "Erro: Tamanho do disco (tamanhoDisco) é obrigatório.");
+                long novoTamanho = lerTamanho(txtTamanho.getText());
+                if (novoTamanho < 0) {
+                    JOptionPane.showMessageDialog(this, "Erro: Tamanho inválido (use bytes ou ex: 700 MB, 2.5 GB).");
                     return;
                 }
 
-                Midia novaMidia = null;
+                Midia novaMidia;
                 if (midia instanceof Filme) {
                     novaMidia = new Filme(novoTitulo, midia.getLocal(), novaDuracao, novaCategoria, novoExtra, novoTamanho);
                 } else if (midia instanceof Musica) {
                     novaMidia = new Musica(midia.getLocal(), novoTitulo, novaCategoria, novaDuracao, novoExtra, novoTamanho);
                 } else if (midia instanceof Livro) {
                     novaMidia = new Livro(midia.getLocal(), novoTitulo, novaCategoria, novaDuracao, novoExtra, novoTamanho);
+                } else {
+                    return;
                 }
 
-                gerenciador.editarMidia(midia, novaMidia);
-                atualizarTabela();
-                JOptionPane.showMessageDialog(this, "Mídia editada!");
+                executarOperacao("Editando mídia", () -> {
+                    gerenciador.editarMidia(midia, novaMidia);
+                    return "Mídia editada!";
+                });
 
-            } catch (ErroPersistenciaException ex) {
-                JOptionPane.showMessageDialog(this, ex.getMessage());
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(this, "Erro: " + ex.getMessage());
             }
@@ -471,56 +627,152 @@ public class TelaPrincipal extends JFrame {
     // ---------------- REMOVER --------------------
 
     /**
-     * Solicita a remoção da mídia selecionada.
+     * Solicita a remoção das mídias selecionadas.
      * <p>
      * Exibe uma caixa de diálogo de confirmação antes de proceder com a exclusão
-     * no gerenciador.
+     * no gerenciador. A remoção roda fora da thread de eventos (EDT), em blocos de
+     * {@link #BLOCO_REMOCAO} mídias; cancelar interrompe entre um bloco e outro.
      * </p>
      */
     private void removerMidia() {
-        Midia midia = getMidiaSelecionada();
-        if (midia == null) return;
+        List<Midia> midias = getMidiasSelecionadas();
+        if (midias.isEmpty()) return;
 
-        if (JOptionPane.showConfirmDialog(this, "Tem certeza que deseja remover?",
-                "Remover mídia", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
-            try {
-                gerenciador.removerMidia(midia);
-                atualizarTabela();
-                JOptionPane.showMessageDialog(this, "Removida!");
-            } catch (ErroPersistenciaException e) {
-                JOptionPane.showMessageDialog(this, e.getMessage());
+        String pergunta = midias.size() == 1 ? "Tem certeza que deseja remover?"
+                : "Tem certeza que deseja remover " + midias.size() + " mídias?";
+        if (JOptionPane.showConfirmDialog(this, pergunta,
+                "Remover mídia", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) return;
+
+        AtomicBoolean cancelado = new AtomicBoolean();
+        DialogoProgresso dialogo = new DialogoProgresso(this, "Removendo " + midias.size() + " mídia(s)",
+                "Removendo...", () -> cancelado.set(true));
+
+        dialogo.executar(new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                int removidas = 0;
+                for (int i = 0; i < midias.size() && !cancelado.get(); i += BLOCO_REMOCAO) {
+                    int fim = Math.min(midias.size(), i + BLOCO_REMOCAO);
+                    removidas += gerenciador.removerMidias(midias.subList(i, fim)).contar(ResultadoLote.Status.REMOVIDA);
+                    dialogo.setProgresso(fim, midias.size());
+                    dialogo.setStatus(fim + " de " + midias.size() + " processada(s)");
+                }
+                return removidas;
             }
-        }
+
+            @Override
+            protected void done() {
+                dialogo.dispose();
+                try {
+                    int removidas = get();
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, removidas == midias.size() ? "Removida!"
+                            : removidas + " de " + midias.size() + " mídia(s) removida(s)."
+                            + (cancelado.get() ? " Remoção cancelada." : ""));
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, mensagemDeErro(ex));
+                }
+            }
+        });
+    }
+
+    // ---------------- IMPORTAR --------------------
+
+    /**
+     * Importa todos os arquivos de mídia de uma pasta e de suas subpastas.
+     * <p>
+     * A varredura roda fora da thread de eventos (EDT) com {@link IngestaoDiretorio};
+     * uma janela mostra o andamento (arquivos por segundo) e permite cancelar.
+     * </p>
+     */
+    private void importarPasta() {
+        JFileChooser seletor = new JFileChooser(ultimoDiretorio);
+        seletor.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (seletor.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        File raiz = seletor.getSelectedFile();
+        ultimoDiretorio = raiz;
+
+        String categoria = JOptionPane.showInputDialog(this, "Categoria das mídias importadas:", "Importados");
+        if (categoria == null || categoria.trim().isEmpty()) return;
+
+        IngestaoDiretorio ingestao = new IngestaoDiretorio(gerenciador, categoria.trim(), "Desconhecido");
+
+        DialogoProgresso dialogo = new DialogoProgresso(this, "Importando " + raiz.getName(),
+                "Procurando arquivos...", ingestao::cancelar);
+        ingestao.setOuvinte(p -> dialogo.setStatus(p.toString()));
+
+        SwingWorker<IngestaoDiretorio.Progresso, Void> tarefa = new SwingWorker<>() {
+            @Override
+            protected IngestaoDiretorio.Progresso doInBackground() throws Exception {
+                return ingestao.executar(raiz);
+            }
+
+            @Override
+            protected void done() {
+                dialogo.dispose();
+                try {
+                    IngestaoDiretorio.Progresso p = get();
+                    JOptionPane.showMessageDialog(TelaPrincipal.this,
+                            (ingestao.isCancelado() ? "Importação cancelada.\n" : "Importação concluída.\n") + p);
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, mensagemDeErro(ex));
+                }
+            }
+        };
+        dialogo.executar(tarefa); // Bloqueia (modal) até done() fechar a janela
     }
 
     // ---------------- MOVER --------------------
 
     /**
-     * Abre um seletor de diretórios para mover o arquivo físico da mídia.
+     * Abre um seletor de diretórios para mover os arquivos físicos das mídias selecionadas.
      * <p>
-     * Caso selecionado um destino válido, solicita ao gerenciador a movimentação
-     * do arquivo físico e do arquivo .tpoo associado.
+     * A movimentação roda fora da thread de eventos (EDT) com {@link MovimentacaoEmLote}:
+     * no mesmo disco é uma simples renomeação; entre discos os arquivos são copiados,
+     * conferidos e só então apagados da origem. Uma janela mostra os bytes movidos e permite cancelar.
      * </p>
      */
     private void moverMidia() {
-        Midia midia = getMidiaSelecionada();
-        if (midia == null) return;
+        List<Midia> midias = getMidiasSelecionadas();
+        if (midias.isEmpty()) return;
 
         JFileChooser seletor = new JFileChooser(ultimoDiretorio);
         seletor.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (seletor.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
 
-        if (seletor.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try {
-                File destino = seletor.getSelectedFile();
-                ultimoDiretorio = destino; // Lembra o diretório também ao mover
+        File destino = seletor.getSelectedFile();
+        ultimoDiretorio = destino; // Lembra o diretório também ao mover
 
-                gerenciador.moverMidia(midia, destino.getAbsolutePath());
-                atualizarTabela();
-                JOptionPane.showMessageDialog(this, "Arquivo movido!");
-            } catch (ErroPersistenciaException e) {
-                JOptionPane.showMessageDialog(this, e.getMessage());
+        MovimentacaoEmLote movimentacao = new MovimentacaoEmLote(gerenciador);
+
+        DialogoProgresso dialogo = new DialogoProgresso(this, "Movendo " + midias.size() + " arquivo(s)",
+                "Preparando...", movimentacao::cancelar);
+        movimentacao.setOuvinte(p -> {
+            dialogo.setStatus(p.toString());
+            dialogo.setProgresso(p.getBytesConcluidos(), p.getBytesTotais());
+        });
+
+        SwingWorker<ResultadoLote, Void> tarefa = new SwingWorker<>() {
+            @Override
+            protected ResultadoLote doInBackground() throws Exception {
+                return movimentacao.mover(midias, destino.toPath());
             }
-        }
+
+            @Override
+            protected void done() {
+                dialogo.dispose();
+                try {
+                    ResultadoLote r = get();
+                    int movidas = r.contar(ResultadoLote.Status.MOVIDA);
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, movidas == midias.size()
+                            ? "Arquivo(s) movido(s)!"
+                            : movidas + " de " + midias.size() + " arquivo(s) movido(s).\n" + r);
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, mensagemDeErro(ex));
+                }
+            }
+        };
+        dialogo.executar(tarefa); // Bloqueia (modal) até done() fechar a janela
     }
 
     // ---------------- RENOMEAR --------------------
@@ -529,7 +781,7 @@ public class TelaPrincipal extends JFrame {
      * Solicita um novo nome para o arquivo da mídia.
      * <p>
      * Se o usuário fornecer um nome válido, o sistema renomeia o arquivo físico
-     * e atualiza o título da mídia no registro.
+     * (fora da thread de eventos) e atualiza o título da mídia no registro.
      * </p>
      */
     private void renomearMidia() {
@@ -539,15 +791,138 @@ public class TelaPrincipal extends JFrame {
         String novoNome = JOptionPane.showInputDialog(this, "Novo nome do arquivo (sem extensão):", "Renomear Arquivo", JOptionPane.PLAIN_MESSAGE);
         if (novoNome == null || novoNome.isBlank()) return;
 
-        try {
+        executarOperacao("Renomeando arquivo", () -> {
             gerenciador.renomearArquivoMidia(midia, novoNome);
+            return "Arquivo renomeado com sucesso!";
+        });
+    }
 
-            atualizarTabela();
+    // ---------------- DUPLICATAS --------------------
 
-            JOptionPane.showMessageDialog(this, "Arquivo renomeado com sucesso!");
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, e.getMessage());
-        }
+    /**
+     * Procura arquivos de mídia com conteúdo idêntico em todo o catálogo.
+     * <p>
+     * A leitura roda fora da thread de eventos (EDT) com {@link DetectorDuplicatas};
+     * uma janela permite cancelar, e o resultado lista cada grupo de cópias.
+     * </p>
+     */
+    private void procurarDuplicatas() {
+        DetectorDuplicatas detector = new DetectorDuplicatas(gerenciador);
+
+        DialogoProgresso dialogo = new DialogoProgresso(this, "Procurando duplicatas",
+                "Comparando arquivos...", detector::cancelar);
+
+        SwingWorker<List<DetectorDuplicatas.Grupo>, Void> tarefa = new SwingWorker<>() {
+            @Override
+            protected List<DetectorDuplicatas.Grupo> doInBackground() {
+                return detector.detectar();
+            }
+
+            @Override
+            protected void done() {
+                dialogo.dispose();
+                try {
+                    List<DetectorDuplicatas.Grupo> grupos = get();
+                    if (grupos.isEmpty()) {
+                        JOptionPane.showMessageDialog(TelaPrincipal.this, "Nenhuma duplicata encontrada.");
+                        return;
+                    }
+                    long desperdicio = 0;
+                    StringBuilder texto = new StringBuilder();
+                    for (DetectorDuplicatas.Grupo g : grupos) {
+                        desperdicio += g.getEspacoDesperdicado();
+                        texto.append(g).append("\n\n");
+                    }
+                    JTextArea area = new JTextArea(texto.toString(), 20, 70);
+                    area.setEditable(false);
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, new JScrollPane(area),
+                            grupos.size() + " grupo(s), " + (desperdicio >> 20) + " MB em cópias",
+                            JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, mensagemDeErro(ex));
+                }
+            }
+        };
+        dialogo.executar(tarefa); // Bloqueia (modal) até done() fechar a janela
+    }
+
+    // ---------------- TAMANHOS --------------------
+
+    /**
+     * Relê do disco o tamanho de todas as mídias exibidas, fora da thread de eventos (EDT).
+     */
+    private void atualizarTamanhos() {
+        List<Midia> exibidas = modeloTabela.getMidias();
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return gerenciador.atualizarAtributosDoDisco(exibidas);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, get() + " tamanho(s) atualizado(s).");
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, mensagemDeErro(ex));
+                }
+            }
+        }.execute();
+    }
+
+    // ---------------- SEGUNDO PLANO --------------------
+
+    /**
+     * Executa uma operação de arquivo fora da thread de eventos (EDT), com uma janela de andamento.
+     * Ao terminar, é exibida a mensagem devolvida pela operação ou o erro; a tabela acompanha
+     * a alteração pelos eventos do catálogo ({@link #aplicarEventos(List)}).
+     *
+     * @param titulo O título da janela de andamento.
+     * @param operacao A operação; devolve a mensagem de sucesso.
+     */
+    private void executarOperacao(String titulo, Callable<String> operacao) {
+        DialogoProgresso dialogo = new DialogoProgresso(this, titulo, "Aguarde...", null);
+        dialogo.executar(new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() throws Exception {
+                return operacao.call();
+            }
+
+            @Override
+            protected void done() {
+                dialogo.dispose();
+                try {
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, get());
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(TelaPrincipal.this, mensagemDeErro(ex));
+                }
+            }
+        });
+    }
+
+    /**
+     * Monta a mensagem de erro de uma operação executada em segundo plano.
+     *
+     * @param ex A exceção recebida de {@code SwingWorker.get()}.
+     * @return A mensagem para o usuário.
+     */
+    private static String mensagemDeErro(Exception ex) {
+        Throwable causa = ex.getCause() != null ? ex.getCause() : ex;
+        if (causa instanceof ErroPersistenciaException) return "Erro ao persistir: " + causa.getMessage();
+        if (causa instanceof MidiaJaCadastradaException) return "Erro: " + causa.getMessage();
+        return causa.getMessage();
+    }
+
+    /**
+     * Converte o tamanho digitado pelo usuário.
+     *
+     * @param texto Bytes ou valor com unidade (ex: "700 MB").
+     * @return O tamanho em bytes, ou -1 se o texto for inválido.
+     */
+    private long lerTamanho(String texto) {
+        String t = texto == null ? "" : texto.trim();
+        long tamanho = Midia.converterTamanho(t);
+        return tamanho == 0 && !t.matches("0+([.,]0*)?\\s*[A-Za-z]*") ? -1 : tamanho;
     }
 
     /**
@@ -0,0 +1,93 @@
+package Controle;
+
+import Modelo.GerenciadorMidia;
+import Modelo.Midia;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Testes da importação em massa de diretórios ({@link IngestaoDiretorio}).
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see IngestaoDiretorio
+ */
+public class IngestaoDiretorioTest {
+
+    private final String ARQUIVO_DB = "ingestao_teste.csv";
+    private File raiz;
+    private GerenciadorMidia gerenciador;
+
+    @Before
+    public void setUp() throws IOException {
+        raiz = new File("temp_test_ingestao");
+        new File(raiz, "filmes/acao").mkdirs();
+        new File(raiz, "musicas").mkdirs();
+        Files.write(new File(raiz, "filmes/acao/Matrix.mkv").toPath(), new byte[1234]);
+        Files.write(new File(raiz, "filmes/Duna.MP4").toPath(), new byte[10]);
+        Files.write(new File(raiz, "musicas/Som.mp3").toPath(), new byte[7]);
+        Files.write(new File(raiz, "musicas/capa.jpg").toPath(), new byte[3]);
+        Files.write(new File(raiz, "Texto.epub").toPath(), new byte[5]);
+        gerenciador = new GerenciadorMidia(ARQUIVO_DB);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        gerenciador.fechar();
+        apagar(raiz);
+        for (String sufixo : new String[]{"", ".diario", ".diario.compactando", ".tmp", ".1", ".2"}) {
+            new File(ARQUIVO_DB + sufixo).delete();
+        }
+    }
+
+    private void apagar(File f) {
+        File[] filhos = f.listFiles();
+        if (filhos != null) for (File c : filhos) apagar(c);
+        f.delete();
+    }
+
+    /**
+     * Importa toda a árvore, com tamanho real e tipo pela extensão, e ignora o que já está cadastrado.
+     */
+    @Test
+    public void testImportaArvoreEIgnoraCadastrados() throws Exception {
+        IngestaoDiretorio ingestao = new IngestaoDiretorio(gerenciador, "Importados", "Desconhecido");
+        ingestao.setTamanhoLote(2);
+        IngestaoDiretorio.Progresso p = ingestao.executar(raiz);
+
+        assertTrue(p.isConcluido());
+        assertEquals(5, p.getArquivosLidos());
+        assertEquals(4, p.getAdicionados());
+        assertEquals(1, p.getNaoSuportados());
+
+        Midia matrix = gerenciador.buscarMidiaPorLocal(new File(raiz, "filmes/acao/Matrix.mkv").getAbsolutePath());
+        assertNotNull(matrix);
+        assertEquals("Filme", matrix.getClass().getSimpleName());
+        assertEquals("Matrix", matrix.getTitulo());
+        assertEquals(1234, matrix.getTamanhoDisco());
+        assertEquals(2, gerenciador.getMidiasFiltradas("Filme", "", null).size());
+        assertEquals(1, gerenciador.getMidiasFiltradas("Livro", "Importados", null).size());
+
+        IngestaoDiretorio.Progresso segunda = new IngestaoDiretorio(gerenciador, "Importados", "Desconhecido").executar(raiz);
+        assertEquals(0, segunda.getAdicionados());
+        assertEquals(4, segunda.getJaCadastrados());
+    }
+
+    /**
+     * Uma importação cancelada antes de começar não inclui nada.
+     */
+    @Test
+    public void testCancelamento() throws Exception {
+        IngestaoDiretorio ingestao = new IngestaoDiretorio(gerenciador, "Importados", "Desconhecido");
+        ingestao.cancelar();
+        IngestaoDiretorio.Progresso p = ingestao.executar(raiz);
+        assertEquals(0, p.getAdicionados());
+        assertTrue(gerenciador.getMidiasFiltradas("Todos", "", null).isEmpty());
+    }
+}
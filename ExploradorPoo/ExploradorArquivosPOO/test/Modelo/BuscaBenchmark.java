@@ -0,0 +1,73 @@
+package Modelo;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Medição do tempo de consulta dos índices de busca textual ({@link IndiceTextual}) e
+ * aproximada ({@link IndiceTrigramas}).
+ * <p>
+ * Não é um teste unitário (não é executado pelo JUnit). Para rodar:
+ * {@code java -cp build/classes:build/test/classes Modelo.BuscaBenchmark [entradas]}.
+ * Os títulos são sorteados de um vocabulário fixo; cada consulta é medida pela mediana
+ * de 5 execuções.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class BuscaBenchmark {
+
+    private static final int REPETICOES = 5;
+
+    private static final String[] PALAVRAS = {
+        "Ação", "Amor", "Noite", "Cidade", "Sertão", "Matrix", "Reloaded", "Memórias", "Guerra", "Paz",
+        "Estrela", "Mar", "Caminho", "Sombra", "Luz", "Tempo", "Vento", "Fogo", "Rio", "Coração"
+    };
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Map<Midia, Long> ordem = new IdentityHashMap<>();
+        IndiceTextual indice = new IndiceTextual(ordem::get);
+        IndiceTrigramas trigramas = new IndiceTrigramas((a, b) -> Long.compare(ordem.get(a), ordem.get(b)));
+        Random r = new Random(1);
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            String titulo = PALAVRAS[r.nextInt(PALAVRAS.length)] + " " + PALAVRAS[r.nextInt(PALAVRAS.length)]
+                    + " " + i; // o número torna cada título único, como nomes de arquivo
+            Midia m = new Filme(titulo, "/bench/" + i + ".mkv", 90, "Bench", i % 2 == 0 ? "Português" : "Inglês");
+            ordem.put(m, (long) i);
+            indice.indexar(m);
+            trigramas.indexar(m);
+        }
+        System.out.printf("%d entradas, %d palavras, indexação: %d ms%n",
+                n, indice.tamanhoVocabulario(), (System.nanoTime() - inicio) / 1_000_000);
+
+        System.out.printf("%-28s %10s %10s%n", "consulta", "resultados", "ms");
+        for (String consulta : new String[]{"12345", "matrix 99999", "sert", "coracao vento portugues", "acao"}) {
+            int[] resultados = new int[1];
+            long ms = mediana(() -> resultados[0] = indice.buscar(consulta).size());
+            System.out.printf("%-28s %10d %10d%n", consulta, resultados[0], ms);
+        }
+        for (String consulta : new String[]{"coracoa 12345", "matirx", "memorias sertao"}) {
+            int[] resultados = new int[1];
+            long ms = mediana(() -> resultados[0] = trigramas.buscar(consulta, 200, 0.3).size());
+            System.out.printf("%-28s %10d %10d%n", "~" + consulta, resultados[0], ms);
+        }
+    }
+
+    private static long mediana(Runnable acao) {
+        long[] tempos = new long[REPETICOES];
+        for (int i = 0; i < REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            acao.run();
+            tempos[i] = (System.nanoTime() - inicio) / 1_000_000;
+        }
+        Arrays.sort(tempos);
+        return tempos[REPETICOES / 2];
+    }
+}
@@ -0,0 +1,84 @@
+package Modelo;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Testes unitários do carregador paralelo {@link CarregadorCatalogoCsv}.
+ * <p>
+ * Verificam que o carregador mantém as regras do carregamento original
+ * (cabeçalho, linhas curtas) e a ordem do arquivo quando há vários blocos.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see CarregadorCatalogoCsv
+ */
+public class CarregadorCatalogoCsvTest {
+
+    private final File arquivo = new File("teste_carregador.csv");
+
+    @After
+    public void tearDown() {
+        arquivo.delete();
+    }
+
+    /**
+     * Testa o tratamento do cabeçalho, de linhas curtas, de campos vazios e de linhas inválidas.
+     * @throws IOException Em caso de falha de I/O.
+     */
+    @Test
+    public void testRegrasDeLinha() throws IOException {
+        try (PrintWriter pw = new PrintWriter(arquivo, "UTF-8")) {
+            pw.println("TIPO;TITULO;CATEGORIA;DURACAO;EXTRA;LOCAL;TAMANHO");
+            pw.println("Filme;Ação Total;Ação;120;Português;/v/a.mp4;10");
+            pw.println("Musica;Som;Rock;200;;/m/s.mp3;5\r");
+            pw.println("Livro;Curto;Drama;10;Autor;/l/c.pdf;");      // tamanho vazio no final: ignorada
+            pw.println("Livro;Invalido;Drama;dez;Autor;/l/i.pdf;1"); // duração inválida: ignorada
+            pw.println("Outro;X;Y;1;Z;/o/x;1");                      // tipo desconhecido: ignorada
+            pw.println("");
+            pw.print("Livro;Fim;Drama;300;Autores;/l/f.pdf;7");      // sem quebra de linha no final
+        }
+
+        List<Midia> midias = CarregadorCatalogoCsv.carregar(arquivo);
+
+        assertEquals(3, midias.size());
+        Filme f = (Filme) midias.get(0);
+        assertEquals("Ação Total", f.getTitulo());
+        assertEquals("Português", f.getIdioma());
+        assertEquals(120, f.getDuracao());
+        Musica m = (Musica) midias.get(1);
+        assertEquals("", m.getArtista());
+        assertEquals(5, m.getTamanhoDisco());
+        assertEquals("/l/f.pdf", midias.get(2).getLocal());
+    }
+
+    /**
+     * Testa que um arquivo grande (vários blocos lidos em paralelo) é carregado na ordem original.
+     * @throws IOException Em caso de falha de I/O.
+     */
+    @Test
+    public void testVariosBlocosMantemOrdem() throws IOException {
+        int total = 60_000;
+        try (PrintWriter pw = new PrintWriter(arquivo, "UTF-8")) {
+            pw.println("TIPO;TITULO;CATEGORIA;DURACAO;EXTRA;LOCAL;TAMANHO");
+            for (int i = 0; i < total; i++) {
+                pw.println("Musica;Faixa " + i + ";Rock;" + i + ";Artista;/musicas/faixa_" + i + ".mp3;" + i);
+            }
+        }
+        assertTrue("Arquivo deve ocupar mais de um bloco", arquivo.length() > 2 * 1024 * 1024);
+
+        List<Midia> midias = CarregadorCatalogoCsv.carregar(arquivo);
+
+        assertEquals(total, midias.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i, midias.get(i).getDuracao());
+        }
+    }
+}
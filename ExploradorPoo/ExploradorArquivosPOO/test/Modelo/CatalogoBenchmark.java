@@ -0,0 +1,113 @@
+package Modelo;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Medição de tempo de carga e gravação do catálogo nos formatos CSV e binário.
+ * <p>
+ * Não é um teste unitário (não é executado pelo JUnit). Para rodar:
+ * {@code java -cp build/classes:build/test/classes Modelo.CatalogoBenchmark [quantidades...]}.
+ * Cada medição é a mediana de 5 execuções, após uma execução de aquecimento.
+ * A carga mede só a leitura do arquivo; a abertura mede o construtor do {@link GerenciadorMidia}
+ * inteiro (leitura, montagem dos índices e reprodução do diário), que é o que o usuário espera.
+ * A gravação é medida pela compactação do {@link GerenciadorMidia}, que é o único caminho
+ * que reescreve o arquivo base.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class CatalogoBenchmark {
+
+    private static final int REPETICOES = 5;
+
+    public static void main(String[] args) throws Exception {
+        int[] quantidades = args.length == 0 ? new int[]{100_000, 1_000_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        System.out.printf("%-10s %-8s %10s %12s %14s %12s%n",
+                "entradas", "formato", "tamanho", "carga (ms)", "abertura (ms)", "grava (ms)");
+        for (int n : quantidades) {
+            File csv = File.createTempFile("bench_catalogo", ".csv");
+            File bin = new File(csv.getPath().replace(".csv", ".bin"));
+            try {
+                gerarCsv(csv, n);
+
+                GerenciadorMidia gmCsv = new GerenciadorMidia(csv.getPath());
+                GerenciadorMidia gmBin = new GerenciadorMidia(bin.getPath()); // migra o CSV
+
+                long cargaCsv = mediana(() -> CarregadorCatalogoCsv.carregar(csv));
+                long gravaCsv = mediana(gmCsv::compactar);
+                long cargaBin = mediana(() -> CatalogoBinario.carregar(bin));
+                long gravaBin = mediana(gmBin::compactar);
+                gmCsv.fechar();
+                gmBin.fechar();
+
+                long aberturaCsv = mediana(() -> new GerenciadorMidia(csv.getPath()).fechar());
+                long aberturaBin = mediana(() -> new GerenciadorMidia(bin.getPath()).fechar());
+
+                System.out.printf("%-10d %-8s %9dK %12d %14d %12d%n",
+                        n, "CSV", csv.length() / 1024, cargaCsv, aberturaCsv, gravaCsv);
+                System.out.printf("%-10d %-8s %9dK %12d %14d %12d%n",
+                        n, "BINARIO", bin.length() / 1024, cargaBin, aberturaBin, gravaBin);
+            } finally {
+                for (File f : new File[]{csv, bin}) {
+                    f.delete();
+                    new File(f.getPath() + ".diario").delete();
+                    for (int i = 1; i <= GerenciadorMidia.GERACOES_ANTERIORES; i++) {
+                        new File(f.getPath() + "." + i).delete();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gera um CSV sintético com uma mistura de filmes, músicas e livros.
+     */
+    static void gerarCsv(File arquivo, int n) throws IOException {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(arquivo))) {
+            bw.write("TIPO;TITULO;CATEGORIA;DURACAO;EXTRA;LOCAL;TAMANHO\n");
+            String[] categorias = {"Ação", "Aventura", "Rock", "Drama", "Terror"};
+            for (int i = 0; i < n; i++) {
+                String cat = categorias[i % categorias.length];
+                switch (i % 3) {
+                    case 0 -> bw.write("Filme;Filme número " + i + ";" + cat + ";" + (60 + i % 120)
+                            + ";Português;/midias/filmes/filme_" + i + ".mp4;" + (700_000_000L + i) + "\n");
+                    case 1 -> bw.write("Musica;Faixa " + i + ";" + cat + ";" + (120 + i % 300)
+                            + ";Artista " + (i % 500) + ";/midias/musicas/faixa_" + i + ".mp3;" + (3_000_000 + i) + "\n");
+                    default -> bw.write("Livro;Livro " + i + ";" + cat + ";" + (100 + i % 900)
+                            + ";Autor " + (i % 800) + ";/midias/livros/livro_" + i + ".pdf;" + (1_000_000 + i) + "\n");
+                }
+            }
+        }
+    }
+
+    private interface Acao {
+        Object executar() throws Exception;
+    }
+
+    private interface AcaoSemRetorno {
+        void executar() throws Exception;
+    }
+
+    private static long mediana(AcaoSemRetorno acao) throws Exception {
+        return mediana(() -> { acao.executar(); return null; });
+    }
+
+    private static long mediana(Acao acao) throws Exception {
+        acao.executar(); // aquecimento
+        long[] tempos = new long[REPETICOES];
+        for (int i = 0; i < REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            acao.executar();
+            tempos[i] = (System.nanoTime() - inicio) / 1_000_000;
+        }
+        Arrays.sort(tempos);
+        return tempos[REPETICOES / 2];
+    }
+}
@@ -0,0 +1,95 @@
+package Modelo;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+/**
+ * Testes unitários do formato binário {@link CatalogoBinario} e da migração CSV -> binário.
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see CatalogoBinario
+ */
+public class CatalogoBinarioTest {
+
+    private final File binario = new File("teste_catalogo.bin");
+    private final File csv = new File("teste_catalogo.csv");
+
+    @After
+    public void tearDown() {
+        for (String nome : new String[]{binario.getName(), csv.getName()}) {
+            new File(nome).delete();
+            new File(nome + ".diario").delete();
+            new File(nome + ".diario.compactando").delete();
+            new File(nome + ".tmp").delete();
+            for (int i = 1; i <= GerenciadorMidia.GERACOES_ANTERIORES; i++) {
+                new File(nome + "." + i).delete();
+            }
+        }
+        new File("Matrix").delete(); // .tpoo gerado pela mídia do teste de migração
+    }
+
+    /**
+     * Testa que gravar e ler preserva tipo, campos, acentos e tamanhos (os com unidade viram bytes).
+     * @throws IOException Em caso de falha de I/O.
+     */
+    @Test
+    public void testIdaEVolta() throws IOException {
+        List<Midia> originais = List.of(
+                new Filme("Ação", "/v/ação.mp4", 120, "Ação", "Português", "123456789"),
+                new Musica("/m/s.mp3", "Som", "Rock", 200, "Banda", "2.5 GB"),
+                new Livro("/l/l.pdf", "Livro", "", 300, "Autor A, Autor B", "007"));
+
+        CatalogoBinario.salvar(originais, binario);
+        List<Midia> lidas = CatalogoBinario.carregar(binario);
+
+        assertEquals(3, lidas.size());
+        for (int i = 0; i < originais.size(); i++) {
+            assertEquals(originais.get(i).getClass(), lidas.get(i).getClass());
+            assertEquals(originais.get(i).getDetalhes(), lidas.get(i).getDetalhes());
+            assertEquals(originais.get(i).getLocal(), lidas.get(i).getLocal());
+        }
+        assertEquals("Português", ((Filme) lidas.get(0)).getIdioma());
+        assertEquals(2_684_354_560L, lidas.get(1).getTamanhoDisco());
+        assertEquals(7, lidas.get(2).getTamanhoDisco());
+    }
+
+    /**
+     * Testa que um byte corrompido é detectado pelo checksum.
+     * @throws IOException Se a exceção esperada não ocorrer.
+     */
+    @Test(expected = IOException.class)
+    public void testChecksumDetectaCorrupcao() throws IOException {
+        CatalogoBinario.salvar(List.of(new Filme("Matrix", "/v/m.mp4", 120, "Ação", "Inglês", "1")), binario);
+        try (RandomAccessFile raf = new RandomAccessFile(binario, "rw")) {
+            raf.seek(20);
+            raf.write(raf.read() ^ 0x01);
+        }
+        CatalogoBinario.carregar(binario);
+    }
+
+    /**
+     * Testa a migração de mão única: abrir o ".bin" inexistente importa o ".csv" de mesmo nome.
+     * @throws Exception Em caso de falha inesperada.
+     */
+    @Test
+    public void testMigracaoDoCsv() throws Exception {
+        GerenciadorMidia gmCsv = new GerenciadorMidia(csv.getPath());
+        gmCsv.adicionarMidia(new Filme("Matrix", "matrix_migracao.mp4", 120, "Ação", "Inglês", "999"));
+        gmCsv.fechar();
+
+        GerenciadorMidia gmBin = new GerenciadorMidia(binario.getPath());
+        gmBin.fechar();
+        assertTrue("Catálogo binário deve ser criado na migração", binario.exists());
+
+        Midia m = new GerenciadorMidia(binario.getPath()).buscarMidiaPorLocal("matrix_migracao.mp4");
+        assertNotNull(m);
+        assertEquals(999, m.getTamanhoDisco());
+    }
+}
@@ -0,0 +1,176 @@
+package Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Testes das consultas tipadas ({@link ConsultaMidia}) executadas por {@link GerenciadorMidia#consultar}.
+ * <p>
+ * O resultado de cada consulta é comparado com uma referência ingênua: filtrar todas as mídias
+ * do catálogo e ordenar de forma estável pelas mesmas chaves.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see ConsultaMidia
+ */
+public class ConsultaMidiaTest {
+
+    private final String ARQUIVO_DB = "consulta_teste.csv";
+    private static final String[] PALAVRAS = {"Matrix", "Rio", "Noite", "Ação", "Azul", "Vento"};
+    private static final String[] CATEGORIAS = {"Ação", "Drama", "Rock", "ação"};
+
+    private File pasta;
+    private GerenciadorMidia gerenciador;
+    private List<Midia> todas;
+
+    @Before
+    public void setUp() throws Exception {
+        pasta = new File("temp_test_consulta").getAbsoluteFile();
+        // Os arquivos .tpoo de cada mídia são gravados ao lado dela
+        new File(pasta, "a").mkdirs();
+        new File(pasta, "b").mkdirs();
+        gerenciador = new GerenciadorMidia(ARQUIVO_DB);
+
+        Random r = new Random(7);
+        todas = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            String local = pasta + File.separator + (i % 3 == 0 ? "a" : "b") + File.separator + i + ".bin";
+            String titulo = PALAVRAS[r.nextInt(PALAVRAS.length)] + " " + PALAVRAS[r.nextInt(PALAVRAS.length)];
+            String categoria = CATEGORIAS[r.nextInt(CATEGORIAS.length)];
+            int duracao = r.nextInt(5) * 30;
+            long tamanho = r.nextInt(4) * 1000L;
+            todas.add(switch (i % 3) {
+                case 0 -> new Filme(titulo, local, duracao, categoria, "Inglês", tamanho);
+                case 1 -> new Musica(local, titulo, categoria, duracao, "Banda", tamanho);
+                default -> new Livro(local, titulo, categoria, duracao, "Autor", tamanho);
+            });
+        }
+        gerenciador.adicionarMidias(todas);
+    }
+
+    @After
+    public void tearDown() {
+        gerenciador.fechar();
+        apagar(pasta);
+        for (String sufixo : new String[]{"", ".diario", ".diario.compactando", ".tmp", ".1", ".2"}) {
+            new File(ARQUIVO_DB + sufixo).delete();
+        }
+    }
+
+    private void apagar(File f) {
+        File[] filhos = f.listFiles();
+        if (filhos != null) for (File c : filhos) apagar(c);
+        f.delete();
+    }
+
+    private List<Midia> referencia(Predicate<Midia> filtro, Comparator<Midia> ordem, int limite) {
+        List<Midia> resultado = todas.stream().filter(filtro).collect(Collectors.toCollection(ArrayList::new));
+        if (ordem != null) resultado.sort(ordem); // Estável: empates na ordem do catálogo
+        return resultado.subList(0, Math.min(limite, resultado.size()));
+    }
+
+    /**
+     * Filtros combinados, com e sem limite, escolhendo cada um dos caminhos de execução.
+     */
+    @Test
+    public void testFiltrosCombinados() {
+        Predicate<Midia> filmes = m -> m instanceof Filme;
+        Predicate<Midia> acao = m -> m.getCategoria().equalsIgnoreCase("Ação");
+        Predicate<Midia> duracao = m -> m.getDuracao() >= 30 && m.getDuracao() <= 90;
+        Predicate<Midia> tamanho = m -> m.getTamanhoDisco() >= 1000;
+        Predicate<Midia> sobA = m -> m.getLocal().contains(File.separator + "a" + File.separator);
+        Set<Midia> comRio = Set.copyOf(gerenciador.buscarTexto("rio"));
+
+        assertEquals(referencia(filmes.and(acao), null, 60),
+                gerenciador.consultar(new ConsultaMidia().doTipo(Filme.class).daCategoria("AÇÃO")));
+        assertEquals(referencia(duracao, null, 60),
+                gerenciador.consultar(new ConsultaMidia().comDuracaoEntre(30, 90)));
+        assertEquals(referencia(tamanho.and(duracao), null, 5),
+                gerenciador.consultar(new ConsultaMidia().comTamanhoEntre(1000, Long.MAX_VALUE)
+                        .comDuracaoEntre(30, 90).limitar(5)));
+        assertEquals(referencia(sobA.and(acao), null, 60),
+                gerenciador.consultar(new ConsultaMidia().sobDiretorio(pasta + File.separator + "a").daCategoria("ação")));
+        assertEquals(referencia(m -> comRio.contains(m) && sobA.test(m) && tamanho.test(m), null, 60),
+                gerenciador.consultar(new ConsultaMidia().contendo("rio").sobDiretorio(pasta + File.separator + "a")
+                        .comTamanhoEntre(1000, Long.MAX_VALUE)));
+        assertEquals(todas, gerenciador.consultar(new ConsultaMidia()));
+        assertTrue(gerenciador.consultar(new ConsultaMidia().limitar(0)).isEmpty());
+    }
+
+    /**
+     * Ordenação por várias chaves, com e sem limite (seleção pelo heap e percurso do índice ordenado).
+     */
+    @Test
+    public void testOrdenacaoPorVariasChaves() {
+        Comparator<Midia> tamanhoDesc = Comparator.comparingLong(Midia::getTamanhoDisco).reversed();
+        Comparator<Midia> porTamanhoETitulo = tamanhoDesc.thenComparing(Midia::getTitulo);
+
+        for (int limite : new int[]{Integer.MAX_VALUE, 7}) {
+            assertEquals(referencia(m -> true, porTamanhoETitulo, limite),
+                    gerenciador.consultar(new ConsultaMidia()
+                            .ordenarPorDecrescente(ConsultaMidia.Campo.TAMANHO)
+                            .ordenarPor(ConsultaMidia.Campo.TITULO)
+                            .limitar(limite)));
+            assertEquals(referencia(m -> m instanceof Musica, tamanhoDesc, limite),
+                    gerenciador.consultar(new ConsultaMidia().doTipo(Musica.class)
+                            .ordenarPorDecrescente(ConsultaMidia.Campo.TAMANHO).limitar(limite)));
+            assertEquals(referencia(m -> m.getDuracao() <= 60, Comparator.comparingInt(Midia::getDuracao), limite),
+                    gerenciador.consultar(new ConsultaMidia().comDuracaoEntre(0, 60)
+                            .ordenarPor(ConsultaMidia.Campo.DURACAO).limitar(limite)));
+            assertEquals(referencia(m -> m.getCategoria().equalsIgnoreCase("rock"),
+                            Comparator.comparing((Midia m) -> m.getClass().getSimpleName()).thenComparing(Midia::getLocal), limite),
+                    gerenciador.consultar(new ConsultaMidia().daCategoria("Rock")
+                            .ordenarPor(ConsultaMidia.Campo.TIPO)
+                            .ordenarPor(ConsultaMidia.Campo.LOCAL).limitar(limite)));
+        }
+    }
+
+    /**
+     * O adaptador de três textos continua devolvendo o mesmo que a consulta equivalente.
+     */
+    @Test
+    public void testAdaptadorDeFiltrosDaTela() {
+        assertEquals(referencia(m -> m instanceof Livro, Comparator.comparing(Midia::getTitulo), 60),
+                gerenciador.getMidiasFiltradas("Livro", "", "Alfabética"));
+        assertEquals(referencia(m -> m.getCategoria().equalsIgnoreCase("drama"),
+                        Comparator.comparingLong(Midia::getTamanhoDisco).reversed(), 60),
+                gerenciador.getMidiasFiltradas("Todos", "Drama", "Tamanho (Maior primeiro)"));
+        assertTrue(gerenciador.getMidiasFiltradas("Podcast", "", null).isEmpty());
+    }
+
+    /**
+     * A execução paralela (limiar zero) devolve exatamente o mesmo que a sequencial.
+     */
+    @Test
+    public void testExecucaoParalelaIgualASequencial() {
+        List<ConsultaMidia> consultas = List.of(
+                new ConsultaMidia().comTamanhoEntre(1000, 2000).ordenarPor(ConsultaMidia.Campo.TITULO),
+                new ConsultaMidia().daCategoria("ação").ordenarPorDecrescente(ConsultaMidia.Campo.CATEGORIA).limitar(9),
+                new ConsultaMidia().doTipo(Livro.class),
+                new ConsultaMidia().contendo("noite").ordenarPor(ConsultaMidia.Campo.LOCAL));
+
+        for (ConsultaMidia consulta : consultas) {
+            gerenciador.setLimiarParalelo(Integer.MAX_VALUE);
+            List<Midia> sequencial = gerenciador.consultar(consulta);
+            gerenciador.setLimiarParalelo(0);
+            assertEquals(sequencial, gerenciador.consultar(consulta));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLimiteNegativo() {
+        new ConsultaMidia().limitar(-1);
+    }
+}
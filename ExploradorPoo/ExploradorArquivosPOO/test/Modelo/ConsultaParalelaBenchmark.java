@@ -0,0 +1,87 @@
+package Modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Medição do ponto a partir do qual filtrar e ordenar em paralelo ({@link ExecucaoParalela})
+ * supera a execução sequencial, para ajustar {@link GerenciadorMidia#setLimiarParalelo(int)}.
+ * <p>
+ * Não é um teste unitário (não é executado pelo JUnit). Para rodar:
+ * {@code java -cp build/classes:build/test/classes Modelo.ConsultaParalelaBenchmark [maximo]}.
+ * Para cada tamanho de catálogo, mede a consulta de uma varredura completa (filtro por
+ * categoria e tamanho, ordenação por título e, no empate, pela ordem do catálogo) nos dois
+ * modos, pela mediana de 7 execuções após aquecimento. Em máquinas com um só processador
+ * o pool comum não é dividido; use {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism=N}
+ * para simular outra quantidade de threads.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class ConsultaParalelaBenchmark {
+
+    private static final int REPETICOES = 7;
+
+    private static final int[] TAMANHOS = {1_000, 3_000, 10_000, 30_000, 100_000, 300_000, 1_000_000};
+
+    private static final String[] CATEGORIAS = {"Ação", "Drama", "Rock", "Ficção", "Jazz"};
+
+    public static void main(String[] args) {
+        int maximo = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Midia> catalogo = new ArrayList<>(maximo);
+        Map<Midia, Long> sequencia = new IdentityHashMap<>();
+        Random r = new Random(1);
+        for (int i = 0; i < maximo; i++) {
+            Midia m = new Filme("Titulo " + r.nextInt(maximo), "/bench/" + i + ".mkv", r.nextInt(200),
+                    CATEGORIAS[r.nextInt(CATEGORIAS.length)], "PT", (long) r.nextInt(1_000_000));
+            catalogo.add(m);
+            sequencia.put(m, (long) i);
+        }
+
+        Predicate<Midia> filtro = m -> GerenciadorMidia.normalizarCategoria(m.getCategoria()).equals("ação")
+                && m.getTamanhoDisco() >= 100_000;
+        Comparator<Midia> ordem = Comparator.comparing(Midia::getTitulo)
+                .thenComparingLong(sequencia::get);
+
+        System.out.printf("threads no pool comum: %d%n", ForkJoinPool.getCommonPoolParallelism());
+        System.out.printf("%10s %14s %14s %10s%n", "midias", "sequencial ms", "paralelo ms", "ganho");
+        for (int n : TAMANHOS) {
+            if (n > maximo) break;
+            List<Midia> trecho = catalogo.subList(0, n);
+            long sequencial = mediana(() -> consultar(trecho, filtro, ordem, Integer.MAX_VALUE));
+            long paralelo = mediana(() -> consultar(trecho, filtro, ordem, 0));
+            System.out.printf("%10d %14.2f %14.2f %9.2fx%n",
+                    n, sequencial / 1e6, paralelo / 1e6, (double) sequencial / Math.max(1, paralelo));
+        }
+    }
+
+    private static int consultar(List<Midia> fonte, Predicate<Midia> filtro, Comparator<Midia> ordem, int limiar) {
+        List<Midia> resultado = ExecucaoParalela.filtrar(fonte, filtro, limiar);
+        ExecucaoParalela.ordenar(resultado, ordem, limiar);
+        return resultado.size();
+    }
+
+    /**
+     * Mediana, em nanossegundos, após duas execuções de aquecimento.
+     */
+    private static long mediana(Runnable acao) {
+        acao.run();
+        acao.run();
+        long[] tempos = new long[REPETICOES];
+        for (int i = 0; i < REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            acao.run();
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return tempos[REPETICOES / 2];
+    }
+}
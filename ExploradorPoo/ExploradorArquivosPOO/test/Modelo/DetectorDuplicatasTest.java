@@ -0,0 +1,85 @@
+package Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testes da detecção de arquivos duplicados ({@link DetectorDuplicatas}).
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see DetectorDuplicatas
+ */
+public class DetectorDuplicatasTest {
+
+    private final String ARQUIVO_DB = "duplicatas_teste.csv";
+    private File pasta;
+    private GerenciadorMidia gerenciador;
+
+    @Before
+    public void setUp() {
+        pasta = new File("temp_test_duplicatas").getAbsoluteFile();
+        pasta.mkdirs();
+        gerenciador = new GerenciadorMidia(ARQUIVO_DB);
+    }
+
+    @After
+    public void tearDown() {
+        gerenciador.fechar();
+        File[] filhos = pasta.listFiles();
+        if (filhos != null) for (File c : filhos) c.delete();
+        pasta.delete();
+        for (String sufixo : new String[]{"", ".diario", ".diario.compactando", ".tmp", ".1", ".2", ".hashes"}) {
+            new File(ARQUIVO_DB + sufixo).delete();
+        }
+    }
+
+    private Midia criar(String nome, byte[] conteudo) throws Exception {
+        File arquivo = new File(pasta, nome + ".mkv");
+        Files.write(arquivo.toPath(), conteudo);
+        Midia m = new Filme(nome, arquivo.getPath(), 90, "Ação", "Inglês", String.valueOf(conteudo.length));
+        gerenciador.adicionarMidia(m);
+        return m;
+    }
+
+    /**
+     * Só arquivos de conteúdo idêntico são agrupados, mesmo quando tamanho, início e fim coincidem;
+     * uma segunda execução reaproveita o cache e não lê nada do disco.
+     */
+    @Test
+    public void testDetectaEReaproveitaCache() throws Exception {
+        byte[] grande = new byte[500_000];
+        new Random(1).nextBytes(grande);
+        byte[] quaseIgual = grande.clone();
+        quaseIgual[250_000]++; // Mesmo tamanho, início e fim: só o hash completo separa
+
+        Midia a = criar("A", grande);
+        Midia b = criar("B", grande);
+        criar("C", quaseIgual);
+        Midia p1 = criar("P1", new byte[]{1, 2, 3});
+        Midia p2 = criar("P2", new byte[]{1, 2, 3});
+        criar("Unico", new byte[]{9});
+
+        DetectorDuplicatas detector = new DetectorDuplicatas(gerenciador);
+        List<DetectorDuplicatas.Grupo> grupos = detector.detectar();
+
+        assertEquals(2, grupos.size());
+        assertEquals(List.of(a, b), grupos.get(0).getMidias()); // Maior desperdício primeiro
+        assertEquals(500_000, grupos.get(0).getEspacoDesperdicado());
+        assertEquals(List.of(p1, p2), grupos.get(1).getMidias());
+        assertTrue(detector.getBytesLidos() > 0);
+
+        DetectorDuplicatas novo = new DetectorDuplicatas(gerenciador);
+        novo.setParalelismo(1);
+        assertEquals(2, novo.detectar().size());
+        assertEquals(0, novo.getBytesLidos());
+        assertTrue(novo.getAcertosCache() > 0);
+    }
+}
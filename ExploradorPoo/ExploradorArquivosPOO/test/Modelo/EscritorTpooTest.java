@@ -0,0 +1,92 @@
+package Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Testes da gravação assíncrona de arquivos .tpoo ({@link EscritorTpoo}).
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see EscritorTpoo
+ */
+public class EscritorTpooTest {
+
+    private File pasta;
+    private EscritorTpoo escritor;
+
+    @Before
+    public void setUp() {
+        pasta = new File("temp_test_escritor").getAbsoluteFile();
+        new File(pasta, "a").mkdirs();
+        new File(pasta, "b").mkdirs();
+        escritor = new EscritorTpoo(4, 2);
+    }
+
+    @After
+    public void tearDown() {
+        escritor.fechar();
+        apagar(pasta);
+    }
+
+    private void apagar(File f) {
+        File[] filhos = f.listFiles();
+        if (filhos != null) for (File c : filhos) apagar(c);
+        f.delete();
+    }
+
+    /**
+     * Pedidos repetidos para o mesmo arquivo resultam no conteúdo do último pedido;
+     * a fila limitada não impede pedidos em vários diretórios.
+     */
+    @Test
+    public void testUltimoPedidoPrevalece() throws Exception {
+        Path alvo = pasta.toPath().resolve("a").resolve("Matrix");
+        for (int i = 0; i < 200; i++) {
+            escritor.gravar(alvo, "versao " + i);
+            escritor.gravar(pasta.toPath().resolve(i % 2 == 0 ? "a" : "b").resolve("outro" + i), "x");
+        }
+        escritor.aguardar();
+
+        assertEquals("versao 199", Files.readString(alvo));
+        assertEquals(EscritorTpoo.Status.ESCRITO, escritor.getStatus(alvo));
+        assertEquals(201, new File(pasta, "a").list().length + new File(pasta, "b").list().length);
+
+        escritor.apagar(alvo);
+        escritor.aguardar();
+        assertFalse(Files.exists(alvo));
+    }
+
+    /**
+     * Uma gravação impossível é repetida e termina como falha, sem afetar as demais.
+     */
+    @Test
+    public void testFalhaAposTentativas() throws Exception {
+        // O "diretório" pai é um arquivo comum, então a gravação sempre falha
+        Path bloqueio = pasta.toPath().resolve("bloqueio");
+        Files.writeString(bloqueio, "");
+        Path impossivel = bloqueio.resolve("Matrix");
+        Path possivel = pasta.toPath().resolve("b").resolve("Som");
+
+        escritor.gravar(impossivel, "x");
+        escritor.gravar(possivel, "y");
+        escritor.aguardar();
+
+        assertEquals(EscritorTpoo.Status.FALHOU, escritor.getStatus(impossivel));
+        assertEquals(EscritorTpoo.Status.ESCRITO, escritor.getStatus(possivel));
+        assertEquals(1, escritor.getQuantidadeFalhas());
+
+        Files.delete(bloqueio);
+        Files.createDirectory(bloqueio);
+        escritor.tentarNovamenteFalhas();
+        escritor.aguardar();
+        assertEquals(EscritorTpoo.Status.ESCRITO, escritor.getStatus(impossivel));
+        assertEquals("x", Files.readString(impossivel));
+    }
+}
@@ -0,0 +1,74 @@
+package Modelo;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Testes da filtragem e ordenação paralelas ({@link ExecucaoParalela}): o resultado precisa ser
+ * idêntico ao da execução sequencial, inclusive a ordem e os empates.
+ * <p>
+ * Com um único processador o pool comum não é dividido; para exercitar o caminho paralelo
+ * nessas máquinas, rode com {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism=4}.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see ExecucaoParalela
+ */
+public class ExecucaoParalelaTest {
+
+    private static List<Midia> gerar(int n) {
+        Random r = new Random(3);
+        List<Midia> midias = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            midias.add(new Filme("T" + r.nextInt(500), "/p/" + i + ".mkv", r.nextInt(200), "Ação", "PT", (long) r.nextInt(50)));
+        }
+        return midias;
+    }
+
+    /**
+     * A filtragem em blocos devolve as mesmas mídias, na ordem original, para vários tamanhos
+     * (inclusive um último bloco incompleto).
+     */
+    @Test
+    public void testFiltrarPreservaOrdem() {
+        Predicate<Midia> filtro = m -> m.getDuracao() % 3 == 0;
+        for (int n : new int[]{0, 1, 4095, 4096, 50_001}) {
+            List<Midia> fonte = gerar(n);
+            assertEquals(ExecucaoParalela.filtrar(fonte, filtro, Integer.MAX_VALUE),
+                    ExecucaoParalela.filtrar(fonte, filtro, 0));
+        }
+    }
+
+    /**
+     * A ordenação paralela é estável: empates mantêm a ordem de entrada.
+     */
+    @Test
+    public void testOrdenarEstavel() {
+        List<Midia> fonte = gerar(30_000);
+        Comparator<Midia> porTamanho = Comparator.comparingLong(Midia::getTamanhoDisco);
+
+        List<Midia> sequencial = new ArrayList<>(fonte);
+        ExecucaoParalela.ordenar(sequencial, porTamanho, Integer.MAX_VALUE);
+        List<Midia> paralela = new ArrayList<>(fonte);
+        ExecucaoParalela.ordenar(paralela, porTamanho, 0);
+
+        assertEquals(sequencial, paralela);
+        Map<Midia, Integer> posicao = new IdentityHashMap<>();
+        for (int i = 0; i < fonte.size(); i++) posicao.put(fonte.get(i), i);
+        for (int i = 1; i < paralela.size(); i++) {
+            Midia a = paralela.get(i - 1);
+            Midia b = paralela.get(i);
+            assertTrue(a.getTamanhoDisco() < b.getTamanhoDisco()
+                    || (a.getTamanhoDisco() == b.getTamanhoDisco() && posicao.get(a) < posicao.get(b)));
+        }
+    }
+}
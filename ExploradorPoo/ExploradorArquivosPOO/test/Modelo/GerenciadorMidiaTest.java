@@ -8,6 +8,13 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 /**
@@ -88,12 +95,22 @@ public class GerenciadorMidiaTest {
             pastaTemporaria.delete();
         }
 
-        // 3. Limpa o arquivo de persistência (Banco de dados)
+        // 3. Limpa o arquivo de persistência (Banco de dados) e o diário de mutações
+        gerenciador.fechar();
         new File(ARQUIVO_DB).delete();
+        new File(ARQUIVO_DB + ".diario").delete();
+        new File(ARQUIVO_DB + ".diario.compactando").delete();
+        new File(ARQUIVO_DB + ".tmp").delete();
+        for (int i = 1; i <= GerenciadorMidia.GERACOES_ANTERIORES; i++) {
+            new File(ARQUIVO_DB + "." + i).delete();
+        }
 
         // 4. Limpa arquivos .tpoo auxiliares gerados pelo sistema
         new File("matrix.tpoo").delete();
         new File("Matrix.tpoo").delete();
+        new File("Matrix").delete();
+        new File("Som").delete();
+        new File("Texto").delete();
     }
 
     // --- TESTES BÁSICOS ---
@@ -194,8 +211,8 @@ public class GerenciadorMidiaTest {
     /**
      * Testa a persistência correta do atributo 'Tamanho'.
      * <p>
-     * Cria uma mídia, define um tamanho específico ("999"), salva no banco e então
-     * lê o arquivo CSV bruto para garantir que o valor "999" foi escrito.
+     * Cria uma mídia, define um tamanho específico (999 bytes), salva no banco e então
+     * reabre o gerenciador (base + diário) para garantir que o valor 999 foi persistido.
      * </p>
      * @throws Exception Em caso de falha de I/O.
      */
@@ -209,19 +226,604 @@ public class GerenciadorMidiaTest {
         Midia m = new Filme("TituloTeste", nomeArq, 120, "Ação", "PT-BR", "999");
         gm.adicionarMidia(m);
 
-        // Verifica se salvou "999" no CSV
-        File csv = new File(ARQUIVO_DB);
-        assertTrue(csv.exists());
+        // Verifica se o 999 sobrevive à reabertura
+        Midia recarregada = new GerenciadorMidia().buscarMidiaPorLocal(nomeArq);
+        assertNotNull("Mídia deve ser recarregada do disco", recarregada);
+        assertEquals(999, recarregada.getTamanhoDisco());
+    }
+
+    /**
+     * Testa a conversão de tamanhos digitados (com e sem unidade) para bytes.
+     */
+    @Test
+    public void testConverterTamanho() {
+        assertEquals(4096, Midia.converterTamanho("4096"));
+        assertEquals(2_684_354_560L, Midia.converterTamanho("2.5 GB"));
+        assertEquals(5L << 20, Midia.converterTamanho("5MB"));
+        assertEquals(1536, Midia.converterTamanho("1,5 kb"));
+        assertEquals(0, Midia.converterTamanho("grande"));
+        assertEquals("1.5 KB", Midia.formatarTamanho(1536).replace(',', '.'));
+    }
+
+    /**
+     * Testa a releitura em lote do tamanho real dos arquivos, e a ordenação e o filtro por tamanho.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testAtualizarAtributosDoDisco() throws Exception {
+        File pequeno = new File(pastaTemporaria, "Texto");
+        File grande = new File(pastaTemporaria, "TituloTeste.tpoo");
+        java.nio.file.Files.write(pequeno.toPath(), new byte[10]);
+        java.nio.file.Files.write(grande.toPath(), new byte[300]);
+
+        GerenciadorMidia gm = gerenciador;
+        Midia a = new Filme("Som", pequeno.getPath(), 90, "Ação", "PT", 0L);
+        Midia b = new Filme("Matrix", grande.getPath(), 90, "Ação", "PT", 300L);
+        gm.adicionarMidia(a);
+        gm.adicionarMidia(b);
+
+        assertEquals(1, gm.atualizarAtributosDoDisco(List.of(a, b))); // Só o pequeno mudou
+        assertEquals(10, a.getTamanhoDisco());
+        assertTrue(a.getUltimaModificacao() > 0);
+
+        assertEquals(List.of(b, a), gm.getMidiasFiltradas("Todos", "", "Tamanho (Maior primeiro)"));
+        assertEquals(List.of(b), gm.getMidiasFiltradas("Todos", "", null, 100));
+    }
+
+    /**
+     * Testa as consultas por faixa de duração e tamanho e o top-N, inclusive depois
+     * de edições e de mudanças de tamanho (índices ordenados mantidos incrementalmente).
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testConsultasPorFaixa() throws Exception {
+        String pasta = pastaTemporaria.getAbsolutePath() + File.separator;
+        Midia curta = new Musica(pasta + "a.mp3", "Som", "Rock", 3, "Banda", 500L);
+        Midia longa = new Filme("Matrix", pasta + "b.mkv", 136, "Ação", "EN", 9000L);
+        Midia media = new Livro(pasta + "c.pdf", "Texto", "Ficção", 60, "Autor", 500L);
+        gerenciador.adicionarMidia(curta);
+        gerenciador.adicionarMidia(longa);
+        gerenciador.adicionarMidia(media);
+
+        assertEquals(List.of(curta, media), gerenciador.getMidiasPorDuracao("Todos", 0, 100));
+        assertEquals(List.of(media), gerenciador.getMidiasPorDuracao("Livro", 0, 100));
+        assertEquals(List.of(curta, media), gerenciador.getMidiasPorTamanho("Todos", 500, 500));
+        assertEquals(List.of(longa, curta), gerenciador.getMaiores("Todos", 2)); // Empate na ordem do catálogo
+        assertEquals(List.of(longa), gerenciador.getMaisLongas("Todos", 1));
+
+        // Edição e novo tamanho reposicionam a mídia nos índices
+        Midia editada = new Filme("Matrix", longa.getLocal(), 20, "Ação", "EN", 9000L);
+        gerenciador.editarMidia(longa, editada);
+        gerenciador.atualizarTamanhos(Map.of(curta, 1L));
+        assertEquals(List.of(curta, editada, media), gerenciador.getMidiasPorDuracao("Todos", 0, 100));
+        assertEquals(List.of(editada, media, curta), gerenciador.getMidiasFiltradas("Todos", "", "Tamanho (Maior primeiro)"));
+        assertEquals(List.of(curta, editada, media), gerenciador.getMidiasFiltradas("Todos", "", "Duração"));
+
+        gerenciador.removerMidia(editada);
+        assertEquals(List.of(media, curta), gerenciador.getMaiores("Todos", 5));
+        assertTrue(gerenciador.getMidiasPorDuracao("Filme", 0, 1000).isEmpty());
+    }
+
+    /**
+     * Testa que a busca textual acompanha a edição e a remoção de mídias.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testBuscaTextualAcompanhaMutacoes() throws Exception {
+        String pasta = pastaTemporaria.getAbsolutePath() + File.separator;
+        Midia filme = new Filme("Matrix", pasta + "m.mkv", 136, "Ação", "Inglês", 1L);
+        gerenciador.adicionarMidia(filme);
+        assertEquals(List.of(filme), gerenciador.buscarTexto("matr ingles"));
+
+        Midia editado = new Filme("Matrix", filme.getLocal(), 136, "Ação", "Português", 1L);
+        gerenciador.editarMidia(filme, editado);
+        assertTrue(gerenciador.buscarTexto("ingles").isEmpty());
+        assertEquals(List.of(editado), gerenciador.buscarTexto("portugues"));
+
+        gerenciador.removerMidia(editado);
+        assertTrue(gerenciador.buscarTexto("matrix").isEmpty());
+    }
+
+    /**
+     * Testa que a busca aproximada, cujo índice só é montado na primeira consulta,
+     * encontra as mídias já cadastradas e acompanha as mutações seguintes.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testBuscaAproximadaAcompanhaMutacoes() throws Exception {
+        String pasta = pastaTemporaria.getAbsolutePath() + File.separator;
+        Midia filme = new Filme("Matrix_Reloaded", pasta + "m.mkv", 136, "Ação", "Inglês", 1L);
+        gerenciador.adicionarMidia(filme);
+        assertEquals(List.of(filme), gerenciador.buscarAproximado("matrx reloded", 10));
+
+        Midia outro = new Filme("Cidade de Deus", pasta + "c.mkv", 130, "Drama", "Português", 1L);
+        gerenciador.adicionarMidia(outro);
+        assertEquals(List.of(outro), gerenciador.buscarAproximado("cidade deus", 10));
+
+        gerenciador.removerMidia(filme);
+        assertTrue(gerenciador.buscarAproximado("matrx reloded", 10).isEmpty());
+    }
+
+    /**
+     * Testa que as buscas com os filtros da tela devolvem o mesmo que filtrar a lista completa.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testBuscasComFiltrosDaTela() throws Exception {
+        String pasta = pastaTemporaria.getAbsolutePath() + File.separator;
+        Midia curto = new Filme("Matrix", pasta + "a.mkv", 90, "Ação", "Inglês", 500L);
+        Midia longo = new Filme("Matrix Reloaded", pasta + "b.mkv", 138, "Ação", "Inglês", 50L);
+        Midia drama = new Filme("Matrix Drama", pasta + "c.mkv", 100, "Drama", "Inglês", 500L);
+        Midia musica = new Musica(pasta + "d.mp3", "Matrix Tema", "Ação", 4, "Banda", 500L);
+        gerenciador.adicionarMidias(List.of(curto, longo, drama, musica));
+
+        assertEquals(List.of(curto, longo), gerenciador.buscarTexto("matrix", "Filme", "ação", "Duração", 0));
+        assertEquals(List.of(curto), gerenciador.buscarTexto("matrix", "Filme", "Ação", "", 100));
+        assertTrue(gerenciador.buscarTexto("matrix", "Livro", "", "", 0).isEmpty());
+
+        List<Midia> aproximadas = gerenciador.buscarAproximado("matrx", 10, "Todos", "", 100);
+        assertFalse(aproximadas.contains(longo));
+        assertTrue(aproximadas.containsAll(List.of(curto, drama, musica)));
+        assertEquals(List.of(drama), gerenciador.buscarAproximado("matrx", 10, "Filme", "drama", 0));
+    }
+
+    /**
+     * Testa que os ouvintes recebem, em ordem, um evento tipado por alteração com as mídias afetadas.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testOuvinteRecebeEventos() throws Exception {
+        List<EventoCatalogo> recebidos = new ArrayList<>();
+        gerenciador.adicionarOuvinte(recebidos::addAll);
+
+        String pasta = pastaTemporaria.getAbsolutePath() + File.separator;
+        Midia filme = new Filme("Matrix", pasta + "m.mkv", 136, "Ação", "Inglês", 1L);
+        gerenciador.adicionarMidia(filme);
+        Midia editado = new Filme("Matrix", filme.getLocal(), 140, "Ação", "Inglês", 1L);
+        gerenciador.editarMidia(filme, editado);
+        gerenciador.atualizarTamanhos(Map.of(editado, 5L));
+        gerenciador.relocalizarMidias(Map.of(editado, pasta + "n.mkv"));
+        gerenciador.removerMidia(editado);
+        gerenciador.removerMidia(editado); // Já removida: nenhum evento
+
+        assertEquals(5, recebidos.size());
+        assertEquals(EventoCatalogo.Tipo.ADICIONADAS, recebidos.get(0).getTipo());
+        assertEquals(List.of(filme), recebidos.get(0).getMidias());
+        assertEquals(EventoCatalogo.Tipo.ATUALIZADAS, recebidos.get(1).getTipo());
+        assertEquals(List.of(editado), recebidos.get(1).getMidias());
+        assertEquals(List.of(filme), recebidos.get(1).getAnteriores());
+        assertEquals(EventoCatalogo.Tipo.ATUALIZADAS, recebidos.get(2).getTipo());
+        assertEquals(EventoCatalogo.Tipo.MOVIDAS, recebidos.get(3).getTipo());
+        assertEquals(EventoCatalogo.Tipo.REMOVIDAS, recebidos.get(4).getTipo());
+        assertEquals(List.of(editado), recebidos.get(4).getMidias());
+    }
+
+    /**
+     * Testa a paginação: percorrer as páginas pelo cursor reproduz a consulta completa em todas
+     * as ordens, e o deslocamento devolve o trecho correspondente.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testPaginacaoReproduzConsultaCompleta() throws Exception {
+        String pasta = pastaTemporaria.getAbsolutePath() + File.separator;
+        List<Midia> novas = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            String titulo = "Titulo " + (char) ('A' + i % 5);
+            if (i % 3 == 0) novas.add(new Filme(titulo, pasta + i + ".mkv", i % 4 * 30, "Ação", "EN", i % 6 * 100L));
+            else novas.add(new Musica(pasta + i + ".mp3", titulo, i % 2 == 0 ? "Rock" : "Pop", i % 4, "Banda", i % 6 * 100L));
+        }
+        gerenciador.adicionarMidias(novas);
+
+        for (String ordem : new String[]{null, "Alfabética", "Duração", "Tamanho (Maior primeiro)"}) {
+            for (String tipo : new String[]{"Todos", "Musica"}) {
+                for (String categoria : new String[]{"", "rock"}) {
+                    List<Midia> esperado = gerenciador.getMidiasFiltradas(tipo, categoria, ordem, 100);
+                    List<Midia> paginado = new ArrayList<>();
+                    Pagina pagina = gerenciador.getPaginaSeguinte(tipo, categoria, ordem, 100, null, 4);
+                    paginado.addAll(pagina.getItens());
+                    while (pagina.temProxima()) {
+                        pagina = gerenciador.getPaginaSeguinte(tipo, categoria, ordem, 100, pagina.getProxima(), 4);
+                        paginado.addAll(pagina.getItens());
+                    }
+                    assertEquals(ordem + "/" + tipo + "/" + categoria, esperado, paginado);
 
+                    int fim = Math.min(esperado.size(), 8);
+                    assertEquals(esperado.subList(Math.min(5, fim), fim),
+                            gerenciador.getPagina(tipo, categoria, ordem, 100, 5, 3).getItens());
+                }
+            }
+        }
+    }
+
+    /**
+     * Testa que o cursor continua válido quando o catálogo muda entre uma página e outra:
+     * nada se repete nem é pulado, mesmo que a última mídia entregue tenha sido removida.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testCursorEstavelComAlteracoes() throws Exception {
+        String pasta = pastaTemporaria.getAbsolutePath() + File.separator;
+        List<Midia> novas = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            novas.add(new Filme("Filme " + i, pasta + i + ".mkv", 10 * i, "Ação", "EN", 1L));
+        }
+        gerenciador.adicionarMidias(novas);
+
+        Pagina primeira = gerenciador.getPaginaSeguinte("Filme", "", null, 0, null, 3);
+        assertEquals(novas.subList(0, 3), primeira.getItens());
+
+        // Remove a última entregue e uma anterior, e inclui uma nova no fim
+        gerenciador.removerMidias(List.of(novas.get(0), novas.get(2)));
+        Midia nova = new Filme("Filme 6", pasta + "6.mkv", 5, "Ação", "EN", 1L);
+        gerenciador.adicionarMidia(nova);
+
+        Pagina segunda = gerenciador.getPaginaSeguinte("Filme", "", null, 0, primeira.getProxima(), 3);
+        assertEquals(List.of(novas.get(3), novas.get(4), novas.get(5)), segunda.getItens());
+        Pagina terceira = gerenciador.getPaginaSeguinte("Filme", "", null, 0, segunda.getProxima(), 3);
+        assertEquals(List.of(nova), terceira.getItens());
+        assertFalse(terceira.temProxima());
+
+        // Por duração, o cursor retoma depois da chave mesmo com a mídia removida
+        Pagina porDuracao = gerenciador.getPaginaSeguinte("Todos", "", "Duração", 0, null, 2);
+        assertEquals(List.of(nova, novas.get(1)), porDuracao.getItens());
+        gerenciador.removerMidia(novas.get(1));
+        assertEquals(List.of(novas.get(3), novas.get(4)),
+                gerenciador.getPaginaSeguinte("Todos", "", "Duração", 0, porDuracao.getProxima(), 2).getItens());
+
+        // Por título, idem
+        Pagina porTitulo = gerenciador.getPaginaSeguinte("Todos", "", "Alfabética", 0, null, 2);
+        assertEquals(List.of(novas.get(3), novas.get(4)), porTitulo.getItens());
+        gerenciador.removerMidia(novas.get(4));
+        assertEquals(List.of(novas.get(5), nova),
+                gerenciador.getPaginaSeguinte("Todos", "", "Alfabética", 0, porTitulo.getProxima(), 2).getItens());
+    }
+
+    /**
+     * Testa que um cursor não pode ser usado com outra ordenação.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCursorDeOutraOrdenacao() throws Exception {
+        gerenciador.adicionarMidia(filmeTeste);
+        gerenciador.adicionarMidia(new Filme("Outro", pastaTemporaria.getAbsolutePath() + File.separator + "o.mkv", 90, "Drama", "PT", 1L));
+        Pagina pagina = gerenciador.getPaginaSeguinte("Todos", "", "Duração", 0, null, 1);
+        gerenciador.getPaginaSeguinte("Todos", "", "Alfabética", 0, pagina.getProxima(), 1);
+    }
+
+    /**
+     * Testa que editar, mover e renomear recusam um caminho que já pertence a outra mídia,
+     * sem alterar o catálogo nem sobrescrever o arquivo da outra.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testOperacoesRecusamCaminhoDeOutraMidia() throws Exception {
+        File outro = new File(pastaTemporaria, NOME_BASE_ARQUIVO);
+        java.nio.file.Files.writeString(outro.toPath(), "outra");
+        Midia outra = new Filme("Outra", outro.getPath(), 90, "Drama", "PT", 5L);
+        gerenciador.adicionarMidia(filmeTeste);
+        gerenciador.adicionarMidia(outra);
+
+        try {
+            gerenciador.editarMidia(filmeTeste, new Filme("Matrix", outro.getPath(), 120, "Ação", "Inglês", 0L));
+            fail("Edição para o caminho de outra mídia deveria ser recusada");
+        } catch (MidiaJaCadastradaException esperado) {
+            assertSame(filmeTeste, gerenciador.buscarMidiaPorLocal(NOME_BASE_ARQUIVO));
+        }
+
+        try {
+            gerenciador.moverMidia(filmeTeste, pastaTemporaria.getAbsolutePath());
+            fail("Movimentação para cima de outra mídia deveria ser recusada");
+        } catch (MidiaJaCadastradaException esperado) {
+            assertTrue(new File(NOME_BASE_ARQUIVO).exists());
+        }
+
+        File solto = new File("arquivo_solto.tpoo");
+        java.nio.file.Files.writeString(solto.toPath(), "solto");
+        try {
+            gerenciador.renomearArquivoMidia(filmeTeste, "arquivo_solto");
+            fail("Renomear para cima de um arquivo existente deveria ser recusado");
+        } catch (excecoes.ErroPersistenciaException esperado) {
+            assertEquals("solto", java.nio.file.Files.readString(solto.toPath()));
+            assertTrue(new File(NOME_BASE_ARQUIVO).exists());
+        } finally {
+            solto.delete();
+        }
+
+        assertSame(outra, gerenciador.buscarMidiaPorLocal(outro.getPath()));
+        assertEquals("outra", java.nio.file.Files.readString(outro.toPath()));
+        assertEquals(NOME_BASE_ARQUIVO, filmeTeste.getLocal());
+    }
+
+    /**
+     * Testa que o índice por caminho reconhece formas equivalentes do mesmo caminho,
+     * tanto na busca quanto na verificação de duplicidade.
+     * @throws Exception Se a exceção esperada não ocorrer ou ocorrer outro erro.
+     */
+    @Test(expected = MidiaJaCadastradaException.class)
+    public void testIndicePorLocalNormalizaCaminho() throws Exception {
+        gerenciador.adicionarMidia(filmeTeste);
+        assertSame(filmeTeste, gerenciador.buscarMidiaPorLocal("./" + NOME_BASE_ARQUIVO));
+        assertSame(filmeTeste, gerenciador.buscarMidiaPorLocal(new File(NOME_BASE_ARQUIVO).getAbsolutePath()));
+
+        gerenciador.adicionarMidia(new Filme("Outro", "./" + NOME_BASE_ARQUIVO, 90, "Drama", "PT"));
+    }
+
+    /**
+     * Testa que os filtros por tipo e categoria (via índices secundários) acompanham
+     * as mutações e preservam a ordem do catálogo.
+     * @throws Exception Em caso de falha inesperada.
+     */
+    @Test
+    public void testFiltroPorTipoECategoriaAcompanhaMutacoes() throws Exception {
+        Musica musica = new Musica("musica_teste.mp3", "Som", "Rock", 200, "Banda");
+        Filme outroFilme = new Filme("Duna", "duna_teste.mp4", 150, "ação", "Inglês");
+        gerenciador.adicionarMidia(filmeTeste);
+        gerenciador.adicionarMidia(musica);
+        gerenciador.adicionarMidia(outroFilme);
+
+        assertEquals(List.of(filmeTeste, outroFilme), gerenciador.getMidiasFiltradas("Filme", "", null));
+        assertEquals(List.of(filmeTeste, outroFilme), gerenciador.getMidiasFiltradas("Todos", "AÇÃO", null));
+        assertEquals(List.of(musica), gerenciador.getMidiasFiltradas("Musica", "rock", null));
+
+        Filme editado = new Filme("Matrix", NOME_BASE_ARQUIVO, 120, "Drama", "Inglês", "0");
+        gerenciador.editarMidia(filmeTeste, editado);
+        assertEquals(List.of(outroFilme), gerenciador.getMidiasFiltradas("Filme", "Ação", null));
+        assertEquals(List.of(editado, outroFilme), gerenciador.getMidiasFiltradas("Filme", "", null));
+
+        gerenciador.removerMidia(outroFilme);
+        assertTrue(gerenciador.getMidiasFiltradas("Todos", "Ação", null).isEmpty());
+    }
+
+    // --- DIÁRIO DE MUTAÇÕES E GERAÇÕES DO CATÁLOGO ---
+
+    /**
+     * Testa que as operações são gravadas no diário, sem reescrever o CSV base,
+     * e que o diário é reproduzido na reabertura.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testDiarioReproduzidoAoReabrir() throws Exception {
+        gerenciador.adicionarMidia(filmeTeste);
+        gerenciador.moverMidia(filmeTeste, pastaTemporaria.getAbsolutePath());
+
+        assertEquals("CSV base não deve ser reescrito", 0, new File(ARQUIVO_DB).length());
+        assertTrue("Diário deve existir", new File(ARQUIVO_DB + ".diario").length() > 0);
+
+        GerenciadorMidia reaberto = new GerenciadorMidia();
+        assertNull(reaberto.buscarMidiaPorLocal(NOME_BASE_ARQUIVO));
+        assertNotNull(reaberto.buscarMidiaPorLocal(filmeTeste.getLocal()));
+    }
+
+    /**
+     * Testa que um registro incompleto no fim do diário (gravação interrompida por uma queda)
+     * é descartado ao reabrir, em vez de engolir o próximo registro anexado.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testDiarioDescartaRegistroIncompleto() throws Exception {
+        gerenciador.adicionarMidia(filmeTeste);
+        gerenciador.fechar();
+        File arquivoDiario = new File(ARQUIVO_DB + ".diario");
+        long tamanhoValido = arquivoDiario.length();
+        Files.write(arquivoDiario.toPath(), "A;Filme;Fragm".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        gerenciador = new GerenciadorMidia();
+        assertEquals(tamanhoValido, arquivoDiario.length());
+        File som = new File(pastaTemporaria, "Som.tpoo");
+        som.createNewFile();
+        gerenciador.adicionarMidia(new Musica(som.getAbsolutePath(), "Som", "Rock", 3, "Banda", 0L));
+
+        GerenciadorMidia reaberto = new GerenciadorMidia();
+        assertNotNull(reaberto.buscarMidiaPorLocal(NOME_BASE_ARQUIVO));
+        assertNotNull(reaberto.buscarMidiaPorLocal(som.getAbsolutePath()));
+        reaberto.fechar();
+    }
+
+    /**
+     * Testa que a compactação incorpora o diário ao CSV base e esvazia o diário.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testCompactacaoIncorporaDiarioNaBase() throws Exception {
+        gerenciador.adicionarMidia(filmeTeste);
+        gerenciador.compactar();
+
+        assertFalse("Diário deve ser esvaziado", new File(ARQUIVO_DB + ".diario").exists());
         boolean achou = false;
-        try (Scanner sc = new Scanner(csv)) {
+        try (Scanner sc = new Scanner(new File(ARQUIVO_DB))) {
             while (sc.hasNextLine()) {
-                if (sc.nextLine().contains("999")) {
+                if (sc.nextLine().contains("Matrix")) {
                     achou = true; break;
                 }
             }
         }
-        assertTrue("CSV deve conter o tamanho 999", achou);
+        assertTrue("CSV base deve conter a mídia compactada", achou);
+        assertNotNull(new GerenciadorMidia().buscarMidiaPorLocal(NOME_BASE_ARQUIVO));
+    }
+
+
+    /**
+     * Testa que compactações simultâneas, intercaladas com mutações, não perdem registros.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testCompactacoesSimultaneasNaoPerdemRegistros() throws Exception {
+        gerenciador.setLimiteCompactacao(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> erros = Collections.synchronizedList(new ArrayList<>());
+        for (int t = 0; t < 4; t++) {
+            int fio = t;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20; i++) {
+                        String local = new File(pastaTemporaria, fio + "_" + i + ".bin").getAbsolutePath();
+                        gerenciador.adicionarMidia(new Filme("F" + fio + "_" + i, local, 90, "Ação", "PT", 0L));
+                        gerenciador.compactar();
+                    }
+                } catch (Throwable e) {
+                    erros.add(e);
+                }
+            }));
+        }
+        for (Thread t : threads) t.start();
+        for (Thread t : threads) t.join();
+        assertTrue(erros.toString(), erros.isEmpty());
+        gerenciador.fechar();
+
+        GerenciadorMidia reaberto = new GerenciadorMidia();
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 20; i++) {
+                assertNotNull(reaberto.buscarMidiaPorLocal(new File(pastaTemporaria, t + "_" + i + ".bin").getAbsolutePath()));
+            }
+        }
+        reaberto.fechar();
+    }
+
+    /**
+     * Testa que a gravação da base é atômica e mantém a geração anterior, e que uma base
+     * corrompida é detectada pelo checksum e substituída pela geração anterior na inicialização.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testBaseCorrompidaUsaGeracaoAnterior() throws Exception {
+        gerenciador.adicionarMidia(filmeTeste);
+        gerenciador.compactar();
+        Musica musica = new Musica("musica_teste.mp3", "Som", "Rock", 200, "Banda");
+        gerenciador.adicionarMidia(musica);
+        gerenciador.compactar();
+
+        assertTrue("Geração anterior deve existir", new File(ARQUIVO_DB + ".1").exists());
+        assertFalse("Temporário não deve sobrar", new File(ARQUIVO_DB + ".tmp").exists());
+
+        // Corrompe um byte no meio da base atual
+        try (java.io.RandomAccessFile raf = new java.io.RandomAccessFile(ARQUIVO_DB, "rw")) {
+            raf.seek(raf.length() / 2);
+            int b = raf.read();
+            raf.seek(raf.length() / 2);
+            raf.write(b == 'x' ? 'y' : 'x');
+        }
+
+        GerenciadorMidia reaberto = new GerenciadorMidia();
+        assertNotNull("Mídia da geração anterior deve ser carregada", reaberto.buscarMidiaPorLocal(NOME_BASE_ARQUIVO));
+        assertNull("Alteração posterior à geração anterior não está nela", reaberto.buscarMidiaPorLocal("musica_teste.mp3"));
+    }
+
+    /**
+     * No modo assíncrono a mutação só chega ao diário no descarregamento,
+     * e fechar o gerenciador grava o que ficou pendente.
+     */
+    @Test
+    public void testDurabilidadeAssincronaGravaNoDescarregamento() throws Exception {
+        gerenciador.setAtrasoGravacao(60_000);
+        gerenciador.setDurabilidade(Durabilidade.ASSINCRONA);
+        File arquivoDiario = new File(ARQUIVO_DB + ".diario");
+
+        gerenciador.adicionarMidia(filmeTeste);
+        assertTrue("Alteração deve ficar pendente", gerenciador.possuiAlteracoesPendentes());
+        assertFalse("Diário não deve ter sido gravado ainda", arquivoDiario.exists() && arquivoDiario.length() > 0);
+
+        gerenciador.descarregar();
+        assertFalse(gerenciador.possuiAlteracoesPendentes());
+        assertTrue("Diário deve conter a alteração", arquivoDiario.length() > 0);
+
+        Musica musica = new Musica("musica_teste.mp3", "Som", "Rock", 200, "Banda");
+        gerenciador.adicionarMidia(musica);
+        gerenciador.fechar();
+
+        GerenciadorMidia reaberto = new GerenciadorMidia();
+        assertNotNull(reaberto.buscarMidiaPorLocal(NOME_BASE_ARQUIVO));
+        assertNotNull("Fechar deve gravar o pendente", reaberto.buscarMidiaPorLocal("musica_teste.mp3"));
+        reaberto.fechar();
+    }
+
+    /**
+     * No modo em lote, a mutação retorna apenas depois de gravada.
+     */
+    @Test
+    public void testDurabilidadeLoteAguardaGravacao() throws Exception {
+        gerenciador.setAtrasoGravacao(20);
+        gerenciador.setDurabilidade(Durabilidade.LOTE);
+
+        gerenciador.adicionarMidia(filmeTeste);
+        assertFalse("Lote deve estar gravado ao retornar", gerenciador.possuiAlteracoesPendentes());
+        assertTrue(new File(ARQUIVO_DB + ".diario").length() > 0);
+    }
+
+    /**
+     * Testa que, depois de fechado, o gerenciador grava as mutações de forma síncrona
+     * em vez de recusá-las por falta do gravador em segundo plano.
+     * @throws Exception Em caso de falha de I/O.
+     */
+    @Test
+    public void testMutacoesDepoisDeFecharSaoGravadas() throws Exception {
+        gerenciador.setAtrasoGravacao(60_000);
+        gerenciador.setDurabilidade(Durabilidade.ASSINCRONA);
+        gerenciador.fechar();
+
+        gerenciador.adicionarMidia(filmeTeste);
+        assertFalse(gerenciador.possuiAlteracoesPendentes());
+        gerenciador.setDurabilidade(Durabilidade.LOTE);
+        Musica musica = new Musica("musica_teste.mp3", "Som", "Rock", 200, "Banda");
+        gerenciador.adicionarMidia(musica);
+        gerenciador.fechar();
+
+        GerenciadorMidia reaberto = new GerenciadorMidia();
+        assertNotNull(reaberto.buscarMidiaPorLocal(NOME_BASE_ARQUIVO));
+        assertNotNull(reaberto.buscarMidiaPorLocal("musica_teste.mp3"));
+        reaberto.fechar();
+    }
+
+    /**
+     * O lote informa o desfecho de cada item, aplica os válidos e grava o diário uma única vez.
+     */
+    @Test
+    public void testAdicionarRemoverEmLote() throws Exception {
+        gerenciador.adicionarMidia(filmeTeste);
+        Musica musica = new Musica("musica_teste.mp3", "Som", "Rock", 200, "Banda");
+        Livro livro = new Livro("livro_teste.pdf", "Texto", "Drama", 300, "Autor");
+        Filme repetido = new Filme("Outro", NOME_BASE_ARQUIVO, 90, "Ação", "Inglês");
+        long diarioAntes = new File(ARQUIVO_DB + ".diario").length();
+
+        ResultadoLote resultado = gerenciador.adicionarMidias(List.of(musica, repetido, livro, livro));
+
+        assertEquals(4, resultado.getItens().size());
+        assertEquals(ResultadoLote.Status.ADICIONADA, resultado.getItens().get(0).getStatus());
+        assertEquals(ResultadoLote.Status.DUPLICADA, resultado.getItens().get(1).getStatus());
+        assertEquals(ResultadoLote.Status.ADICIONADA, resultado.getItens().get(2).getStatus());
+        assertEquals("Repetida dentro do lote", ResultadoLote.Status.DUPLICADA, resultado.getItens().get(3).getStatus());
+        assertEquals(2, resultado.getTotalAplicados());
+        assertEquals(3, gerenciador.getMidiasFiltradas("Todos", "", null).size());
+        assertTrue(new File(ARQUIVO_DB + ".diario").length() > diarioAntes);
+
+        ResultadoLote remocao = gerenciador.removerMidias(List.of(musica, filmeTeste, musica));
+        assertEquals(2, remocao.contar(ResultadoLote.Status.REMOVIDA));
+        assertEquals(1, remocao.contar(ResultadoLote.Status.NAO_ENCONTRADA));
+
+        GerenciadorMidia reaberto = new GerenciadorMidia();
+        List<Midia> restantes = reaberto.getMidiasFiltradas("Todos", "", null);
+        assertEquals(1, restantes.size());
+        assertEquals("livro_teste.pdf", restantes.get(0).getLocal());
+        reaberto.fechar();
+    }
+
+    /**
+     * Edições em lote não podem ocupar o caminho de outra mídia.
+     */
+    @Test
+    public void testEditarEmLoteRecusaCaminhoEmUso() throws Exception {
+        Musica musica = new Musica("musica_teste.mp3", "Som", "Rock", 200, "Banda");
+        gerenciador.adicionarMidias(List.of(filmeTeste, musica));
+
+        java.util.Map<Midia, Midia> edicoes = new java.util.LinkedHashMap<>();
+        edicoes.put(filmeTeste, new Filme("Matrix", NOME_BASE_ARQUIVO, 136, "Ficção", "Inglês"));
+        edicoes.put(musica, new Musica(NOME_BASE_ARQUIVO, "Som", "Rock", 200, "Banda"));
+        ResultadoLote resultado = gerenciador.editarMidias(edicoes);
+
+        assertEquals(ResultadoLote.Status.EDITADA, resultado.getItens().get(0).getStatus());
+        assertEquals(ResultadoLote.Status.DUPLICADA, resultado.getItens().get(1).getStatus());
+        assertEquals(136, gerenciador.buscarMidiaPorLocal(NOME_BASE_ARQUIVO).getDuracao());
+        assertEquals(1, gerenciador.getMidiasFiltradas("Todos", "Ficção", null).size());
+        assertSame(musica, gerenciador.buscarMidiaPorLocal("musica_teste.mp3"));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package Modelo;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Testes do índice invertido de busca textual ({@link IndiceTextual}).
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see IndiceTextual
+ */
+public class IndiceTextualTest {
+
+    private final Map<Midia, Long> ordem = new IdentityHashMap<>();
+    private IndiceTextual indice;
+
+    @Before
+    public void setUp() {
+        indice = new IndiceTextual(ordem::get);
+    }
+
+    private Midia adicionar(Midia m) {
+        ordem.put(m, (long) ordem.size());
+        indice.indexar(m);
+        return m;
+    }
+
+    /**
+     * Testa a quebra em palavras, sem acentos e sem diferenciar maiúsculas.
+     */
+    @Test
+    public void testTokenizar() {
+        assertEquals(Set.of("acao", "no", "sertao", "2003"), IndiceTextual.tokenizar("Ação_no SERTÃO.2003"));
+        assertTrue(IndiceTextual.tokenizar(" - ").isEmpty());
+        assertTrue(IndiceTextual.tokenizar(null).isEmpty());
+    }
+
+    /**
+     * Testa a busca por prefixo, a combinação de termos com E, os campos próprios de
+     * cada tipo e a remoção do índice.
+     */
+    @Test
+    public void testBuscar() {
+        Midia matrix = adicionar(new Filme("Matrix Reloaded", "/f/matrix.mkv", 138, "Ação", "Inglês"));
+        Midia musica = adicionar(new Musica("/m/a.mp3", "Águas de Março", "MPB", 180, "Elis Regina"));
+        Midia livro = adicionar(new Livro("/l/b.pdf", "Memórias Póstumas", "Romance", 300, "Machado de Assis"));
+
+        assertEquals(List.of(matrix, musica, livro), indice.buscar("ma"));
+        assertEquals(List.of(musica), indice.buscar("aguas marco"));
+        assertEquals(List.of(matrix), indice.buscar("INGL rel"));
+        assertEquals(List.of(livro), indice.buscar("assis"));
+        assertTrue(indice.buscar("matrix elis").isEmpty());
+        assertTrue(indice.buscar("   ").isEmpty());
+
+        indice.desindexar(matrix);
+        assertEquals(List.of(musica, livro), indice.buscar("ma"));
+        assertTrue(indice.buscar("ingles").isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+package Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * Testes do .tpoo empacotado por diretório ({@link IndiceTpooDiretorio}) e do modo
+ * {@link ModoTpoo#EMPACOTADO} do {@link GerenciadorMidia}.
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see IndiceTpooDiretorio
+ */
+public class IndiceTpooDiretorioTest {
+
+    private final String ARQUIVO_DB = "indice_tpoo_teste.csv";
+    private File pasta;
+
+    @Before
+    public void setUp() {
+        pasta = new File("temp_test_indice_tpoo").getAbsoluteFile();
+        new File(pasta, "destino").mkdirs();
+    }
+
+    @After
+    public void tearDown() {
+        apagar(pasta);
+        for (String sufixo : new String[]{"", ".diario", ".diario.compactando", ".tmp", ".1", ".2"}) {
+            new File(ARQUIVO_DB + sufixo).delete();
+        }
+    }
+
+    private void apagar(File f) {
+        File[] filhos = f.listFiles();
+        if (filhos != null) for (File c : filhos) apagar(c);
+        f.delete();
+    }
+
+    /**
+     * Registros são alterados no lugar, realocados quando crescem e reaproveitam espaço livre.
+     */
+    @Test
+    public void testGravarAlterarApagarEReabrir() throws Exception {
+        Path dir = pasta.toPath();
+        File arquivo = new File(pasta, IndiceTpooDiretorio.NOME_ARQUIVO);
+        try (IndiceTpooDiretorio indice = IndiceTpooDiretorio.abrir(dir)) {
+            indice.gravar("a.mkv", "Titulo: A");
+            indice.gravar("b.mp3", "Titulo: B");
+            indice.gravar("a.mkv", "Titulo: A2");           // cabe no mesmo bloco
+            indice.gravar("b.mp3", "x".repeat(600));       // cresce e é realocado
+            indice.gravar("c.pdf", "Titulo: C");           // reaproveita o bloco livre de b
+            assertEquals("Titulo: A2", indice.ler("a.mkv"));
+        }
+        long tamanho = arquivo.length();
+
+        try (IndiceTpooDiretorio indice = IndiceTpooDiretorio.abrir(dir)) {
+            assertEquals(3, indice.getQuantidade());
+            assertEquals("Titulo: A2", indice.ler("a.mkv"));
+            assertEquals("x".repeat(600), indice.ler("b.mp3"));
+            assertEquals("Titulo: C", indice.ler("c.pdf"));
+            indice.apagar("a.mkv");
+            indice.gravar("d.epub", "Titulo: D");
+        }
+        assertEquals("Espaço livre deve ser reaproveitado", tamanho, arquivo.length());
+
+        try (IndiceTpooDiretorio indice = IndiceTpooDiretorio.abrir(dir)) {
+            assertNull(indice.ler("a.mkv"));
+            assertEquals("Titulo: D", indice.ler("d.epub"));
+        }
+    }
+
+    /**
+     * Um registro realocado para um espaço livre anterior ao seu continua com a versão nova ao reabrir.
+     */
+    @Test
+    public void testRealocacaoParaEspacoAnterior() throws Exception {
+        Path dir = pasta.toPath();
+        try (IndiceTpooDiretorio indice = IndiceTpooDiretorio.abrir(dir)) {
+            indice.gravar("a.mkv", "Titulo: A");
+            indice.gravar("b.mp3", "Titulo: B");
+            indice.gravar("c.pdf", "Titulo: C");
+            indice.apagar("a.mkv");
+            indice.apagar("b.mp3");
+            indice.gravar("c.pdf", "y".repeat(400));      // ocupa os blocos livres de a e b
+        }
+        // Cabeçalho de 16 bytes e os 3 blocos originais: nada foi anexado ao fim
+        assertEquals(16 + IndiceTpooDiretorio.TAMANHO_BLOCO * 3, new File(pasta, IndiceTpooDiretorio.NOME_ARQUIVO).length());
+
+        try (IndiceTpooDiretorio indice = IndiceTpooDiretorio.abrir(dir)) {
+            assertEquals(1, indice.getQuantidade());
+            assertEquals("y".repeat(400), indice.ler("c.pdf"));
+        }
+    }
+
+    /**
+     * No modo empacotado, mover uma mídia atualiza os índices dos dois diretórios,
+     * sem criar arquivos .tpoo individuais.
+     */
+    @Test
+    public void testModoEmpacotadoAoMover() throws Exception {
+        File media = new File(pasta, "Filme.mkv");
+        media.createNewFile();
+        File destino = new File(pasta, "destino");
+
+        GerenciadorMidia gerenciador = new GerenciadorMidia(ARQUIVO_DB);
+        gerenciador.setModoTpoo(ModoTpoo.EMPACOTADO);
+        Filme filme = new Filme("Filme", media.getPath(), 90, "Ação", "Inglês");
+        gerenciador.adicionarMidia(filme);
+        gerenciador.moverMidia(filme, destino.getPath());
+        gerenciador.aguardarArquivosTpoo();
+
+        assertFalse("Não deve haver .tpoo individual", new File(destino, "Filme").exists());
+        try (IndiceTpooDiretorio origem = IndiceTpooDiretorio.abrir(pasta.toPath());
+             IndiceTpooDiretorio novo = IndiceTpooDiretorio.abrir(destino.toPath())) {
+            assertNull(origem.ler("Filme.mkv"));
+            assertTrue(novo.ler("Filme.mkv").contains("Titulo: Filme"));
+        }
+
+        // O formato original continua disponível sob pedido
+        gerenciador.exportarArquivosTpooIndividuais();
+        gerenciador.fechar();
+        assertTrue(new File(destino, "Filme").exists());
+    }
+}
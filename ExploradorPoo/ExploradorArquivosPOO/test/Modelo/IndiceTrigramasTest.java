@@ -0,0 +1,63 @@
+package Modelo;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Testes da busca aproximada por trigramas ({@link IndiceTrigramas}).
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see IndiceTrigramas
+ */
+public class IndiceTrigramasTest {
+
+    private final Map<Midia, Long> ordem = new IdentityHashMap<>();
+    private IndiceTrigramas indice;
+
+    @Before
+    public void setUp() {
+        indice = new IndiceTrigramas((a, b) -> Long.compare(ordem.get(a), ordem.get(b)));
+    }
+
+    private Midia adicionar(String titulo) {
+        Midia m = new Filme(titulo, "/f/" + ordem.size() + ".mkv", 90, "Ação", "Inglês");
+        ordem.put(m, (long) ordem.size());
+        indice.indexar(m);
+        return m;
+    }
+
+    /**
+     * Testa a extração de trigramas com as bordas das palavras.
+     */
+    @Test
+    public void testTrigramas() {
+        assertEquals(Set.of(" ri", "rio", "io "), IndiceTrigramas.trigramas("Rio"));
+        assertEquals(IndiceTrigramas.trigramas("Cidade de Deus"), IndiceTrigramas.trigramas("cidade_DE.deus"));
+    }
+
+    /**
+     * Testa a tolerância a erros de digitação, a ordem por semelhança, o limite e a remoção.
+     */
+    @Test
+    public void testBuscar() {
+        Midia reloaded = adicionar("Matrix_Reloaded");
+        Midia matrix = adicionar("Matrix");
+        adicionar("Cidade de Deus");
+        Midia outra = adicionar("Matrix");
+
+        assertEquals(List.of(matrix, outra), indice.buscar("matirx", 10, 0.3)); // "Matrix_Reloaded" fica abaixo do mínimo
+        assertEquals(List.of(reloaded, matrix), indice.buscar("matrx reloded", 2, 0.3));
+        assertEquals(List.of(matrix), indice.buscar("matrix", 1, 0.3)); // Empate: ordem do catálogo
+        assertTrue(indice.buscar("xyz", 10, 0.3).isEmpty());
+
+        indice.desindexar(matrix);
+        assertEquals(List.of(outra), indice.buscar("matirx", 10, 0.3));
+    }
+}
@@ -0,0 +1,170 @@
+package Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testes da movimentação de arquivos em lote ({@link MovimentacaoEmLote}).
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see MovimentacaoEmLote
+ */
+public class MovimentacaoEmLoteTest {
+
+    private final String ARQUIVO_DB = "movimentacao_teste.csv";
+    private File pasta;
+    private File destino;
+    private GerenciadorMidia gerenciador;
+
+    @Before
+    public void setUp() {
+        pasta = new File("temp_test_movimentacao").getAbsoluteFile();
+        destino = new File(pasta, "destino");
+        destino.mkdirs();
+        gerenciador = new GerenciadorMidia(ARQUIVO_DB);
+    }
+
+    @After
+    public void tearDown() {
+        gerenciador.fechar();
+        apagar(pasta);
+        for (String sufixo : new String[]{"", ".diario", ".diario.compactando", ".tmp", ".1", ".2"}) {
+            new File(ARQUIVO_DB + sufixo).delete();
+        }
+    }
+
+    private void apagar(File f) {
+        File[] filhos = f.listFiles();
+        if (filhos != null) for (File c : filhos) apagar(c);
+        f.delete();
+    }
+
+    private Midia criarFilme(String nome, byte[] conteudo) throws Exception {
+        File arquivo = new File(pasta, nome + ".mkv");
+        Files.write(arquivo.toPath(), conteudo);
+        Midia m = new Filme(nome, arquivo.getPath(), 90, "Ação", "Inglês", String.valueOf(conteudo.length));
+        gerenciador.adicionarMidia(m);
+        return m;
+    }
+
+    /**
+     * No mesmo volume os arquivos são renomeados; arquivo ausente e nome já ocupado no
+     * destino são recusados sem afetar os demais.
+     */
+    @Test
+    public void testMoverMesmoVolume() throws Exception {
+        Midia a = criarFilme("A", new byte[10]);
+        Midia b = criarFilme("B", new byte[20]);
+        Midia ausente = criarFilme("Ausente", new byte[5]);
+        Midia ocupado = criarFilme("Ocupado", new byte[5]);
+        Files.delete(Path.of(ausente.getLocal()));
+        Files.write(new File(destino, "Ocupado.mkv").toPath(), new byte[1]);
+
+        ResultadoLote r = new MovimentacaoEmLote(gerenciador).mover(Arrays.asList(a, ausente, b, ocupado), destino.toPath());
+
+        List<ResultadoLote.Item> itens = r.getItens();
+        assertEquals(ResultadoLote.Status.MOVIDA, itens.get(0).getStatus());
+        assertEquals(ResultadoLote.Status.NAO_ENCONTRADA, itens.get(1).getStatus());
+        assertEquals(ResultadoLote.Status.MOVIDA, itens.get(2).getStatus());
+        assertEquals(ResultadoLote.Status.DUPLICADA, itens.get(3).getStatus());
+
+        String novoLocal = new File(destino, "A.mkv").getAbsolutePath();
+        assertEquals(novoLocal, a.getLocal());
+        assertSame(a, gerenciador.buscarMidiaPorLocal(novoLocal));
+        assertTrue(new File(novoLocal).exists());
+        assertFalse(new File(pasta, "A.mkv").exists());
+        assertTrue(new File(pasta, "Ocupado.mkv").exists());
+    }
+
+    /**
+     * Duas mídias com o mesmo nome de arquivo em pastas diferentes: só a primeira é movida e o
+     * arquivo da segunda fica intacto, tanto na renomeação quanto na cópia. Um destino que já
+     * pertence a outra mídia do catálogo também é recusado.
+     */
+    @Test
+    public void testDestinoRepetidoNoLoteOuNoCatalogo() throws Exception {
+        for (boolean renomear : new boolean[]{true, false}) {
+            File pastaA = new File(pasta, "a" + renomear);
+            File pastaB = new File(pasta, "b" + renomear);
+            File alvo = new File(pasta, "alvo" + renomear);
+            pastaA.mkdirs();
+            pastaB.mkdirs();
+            alvo.mkdirs();
+            Files.write(new File(pastaA, "f.mkv").toPath(), new byte[]{1});
+            Files.write(new File(pastaB, "f.mkv").toPath(), new byte[]{2, 2});
+            Files.write(new File(pastaB, "g.mkv").toPath(), new byte[]{3});
+            Midia a = new Filme("A", new File(pastaA, "f.mkv").getPath(), 90, "Ação", "Inglês");
+            Midia b = new Filme("B", new File(pastaB, "f.mkv").getPath(), 90, "Ação", "Inglês");
+            Midia g = new Filme("G", new File(pastaB, "g.mkv").getPath(), 90, "Ação", "Inglês");
+            Midia cadastrada = new Filme("Sem arquivo", new File(alvo, "g.mkv").getPath(), 90, "Ação", "Inglês");
+            gerenciador.adicionarMidias(List.of(a, b, g, cadastrada));
+
+            MovimentacaoEmLote movimentacao = new MovimentacaoEmLote(gerenciador);
+            movimentacao.setRenomeacaoAtomica(renomear);
+            List<ResultadoLote.Item> itens = movimentacao.mover(List.of(a, b, g), alvo.toPath()).getItens();
+
+            assertEquals(ResultadoLote.Status.MOVIDA, itens.get(0).getStatus());
+            assertEquals(ResultadoLote.Status.DUPLICADA, itens.get(1).getStatus());
+            assertEquals(ResultadoLote.Status.DUPLICADA, itens.get(2).getStatus());
+            assertArrayEquals(new byte[]{1}, Files.readAllBytes(new File(alvo, "f.mkv").toPath()));
+            assertArrayEquals(new byte[]{2, 2}, Files.readAllBytes(Path.of(b.getLocal())));
+            assertTrue(new File(pastaB, "g.mkv").exists());
+            assertSame(cadastrada, gerenciador.buscarMidiaPorLocal(new File(alvo, "g.mkv").getPath()));
+        }
+    }
+
+    /**
+     * Entre volumes o arquivo é copiado em blocos, conferido, e só então a origem é apagada.
+     */
+    @Test
+    public void testMoverPorCopia() throws Exception {
+        byte[] conteudo = new byte[1_000_000];
+        new Random(7).nextBytes(conteudo);
+        Midia grande = criarFilme("Grande", conteudo);
+
+        MovimentacaoEmLote movimentacao = new MovimentacaoEmLote(gerenciador);
+        movimentacao.setRenomeacaoAtomica(false);
+        movimentacao.setTamanhoBloco(64 * 1024);
+        long[] ultimo = new long[1];
+        movimentacao.setOuvinte(p -> ultimo[0] = Math.max(ultimo[0], p.getBytesConcluidos()));
+        ResultadoLote r = movimentacao.mover(List.of(grande), destino.toPath());
+
+        assertEquals(ResultadoLote.Status.MOVIDA, r.getItens().get(0).getStatus());
+        File novo = new File(destino, "Grande.mkv");
+        assertArrayEquals(conteudo, Files.readAllBytes(novo.toPath()));
+        assertFalse(new File(pasta, "Grande.mkv").exists());
+        assertFalse(new File(destino, "Grande.mkv.parcial").exists());
+        assertFalse(Files.exists(TransferenciaRetomavel.manifestoDe(novo.toPath())));
+        assertEquals(novo.getAbsolutePath(), grande.getLocal());
+        assertEquals(conteudo.length, ultimo[0]);
+    }
+
+    /**
+     * Cancelada, a movimentação deixa os arquivos e o catálogo como estavam.
+     */
+    @Test
+    public void testCancelamentoPreservaOrigem() throws Exception {
+        Midia a = criarFilme("A", new byte[10]);
+        String localOriginal = a.getLocal();
+
+        MovimentacaoEmLote movimentacao = new MovimentacaoEmLote(gerenciador);
+        movimentacao.setRenomeacaoAtomica(false);
+        movimentacao.cancelar();
+        ResultadoLote r = movimentacao.mover(List.of(a), destino.toPath());
+
+        assertEquals(ResultadoLote.Status.FALHOU, r.getItens().get(0).getStatus());
+        assertEquals(localOriginal, a.getLocal());
+        assertTrue(new File(localOriginal).exists());
+        assertEquals(0, destino.list().length);
+    }
+}
@@ -0,0 +1,71 @@
+package Modelo;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes do agrupamento de eventos do catálogo ({@link OuvinteAgrupado}).
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see OuvinteAgrupado
+ */
+public class OuvinteAgrupadoTest {
+
+    /**
+     * Uma rajada de eventos gera uma única entrega, com os eventos consecutivos do mesmo tipo fundidos.
+     */
+    @Test
+    public void testRajadaEntregueUmaVez() {
+        List<Runnable> agendadas = new ArrayList<>();
+        List<List<EventoCatalogo>> entregas = new ArrayList<>();
+        OuvinteAgrupado ouvinte = new OuvinteAgrupado(entregas::add, agendadas::add);
+
+        Midia a = new Filme("A", "/a.mkv", 1, "Ação", "PT");
+        Midia b = new Filme("B", "/b.mkv", 1, "Ação", "PT");
+        Midia b2 = new Filme("B2", "/b.mkv", 1, "Ação", "PT");
+        ouvinte.catalogoAlterado(List.of(new EventoCatalogo(EventoCatalogo.Tipo.ADICIONADAS, List.of(a))));
+        ouvinte.catalogoAlterado(List.of(new EventoCatalogo(EventoCatalogo.Tipo.ADICIONADAS, List.of(b))));
+        ouvinte.catalogoAlterado(List.of(new EventoCatalogo(EventoCatalogo.Tipo.ATUALIZADAS, List.of(b2), List.of(b))));
+        ouvinte.catalogoAlterado(List.of(new EventoCatalogo(EventoCatalogo.Tipo.REMOVIDAS, List.of(a))));
+
+        assertEquals(1, agendadas.size());
+        agendadas.get(0).run();
+
+        assertEquals(1, entregas.size());
+        List<EventoCatalogo> eventos = entregas.get(0);
+        assertEquals(3, eventos.size());
+        assertEquals(EventoCatalogo.Tipo.ADICIONADAS, eventos.get(0).getTipo());
+        assertEquals(List.of(a, b), eventos.get(0).getMidias());
+        assertEquals(List.of(b), eventos.get(1).getAnteriores());
+        assertEquals(EventoCatalogo.Tipo.REMOVIDAS, eventos.get(2).getTipo());
+
+        // Depois da entrega, o próximo evento agenda outra
+        ouvinte.catalogoAlterado(List.of(new EventoCatalogo(EventoCatalogo.Tipo.REMOVIDAS, List.of(b2))));
+        assertEquals(2, agendadas.size());
+    }
+
+    /**
+     * Edições seguidas da mesma mídia viram uma única troca, do objeto original para o último.
+     */
+    @Test
+    public void testEdicoesEncadeadasViramUmaTroca() {
+        Midia a = new Filme("A", "/a.mkv", 1, "Ação", "PT");
+        Midia b = new Filme("B", "/a.mkv", 1, "Ação", "PT");
+        Midia c = new Filme("C", "/a.mkv", 1, "Ação", "PT");
+        Midia x = new Filme("X", "/x.mkv", 1, "Ação", "PT");
+        Midia y = new Filme("Y", "/x.mkv", 1, "Ação", "PT");
+
+        List<EventoCatalogo> fundidos = OuvinteAgrupado.fundir(List.of(
+                new EventoCatalogo(EventoCatalogo.Tipo.ATUALIZADAS, List.of(b), List.of(a)),
+                new EventoCatalogo(EventoCatalogo.Tipo.ATUALIZADAS, List.of(y), List.of(x)),
+                new EventoCatalogo(EventoCatalogo.Tipo.ATUALIZADAS, List.of(c), List.of(b))));
+
+        assertEquals(1, fundidos.size());
+        assertEquals(List.of(a, x), fundidos.get(0).getAnteriores());
+        assertEquals(List.of(c, y), fundidos.get(0).getMidias());
+    }
+}
@@ -0,0 +1,113 @@
+package Modelo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Medição da vazão da cópia em blocos ({@link TransferenciaRetomavel}) comparada a {@code Files.move}.
+ * <p>
+ * Não é um teste unitário (não é executado pelo JUnit). Para rodar:
+ * {@code java -cp build/classes:build/test/classes Modelo.TransferenciaBenchmark [MB] [pastaDestino]}.
+ * Informe como destino uma pasta em outro disco para medir a movimentação entre volumes:
+ * nesse caso {@code Files.move} também copia (e apaga a origem). No mesmo disco,
+ * {@code Files.move} é uma renomeação e serve de referência do custo mínimo.
+ * Cada medição é a mediana de 3 execuções.
+ * </p>
+ *
+ * @author Seu Nome
+ * @version 1.0
+ */
+public class TransferenciaBenchmark {
+
+    private static final int REPETICOES = 3;
+
+    public static void main(String[] args) throws Exception {
+        long megas = args.length > 0 ? Long.parseLong(args[0]) : 256;
+        Path pastaOrigem = Files.createTempDirectory("bench_transferencia");
+        Path pastaDestino = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("bench_transferencia_destino");
+        Path origem = pastaOrigem.resolve("filme.mkv");
+        Path destino = pastaDestino.resolve("filme.mkv");
+        long bytes = megas * 1024 * 1024;
+
+        try {
+            gerarArquivo(origem, bytes);
+            System.out.printf("%-34s %10s %10s%n", "método", "ms", "MB/s");
+
+            // Ida e volta, para a próxima repetição partir do mesmo lugar
+            imprimir("Files.move", bytes, mediana(() -> {
+                Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(destino, origem);
+            }) / 2);
+
+            imprimir("Files.copy", bytes, mediana(() -> {
+                Files.copy(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+                Files.delete(destino);
+            }));
+
+            imprimir("TransferenciaRetomavel (1 thread)", bytes, mediana(() -> {
+                TransferenciaRetomavel t = new TransferenciaRetomavel(origem, destino);
+                t.copiar(n -> { }, () -> false);
+                t.concluir();
+                t.finalizar();
+                Files.delete(destino);
+            }));
+
+            GerenciadorMidia gerenciador = new GerenciadorMidia(pastaOrigem.resolve("bench.csv").toString());
+            Midia filme = new Filme("filme", origem.toString(), 90, "Bench", "Nenhum", String.valueOf(bytes));
+            gerenciador.adicionarMidia(filme);
+            imprimir("MovimentacaoEmLote (4 threads)", bytes, mediana(() -> {
+                MovimentacaoEmLote mov = new MovimentacaoEmLote(gerenciador);
+                mov.setRenomeacaoAtomica(false);
+                mov.mover(List.of(filme), pastaDestino);
+                Files.move(destino, origem);
+                gerenciador.relocalizarMidias(Map.of(filme, origem.toString()));
+            }));
+            gerenciador.fechar();
+        } finally {
+            for (Path p : new Path[]{origem, destino}) Files.deleteIfExists(p);
+            try (var restos = Files.list(pastaOrigem)) {
+                for (Path p : (Iterable<Path>) restos::iterator) Files.deleteIfExists(p);
+            }
+            Files.deleteIfExists(pastaOrigem);
+            if (args.length <= 1) Files.deleteIfExists(pastaDestino);
+        }
+    }
+
+    private static void gerarArquivo(Path arquivo, long bytes) throws IOException {
+        byte[] bloco = new byte[1024 * 1024];
+        new Random(1).nextBytes(bloco);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            for (long escrito = 0; escrito < bytes; escrito += bloco.length) {
+                canal.write(ByteBuffer.wrap(bloco, 0, (int) Math.min(bloco.length, bytes - escrito)));
+            }
+        }
+    }
+
+    private static void imprimir(String metodo, long bytes, long ms) {
+        System.out.printf("%-34s %10d %10.0f%n", metodo, ms, ms == 0 ? 0 : bytes / 1024.0 / 1024 * 1000 / ms);
+    }
+
+    private interface Acao {
+        void executar() throws Exception;
+    }
+
+    private static long mediana(Acao acao) throws Exception {
+        long[] tempos = new long[REPETICOES];
+        for (int i = 0; i < REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            acao.executar();
+            tempos[i] = (System.nanoTime() - inicio) / 1_000_000;
+        }
+        Arrays.sort(tempos);
+        return tempos[REPETICOES / 2];
+    }
+}
@@ -0,0 +1,96 @@
+package Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Testes da cópia em blocos retomável ({@link TransferenciaRetomavel}).
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see TransferenciaRetomavel
+ */
+public class TransferenciaRetomavelTest {
+
+    private static final int BLOCO = 4096;
+
+    private File pasta;
+    private Path origem;
+    private Path destino;
+    private byte[] conteudo;
+
+    @Before
+    public void setUp() throws Exception {
+        pasta = new File("temp_test_transferencia").getAbsoluteFile();
+        pasta.mkdirs();
+        conteudo = new byte[BLOCO * 10 + 123];
+        new Random(3).nextBytes(conteudo);
+        origem = pasta.toPath().resolve("filme.mkv");
+        Files.write(origem, conteudo);
+        destino = pasta.toPath().resolve("copia.mkv");
+    }
+
+    @After
+    public void tearDown() {
+        File[] filhos = pasta.listFiles();
+        if (filhos != null) for (File c : filhos) c.delete();
+        pasta.delete();
+    }
+
+    /**
+     * Uma cópia interrompida é retomada a partir dos blocos já conferidos, sem copiá-los de novo.
+     */
+    @Test
+    public void testRetomaAposInterrupcao() throws Exception {
+        TransferenciaRetomavel primeira = new TransferenciaRetomavel(origem, destino, BLOCO);
+        assertEquals(11, primeira.getQuantidadeBlocos());
+        AtomicLong copiados = new AtomicLong();
+        // "Cai" depois de 4 blocos
+        assertFalse(primeira.copiar(copiados::addAndGet, () -> copiados.get() >= 4L * BLOCO));
+        assertFalse(Files.exists(destino));
+
+        TransferenciaRetomavel segunda = new TransferenciaRetomavel(origem, destino, BLOCO);
+        assertEquals(4L * BLOCO, segunda.getBytesVerificados());
+        AtomicLong restantes = new AtomicLong();
+        assertTrue(segunda.copiar(restantes::addAndGet, () -> false));
+        assertEquals(conteudo.length - 4L * BLOCO, restantes.get());
+
+        segunda.concluir();
+        assertArrayEquals(conteudo, Files.readAllBytes(destino));
+        assertTrue(Files.exists(TransferenciaRetomavel.manifestoDe(destino)));
+
+        // Manifesto ainda presente: uma nova tentativa reconhece a cópia concluída
+        assertTrue(new TransferenciaRetomavel(origem, destino, BLOCO).isCompleta());
+
+        segunda.finalizar();
+        assertFalse(Files.exists(TransferenciaRetomavel.manifestoDe(destino)));
+    }
+
+    /**
+     * Se a origem mudou desde a tentativa anterior, a cópia recomeça do zero.
+     */
+    @Test
+    public void testOrigemAlteradaRecomeca() throws Exception {
+        TransferenciaRetomavel primeira = new TransferenciaRetomavel(origem, destino, BLOCO);
+        AtomicLong copiados = new AtomicLong();
+        primeira.copiar(copiados::addAndGet, () -> copiados.get() >= 2L * BLOCO);
+
+        conteudo[0]++;
+        Files.write(origem, conteudo);
+        Files.setLastModifiedTime(origem, java.nio.file.attribute.FileTime.fromMillis(System.currentTimeMillis() + 5000));
+
+        TransferenciaRetomavel segunda = new TransferenciaRetomavel(origem, destino, BLOCO);
+        assertEquals(0, segunda.getBytesVerificados());
+        assertTrue(segunda.copiar(n -> { }, () -> false));
+        segunda.concluir();
+        assertArrayEquals(conteudo, Files.readAllBytes(destino));
+    }
+}
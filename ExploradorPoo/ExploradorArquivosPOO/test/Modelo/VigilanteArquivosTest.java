@@ -0,0 +1,123 @@
+package Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Testes da sincronização do catálogo com alterações externas no disco ({@link VigilanteArquivos}).
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @see VigilanteArquivos
+ */
+public class VigilanteArquivosTest {
+
+    private final String ARQUIVO_DB = "vigilante_teste.csv";
+    private File pasta;
+    private File outraPasta;
+    private GerenciadorMidia gerenciador;
+    private VigilanteArquivos vigilante;
+
+    @Before
+    public void setUp() throws Exception {
+        pasta = new File("temp_test_vigilante").getAbsoluteFile();
+        outraPasta = new File(pasta, "outra");
+        outraPasta.mkdirs();
+        gerenciador = new GerenciadorMidia(ARQUIVO_DB);
+
+        File filme = new File(pasta, "Filme.mkv");
+        Files.write(filme.toPath(), new byte[100]);
+        File musica = new File(outraPasta, "Som.mp3");
+        Files.write(musica.toPath(), new byte[30]);
+        gerenciador.adicionarMidia(new Filme("Filme", filme.getPath(), 90, "Ação", "Inglês", "100"));
+        gerenciador.adicionarMidia(new Musica(musica.getPath(), "Som", "Rock", 200, "Banda", "30"));
+
+        vigilante = new VigilanteArquivos(gerenciador, 100);
+        vigilante.iniciar();
+    }
+
+    @After
+    public void tearDown() {
+        vigilante.close();
+        gerenciador.fechar();
+        apagar(pasta);
+        for (String sufixo : new String[]{"", ".diario", ".diario.compactando", ".tmp", ".1", ".2"}) {
+            new File(ARQUIVO_DB + sufixo).delete();
+        }
+    }
+
+    private void apagar(File f) {
+        File[] filhos = f.listFiles();
+        if (filhos != null) for (File c : filhos) apagar(c);
+        f.delete();
+    }
+
+    private static void aguardar(String mensagem, BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!condicao.getAsBoolean()) {
+            if (System.currentTimeMillis() > limite) fail(mensagem);
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * Um arquivo renomeado por fora passa a ser encontrado pelo novo caminho.
+     */
+    @Test
+    public void testRenomeacaoExterna() throws Exception {
+        Path novo = pasta.toPath().resolve("Filme (2020).mkv");
+        Files.move(pasta.toPath().resolve("Filme.mkv"), novo);
+
+        aguardar("Catálogo deveria apontar para o novo nome",
+                () -> gerenciador.buscarMidiaPorLocal(novo.toString()) != null);
+        assertEquals("Filme", gerenciador.buscarMidiaPorLocal(novo.toString()).getTitulo());
+        assertEquals(2, gerenciador.getMidiasFiltradas("Todos", "", null).size());
+    }
+
+    /**
+     * Um arquivo movido entre pastas observadas é relocalizado pelo nome.
+     */
+    @Test
+    public void testMovimentacaoExterna() throws Exception {
+        Path destino = outraPasta.toPath().resolve("Filme.mkv");
+        Files.move(pasta.toPath().resolve("Filme.mkv"), destino);
+
+        aguardar("Catálogo deveria apontar para a nova pasta",
+                () -> gerenciador.buscarMidiaPorLocal(destino.toString()) != null);
+    }
+
+    /**
+     * Exclusão remove a mídia; modificação atualiza o tamanho.
+     */
+    @Test
+    public void testExclusaoEModificacaoExternas() throws Exception {
+        Path som = outraPasta.toPath().resolve("Som.mp3");
+        Files.write(som, new byte[4096]);
+        aguardar("Tamanho deveria ser atualizado",
+                () -> gerenciador.buscarMidiaPorLocal(som.toString()).getTamanhoDisco() == 4096);
+
+        Files.delete(pasta.toPath().resolve("Filme.mkv"));
+        aguardar("Mídia apagada deveria sair do catálogo",
+                () -> gerenciador.getMidiasFiltradas("Filme", "", null).isEmpty());
+        assertNotNull(gerenciador.buscarMidiaPorLocal(som.toString()));
+    }
+
+    /**
+     * A exclusão de uma pasta inteira remove as mídias que estavam nela.
+     */
+    @Test
+    public void testExclusaoDePasta() throws Exception {
+        apagar(outraPasta);
+        aguardar("Mídias da pasta apagada deveriam sair do catálogo",
+                () -> gerenciador.getMidiasFiltradas("Musica", "", null).isEmpty());
+        assertEquals(1, gerenciador.getMidiasFiltradas("Todos", "", null).size());
+    }
+}